@@ -3,6 +3,20 @@ package com.builder.portfolio;
 import com.builder.portfolio.controller.AdminController;
 import com.builder.portfolio.controller.BuilderController;
 import com.builder.portfolio.controller.ClientController;
+import com.builder.portfolio.dao.DocumentDAO;
+import com.builder.portfolio.dao.DocumentDAOImpl;
+import com.builder.portfolio.dao.FileAuditDAO;
+import com.builder.portfolio.dao.ProjectDAO;
+import com.builder.portfolio.dao.ProjectDAOImpl;
+import com.builder.portfolio.dao.ProjectVersionHistory;
+import com.builder.portfolio.dao.Shard;
+import com.builder.portfolio.dao.ShardedDocumentDAO;
+import com.builder.portfolio.dao.ShardedProjectDAO;
+import com.builder.portfolio.dao.embedded.EmbeddedDocumentDAO;
+import com.builder.portfolio.dao.embedded.EmbeddedProjectDAO;
+import com.builder.portfolio.dao.embedded.EmbeddedStorage;
+import com.builder.portfolio.dao.embedded.EmbeddedUserDAO;
+import com.builder.portfolio.dao.embedded.WriteAheadLog;
 import com.builder.portfolio.model.User;
 import com.builder.portfolio.service.DocumentService;
 import com.builder.portfolio.service.DocumentServiceImpl;
@@ -10,7 +24,16 @@ import com.builder.portfolio.service.ProjectService;
 import com.builder.portfolio.service.ProjectServiceImpl;
 import com.builder.portfolio.service.UserService;
 import com.builder.portfolio.service.UserServiceImpl;
+import com.builder.portfolio.util.AuditContext;
 import com.builder.portfolio.util.ConsoleInput;
+import com.builder.portfolio.util.DBConnectionUtil;
+import com.builder.portfolio.util.LockRegistry;
+import com.builder.portfolio.util.PartitionedMutationExecutor;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -22,9 +45,51 @@ public class Main {
     private static final Logger LOGGER = Logger.getLogger(Main.class.getName());
 
     public static void main(String[] args) {
-        UserService userService = new UserServiceImpl();
-        ProjectService projectService = new ProjectServiceImpl();
-        DocumentService documentService = new DocumentServiceImpl();
+        // -Dbpms.storage=embedded keeps all data in process, with no PostgreSQL needed.
+        boolean embedded = "embedded".equalsIgnoreCase(System.getProperty("bpms.storage", "postgres"));
+        UserService userService = embedded ? new UserServiceImpl(new EmbeddedUserDAO()) : new UserServiceImpl();
+        ShardedProjectDAO shardedDAO = embedded ? null : createShardedDAO();
+        ProjectDAO projectDAO;
+        DocumentDAO documentDAO;
+        if (embedded) {
+            EmbeddedProjectDAO embeddedProjects;
+            String dataDirectory = System.getProperty("bpms.embedded.dir");
+            if (dataDirectory != null) {
+                // -Dbpms.embedded.dir=path makes the embedded store durable; -Dbpms.embedded.fsync picks the policy.
+                EmbeddedStorage storage = EmbeddedStorage.builder()
+                        .directory(Path.of(dataDirectory))
+                        .fsyncPolicy(WriteAheadLog.FsyncPolicy.valueOf(System.getProperty(
+                                "bpms.embedded.fsync", "group").toUpperCase(Locale.ROOT)))
+                        .open();
+                embeddedProjects = storage.getProjectDAO();
+                documentDAO = storage.getDocumentDAO();
+            } else {
+                EmbeddedDocumentDAO embeddedDocuments = new EmbeddedDocumentDAO();
+                embeddedProjects = new EmbeddedProjectDAO(embeddedDocuments);
+                documentDAO = embeddedDocuments;
+            }
+            projectDAO = embeddedProjects.startVacuum(Duration.ofSeconds(30));
+        } else if (shardedDAO != null) {
+            projectDAO = shardedDAO;
+            documentDAO = new ShardedDocumentDAO(shardedDAO);
+        } else {
+            projectDAO = createProjectDAO();
+            documentDAO = new DocumentDAOImpl();
+        }
+        List<AutoCloseable> closeOnExit = new ArrayList<>();
+        ProjectService projectService = createProjectService(projectDAO, documentDAO, closeOnExit);
+        DocumentService documentService = new DocumentServiceImpl(documentDAO);
+        // -Dbpms.existence.refreshMinutes=N rebuilds the project existence filter every N minutes; 0 disables it.
+        int refreshMinutes = Integer.getInteger("bpms.existence.refreshMinutes", 10);
+        if (refreshMinutes > 0) {
+            projectService.startExistenceFilterRefresh(Duration.ofMinutes(refreshMinutes));
+        }
+        // -Dbpms.locks.watchdogMillis=N logs project locks held longer than N ms; off by default.
+        int watchdogMillis = Integer.getInteger("bpms.locks.watchdogMillis", 0);
+        if (watchdogMillis > 0) {
+            Duration threshold = Duration.ofMillis(watchdogMillis);
+            LockRegistry.getInstance().startWatchdog(threshold, threshold);
+        }
 
         boolean exit = false;
         while (!exit) {
@@ -47,9 +112,69 @@ public class Main {
             }
         }
 
+        projectService.close();
+        for (AutoCloseable resource : closeOnExit) {
+            try {
+                resource.close();
+            } catch (Exception ex) {
+                LOGGER.log(Level.WARNING, "Failed to close " + resource, ex);
+            }
+        }
         System.out.println("Goodbye!");
     }
 
+    private static ProjectService createProjectService(ProjectDAO projectDAO, DocumentDAO documentDAO,
+            List<AutoCloseable> closeOnExit) {
+        // -Dbpms.mutation.partitions=N switches project mutations to the single-writer partitioned engine.
+        int partitions = Integer.getInteger("bpms.mutation.partitions", 0);
+        // -Dbpms.audit.file=path appends an audit trail of every mutation there; off by default.
+        String auditFile = System.getProperty("bpms.audit.file", "");
+        FileAuditDAO auditDAO = auditFile.isBlank() ? null : new FileAuditDAO(Path.of(auditFile));
+        // -Dbpms.history.file=path journals project versions there for point-in-time reads; off by default.
+        String historyFile = System.getProperty("bpms.history.file", "");
+        ProjectVersionHistory versionHistory = historyFile.isBlank() ? null : ProjectVersionHistory.open(
+                Path.of(historyFile), Integer.getInteger("bpms.history.checkpointEvery",
+                        ProjectVersionHistory.DEFAULT_CHECKPOINT_INTERVAL));
+        if (auditDAO != null) {
+            closeOnExit.add(auditDAO);
+        }
+        if (versionHistory != null) {
+            closeOnExit.add(versionHistory);
+        }
+        return new ProjectServiceImpl(projectDAO, documentDAO,
+                partitions > 0 ? new PartitionedMutationExecutor(partitions) : null, auditDAO, versionHistory);
+    }
+
+    private static ProjectDAO createProjectDAO() {
+        // -Dbpms.db.groupCommitMillis=N batches project writes arriving within N ms into one transaction.
+        int windowMillis = Integer.getInteger("bpms.db.groupCommitMillis", 0);
+        if (windowMillis <= 0) {
+            return new ProjectDAOImpl();
+        }
+        int batchSize = Integer.getInteger("bpms.db.groupCommitBatch", 64);
+        LOGGER.log(Level.INFO, "Group-committing project writes every {0} ms", windowMillis);
+        return new ProjectDAOImpl(DBConnectionUtil.defaultProvider(), Duration.ofMillis(windowMillis), batchSize);
+    }
+
+    private static ShardedProjectDAO createShardedDAO() {
+        // -Dbpms.shards=name1=jdbcUrl1,name2=jdbcUrl2 spreads builders over those databases.
+        String spec = System.getProperty("bpms.shards", "").trim();
+        if (spec.isEmpty()) {
+            return null;
+        }
+        List<Shard> shards = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected name=jdbcUrl in bpms.shards but got " + entry);
+            }
+            var provider = DBConnectionUtil.providerFor(parts[1].trim());
+            shards.add(new Shard(parts[0].trim(), new ProjectDAOImpl(provider), new DocumentDAOImpl(provider)));
+        }
+        LOGGER.log(Level.INFO, "Sharding projects across {0} databases", shards.size());
+        return new ShardedProjectDAO(shards);
+    }
+
     private static void registerUser(UserService userService) {
         System.out.println("--- Register User ---");
         String name = ConsoleInput.readLine("Name: ");
@@ -83,11 +208,14 @@ public class Main {
 
         LOGGER.log(Level.INFO, "User {0} logged in with role {1}", new Object[]{email, user.getRole()});
         System.out.println("Welcome, " + user.getName() + " (" + user.getRole() + ")");
-        switch (user.getRole()) {
-            case "ADMIN" -> new AdminController(userService, projectService).showMenu();
-            case "BUILDER" -> new BuilderController(projectService, documentService, user.getId()).showMenu();
-            case "CLIENT" -> new ClientController(projectService, user.getId()).showMenu();
-            default -> System.out.println("Unknown role.");
-        }
+        // Everything changed until logout is audited under this user.
+        AuditContext.runAs(user.getRole() + ":" + user.getId(), () -> {
+            switch (user.getRole()) {
+                case "ADMIN" -> new AdminController(userService, projectService).showMenu();
+                case "BUILDER" -> new BuilderController(projectService, documentService, user.getId()).showMenu();
+                case "CLIENT" -> new ClientController(projectService, user.getId()).showMenu();
+                default -> System.out.println("Unknown role.");
+            }
+        });
     }
 }
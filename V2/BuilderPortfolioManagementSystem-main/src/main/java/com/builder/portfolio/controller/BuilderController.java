@@ -3,11 +3,14 @@ package com.builder.portfolio.controller;
 import com.builder.portfolio.model.BudgetReport;
 import com.builder.portfolio.model.Document;
 import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectField;
+import com.builder.portfolio.model.ProjectPatch;
 import com.builder.portfolio.service.DocumentService;
 import com.builder.portfolio.service.ProjectService;
 import com.builder.portfolio.util.BackgroundTaskManager;
 import com.builder.portfolio.util.ConsoleInput;
 import com.builder.portfolio.util.GanttChartUtil;
+import com.builder.portfolio.util.LockTimeoutException;
 import com.builder.portfolio.util.StatusConstants;
 
 import java.time.LocalDate;
@@ -15,6 +18,7 @@ import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.ConcurrentModificationException;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -88,7 +92,8 @@ public class BuilderController {
 
     private void updateProject() {
         int projectId = ConsoleInput.readInt("Enter project ID: ");
-        Project existing = projectService.getProject(projectId);
+        Project existing = projectService.isOwnedByBuilder(projectId, builderId)
+                ? projectService.getProject(projectId) : null;
         if (existing == null || existing.getBuilderId() != builderId) {
             LOGGER.log(Level.WARNING, "Builder {0} attempted to update unauthorized project {1}",
                     new Object[]{builderId, projectId});
@@ -96,15 +101,8 @@ public class BuilderController {
             return;
         }
 
-        // Capture the original state so we can route only the mutated fields through the right service calls.
-        String originalName = existing.getName();
-        String originalDescription = existing.getDescription();
-        String originalStatus = existing.getStatus();
-        int originalClientId = existing.getClientId();
-        double originalBudgetPlanned = existing.getBudgetPlanned();
-        double originalBudgetUsed = existing.getBudgetUsed();
-        LocalDate originalStartDate = existing.getStartDate();
-        LocalDate originalEndDate = existing.getEndDate();
+        // Capture the original state so only the fields the builder actually edits are written back.
+        Project base = copyOf(existing);
         long versionSnapshot = existing.getVersion();
 
         String name = ConsoleInput.readLine("Project name (" + existing.getName() + "): ");
@@ -151,41 +149,58 @@ public class BuilderController {
         if (startDate != null) existing.setStartDate(startDate);
         if (endDate != null) existing.setEndDate(endDate);
 
-        existing.setBuilderId(builderId);
+        ProjectPatch.Builder changes = ProjectPatch.builder();
+        if (!Objects.equals(base.getName(), existing.getName())) changes.name(existing.getName());
+        if (!Objects.equals(base.getDescription(), existing.getDescription())) changes.description(existing.getDescription());
+        if (!Objects.equals(base.getStatus(), existing.getStatus())) changes.status(existing.getStatus());
+        if (base.getClientId() != existing.getClientId()) changes.clientId(existing.getClientId());
+        if (Math.abs(base.getBudgetPlanned() - existing.getBudgetPlanned()) > BUDGET_DELTA_EPSILON) {
+            changes.budgetPlanned(existing.getBudgetPlanned());
+        }
+        if (Math.abs(base.getBudgetUsed() - existing.getBudgetUsed()) > BUDGET_DELTA_EPSILON) {
+            // Budget used travels as a delta so the patch stays correct if it is merged onto a newer version.
+            changes.budgetUsedDelta(existing.getBudgetUsed() - base.getBudgetUsed());
+        }
+        if (!Objects.equals(base.getStartDate(), existing.getStartDate())) changes.startDate(existing.getStartDate());
+        if (!Objects.equals(base.getEndDate(), existing.getEndDate())) changes.endDate(existing.getEndDate());
+        ProjectPatch patch = changes.build();
 
-        long latestVersion = versionSnapshot;
-        // Status and budget are guarded by locks + optimistic versioning; delegate to those APIs first.
-        try {
-            if (!Objects.equals(originalStatus, existing.getStatus())) {
-                Project updated = projectService.updateProjectStatus(projectId, existing.getStatus(), latestVersion);
-                latestVersion = updated.getVersion();
-                existing.setVersion(latestVersion);
-            }
+        if (patch.isEmpty()) {
+            System.out.println("No changes to save.");
+            return;
+        }
 
-            if (Math.abs(originalBudgetUsed - existing.getBudgetUsed()) > BUDGET_DELTA_EPSILON) {
-                double delta = existing.getBudgetUsed() - originalBudgetUsed;
-                Project updated = projectService.updateProjectBudget(projectId, delta, latestVersion);
-                latestVersion = updated.getVersion();
-                existing.setVersion(latestVersion);
-                existing.setBudgetUsed(updated.getBudgetUsed());
+        try {
+            long newVersion;
+            try {
+                newVersion = projectService.patchProject(projectId, patch, versionSnapshot);
+            } catch (ConcurrentModificationException ex) {
+                // Someone else saved first. Their edits are kept; ours go on top only if they touch other fields.
+                Project current = projectService.getProject(projectId);
+                if (current == null) {
+                    System.out.println("Project was deleted while you were editing it.");
+                    return;
+                }
+                Set<ProjectField> overlap = patch.changedBetween(base, current);
+                if (!overlap.isEmpty()) {
+                    LOGGER.log(Level.WARNING, "Builder {0} update of project {1} conflicts on {2}",
+                            new Object[]{builderId, projectId, overlap});
+                    System.out.println("Someone else changed " + overlap + " on this project while you were "
+                            + "editing it. Nothing was saved; please review the project and try again.");
+                    return;
+                }
+                newVersion = projectService.patchProject(projectId, patch, current.getVersion());
             }
+            LOGGER.log(Level.FINE, "Project {0} moved from version {1} to {2}",
+                    new Object[]{projectId, versionSnapshot, newVersion});
         } catch (ConcurrentModificationException ex) {
             LOGGER.log(Level.WARNING, "Concurrent update detected for project {0}", new Object[]{projectId});
-            System.out.println("Project was updated by someone else. Please reopen the update menu and try again.");
+            System.out.println("Project is being updated heavily right now. Nothing was saved; please try again.");
+            return;
+        } catch (LockTimeoutException ex) {
+            LOGGER.log(Level.WARNING, "Lock wait budget exceeded for project {0}", new Object[]{projectId});
+            System.out.println("Project is busy right now. Please try again shortly.");
             return;
-        }
-
-        boolean otherFieldsChanged =
-                !Objects.equals(originalName, existing.getName())
-                        || !Objects.equals(originalDescription, existing.getDescription())
-                        || originalClientId != existing.getClientId()
-                        || Math.abs(originalBudgetPlanned - existing.getBudgetPlanned()) > BUDGET_DELTA_EPSILON
-                        || !Objects.equals(originalStartDate, existing.getStartDate())
-                        || !Objects.equals(originalEndDate, existing.getEndDate());
-
-        if (otherFieldsChanged) {
-            existing.setVersion(latestVersion);
-            projectService.updateProject(existing);
         }
 
         LOGGER.log(Level.INFO, "Builder {0} updated project {1}", new Object[]{builderId, projectId});
@@ -194,10 +209,12 @@ public class BuilderController {
 
     private void deleteProject() {
         int projectId = ConsoleInput.readInt("Enter project ID to delete: ");
-        projectService.deleteProject(projectId, builderId);
-        LOGGER.log(Level.INFO, "Builder {0} requested deletion for project {1}",
-                new Object[]{builderId, projectId});
-        System.out.println("Project removed if it belonged to you.");
+        if (!projectService.deleteProject(projectId, builderId)) {
+            System.out.println("Project not found or access denied.");
+            return;
+        }
+        LOGGER.log(Level.INFO, "Builder {0} deleted project {1}", new Object[]{builderId, projectId});
+        System.out.println("Project removed.");
     }
 
     private void viewProjects() {
@@ -213,8 +230,7 @@ public class BuilderController {
 
     private void addDocumentMetadata() {
         int projectId = ConsoleInput.readInt("Project ID: ");
-        Project project = projectService.getProject(projectId);
-        if (project == null || project.getBuilderId() != builderId) {
+        if (!projectService.isOwnedByBuilder(projectId, builderId)) {
             LOGGER.log(Level.WARNING, "Builder {0} attempted to add document to unauthorized project {1}",
                     new Object[]{builderId, projectId});
             System.out.println("Project not found or access denied.");
@@ -237,8 +253,7 @@ public class BuilderController {
 
     private void viewDocumentMetadata() {
         int projectId = ConsoleInput.readInt("Project ID: ");
-        Project project = projectService.getProject(projectId);
-        if (project == null || project.getBuilderId() != builderId) {
+        if (!projectService.isOwnedByBuilder(projectId, builderId)) {
             LOGGER.log(Level.WARNING, "Builder {0} attempted to view documents for unauthorized project {1}",
                     new Object[]{builderId, projectId});
             System.out.println("Project not found or access denied.");
@@ -273,7 +288,8 @@ public class BuilderController {
 
     private void viewBudgetReport() {
         int projectId = ConsoleInput.readInt("Project ID: ");
-        Project project = projectService.getProject(projectId);
+        Project project = projectService.isOwnedByBuilder(projectId, builderId)
+                ? projectService.getProject(projectId) : null;
         if (project == null || project.getBuilderId() != builderId) {
             LOGGER.log(Level.WARNING, "Builder {0} attempted to view budget for unauthorized project {1}",
                     new Object[]{builderId, projectId});
@@ -309,6 +325,22 @@ public class BuilderController {
         }
     }
 
+    private static Project copyOf(Project project) {
+        Project copy = new Project();
+        copy.setId(project.getId());
+        copy.setName(project.getName());
+        copy.setDescription(project.getDescription());
+        copy.setStatus(project.getStatus());
+        copy.setBuilderId(project.getBuilderId());
+        copy.setClientId(project.getClientId());
+        copy.setBudgetPlanned(project.getBudgetPlanned());
+        copy.setBudgetUsed(project.getBudgetUsed());
+        copy.setStartDate(project.getStartDate());
+        copy.setEndDate(project.getEndDate());
+        copy.setVersion(project.getVersion());
+        return copy;
+    }
+
     private String formatDate(LocalDate date) {
 
         return date == null ? "none" : date.toString();
@@ -1,6 +1,7 @@
 package com.builder.portfolio.controller;
 
 import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectListing;
 import com.builder.portfolio.service.ProjectService;
 import com.builder.portfolio.util.ConsoleInput;
 
@@ -17,6 +18,9 @@ public class ClientController {
 
     private final ProjectService projectService;
     private final int clientId;
+    // Last rendered listing and the portfolio stamp it was built from; 0 never matches, so the first view queries.
+    private long listingStamp;
+    private String renderedProjects;
 
     public ClientController(ProjectService projectService, int clientId) {
         this.projectService = projectService;
@@ -41,16 +45,27 @@ public class ClientController {
     }
 
     private void viewProjects() {
-        List<Project> projects = projectService.listProjectsByClient(clientId);
+        ProjectListing listing = projectService.listProjectsByClient(clientId, listingStamp);
+        if (listing.isModified()) {
+            renderedProjects = render(listing.getProjects());
+            listingStamp = listing.getStamp();
+        } else {
+            LOGGER.log(Level.FINE, "Client {0} listing unchanged since stamp {1}",
+                    new Object[]{clientId, listingStamp});
+        }
+        System.out.print(renderedProjects);
+    }
+
+    private String render(List<Project> projects) {
         if (projects.isEmpty()) {
             LOGGER.log(Level.INFO, "Client {0} has no projects to display", clientId);
-            System.out.println("No projects assigned.");
-            return;
+            return "No projects assigned." + System.lineSeparator();
         }
-
-        System.out.println("--- My Projects ---");
+        StringBuilder rendered = new StringBuilder("--- My Projects ---").append(System.lineSeparator());
         for (Project project : projects) {
-            System.out.println(project.getId() + ": " + project.getName() + " | " + project.getStatus());
+            rendered.append(project.getId()).append(": ").append(project.getName())
+                    .append(" | ").append(project.getStatus()).append(System.lineSeparator());
         }
+        return rendered.toString();
     }
 }
@@ -0,0 +1,29 @@
+package com.builder.portfolio.dao;
+
+import com.builder.portfolio.model.AuditRecord;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Append-only store of {@link AuditRecord}s.
+ */
+public interface AuditDAO {
+    /**
+     * Appends the records as one write; they become visible to queries together. The caller reuses the list, so
+     * implementations must not keep it.
+     */
+    void append(List<AuditRecord> records);
+
+    /**
+     * @return the project's records in the order they were appended.
+     */
+    List<AuditRecord> findByProject(long projectId);
+
+    /**
+     * Records carry millisecond timestamps, so {@code from} is compared at millisecond precision: a record written in
+     * the same millisecond as {@code from} is included even if {@code from} is a few microseconds later.
+     *
+     * @return records that occurred in {@code [from, to)}, in the order they were appended.
+     */
+    List<AuditRecord> findBetween(Instant from, Instant to);
+}
@@ -1,10 +1,38 @@
 package com.builder.portfolio.dao;
 
 import com.builder.portfolio.model.Document;
+import com.builder.portfolio.util.DBConnectionUtil;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface DocumentDAO {
     void addDocument(Document document);
 
     List<Document> findDocumentsByProject(int projectId);
+
+    /**
+     * Inserts a document under its existing id, e.g. when moving it to another shard.
+     */
+    default void importDocument(Document document) {
+        addDocument(document);
+    }
+
+    default void deleteDocumentsByProject(int projectId) {
+        throw new UnsupportedOperationException("Document deletion is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Cursor-streams a project's documents to {@code consumer} without buffering the whole result.
+     *
+     * @return number of rows streamed.
+     */
+    default long streamDocumentsByProject(int projectId, int fetchSize, Consumer<Document> consumer) {
+        List<Document> documents = findDocumentsByProject(projectId);
+        documents.forEach(consumer);
+        return documents.size();
+    }
+
+    default long streamDocumentsByProject(int projectId, Consumer<Document> consumer) {
+        return streamDocumentsByProject(projectId, DBConnectionUtil.getFetchSize(), consumer);
+    }
 }
@@ -1,6 +1,7 @@
 package com.builder.portfolio.dao;
 
 import com.builder.portfolio.model.Document;
+import com.builder.portfolio.util.ConnectionProvider;
 import com.builder.portfolio.util.DBConnectionUtil;
 import java.sql.Connection;
 import java.sql.Date;
@@ -9,6 +10,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -16,42 +19,109 @@ public class DocumentDAOImpl implements DocumentDAO {
     private static final Logger LOGGER = Logger.getLogger(DocumentDAOImpl.class.getName());
 
     private static final String INSERT_SQL = "INSERT INTO documents (project_id, document_name, document_type, uploaded_by, upload_date) VALUES (?, ?, ?, ?, ?)";
+    private static final String IMPORT_SQL = "INSERT INTO documents (id, project_id, document_name, document_type, uploaded_by, upload_date) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_BY_PROJECT_SQL = "DELETE FROM documents WHERE project_id = ?";
     private static final String SELECT_BY_PROJECT_SQL = "SELECT * FROM documents WHERE project_id = ? ORDER BY id";
 
+    private final ConnectionProvider connectionProvider;
+
+    public DocumentDAOImpl() {
+        this(DBConnectionUtil.defaultProvider());
+    }
+
+    /**
+     * @param connectionProvider source of connections, e.g. one shard's database.
+     */
+    public DocumentDAOImpl(ConnectionProvider connectionProvider) {
+        this.connectionProvider = Objects.requireNonNull(connectionProvider, "connectionProvider");
+    }
+
     @Override
     public void addDocument(Document document) {
-        try (Connection connection = DBConnectionUtil.getConnection();
+        try (Connection connection = connectionProvider.getWriteConnection();
              PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
-            statement.setInt(1, document.getProjectId());
-            statement.setString(2, document.getDocumentName());
-            statement.setString(3, document.getDocumentType());
-            statement.setInt(4, document.getUploadedBy());
-            if (document.getUploadDate() != null) {
-                statement.setDate(5, Date.valueOf(document.getUploadDate()));
-            } else {
-                statement.setNull(5, java.sql.Types.DATE);
-            }
+            bindInsertColumns(statement, 1, document);
             statement.executeUpdate();
         } catch (SQLException ex) {
             LOGGER.log(Level.SEVERE, "Error adding document", ex);
         }
     }
 
+    @Override
+    public void importDocument(Document document) {
+        try (Connection connection = connectionProvider.getWriteConnection();
+             PreparedStatement statement = connection.prepareStatement(IMPORT_SQL)) {
+            statement.setInt(1, document.getId());
+            bindInsertColumns(statement, 2, document);
+            statement.executeUpdate();
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error importing document", ex);
+            throw new IllegalStateException("Could not import document " + document.getId(), ex);
+        }
+    }
+
+    @Override
+    public void deleteDocumentsByProject(int projectId) {
+        try (Connection connection = connectionProvider.getWriteConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_BY_PROJECT_SQL)) {
+            statement.setInt(1, projectId);
+            statement.executeUpdate();
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error deleting documents", ex);
+            throw new IllegalStateException("Could not delete documents of project " + projectId, ex);
+        }
+    }
+
+    private static void bindInsertColumns(PreparedStatement statement, int first, Document document)
+            throws SQLException {
+        statement.setInt(first, document.getProjectId());
+        statement.setString(first + 1, document.getDocumentName());
+        statement.setString(first + 2, document.getDocumentType());
+        statement.setInt(first + 3, document.getUploadedBy());
+        if (document.getUploadDate() != null) {
+            statement.setDate(first + 4, Date.valueOf(document.getUploadDate()));
+        } else {
+            statement.setNull(first + 4, java.sql.Types.DATE);
+        }
+    }
+
     @Override
     public List<Document> findDocumentsByProject(int projectId) {
         List<Document> documents = new ArrayList<>();
-        try (Connection connection = DBConnectionUtil.getConnection();
+        try {
+            // Stream into the list so the rows are not buffered a second time inside the driver.
+            streamByProject(projectId, DBConnectionUtil.getFetchSize(), documents::add);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error loading documents", ex);
+        }
+        return documents;
+    }
+
+    @Override
+    public long streamDocumentsByProject(int projectId, int fetchSize, Consumer<Document> consumer) {
+        try {
+            return streamByProject(projectId, fetchSize, consumer);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error streaming documents", ex);
+            throw new IllegalStateException("Document stream failed", ex);
+        }
+    }
+
+    private long streamByProject(int projectId, int fetchSize, Consumer<Document> consumer) throws SQLException {
+        long rows = 0;
+        try (Connection connection = DBConnectionUtil.forStreaming(connectionProvider.getReadConnection());
              PreparedStatement statement = connection.prepareStatement(SELECT_BY_PROJECT_SQL)) {
+            statement.setFetchSize(fetchSize);
             statement.setInt(1, projectId);
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
-                    documents.add(mapRowToDocument(resultSet));
+                    consumer.accept(mapRowToDocument(resultSet));
+                    rows++;
                 }
             }
-        } catch (SQLException ex) {
-            LOGGER.log(Level.SEVERE, "Error loading documents", ex);
+            connection.commit();
         }
-        return documents;
+        return rows;
     }
 
     private Document mapRowToDocument(ResultSet resultSet) throws SQLException {
@@ -0,0 +1,290 @@
+package com.builder.portfolio.dao;
+
+import com.builder.portfolio.model.AuditRecord;
+import com.builder.portfolio.model.ProjectEvent;
+import com.builder.portfolio.model.ProjectField;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Audit trail kept in a single append-only binary file.
+ *
+ * <p>Each record is {@code [payload length][crc32 of payload][payload]}. A batch is encoded up front and written and
+ * forced with one call; a torn tail left by a crash mid-write fails its checksum and is cut off when the file is
+ * reopened. Queries stream the file up to the last complete batch, so they never see half of one.</p>
+ *
+ * <p>An in-memory index maps each project to the offsets of its records, built while the file is checked on open
+ * and kept up to date by {@link #append}, so a per-project query reads only that project's frames.</p>
+ */
+public final class FileAuditDAO implements AuditDAO, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(FileAuditDAO.class.getName());
+    private static final int FRAME_BYTES = Integer.BYTES * 2;
+    // Event types are stored by ordinal, so new ones must be added at the end of ProjectEvent.Type.
+    private static final ProjectEvent.Type[] TYPES = ProjectEvent.Type.values();
+
+    private final Path file;
+    private final FileChannel channel;
+    private volatile long committedSize;
+    // Guarded by this; holds only offsets below committedSize.
+    private final Map<Long, Offsets> offsetsByProject = new HashMap<>();
+
+    public FileAuditDAO(Path file) {
+        this.file = Objects.requireNonNull(file, "file");
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            long intact = scan(Long.MAX_VALUE, (offset, payload) -> index(projectIdOf(payload), offset));
+            if (intact < channel.size()) {
+                LOGGER.log(Level.WARNING, "Truncating torn audit log tail of {0} at byte {1}",
+                        new Object[] {file, intact});
+                channel.truncate(intact);
+            }
+            this.committedSize = intact;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Audit log " + file + " is unavailable", ex);
+        }
+    }
+
+    @Override
+    public synchronized void append(List<AuditRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(records.size() * 96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(96);
+            DataOutputStream payload = new DataOutputStream(payloadBytes);
+            CRC32 crc = new CRC32();
+            long[] offsets = new long[records.size()];
+            int next = 0;
+            for (AuditRecord record : records) {
+                offsets[next++] = committedSize + out.size();
+                payloadBytes.reset();
+                encode(record, payload);
+                crc.reset();
+                crc.update(payloadBytes.toByteArray());
+                out.writeInt(payloadBytes.size());
+                out.writeInt((int) crc.getValue());
+                payloadBytes.writeTo(out);
+            }
+            ByteBuffer batch = ByteBuffer.wrap(bytes.toByteArray());
+            long position = committedSize;
+            while (batch.hasRemaining()) {
+                position += channel.write(batch, position);
+            }
+            channel.force(false);
+            committedSize = position;
+            for (int i = 0; i < offsets.length; i++) {
+                index(records.get(i).getProjectId(), offsets[i]);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Audit log " + file + " is unavailable", ex);
+        }
+    }
+
+    @Override
+    public List<AuditRecord> findByProject(long projectId) {
+        long[] offsets;
+        synchronized (this) {
+            Offsets indexed = offsetsByProject.get(projectId);
+            if (indexed == null) {
+                return new ArrayList<>();
+            }
+            offsets = indexed.toArray();
+        }
+        List<AuditRecord> records = new ArrayList<>(offsets.length);
+        try {
+            for (long offset : offsets) {
+                records.add(decode(readPayload(offset)));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Audit log " + file + " is unavailable", ex);
+        }
+        return records;
+    }
+
+    @Override
+    public List<AuditRecord> findBetween(Instant from, Instant to) {
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+        Instant fromMillis = from.truncatedTo(ChronoUnit.MILLIS);
+        return query(record -> !record.getOccurredAt().isBefore(fromMillis) && record.getOccurredAt().isBefore(to));
+    }
+
+    public long getSizeBytes() {
+        return committedSize;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Failed to close audit log " + file, ex);
+        }
+    }
+
+    private List<AuditRecord> query(Predicate<AuditRecord> filter) {
+        List<AuditRecord> matches = new ArrayList<>();
+        try {
+            scan(committedSize, (offset, payload) -> {
+                AuditRecord record = decode(payload);
+                if (filter.test(record)) {
+                    matches.add(record);
+                }
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Audit log " + file + " is unavailable", ex);
+        }
+        return matches;
+    }
+
+    private void index(long projectId, long offset) {
+        offsetsByProject.computeIfAbsent(projectId, id -> new Offsets()).add(offset);
+    }
+
+    /**
+     * Reads the payload of the committed record framed at {@code offset}; it was checksummed when indexed.
+     */
+    private byte[] readPayload(long offset) throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_BYTES);
+        readFully(frame, offset);
+        ByteBuffer payload = ByteBuffer.allocate(frame.getInt(0));
+        readFully(payload, offset + FRAME_BYTES);
+        return payload.array();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Audit log " + file + " ends inside a committed record");
+            }
+        }
+    }
+
+    /**
+     * Reads intact records up to {@code limit}, handing each one's offset and payload to {@code visitor}.
+     *
+     * @return the offset just past the last intact record.
+     */
+    private long scan(long limit, FrameVisitor visitor) throws IOException {
+        long offset = 0;
+        CRC32 crc = new CRC32();
+        try (InputStream stream = Files.newInputStream(file);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 64 * 1024))) {
+            while (offset + FRAME_BYTES <= limit) {
+                int length;
+                int checksum;
+                byte[] payload;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length < 0 || offset + FRAME_BYTES + length > limit) {
+                        break;
+                    }
+                    payload = in.readNBytes(length);
+                } catch (EOFException ex) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload);
+                if (payload.length < length || (int) crc.getValue() != checksum) {
+                    break;
+                }
+                visitor.visit(offset, payload);
+                offset += FRAME_BYTES + length;
+            }
+        }
+        return offset;
+    }
+
+    private static long projectIdOf(byte[] payload) {
+        // encode() writes the project id first.
+        return ByteBuffer.wrap(payload).getLong();
+    }
+
+    private static void encode(AuditRecord record, DataOutputStream out) throws IOException {
+        out.writeLong(record.getProjectId());
+        out.writeInt(record.getBuilderId());
+        out.writeByte(record.getType().ordinal());
+        out.writeLong(record.getPreviousVersion());
+        out.writeLong(record.getNewVersion());
+        int changedBits = 0;
+        for (ProjectField field : record.getChangedFields()) {
+            changedBits |= field.bit();
+        }
+        out.writeInt(changedBits);
+        out.writeLong(record.getOccurredAt().getEpochSecond());
+        out.writeInt(record.getOccurredAt().getNano());
+        out.writeLong(record.getElapsedNanos());
+        out.writeUTF(record.getActor());
+    }
+
+    private static AuditRecord decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        return AuditRecord.builder()
+                .projectId(in.readLong())
+                .builderId(in.readInt())
+                .type(TYPES[in.readByte()])
+                .previousVersion(in.readLong())
+                .newVersion(in.readLong())
+                .changedFields(ProjectField.fromBits(in.readInt()))
+                .occurredAt(Instant.ofEpochSecond(in.readLong(), in.readInt()))
+                .elapsedNanos(in.readLong())
+                .actor(in.readUTF())
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface FrameVisitor {
+        void visit(long offset, byte[] payload) throws IOException;
+    }
+
+    /**
+     * Growable array of record offsets, kept unboxed since the index holds one per record.
+     */
+    private static final class Offsets {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long offset) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = offset;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
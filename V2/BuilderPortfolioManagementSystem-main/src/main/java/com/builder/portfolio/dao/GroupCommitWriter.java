@@ -0,0 +1,260 @@
+package com.builder.portfolio.dao;
+
+import com.builder.portfolio.util.ConnectionProvider;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Gathers concurrent writes for up to one window or one batch and commits them in a single transaction on a single
+ * connection, so a burst pays for one commit instead of one per write. Consecutive writes that share SQL go out as
+ * one JDBC batch. If the shared transaction fails, each write is retried on its own so only the bad one fails.
+ */
+final class GroupCommitWriter implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(GroupCommitWriter.class.getName());
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ConnectionProvider connectionProvider;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final LinkedBlockingQueue<Write> queue = new LinkedBlockingQueue<>();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder transactions = new LongAdder();
+    // Queued by close() to wake the flusher; never executed.
+    private final Write closeMarker = new Write("", false, statement -> { }, null, null);
+    // Guards running together with the enqueue, so no write is queued after close() drained the queue.
+    private final Object stateLock = new Object();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    GroupCommitWriter(ConnectionProvider connectionProvider, Duration window, int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.connectionProvider = Objects.requireNonNull(connectionProvider, "connectionProvider");
+        this.windowNanos = Objects.requireNonNull(window, "window").toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.flusher = new Thread(this::flushLoop, "bpms-group-commit");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Queues one statement execution.
+     *
+     * @param onCommitted runs on the writer thread after the commit, with the generated key when
+     *                    {@code returnsKey} is set and 0 otherwise.
+     * @param onRejected  runs when the statement matched no row or its transaction failed; may be null.
+     * @return completes with true once committed, false if no row matched, or exceptionally if the write failed.
+     */
+    CompletableFuture<Boolean> submit(String sql, boolean returnsKey, Binder binder, IntConsumer onCommitted,
+            Runnable onRejected) {
+        Write write = new Write(sql, returnsKey, binder, onCommitted, onRejected);
+        synchronized (stateLock) {
+            if (running) {
+                // The flusher opens the connection on its own thread, so the caller's session is marked here.
+                connectionProvider.recordWrite();
+                queue.add(write);
+                return write.result;
+            }
+        }
+        write.fail(new IllegalStateException("Group commit writer is closed"));
+        return write.result;
+    }
+
+    long getWriteCount() {
+        return writes.sum();
+    }
+
+    long getTransactionCount() {
+        return transactions.sum();
+    }
+
+    /**
+     * Lets the flusher finish the batch it is committing, then fails every write still queued.
+     */
+    @Override
+    public void close() {
+        synchronized (stateLock) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            queue.add(closeMarker);
+        }
+        try {
+            flusher.join(CLOSE_TIMEOUT.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            LOGGER.log(Level.WARNING, "Group commit flusher still busy after {0}; failing queued writes anyway",
+                    CLOSE_TIMEOUT);
+        }
+        // No submit can enqueue any more, so this drain sees every write the flusher did not take.
+        List<Write> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.stream()
+                .filter(write -> write != closeMarker)
+                .forEach(write -> write.fail(new IllegalStateException("Group commit writer is closed")));
+    }
+
+    private void flushLoop() {
+        while (running) {
+            List<Write> batch = new ArrayList<>(maxBatchSize);
+            try {
+                Write first = queue.take();
+                if (first == closeMarker) {
+                    return;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    Write next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null || next == closeMarker) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                batch.forEach(write -> write.fail(new IllegalStateException("Group commit writer is closed")));
+                return;
+            }
+            // Writes already gathered are committed even if close() started meanwhile.
+            flush(batch);
+        }
+    }
+
+    private void flush(List<Write> batch) {
+        try {
+            execute(batch);
+            LOGGER.log(Level.FINE, "Group-committed {0} project writes", batch.size());
+        } catch (SQLException | RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).fail(ex);
+                return;
+            }
+            LOGGER.log(Level.WARNING, "Group commit of " + batch.size() + " writes failed; retrying them one by one",
+                    ex);
+            for (Write write : batch) {
+                try {
+                    execute(List.of(write));
+                } catch (SQLException | RuntimeException single) {
+                    write.fail(single);
+                }
+            }
+        }
+    }
+
+    private void execute(List<Write> batch) throws SQLException {
+        try (Connection connection = connectionProvider.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                int start = 0;
+                while (start < batch.size()) {
+                    // Only neighbours are merged, so writes to the same row keep their submission order.
+                    int end = start + 1;
+                    while (end < batch.size() && batch.get(end).sql.equals(batch.get(start).sql)) {
+                        end++;
+                    }
+                    executeRun(connection, batch.subList(start, end));
+                    start = end;
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        }
+        writes.add(batch.size());
+        transactions.increment();
+        batch.forEach(Write::complete);
+    }
+
+    private static void executeRun(Connection connection, List<Write> run) throws SQLException {
+        Write first = run.get(0);
+        try (PreparedStatement statement = first.returnsKey
+                ? connection.prepareStatement(first.sql, Statement.RETURN_GENERATED_KEYS)
+                : connection.prepareStatement(first.sql)) {
+            for (Write write : run) {
+                write.binder.bind(statement);
+                statement.addBatch();
+            }
+            int[] counts = statement.executeBatch();
+            for (int i = 0; i < run.size(); i++) {
+                // SUCCESS_NO_INFO means the driver did not report a count, not that nothing matched.
+                run.get(i).updateCount = i < counts.length ? counts[i] : Statement.SUCCESS_NO_INFO;
+            }
+            if (first.returnsKey) {
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Write write : run) {
+                        if (keys.next()) {
+                            write.generatedKey = keys.getInt(1);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    private static final class Write {
+        private final String sql;
+        private final boolean returnsKey;
+        private final Binder binder;
+        private final IntConsumer onCommitted;
+        private final Runnable onRejected;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        private int updateCount;
+        private int generatedKey;
+
+        private Write(String sql, boolean returnsKey, Binder binder, IntConsumer onCommitted, Runnable onRejected) {
+            this.sql = Objects.requireNonNull(sql, "sql");
+            this.returnsKey = returnsKey;
+            this.binder = Objects.requireNonNull(binder, "binder");
+            this.onCommitted = onCommitted;
+            this.onRejected = onRejected;
+        }
+
+        private void complete() {
+            if (updateCount == 0) {
+                reject();
+                result.complete(false);
+                return;
+            }
+            if (onCommitted != null) {
+                onCommitted.accept(generatedKey);
+            }
+            result.complete(true);
+        }
+
+        private void fail(Exception ex) {
+            reject();
+            result.completeExceptionally(ex);
+        }
+
+        private void reject() {
+            if (onRejected != null) {
+                onRejected.run();
+            }
+        }
+    }
+}
@@ -1,24 +1,70 @@
 package com.builder.portfolio.dao;
 
 import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectChange;
+import com.builder.portfolio.model.ProjectField;
+import com.builder.portfolio.util.DBConnectionUtil;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ProjectDAO {
     void addProject(Project project);
 
+    /**
+     * Inserts a project under its existing id, e.g. when moving it to another shard.
+     */
+    default void importProject(Project project) {
+        addProject(project);
+    }
+
+    /**
+     * Unconditional write of the project as given, version included: the stored version is the caller's, not a
+     * bumped one. Callers that need a guard or a new version use {@link #conditionalUpdateProject}.
+     */
     void updateProject(Project project);
 
-    void deleteProject(int projectId, int builderId);
+    /**
+     * Deletes the project if it belongs to {@code builderId}.
+     *
+     * @return true if a project was deleted.
+     */
+    boolean deleteProject(int projectId, int builderId);
 
+    /**
+     * Must see every committed write: stamped listings and the ownership index trust it, so a replicated store
+     * answers from its primary.
+     */
     List<Project> findProjectsByBuilder(int builderId);
 
+    /**
+     * Same read-your-writes contract as {@link #findProjectsByBuilder(int)}.
+     */
     List<Project> findProjectsByClient(int clientId);
 
     List<Project> findAllProjects();
 
     Project findById(int projectId);
 
+    /**
+     * Pushes every project to {@code consumer} straight from a server-side cursor, {@code fetchSize} rows at a time,
+     * so heap use does not grow with the table.
+     *
+     * @return number of rows streamed.
+     */
+    default long streamAllProjects(int fetchSize, Consumer<Project> consumer) {
+        List<Project> projects = findAllProjects();
+        projects.forEach(consumer);
+        return projects.size();
+    }
+
+    default long streamAllProjects(Consumer<Project> consumer) {
+        return streamAllProjects(DBConnectionUtil.getFetchSize(), consumer);
+    }
+
     /**
      * Provides a strongly consistent read prior to mutation.
      * TODO: replace with SELECT ... FOR UPDATE once database migrations are in place.
@@ -37,6 +83,94 @@ public interface ProjectDAO {
         return true;
     }
 
+    /**
+     * Version guarded write of only {@code changedFields}; {@code project} already carries the new values.
+     * Implementations that honour {@link Project#getDirtyFields()} get this behaviour from the conditional update.
+     *
+     * @return true if the update succeeded and the version was incremented, false otherwise.
+     */
+    default boolean patchProject(Project project, Set<ProjectField> changedFields, long expectedVersion) {
+        return conditionalUpdateProject(project, expectedVersion);
+    }
+
+    /**
+     * Writes several projects in one transaction, all guarded by their expected versions.
+     * The default is only atomic while the caller holds every project's write lock and cannot roll back on failure.
+     *
+     * @param expectedVersions expected version per project id
+     * @return true if every version matched and all rows were written, false if nothing was written.
+     */
+    default boolean conditionalUpdateProjects(List<Project> projects, Map<Integer, Long> expectedVersions) {
+        for (Project project : projects) {
+            Project current = findByIdForUpdate(project.getId());
+            if (current == null || current.getVersion() != expectedVersions.get(project.getId())) {
+                return false;
+            }
+        }
+        for (Project project : projects) {
+            conditionalUpdateProject(project, expectedVersions.get(project.getId()));
+        }
+        return true;
+    }
+
+    /**
+     * Loads every project as of one database snapshot, scanning id ranges on up to {@code parallelism} connections.
+     * The default is a single query, which is already consistent on its own.
+     */
+    default List<Project> findAllProjectsConsistent(int parallelism) {
+        return findAllProjects();
+    }
+
+    /**
+     * @return the id of every project, e.g. to seed the existence filter without loading whole rows.
+     */
+    default Set<Long> findProjectIds() {
+        Set<Long> projectIds = new HashSet<>();
+        findAllProjects().forEach(project -> projectIds.add((long) project.getId()));
+        return projectIds;
+    }
+
+    /**
+     * @return the distinct builder ids that own at least one project.
+     */
+    default Set<Integer> findBuilderIds() {
+        Set<Integer> builderIds = new HashSet<>();
+        findAllProjects().forEach(project -> builderIds.add(project.getBuilderId()));
+        return builderIds;
+    }
+
+    /**
+     * Full scan split into id ranges that are read concurrently; the result is in id order like
+     * {@link #findAllProjects()}.
+     */
+    default List<Project> findAllProjectsParallel(int parallelism) {
+        return findAllProjects();
+    }
+
+    /**
+     * Streams every project to {@code consumer} while ranges are still being read, without materializing the
+     * table. The consumer is called from several threads and in no particular order.
+     */
+    default void scanProjectsParallel(int parallelism, Consumer<Project> consumer) {
+        findAllProjects().forEach(consumer);
+    }
+
+    /**
+     * Whether {@link #changesSince} is backed by a single ordered feed. Stores that answer {@code false} keep no
+     * feed and always return an empty list from it, so callers check here to tell "no feed" from "no changes".
+     */
+    default boolean supportsChangeFeed() {
+        return false;
+    }
+
+    /**
+     * Reads the change feed: up to {@code limit} changes with a sequence above {@code sequence}, oldest first.
+     * Empty when {@link #supportsChangeFeed()} is {@code false}.
+     */
+    default List<ProjectChange> changesSince(long sequence, int limit) {
+        return List.of();
+    }
+
     default Optional<Project> findOptionalById(long projectId) {
         return Optional.ofNullable(findById((int) projectId));
     }
@@ -1,133 +1,632 @@
 package com.builder.portfolio.dao;
 
 import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectChange;
+import com.builder.portfolio.model.ProjectField;
+import com.builder.portfolio.util.ConnectionProvider;
 import com.builder.portfolio.util.DBConnectionUtil;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class ProjectDAOImpl implements ProjectDAO {
     private static final Logger LOGGER = Logger.getLogger(ProjectDAOImpl.class.getName());
     private static final ConcurrentHashMap<Integer, AtomicLong> PROJECT_VERSIONS = new ConcurrentHashMap<>();
+    // UPDATE statements keyed by the exact set of changed columns; at most 2^8 distinct entries.
+    private static final ConcurrentHashMap<Set<ProjectField>, String> PARTIAL_UPDATE_SQL = new ConcurrentHashMap<>();
 
     private static final String INSERT_SQL = "INSERT INTO projects (name, description, status, builder_id, client_id, budget_planned, budget_used, start_date, end_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-    private static final String UPDATE_SQL = "UPDATE projects SET name = ?, description = ?, status = ?, client_id = ?, budget_planned = ?, budget_used = ?, start_date = ?, end_date = ? WHERE id = ? AND builder_id = ?";
+    private static final String IMPORT_SQL = "INSERT INTO projects (id, name, description, status, builder_id, client_id, budget_planned, budget_used, start_date, end_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
     private static final String DELETE_SQL = "DELETE FROM projects WHERE id = ? AND builder_id = ?";
     private static final String SELECT_BY_BUILDER_SQL = "SELECT * FROM projects WHERE builder_id = ? ORDER BY id";
     private static final String SELECT_BY_CLIENT_SQL = "SELECT * FROM projects WHERE client_id = ? ORDER BY id";
     private static final String SELECT_ALL_SQL = "SELECT * FROM projects ORDER BY id";
     private static final String SELECT_BY_ID_SQL = "SELECT * FROM projects WHERE id = ?";
+    private static final String SELECT_IDS_SQL = "SELECT id FROM projects";
+    private static final String SELECT_BUILDER_IDS_SQL =
+            "SELECT DISTINCT builder_id FROM projects WHERE builder_id IS NOT NULL";
+    private static final String EXPORT_SNAPSHOT_SQL = "SELECT pg_export_snapshot(), MIN(id), MAX(id) FROM projects";
+    private static final String SELECT_RANGE_SQL = "SELECT * FROM projects WHERE id BETWEEN ? AND ? ORDER BY id";
+    // reltuples is the planner's row estimate; it is cheap to read and good enough to size the ranges. It is -1 for
+    // a table that was never analyzed.
+    private static final String SCAN_BOUNDS_SQL = "SELECT MIN(id), MAX(id), "
+            + "(SELECT reltuples::bigint FROM pg_class WHERE oid = 'projects'::regclass) FROM projects";
+    // Rows written by a transaction that may still be open are held back: an older transaction could yet commit
+    // a lower sequence, and a reader that already moved past it would never see that change.
+    private static final String CHANGES_SINCE_SQL = "SELECT seq, project_id, builder_id, change_type, changed_fields, "
+            + "changed_at FROM project_changes WHERE seq > ? AND txid < txid_snapshot_xmin(txid_current_snapshot()) "
+            + "ORDER BY seq LIMIT ?";
+    private static final long MIN_ROWS_PER_RANGE = 1_000;
+
+    private final ConnectionProvider connectionProvider;
+    // Null unless group commit is enabled; then every add and update goes through it.
+    private final GroupCommitWriter groupCommit;
+    // System.nanoTime() of this DAO's last committed write per project, builder and client. Reads covering those rows
+    // hand the time to the provider, which keeps them off replicas that may not have replayed the write.
+    private final ConcurrentHashMap<Integer, Long> projectWrites = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Long> builderWrites = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Long> clientWrites = new ConcurrentHashMap<>();
+    // Deletes and client moves also change the listing of a client this DAO cannot name: the row's previous client.
+    private volatile long lastClientLoss = ConnectionProvider.NO_WRITE;
+    private volatile long lastWrite = ConnectionProvider.NO_WRITE;
+
+    public ProjectDAOImpl() {
+        this(DBConnectionUtil.defaultProvider());
+    }
+
+    /**
+     * @param connectionProvider source of connections, e.g. one shard's database.
+     */
+    public ProjectDAOImpl(ConnectionProvider connectionProvider) {
+        this.connectionProvider = Objects.requireNonNull(connectionProvider, "connectionProvider");
+        this.groupCommit = null;
+    }
+
+    /**
+     * Batches concurrent adds and updates: writes arriving within {@code window} of each other, up to
+     * {@code maxBatchSize}, share one transaction and one commit.
+     */
+    public ProjectDAOImpl(ConnectionProvider connectionProvider, Duration window, int maxBatchSize) {
+        this.connectionProvider = Objects.requireNonNull(connectionProvider, "connectionProvider");
+        this.groupCommit = new GroupCommitWriter(connectionProvider, window, maxBatchSize);
+    }
 
     @Override
     public void addProject(Project project) {
-        try (Connection connection = DBConnectionUtil.getConnection();
-             PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
-            statement.setString(1, project.getName());
-            statement.setString(2, project.getDescription());
-            statement.setString(3, project.getStatus());
-            statement.setInt(4, project.getBuilderId());
-            statement.setInt(5, project.getClientId());
-            statement.setDouble(6, project.getBudgetPlanned());
-            statement.setDouble(7, project.getBudgetUsed());
-            if (project.getStartDate() != null) {
-                statement.setDate(8, Date.valueOf(project.getStartDate()));
-            } else {
-                statement.setNull(8, java.sql.Types.DATE);
-            }
-            if (project.getEndDate() != null) {
-                statement.setDate(9, Date.valueOf(project.getEndDate()));
-            } else {
-                statement.setNull(9, java.sql.Types.DATE);
-            }
+        if (groupCommit != null) {
+            awaitGroupCommit(addProjectAsync(project), "Error adding project");
+            return;
+        }
+        try (Connection connection = connectionProvider.getWriteConnection();
+             PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsertColumns(statement, 1, project);
             statement.executeUpdate();
+            // Hand the generated id back so the service can index the new project without a re-read.
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                if (keys.next()) {
+                    project.setId(keys.getInt(1));
+                }
+            }
+            project.clearDirtyFields();
             PROJECT_VERSIONS.computeIfAbsent(project.getId(), key -> new AtomicLong(project.getVersion()));
+            noteWrite(project, false);
         } catch (SQLException ex) {
             LOGGER.log(Level.SEVERE, "Error adding project", ex);
         }
     }
 
+    /**
+     * Inserts the project, completing once its transaction has committed and the generated id is set. Without
+     * group commit the insert runs on the calling thread.
+     */
+    public CompletableFuture<Boolean> addProjectAsync(Project project) {
+        if (groupCommit == null) {
+            addProject(project);
+            return CompletableFuture.completedFuture(true);
+        }
+        return groupCommit.submit(INSERT_SQL, true, statement -> bindInsertColumns(statement, 1, project), key -> {
+            project.setId(key);
+            project.clearDirtyFields();
+            PROJECT_VERSIONS.computeIfAbsent(project.getId(), id -> new AtomicLong(project.getVersion()));
+            noteWrite(project, false);
+        }, null);
+    }
+
+    @Override
+    public void importProject(Project project) {
+        try (Connection connection = connectionProvider.getWriteConnection();
+             PreparedStatement statement = connection.prepareStatement(IMPORT_SQL)) {
+            statement.setInt(1, project.getId());
+            bindInsertColumns(statement, 2, project);
+            statement.executeUpdate();
+            project.clearDirtyFields();
+            noteWrite(project, false);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error importing project", ex);
+            throw new IllegalStateException("Could not import project " + project.getId(), ex);
+        }
+    }
+
+    private static void bindInsertColumns(PreparedStatement statement, int first, Project project)
+            throws SQLException {
+        statement.setString(first, project.getName());
+        statement.setString(first + 1, project.getDescription());
+        statement.setString(first + 2, project.getStatus());
+        statement.setInt(first + 3, project.getBuilderId());
+        statement.setInt(first + 4, project.getClientId());
+        statement.setDouble(first + 5, project.getBudgetPlanned());
+        statement.setDouble(first + 6, project.getBudgetUsed());
+        bindDate(statement, first + 7, project.getStartDate());
+        bindDate(statement, first + 8, project.getEndDate());
+    }
+
     @Override
     public void updateProject(Project project) {
+        if (groupCommit != null) {
+            awaitGroupCommit(updateProjectAsync(project), "Error updating project");
+            return;
+        }
         doUpdate(project);
     }
 
+    /**
+     * Writes the project's changed columns, completing once committed. Without group commit the update runs on
+     * the calling thread.
+     */
+    public CompletableFuture<Boolean> updateProjectAsync(Project project) {
+        if (groupCommit == null || project.getDirtyFields().isEmpty()) {
+            doUpdate(project);
+            return CompletableFuture.completedFuture(true);
+        }
+        return submitDirtyFields(project, null);
+    }
+
+    private CompletableFuture<Boolean> submitDirtyFields(Project project, Runnable onRejected) {
+        // Bind from copies of the fields and values: the flusher runs later and the caller may keep editing the
+        // project meanwhile.
+        Set<ProjectField> dirtyFields = EnumSet.copyOf(project.getDirtyFields());
+        Project values = copyForBinding(project);
+        String sql = PARTIAL_UPDATE_SQL.computeIfAbsent(dirtyFields, ProjectDAOImpl::buildPartialUpdateSql);
+        return groupCommit.submit(sql, false, statement -> bindDirtyFields(statement, dirtyFields, values), key -> {
+            project.clearDirtyFields();
+            PROJECT_VERSIONS.computeIfAbsent(values.getId(), id -> new AtomicLong()).set(values.getVersion());
+            noteWrite(values, dirtyFields.contains(ProjectField.CLIENT_ID));
+        }, onRejected);
+    }
+
+    private static boolean awaitGroupCommit(CompletableFuture<Boolean> result, String message) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            LOGGER.log(Level.SEVERE, message, ex.getCause());
+            return false;
+        }
+    }
+
     private void doUpdate(Project project) {
-        try (Connection connection = DBConnectionUtil.getConnection();
-             PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
-            statement.setString(1, project.getName());
-            statement.setString(2, project.getDescription());
-            statement.setString(3, project.getStatus());
-            statement.setInt(4, project.getClientId());
-            statement.setDouble(5, project.getBudgetPlanned());
-            statement.setDouble(6, project.getBudgetUsed());
-            if (project.getStartDate() != null) {
-                statement.setDate(7, Date.valueOf(project.getStartDate()));
-            } else {
-                statement.setNull(7, java.sql.Types.DATE);
-            }
-            if (project.getEndDate() != null) {
-                statement.setDate(8, Date.valueOf(project.getEndDate()));
-            } else {
-                statement.setNull(8, java.sql.Types.DATE);
-            }
-            statement.setInt(9, project.getId());
-            statement.setInt(10, project.getBuilderId());
-            statement.executeUpdate();
+        if (project.getDirtyFields().isEmpty()) {
+            // Nothing changed since the row was loaded, so skip the round trip and the WAL record.
+            LOGGER.fine(() -> "Skipping update for unchanged project " + project.getId());
+            PROJECT_VERSIONS.computeIfAbsent(project.getId(), key -> new AtomicLong()).set(project.getVersion());
+            return;
+        }
+        boolean clientChanged = project.getDirtyFields().contains(ProjectField.CLIENT_ID);
+        try (Connection connection = connectionProvider.getWriteConnection()) {
+            writeDirtyFields(connection, project);
+            project.clearDirtyFields();
             PROJECT_VERSIONS.computeIfAbsent(project.getId(), key -> new AtomicLong()).set(project.getVersion());
+            noteWrite(project, clientChanged);
         } catch (SQLException ex) {
             LOGGER.log(Level.SEVERE, "Error updating project", ex);
         }
     }
 
+    private void writeDirtyFields(Connection connection, Project project) throws SQLException {
+        Set<ProjectField> dirtyFields = project.getDirtyFields();
+        if (dirtyFields.isEmpty()) {
+            return;
+        }
+        String sql = PARTIAL_UPDATE_SQL.computeIfAbsent(dirtyFields, ProjectDAOImpl::buildPartialUpdateSql);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            bindDirtyFields(statement, dirtyFields, project);
+            statement.executeUpdate();
+        }
+    }
+
+    private static void bindDirtyFields(PreparedStatement statement, Set<ProjectField> dirtyFields, Project project)
+            throws SQLException {
+        int index = 1;
+        for (ProjectField field : ProjectField.values()) {
+            if (dirtyFields.contains(field)) {
+                bindField(statement, index++, field, project);
+            }
+        }
+        statement.setInt(index++, project.getId());
+        statement.setInt(index, project.getBuilderId());
+    }
+
     @Override
-    public void deleteProject(int projectId, int builderId) {
-        try (Connection connection = DBConnectionUtil.getConnection();
+    public boolean deleteProject(int projectId, int builderId) {
+        try (Connection connection = connectionProvider.getWriteConnection();
              PreparedStatement statement = connection.prepareStatement(DELETE_SQL)) {
             statement.setInt(1, projectId);
             statement.setInt(2, builderId);
-            statement.executeUpdate();
+            boolean deleted = statement.executeUpdate() > 0;
+            if (deleted) {
+                noteDelete(projectId, builderId);
+            }
+            return deleted;
         } catch (SQLException ex) {
             LOGGER.log(Level.SEVERE, "Error deleting project", ex);
         }
+        return false;
     }
 
     @Override
     public List<Project> findProjectsByBuilder(int builderId) {
-        return findProjectsByParameter(builderId, SELECT_BY_BUILDER_SQL);
+        return findProjectsByParameter(builderId, SELECT_BY_BUILDER_SQL, lastWriteOf(builderWrites, builderId));
     }
 
     @Override
     public List<Project> findProjectsByClient(int clientId) {
-        return findProjectsByParameter(clientId, SELECT_BY_CLIENT_SQL);
+        return findProjectsByParameter(clientId, SELECT_BY_CLIENT_SQL,
+                latest(lastWriteOf(clientWrites, clientId), lastClientLoss));
     }
 
     @Override
     public List<Project> findAllProjects() {
         List<Project> projects = new ArrayList<>();
-        try (Connection connection = DBConnectionUtil.getConnection();
-             PreparedStatement statement = connection.prepareStatement(SELECT_ALL_SQL);
+        try {
+            // Stream into the list so the rows are not buffered a second time inside the driver.
+            streamAll(DBConnectionUtil.getFetchSize(), lastWrite, projects::add);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error listing projects", ex);
+        }
+        return projects;
+    }
+
+    @Override
+    public long streamAllProjects(int fetchSize, Consumer<Project> consumer) {
+        try {
+            return streamAll(fetchSize, ConnectionProvider.NO_WRITE, consumer);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error streaming projects", ex);
+            throw new IllegalStateException("Project stream failed", ex);
+        }
+    }
+
+    private long streamAll(int fetchSize, long lastWriteNanos, Consumer<Project> consumer) throws SQLException {
+        long rows = 0;
+        try (Connection connection = DBConnectionUtil.forStreaming(connect(lastWriteNanos));
+             PreparedStatement statement = connection.prepareStatement(SELECT_ALL_SQL)) {
+            statement.setFetchSize(fetchSize);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    consumer.accept(mapRowToProject(resultSet));
+                    rows++;
+                }
+            }
+            connection.commit();
+        }
+        return rows;
+    }
+
+    @Override
+    public Set<Long> findProjectIds() {
+        Set<Long> projectIds = new HashSet<>();
+        // Seeds the existence filter, which must not miss a committed project, so this reads the primary.
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_IDS_SQL);
              ResultSet resultSet = statement.executeQuery()) {
             while (resultSet.next()) {
-                projects.add(mapRowToProject(resultSet));
+                projectIds.add(resultSet.getLong(1));
             }
         } catch (SQLException ex) {
-            LOGGER.log(Level.SEVERE, "Error listing projects", ex);
+            LOGGER.log(Level.SEVERE, "Error listing project ids", ex);
+            throw new IllegalStateException("Project id listing failed", ex);
+        }
+        return projectIds;
+    }
+
+    @Override
+    public Set<Integer> findBuilderIds() {
+        Set<Integer> builderIds = new HashSet<>();
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_BUILDER_IDS_SQL);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                builderIds.add(resultSet.getInt(1));
+            }
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error listing builder ids", ex);
+            throw new IllegalStateException("Builder id listing failed", ex);
+        }
+        return builderIds;
+    }
+
+    @Override
+    public List<Project> findAllProjectsConsistent(int parallelism) {
+        if (parallelism <= 1) {
+            return findAllProjects();
+        }
+        // The exporting transaction must stay open until every worker has imported its snapshot.
+        try (Connection coordinator = connectionProvider.getConnection()) {
+            coordinator.setAutoCommit(false);
+            coordinator.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            List<List<Project>> ranges;
+            try (PreparedStatement statement = coordinator.prepareStatement(EXPORT_SNAPSHOT_SQL);
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                String snapshotId = resultSet.getString(1);
+                long minId = resultSet.getLong(2);
+                if (resultSet.wasNull()) {
+                    coordinator.commit();
+                    return new ArrayList<>();
+                }
+                ScanBounds bounds = new ScanBounds(minId, resultSet.getLong(3), ScanBounds.UNKNOWN_ROWS);
+                ranges = collectRanges(bounds, parallelism, parallelism, snapshotId, ConnectionProvider.NO_WRITE);
+            }
+            coordinator.commit();
+            return concat(ranges);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error running snapshot scan", ex);
+            throw new IllegalStateException("Snapshot scan failed", ex);
+        }
+    }
+
+    @Override
+    public List<Project> findAllProjectsParallel(int parallelism) {
+        if (parallelism <= 1) {
+            return findAllProjects();
+        }
+        long lastWriteNanos = lastWrite;
+        try {
+            ScanBounds bounds = loadScanBounds(lastWriteNanos);
+            if (bounds == null) {
+                return new ArrayList<>();
+            }
+            // Ranges come back in id order, so concatenating them keeps the same order as findAllProjects.
+            return concat(collectRanges(bounds, bounds.rangeCount(parallelism), parallelism, null, lastWriteNanos));
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error running parallel scan", ex);
+            throw new IllegalStateException("Parallel scan failed", ex);
+        }
+    }
+
+    @Override
+    public void scanProjectsParallel(int parallelism, Consumer<Project> consumer) {
+        try {
+            ScanBounds bounds = loadScanBounds(ConnectionProvider.NO_WRITE);
+            if (bounds != null) {
+                scanRanges(bounds, bounds.rangeCount(parallelism), Math.max(1, parallelism), null,
+                        ConnectionProvider.NO_WRITE,
+                        (project, range) -> consumer.accept(project));
+            }
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error running parallel scan", ex);
+            throw new IllegalStateException("Parallel scan failed", ex);
+        }
+    }
+
+    private ScanBounds loadScanBounds(long lastWriteNanos) throws SQLException {
+        try (Connection connection = connect(lastWriteNanos);
+             PreparedStatement statement = connection.prepareStatement(SCAN_BOUNDS_SQL);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            long minId = resultSet.getLong(1);
+            if (resultSet.wasNull()) {
+                return null;
+            }
+            return new ScanBounds(minId, resultSet.getLong(2), resultSet.getLong(3));
+        }
+    }
+
+    private List<List<Project>> collectRanges(ScanBounds bounds, int rangeCount, int parallelism,
+            String snapshotId, long lastWriteNanos) throws SQLException {
+        List<List<Project>> ranges = new ArrayList<>();
+        for (int i = 0; i < rangeCount; i++) {
+            ranges.add(new ArrayList<>());
+        }
+        // Each range is filled by exactly one worker, so the per-range lists need no locking.
+        scanRanges(bounds, rangeCount, parallelism, snapshotId, lastWriteNanos,
+                (project, range) -> ranges.get(range).add(project));
+        return ranges;
+    }
+
+    /**
+     * Splits [minId, maxId] into {@code rangeCount} slices and drains them with {@code parallelism} workers,
+     * each reusing one connection and streaming rows with a bounded fetch size.
+     */
+    private void scanRanges(ScanBounds bounds, int rangeCount, int parallelism, String snapshotId,
+            long lastWriteNanos, ObjIntConsumer<Project> sink) throws SQLException {
+        long span = bounds.span(rangeCount);
+        ConcurrentLinkedQueue<Integer> pending = new ConcurrentLinkedQueue<>();
+        for (int range = 0; range < bounds.usedRanges(rangeCount); range++) {
+            pending.add(range);
+        }
+        int workerCount = Math.min(parallelism, pending.size());
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, workerCount));
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (int i = 0; i < workerCount; i++) {
+                results.add(workers.submit(() -> {
+                    drainRanges(pending, bounds, span, snapshotId, lastWriteNanos, sink);
+                    return null;
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted during range scan", ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof SQLException sqlException
+                    ? sqlException
+                    : new SQLException("Range scan failed", ex.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void drainRanges(ConcurrentLinkedQueue<Integer> pending, ScanBounds bounds, long span, String snapshotId,
+            long lastWriteNanos, ObjIntConsumer<Project> sink) throws SQLException {
+        // Snapshot imports have to run on the server that exported the snapshot, which is the primary.
+        try (Connection connection = DBConnectionUtil.forStreaming(snapshotId != null
+                ? connectionProvider.getConnection()
+                : connect(lastWriteNanos))) {
+            if (snapshotId != null) {
+                connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+                try (Statement importSnapshot = connection.createStatement()) {
+                    // Must be the first statement of the transaction; the id comes from pg_export_snapshot.
+                    importSnapshot.execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_RANGE_SQL)) {
+                statement.setFetchSize(DBConnectionUtil.getFetchSize());
+                for (Integer range = pending.poll(); range != null; range = pending.poll()) {
+                    statement.setLong(1, bounds.lowerId(range, span));
+                    statement.setLong(2, bounds.upperId(range, span));
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            sink.accept(mapRowToProject(resultSet), range);
+                        }
+                    }
+                }
+            }
+            connection.commit();
+        }
+    }
+
+    @Override
+    public boolean supportsChangeFeed() {
+        return true;
+    }
+
+    /**
+     * Reads the {@code project_changes} table, which the {@code projects} trigger fills in the same transaction as
+     * every insert, update and delete.
+     */
+    @Override
+    public List<ProjectChange> changesSince(long sequence, int limit) {
+        List<ProjectChange> changes = new ArrayList<>();
+        try (Connection connection = connectionProvider.getReadConnection();
+             PreparedStatement statement = connection.prepareStatement(CHANGES_SINCE_SQL)) {
+            statement.setLong(1, sequence);
+            statement.setInt(2, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    changes.add(mapRowToChange(resultSet));
+                }
+            }
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error reading project changes", ex);
+            throw new IllegalStateException("Could not read project changes after " + sequence, ex);
+        }
+        return changes;
+    }
+
+    private static ProjectChange mapRowToChange(ResultSet resultSet) throws SQLException {
+        ProjectChange.Builder change = ProjectChange.builder()
+                .sequence(resultSet.getLong("seq"))
+                .projectId(resultSet.getInt("project_id"))
+                .builderId(resultSet.getInt("builder_id"))
+                .type(ProjectChange.Type.valueOf(resultSet.getString("change_type")));
+        String changedFields = resultSet.getString("changed_fields");
+        if (changedFields != null && !changedFields.isEmpty()) {
+            Set<ProjectField> fields = EnumSet.noneOf(ProjectField.class);
+            for (String column : changedFields.split(",")) {
+                fields.add(ProjectField.fromColumn(column));
+            }
+            change.changedFields(fields);
+        }
+        Timestamp changedAt = resultSet.getTimestamp("changed_at");
+        if (changedAt != null) {
+            change.changedAt(changedAt.toInstant());
         }
+        return change.build();
+    }
+
+    /**
+     * Rows are stamped with this process's in-memory version, which a replica row only matches once the replica has
+     * replayed the write. Reads that feed caches or indexes therefore pass the last write to the rows they cover
+     * ({@link ConnectionProvider#NO_WRITE} for pass-through streams), and the provider keeps them on the primary
+     * while a replica may still be behind it, as well as during the calling session's read-your-writes window.
+     */
+    private Connection connect(long lastWriteNanos) throws SQLException {
+        return connectionProvider.getReadConnection(lastWriteNanos);
+    }
+
+    private void noteWrite(Project project, boolean clientChanged) {
+        long now = System.nanoTime();
+        projectWrites.put(project.getId(), now);
+        builderWrites.put(project.getBuilderId(), now);
+        clientWrites.put(project.getClientId(), now);
+        if (clientChanged) {
+            lastClientLoss = now;
+        }
+        lastWrite = now;
+    }
+
+    private void noteDelete(int projectId, int builderId) {
+        long now = System.nanoTime();
+        projectWrites.put(projectId, now);
+        builderWrites.put(builderId, now);
+        lastClientLoss = now;
+        lastWrite = now;
+    }
+
+    private static long lastWriteOf(Map<Integer, Long> writes, int id) {
+        return writes.getOrDefault(id, ConnectionProvider.NO_WRITE);
+    }
+
+    private static long latest(long first, long second) {
+        if (first == ConnectionProvider.NO_WRITE) {
+            return second;
+        }
+        if (second == ConnectionProvider.NO_WRITE) {
+            return first;
+        }
+        // nanoTime values may wrap, so compare by difference.
+        return first - second >= 0 ? first : second;
+    }
+
+    private static List<Project> concat(List<List<Project>> ranges) {
+        List<Project> projects = new ArrayList<>();
+        ranges.forEach(projects::addAll);
         return projects;
     }
 
     @Override
     public Project findById(int projectId) {
-        try (Connection connection = DBConnectionUtil.getConnection();
-             PreparedStatement statement = connection.prepareStatement(SELECT_BY_ID_SQL)) {
+        // Callers cache, index and negative-cache the answer; connect keeps a row this DAO wrote recently, or its
+        // deletion, off replicas that may not have it yet.
+        try (Connection connection = connect(lastWriteOf(projectWrites, projectId))) {
+            return findById(connection, projectId);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding project", ex);
+        }
+        return null;
+    }
+
+    @Override
+    public Project findByIdForUpdate(long projectId) {
+        // Reads that feed a write must never see a lagging replica.
+        try (Connection connection = connectionProvider.getConnection()) {
+            return findById(connection, (int) projectId);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error finding project", ex);
+        }
+        return null;
+    }
+
+    private Project findById(Connection connection, int projectId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_ID_SQL)) {
             statement.setInt(1, projectId);
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
@@ -137,14 +636,20 @@ public class ProjectDAOImpl implements ProjectDAO {
                     return project;
                 }
             }
-        } catch (SQLException ex) {
-            LOGGER.log(Level.SEVERE, "Error finding project", ex);
         }
         return null;
     }
 
+    /**
+     * The projects table has no version column, so the guard is a compare-and-set on this process's version map
+     * followed by a plain UPDATE. It orders writers within one JVM only; a second process writing the same rows is
+     * not detected.
+     */
     @Override
     public boolean conditionalUpdateProject(Project project, long expectedVersion) {
+        if (groupCommit != null) {
+            return awaitGroupCommit(conditionalUpdateProjectAsync(project, expectedVersion), "Error updating project");
+        }
         AtomicLong version = PROJECT_VERSIONS.computeIfAbsent(project.getId(), key -> new AtomicLong(project.getVersion()));
         long current = version.get();
         if (current != expectedVersion) {
@@ -154,14 +659,134 @@ public class ProjectDAOImpl implements ProjectDAO {
             return false;
         }
         project.setVersion(expectedVersion + 1);
-        // TODO: Convert to single SQL update with WHERE version = ? once schema evolves.
         doUpdate(project);
         return true;
     }
 
-    private List<Project> findProjectsByParameter(int id, String query) {
+    /**
+     * Like {@link #conditionalUpdateProject} but completes once the write has committed. A version conflict
+     * completes with false straight away; so does an update that matched no row, which also releases the claim.
+     */
+    public CompletableFuture<Boolean> conditionalUpdateProjectAsync(Project project, long expectedVersion) {
+        if (groupCommit == null) {
+            return CompletableFuture.completedFuture(conditionalUpdateProject(project, expectedVersion));
+        }
+        AtomicLong version = PROJECT_VERSIONS.computeIfAbsent(project.getId(),
+                key -> new AtomicLong(project.getVersion()));
+        if (!version.compareAndSet(expectedVersion, expectedVersion + 1)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        project.setVersion(expectedVersion + 1);
+        if (project.getDirtyFields().isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return submitDirtyFields(project, () -> {
+            version.compareAndSet(expectedVersion + 1, expectedVersion);
+            project.setVersion(expectedVersion);
+        });
+    }
+
+    @Override
+    public boolean conditionalUpdateProjects(List<Project> projects, Map<Integer, Long> expectedVersions) {
+        // Claim every version first so a conflict on any project leaves all of them untouched.
+        List<Project> claimed = new ArrayList<>();
+        for (Project project : projects) {
+            long expected = expectedVersions.get(project.getId());
+            AtomicLong version = PROJECT_VERSIONS.computeIfAbsent(project.getId(), key -> new AtomicLong(expected));
+            if (!version.compareAndSet(expected, expected + 1)) {
+                releaseVersions(claimed, expectedVersions);
+                return false;
+            }
+            claimed.add(project);
+        }
+        try (Connection connection = connectionProvider.getWriteConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                for (Project project : projects) {
+                    writeDirtyFields(connection, project);
+                }
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        } catch (SQLException ex) {
+            releaseVersions(claimed, expectedVersions);
+            LOGGER.log(Level.SEVERE, "Error updating projects in one transaction", ex);
+            throw new IllegalStateException("Multi-project update was rolled back", ex);
+        }
+        for (Project project : projects) {
+            project.setVersion(expectedVersions.get(project.getId()) + 1);
+            noteWrite(project, project.getDirtyFields().contains(ProjectField.CLIENT_ID));
+            project.clearDirtyFields();
+        }
+        return true;
+    }
+
+    private void releaseVersions(List<Project> claimed, Map<Integer, Long> expectedVersions) {
+        for (Project project : claimed) {
+            long expected = expectedVersions.get(project.getId());
+            PROJECT_VERSIONS.get(project.getId()).compareAndSet(expected + 1, expected);
+        }
+    }
+
+    private static String buildPartialUpdateSql(Set<ProjectField> fields) {
+        StringBuilder sql = new StringBuilder("UPDATE projects SET ");
+        boolean first = true;
+        // Iterate the enum rather than the set so the bind order is stable for every cached statement.
+        for (ProjectField field : ProjectField.values()) {
+            if (fields.contains(field)) {
+                sql.append(first ? "" : ", ").append(field.getColumn()).append(" = ?");
+                first = false;
+            }
+        }
+        return sql.append(" WHERE id = ? AND builder_id = ?").toString();
+    }
+
+    private static void bindField(PreparedStatement statement, int index, ProjectField field, Project project)
+            throws SQLException {
+        switch (field) {
+            case NAME -> statement.setString(index, project.getName());
+            case DESCRIPTION -> statement.setString(index, project.getDescription());
+            case STATUS -> statement.setString(index, project.getStatus());
+            case CLIENT_ID -> statement.setInt(index, project.getClientId());
+            case BUDGET_PLANNED -> statement.setDouble(index, project.getBudgetPlanned());
+            case BUDGET_USED -> statement.setDouble(index, project.getBudgetUsed());
+            case START_DATE -> bindDate(statement, index, project.getStartDate());
+            case END_DATE -> bindDate(statement, index, project.getEndDate());
+        }
+    }
+
+    private static Project copyForBinding(Project project) {
+        Project copy = new Project();
+        copy.setId(project.getId());
+        copy.setName(project.getName());
+        copy.setDescription(project.getDescription());
+        copy.setStatus(project.getStatus());
+        copy.setBuilderId(project.getBuilderId());
+        copy.setClientId(project.getClientId());
+        copy.setBudgetPlanned(project.getBudgetPlanned());
+        copy.setBudgetUsed(project.getBudgetUsed());
+        copy.setStartDate(project.getStartDate());
+        copy.setEndDate(project.getEndDate());
+        copy.setVersion(project.getVersion());
+        return copy;
+    }
+
+    private static void bindDate(PreparedStatement statement, int index, java.time.LocalDate date)
+            throws SQLException {
+        if (date != null) {
+            statement.setDate(index, Date.valueOf(date));
+        } else {
+            statement.setNull(index, java.sql.Types.DATE);
+        }
+    }
+
+    private List<Project> findProjectsByParameter(int id, String query, long lastWriteNanos) {
         List<Project> projects = new ArrayList<>();
-        try (Connection connection = DBConnectionUtil.getConnection();
+        // Builder and client listings mark the ownership index complete and back the service's listing stamps, so
+        // a listing this DAO changed recently is read from the primary.
+        try (Connection connection = connect(lastWriteNanos);
              PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setInt(1, id);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -195,6 +820,55 @@ public class ProjectDAOImpl implements ProjectDAO {
         }
         project.setVersion(PROJECT_VERSIONS
                 .computeIfAbsent(project.getId(), key -> new AtomicLong()).get());
+        project.clearDirtyFields();
         return project;
     }
+
+    /**
+     * Id bounds of a range scan and the arithmetic that splits them into contiguous, non-overlapping slices.
+     */
+    static final class ScanBounds {
+        static final long UNKNOWN_ROWS = -1;
+
+        private final long minId;
+        private final long maxId;
+        private final long estimatedRows;
+
+        ScanBounds(long minId, long maxId, long estimatedRows) {
+            this.minId = minId;
+            this.maxId = maxId;
+            this.estimatedRows = estimatedRows;
+        }
+
+        /**
+         * A few ranges per worker lets fast workers pick up slack, but small tables are not split into
+         * ranges that cost more in round trips than they save. Without a row estimate the id span stands in
+         * for it; a zero estimate counts as none, since a table with a MIN(id) has rows the planner missed.
+         */
+        int rangeCount(int parallelism) {
+            long rows = estimatedRows > 0 ? estimatedRows : maxId - minId + 1;
+            long bySize = Math.max(1, rows / MIN_ROWS_PER_RANGE);
+            return (int) Math.max(1, Math.min(bySize, parallelism * 4L));
+        }
+
+        long span(int rangeCount) {
+            return Math.max(1, (maxId - minId + rangeCount) / rangeCount);
+        }
+
+        /**
+         * @return how many of the {@code rangeCount} slices start at or below {@code maxId}; the rest are empty.
+         */
+        int usedRanges(int rangeCount) {
+            long span = span(rangeCount);
+            return (int) Math.min(rangeCount, (maxId - minId) / span + 1);
+        }
+
+        long lowerId(int range, long span) {
+            return minId + range * span;
+        }
+
+        long upperId(int range, long span) {
+            return Math.min(maxId, lowerId(range, span) + span - 1);
+        }
+    }
 }
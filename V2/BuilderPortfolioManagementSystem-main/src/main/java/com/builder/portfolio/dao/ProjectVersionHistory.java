@@ -0,0 +1,728 @@
+package com.builder.portfolio.dao;
+
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectField;
+import com.builder.portfolio.model.ProjectMutation;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Compact version history of projects for point-in-time reads.
+ *
+ * <p>Every recorded version is one entry keyed by (project id, epoch, version). Most entries are deltas holding only
+ * the fields that changed since the project's previous entry; every {@code checkpointInterval}-th entry is a full
+ * checkpoint, so rebuilding any version decodes one checkpoint and at most {@code checkpointInterval - 1} deltas.
+ * With a journal file, entries are appended as {@code [payload length][crc32][project id][epoch][version]
+ * [recorded at][payload]} frames on {@link #flush()}.</p>
+ *
+ * <p>Project versions come from the store and may restart, e.g. when the relational store's in-memory counters are
+ * lost on restart. Each {@link #open} therefore starts a new epoch, one past the highest in the journal, and a
+ * version is only looked up among the entries of its epoch. Once an entry is on disk only its key and file offset
+ * stay in memory; its payload is read back when a version needs it. Opening scans the journal to rebuild that
+ * index without decoding any payload.</p>
+ *
+ * <p>{@link #record}, {@link #recordDeleted} and {@link #flush} must be called from one thread; reads may come
+ * from any.</p>
+ */
+public final class ProjectVersionHistory implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(ProjectVersionHistory.class.getName());
+
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 16;
+
+    private static final byte CHECKPOINT = 0;
+    private static final byte DELTA = 1;
+    private static final byte TOMBSTONE = 2;
+    private static final int FRAME_KEY_BYTES = Long.BYTES * 3 + Integer.BYTES;
+    private static final int FRAME_HEADER_BYTES = Integer.BYTES * 2 + FRAME_KEY_BYTES;
+    // Epoch, version, timestamp, file offset and kind kept in memory for every entry besides its payload.
+    private static final int ENTRY_KEY_BYTES = Integer.BYTES + Long.BYTES * 3 + 1;
+    private static final long NO_OFFSET = -1;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final ProjectField[] FIELDS = ProjectField.values();
+
+    private final int checkpointInterval;
+    private final ConcurrentHashMap<Long, Timeline> timelines = new ConcurrentHashMap<>();
+    private final Path file;
+    private final FileChannel channel;
+    private int epoch = 1;
+    private long journalSize;
+    // Writer-side buffers, reused for every entry.
+    private final ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(128);
+    private final DataOutputStream payload = new DataOutputStream(payloadBytes);
+    private final ByteArrayOutputStream checkpointBytes = new ByteArrayOutputStream(128);
+    private final DataOutputStream checkpointOut = new DataOutputStream(checkpointBytes);
+    private final ByteArrayOutputStream pendingFrames = new ByteArrayOutputStream();
+    private final DataOutputStream frames = new DataOutputStream(pendingFrames);
+    // Entries framed since the last flush; their payloads stay in memory until the frames are forced.
+    private final List<Unflushed> unflushed = new ArrayList<>();
+    private final CRC32 crc = new CRC32();
+
+    private final LongAdder checkpoints = new LongAdder();
+    private final LongAdder deltas = new LongAdder();
+    private final LongAdder tombstones = new LongAdder();
+    private final LongAdder storedBytes = new LongAdder();
+    private final LongAdder fullCopyBytes = new LongAdder();
+
+    /**
+     * Creates a history kept in memory only.
+     */
+    public ProjectVersionHistory(int checkpointInterval) {
+        this(checkpointInterval, null, null);
+    }
+
+    private ProjectVersionHistory(int checkpointInterval, Path file, FileChannel channel) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("checkpointInterval must be positive");
+        }
+        this.checkpointInterval = checkpointInterval;
+        this.file = file;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a history journaled to {@code file}, indexing the entries already in it, and starts a new epoch. A torn
+     * tail left by a crash mid-flush is cut off.
+     */
+    public static ProjectVersionHistory open(Path file, int checkpointInterval) {
+        Objects.requireNonNull(file, "file");
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            ProjectVersionHistory history = new ProjectVersionHistory(checkpointInterval, file, channel);
+            long intact = history.replay();
+            if (intact < channel.size()) {
+                LOGGER.log(Level.WARNING, "Truncating torn version history tail of {0} at byte {1}",
+                        new Object[] {file, intact});
+                channel.truncate(intact);
+            }
+            history.journalSize = intact;
+            LOGGER.log(Level.INFO, "Version history {0} opened in epoch {1}: {2}",
+                    new Object[] {file, history.epoch, history.getStats()});
+            return history;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Version history " + file + " is unavailable", ex);
+        }
+    }
+
+    /**
+     * @return the epoch new entries are recorded in; versions handed out by the store since this history was
+     *         opened belong to it.
+     */
+    public int getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Records the project state carried by {@code mutation} as its next version.
+     */
+    public void record(ProjectMutation mutation) {
+        Timeline timeline = timelines.computeIfAbsent(mutation.getProjectId(), id -> new Timeline());
+        Project previous = latest(timeline);
+        Project current = toProject(mutation);
+        try {
+            checkpointBytes.reset();
+            writeCheckpoint(checkpointOut, current);
+            payloadBytes.reset();
+            if (previous == null || timeline.sinceCheckpoint + 1 >= checkpointInterval) {
+                checkpointBytes.writeTo(payloadBytes);
+            } else {
+                int changed = changedFields(previous, current);
+                payload.writeByte(DELTA);
+                payload.writeShort(changed);
+                for (ProjectField field : FIELDS) {
+                    if ((changed & field.bit()) != 0) {
+                        writeField(payload, current, field);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        fullCopyBytes.add(checkpointBytes.size() + ENTRY_KEY_BYTES);
+        append(timeline, mutation.getProjectId(), mutation.getVersion(), mutation.getOccurredAtMillis(),
+                payloadBytes.toByteArray());
+    }
+
+    /**
+     * Records that the project was deleted; reads after this point return null until it is created again.
+     */
+    public void recordDeleted(long projectId, long recordedAtMillis) {
+        Timeline timeline = timelines.computeIfAbsent(projectId, id -> new Timeline());
+        Project latest = latest(timeline);
+        long version = latest != null ? latest.getVersion() : -1;
+        fullCopyBytes.add(1 + ENTRY_KEY_BYTES);
+        append(timeline, projectId, version, recordedAtMillis, new byte[] {TOMBSTONE});
+    }
+
+    /**
+     * Writes and forces the entries recorded since the last flush, then drops their payloads from memory; a no-op
+     * for in-memory histories.
+     */
+    public synchronized void flush() {
+        if (channel == null || pendingFrames.size() == 0) {
+            return;
+        }
+        try {
+            ByteBuffer batch = ByteBuffer.wrap(pendingFrames.toByteArray());
+            long position = journalSize;
+            while (batch.hasRemaining()) {
+                position += channel.write(batch, position);
+            }
+            channel.force(false);
+            journalSize = position;
+            unflushed.forEach(entry -> entry.timeline.release(entry.index));
+        } catch (IOException ex) {
+            // The entries keep their payloads in memory, so reads still see them.
+            throw new UncheckedIOException("Version history " + file + " is unavailable", ex);
+        } finally {
+            pendingFrames.reset();
+            unflushed.clear();
+        }
+    }
+
+    /**
+     * Looks {@code version} up in the current epoch; see {@link #asOfVersion(long, int, long)}.
+     */
+    public Project asOfVersion(long projectId, long version) {
+        return asOfVersion(projectId, epoch, version);
+    }
+
+    /**
+     * @return the project as of its most recent entry in {@code epoch} at or below {@code version}, or, if the
+     *         epoch has none, as it was when the epoch began; null if it did not exist or was deleted at that point.
+     */
+    public Project asOfVersion(long projectId, int epoch, long version) {
+        Timeline timeline = timelines.get(projectId);
+        return timeline == null ? null : rebuild(timeline.chainAtVersion(epoch, version));
+    }
+
+    /**
+     * @return the project as it was at {@code instant}; null if it did not exist yet or was deleted by then.
+     */
+    public Project asOf(long projectId, Instant instant) {
+        Timeline timeline = timelines.get(projectId);
+        return timeline == null ? null : rebuild(timeline.chainAt(instant.toEpochMilli()));
+    }
+
+    public Stats getStats() {
+        return new Stats(checkpoints.sum(), deltas.sum(), tombstones.sum(), storedBytes.sum(), fullCopyBytes.sum());
+    }
+
+    @Override
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        flush();
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Failed to close version history " + file, ex);
+        }
+    }
+
+    /**
+     * The writer-side latest state, rebuilt from the journal the first time a project is touched after opening.
+     */
+    private Project latest(Timeline timeline) {
+        if (!timeline.latestLoaded) {
+            timeline.latest = rebuild(timeline.chainToLast());
+            timeline.latestLoaded = true;
+        }
+        return timeline.latest;
+    }
+
+    private void append(Timeline timeline, long projectId, long version, long recordedAtMillis, byte[] entry) {
+        long recordedAt = timeline.orderedRecordedAt(recordedAtMillis);
+        if (channel == null) {
+            timeline.add(epoch, version, recordedAt, entry[0], entry, NO_OFFSET);
+        } else {
+            synchronized (this) {
+                long offset = journalSize + pendingFrames.size();
+                try {
+                    crc.reset();
+                    ByteBuffer key = ByteBuffer.allocate(FRAME_KEY_BYTES)
+                            .putLong(projectId).putInt(epoch).putLong(version).putLong(recordedAt);
+                    crc.update(key.array());
+                    crc.update(entry);
+                    frames.writeInt(entry.length);
+                    frames.writeInt((int) crc.getValue());
+                    frames.write(key.array());
+                    frames.write(entry);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                int index = timeline.add(epoch, version, recordedAt, entry[0], entry, offset);
+                unflushed.add(new Unflushed(timeline, index));
+            }
+        }
+        count(entry, entry.length);
+        switch (entry[0]) {
+            case CHECKPOINT -> {
+                timeline.latest = decode(entry, null);
+                timeline.sinceCheckpoint = 0;
+            }
+            case DELTA -> {
+                timeline.latest = decode(entry, timeline.latest);
+                timeline.sinceCheckpoint++;
+            }
+            default -> {
+                timeline.latest = null;
+                timeline.sinceCheckpoint = 0;
+            }
+        }
+        if (timeline.latest != null) {
+            timeline.latest.setVersion(version);
+        }
+    }
+
+    private void count(byte[] entry, int length) {
+        storedBytes.add(length + ENTRY_KEY_BYTES);
+        switch (entry[0]) {
+            case CHECKPOINT -> checkpoints.increment();
+            case DELTA -> deltas.increment();
+            default -> tombstones.increment();
+        }
+    }
+
+    /**
+     * Indexes the intact frames of the journal and picks the next epoch.
+     *
+     * @return the offset just past the last intact frame.
+     */
+    private long replay() throws IOException {
+        long offset = 0;
+        int lastEpoch = 0;
+        CRC32 check = new CRC32();
+        try (InputStream stream = Files.newInputStream(file);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 64 * 1024))) {
+            while (true) {
+                byte[] key = new byte[FRAME_KEY_BYTES];
+                int length;
+                int checksum;
+                byte[] entry;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0 || in.readNBytes(key, 0, key.length) < key.length) {
+                        break;
+                    }
+                    entry = in.readNBytes(length);
+                } catch (EOFException ex) {
+                    break;
+                }
+                check.reset();
+                check.update(key);
+                check.update(entry);
+                if (entry.length < length || (int) check.getValue() != checksum) {
+                    break;
+                }
+                ByteBuffer fields = ByteBuffer.wrap(key);
+                long projectId = fields.getLong();
+                int entryEpoch = fields.getInt();
+                long version = fields.getLong();
+                long recordedAt = fields.getLong();
+                lastEpoch = Math.max(lastEpoch, entryEpoch);
+                Timeline timeline = timelines.computeIfAbsent(projectId, id -> new Timeline());
+                timeline.add(entryEpoch, version, recordedAt, entry[0], null, offset);
+                timeline.latestLoaded = false;
+                count(entry, length);
+                switch (entry[0]) {
+                    case CHECKPOINT -> {
+                        timeline.sinceCheckpoint = 0;
+                        timeline.checkpointBytes = length;
+                    }
+                    case DELTA -> timeline.sinceCheckpoint++;
+                    default -> timeline.sinceCheckpoint = 0;
+                }
+                // Without decoding, a full copy is taken to be as large as the project's last checkpoint.
+                fullCopyBytes.add((entry[0] == TOMBSTONE ? 1 : timeline.checkpointBytes) + ENTRY_KEY_BYTES);
+                offset += FRAME_HEADER_BYTES + length;
+            }
+        }
+        epoch = lastEpoch + 1;
+        return offset;
+    }
+
+    private Project rebuild(Chain chain) {
+        if (chain == null) {
+            return null;
+        }
+        Project project = null;
+        try {
+            for (int i = 0; i < chain.entries.length; i++) {
+                byte[] entry = chain.entries[i] != null ? chain.entries[i] : readEntry(chain.offsets[i]);
+                project = decode(entry, project);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Version history " + file + " is unavailable", ex);
+        }
+        project.setVersion(chain.version);
+        project.clearDirtyFields();
+        return project;
+    }
+
+    /**
+     * Reads back the payload of a flushed entry; its frame was checksummed when it was written or indexed.
+     */
+    private byte[] readEntry(long offset) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        readFully(length, offset);
+        ByteBuffer entry = ByteBuffer.allocate(length.getInt(0));
+        readFully(entry, offset + FRAME_HEADER_BYTES);
+        return entry.array();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Version history " + file + " ends inside a flushed entry");
+            }
+        }
+    }
+
+    private static Project toProject(ProjectMutation mutation) {
+        Project project = new Project();
+        project.setId((int) mutation.getProjectId());
+        project.setName(mutation.getName());
+        project.setDescription(mutation.getDescription());
+        project.setStatus(mutation.getStatus());
+        project.setBuilderId(mutation.getBuilderId());
+        project.setClientId(mutation.getClientId());
+        project.setBudgetPlanned(mutation.getBudgetPlanned());
+        project.setBudgetUsed(mutation.getBudgetUsed());
+        project.setStartDate(mutation.getStartDate());
+        project.setEndDate(mutation.getEndDate());
+        project.setVersion(mutation.getVersion());
+        return project;
+    }
+
+    private static int changedFields(Project previous, Project current) {
+        int changed = 0;
+        for (ProjectField field : FIELDS) {
+            if (!Objects.equals(value(previous, field), value(current, field))) {
+                changed |= field.bit();
+            }
+        }
+        return changed;
+    }
+
+    private static Object value(Project project, ProjectField field) {
+        return switch (field) {
+            case NAME -> project.getName();
+            case DESCRIPTION -> project.getDescription();
+            case STATUS -> project.getStatus();
+            case CLIENT_ID -> project.getClientId();
+            case BUDGET_PLANNED -> project.getBudgetPlanned();
+            case BUDGET_USED -> project.getBudgetUsed();
+            case START_DATE -> project.getStartDate();
+            case END_DATE -> project.getEndDate();
+        };
+    }
+
+    private static void writeCheckpoint(DataOutputStream out, Project project) throws IOException {
+        out.writeByte(CHECKPOINT);
+        out.writeInt(project.getId());
+        out.writeInt(project.getBuilderId());
+        for (ProjectField field : FIELDS) {
+            writeField(out, project, field);
+        }
+    }
+
+    private static int checkpointSize(Project project) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        writeCheckpoint(new DataOutputStream(bytes), project);
+        return bytes.size();
+    }
+
+    private static void writeField(DataOutputStream out, Project project, ProjectField field) throws IOException {
+        switch (field) {
+            case NAME -> writeString(out, project.getName());
+            case DESCRIPTION -> writeString(out, project.getDescription());
+            case STATUS -> writeString(out, project.getStatus());
+            case CLIENT_ID -> out.writeInt(project.getClientId());
+            case BUDGET_PLANNED -> out.writeDouble(project.getBudgetPlanned());
+            case BUDGET_USED -> out.writeDouble(project.getBudgetUsed());
+            case START_DATE -> writeDate(out, project.getStartDate());
+            case END_DATE -> writeDate(out, project.getEndDate());
+        }
+    }
+
+    /**
+     * Applies a checkpoint or delta entry; deltas change {@code base} in place.
+     */
+    private static Project decode(byte[] entry, Project base) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry));
+            byte kind = in.readByte();
+            if (kind == CHECKPOINT) {
+                Project project = new Project();
+                project.setId(in.readInt());
+                project.setBuilderId(in.readInt());
+                for (ProjectField field : FIELDS) {
+                    readField(in, project, field);
+                }
+                return project;
+            }
+            int changed = in.readUnsignedShort();
+            for (ProjectField field : FIELDS) {
+                if ((changed & field.bit()) != 0) {
+                    readField(in, base, field);
+                }
+            }
+            return base;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Corrupt version history entry", ex);
+        }
+    }
+
+    private static void readField(DataInputStream in, Project project, ProjectField field) throws IOException {
+        switch (field) {
+            case NAME -> project.setName(readString(in));
+            case DESCRIPTION -> project.setDescription(readString(in));
+            case STATUS -> project.setStatus(readString(in));
+            case CLIENT_ID -> project.setClientId(in.readInt());
+            case BUDGET_PLANNED -> project.setBudgetPlanned(in.readDouble());
+            case BUDGET_USED -> project.setBudgetUsed(in.readDouble());
+            case START_DATE -> project.setStartDate(readDate(in));
+            case END_DATE -> project.setEndDate(readDate(in));
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate date) throws IOException {
+        out.writeLong(date != null ? date.toEpochDay() : NO_DATE);
+    }
+
+    private static LocalDate readDate(DataInputStream in) throws IOException {
+        long epochDay = in.readLong();
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Entries needed to rebuild one version: the nearest checkpoint and the deltas after it, oldest first. A null
+     * entry was flushed and is read back from its offset.
+     */
+    private static final class Chain {
+        private final byte[][] entries;
+        private final long[] offsets;
+        private final long version;
+
+        private Chain(byte[][] entries, long[] offsets, long version) {
+            this.entries = entries;
+            this.offsets = offsets;
+            this.version = version;
+        }
+    }
+
+    private static final class Unflushed {
+        private final Timeline timeline;
+        private final int index;
+
+        private Unflushed(Timeline timeline, int index) {
+            this.timeline = timeline;
+            this.index = index;
+        }
+    }
+
+    /**
+     * One project's entries in recording order.
+     */
+    private static final class Timeline {
+        private int[] epochs = new int[4];
+        private long[] versions = new long[4];
+        private long[] recordedAt = new long[4];
+        private long[] offsets = new long[4];
+        private byte[] kinds = new byte[4];
+        private byte[][] entries = new byte[4][];
+        private int size;
+        // Writer-side state: the latest version and how many deltas follow its checkpoint.
+        private Project latest;
+        private boolean latestLoaded = true;
+        private int sinceCheckpoint;
+        // Replay only: payload size of the latest checkpoint.
+        private int checkpointBytes;
+
+        /**
+         * @param entry the payload, or null when it is only on disk at {@code offset}.
+         * @return the index of the new entry.
+         */
+        private synchronized int add(int epoch, long version, long recordedAtMillis, byte kind, byte[] entry,
+                long offset) {
+            if (size == versions.length) {
+                int capacity = size * 2;
+                epochs = Arrays.copyOf(epochs, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+                recordedAt = Arrays.copyOf(recordedAt, capacity);
+                offsets = Arrays.copyOf(offsets, capacity);
+                kinds = Arrays.copyOf(kinds, capacity);
+                entries = Arrays.copyOf(entries, capacity);
+            }
+            epochs[size] = epoch;
+            versions[size] = version;
+            recordedAt[size] = recordedAtMillis;
+            offsets[size] = offset;
+            kinds[size] = kind;
+            entries[size] = entry;
+            return size++;
+        }
+
+        private synchronized void release(int index) {
+            entries[index] = null;
+        }
+
+        /**
+         * Keeps timestamps ordered so point-in-time lookups can binary search.
+         */
+        private synchronized long orderedRecordedAt(long recordedAtMillis) {
+            return size == 0 ? recordedAtMillis : Math.max(recordedAtMillis, recordedAt[size - 1]);
+        }
+
+        /**
+         * Latest entry of {@code epoch} at or below {@code version}. Versions also restart when a deleted id is
+         * created again, so the search runs backwards and prefers the most recent incarnation. A project not
+         * recorded in the epoch yet is still in the state it entered the epoch with.
+         */
+        private synchronized Chain chainAtVersion(int epoch, long version) {
+            if (version < 0) {
+                return null;
+            }
+            int carriedOver = -1;
+            for (int i = size - 1; i >= 0; i--) {
+                if (epochs[i] == epoch && versions[i] <= version && kinds[i] != TOMBSTONE) {
+                    return chainTo(i);
+                }
+                if (carriedOver < 0 && epochs[i] < epoch) {
+                    carriedOver = i;
+                }
+            }
+            return carriedOver < 0 ? null : chainTo(carriedOver);
+        }
+
+        private synchronized Chain chainAt(long epochMillis) {
+            int low = 0;
+            int high = size - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (recordedAt[mid] <= epochMillis) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found < 0 ? null : chainTo(found);
+        }
+
+        private synchronized Chain chainToLast() {
+            return size == 0 ? null : chainTo(size - 1);
+        }
+
+        private Chain chainTo(int index) {
+            if (kinds[index] == TOMBSTONE) {
+                return null;
+            }
+            int start = index;
+            while (kinds[start] != CHECKPOINT) {
+                start--;
+            }
+            return new Chain(Arrays.copyOfRange(entries, start, index + 1),
+                    Arrays.copyOfRange(offsets, start, index + 1), versions[index]);
+        }
+    }
+
+    /**
+     * Storage accounting: what the history holds against storing a full copy of every version.
+     */
+    public static final class Stats {
+        private final long checkpoints;
+        private final long deltas;
+        private final long tombstones;
+        private final long storedBytes;
+        private final long fullCopyBytes;
+
+        private Stats(long checkpoints, long deltas, long tombstones, long storedBytes, long fullCopyBytes) {
+            this.checkpoints = checkpoints;
+            this.deltas = deltas;
+            this.tombstones = tombstones;
+            this.storedBytes = storedBytes;
+            this.fullCopyBytes = fullCopyBytes;
+        }
+
+        public long getEntries() {
+            return checkpoints + deltas + tombstones;
+        }
+
+        public long getCheckpoints() {
+            return checkpoints;
+        }
+
+        public long getDeltas() {
+            return deltas;
+        }
+
+        public long getStoredBytes() {
+            return storedBytes;
+        }
+
+        /**
+         * @return average bytes (payload plus in-memory key) kept per recorded version.
+         */
+        public double getBytesPerEntry() {
+            long entries = getEntries();
+            return entries == 0 ? 0 : (double) storedBytes / entries;
+        }
+
+        /**
+         * @return bytes a full copy per version would have needed, for comparison with {@link #getStoredBytes()}.
+         */
+        public long getFullCopyBytes() {
+            return fullCopyBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d entries (%d checkpoints, %d deltas), %d bytes, %.1f bytes/entry vs %d bytes "
+                    + "as full copies", getEntries(), checkpoints, deltas, storedBytes, getBytesPerEntry(),
+                    fullCopyBytes);
+        }
+    }
+}
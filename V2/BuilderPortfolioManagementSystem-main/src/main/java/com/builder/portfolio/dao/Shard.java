@@ -0,0 +1,30 @@
+package com.builder.portfolio.dao;
+
+import java.util.Objects;
+
+/**
+ * One database (or schema) holding the projects and documents of the builders hashed to it.
+ */
+public final class Shard {
+    private final String name;
+    private final ProjectDAO projectDAO;
+    private final DocumentDAO documentDAO;
+
+    public Shard(String name, ProjectDAO projectDAO, DocumentDAO documentDAO) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.projectDAO = Objects.requireNonNull(projectDAO, "projectDAO");
+        this.documentDAO = Objects.requireNonNull(documentDAO, "documentDAO");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ProjectDAO getProjectDAO() {
+        return projectDAO;
+    }
+
+    public DocumentDAO getDocumentDAO() {
+        return documentDAO;
+    }
+}
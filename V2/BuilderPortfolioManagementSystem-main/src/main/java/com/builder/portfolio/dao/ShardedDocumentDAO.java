@@ -0,0 +1,52 @@
+package com.builder.portfolio.dao;
+
+import com.builder.portfolio.model.Document;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Sends document calls to the shard that holds the document's project.
+ */
+public class ShardedDocumentDAO implements DocumentDAO {
+    private final ShardedProjectDAO projectDAO;
+
+    public ShardedDocumentDAO(ShardedProjectDAO projectDAO) {
+        this.projectDAO = projectDAO;
+    }
+
+    @Override
+    public void addDocument(Document document) {
+        projectDAO.withProjectShard(document.getProjectId(), shard -> {
+            shard.getDocumentDAO().addDocument(document);
+            return null;
+        });
+    }
+
+    @Override
+    public void importDocument(Document document) {
+        projectDAO.withProjectShard(document.getProjectId(), shard -> {
+            shard.getDocumentDAO().importDocument(document);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Document> findDocumentsByProject(int projectId) {
+        return projectDAO.withProjectShard(projectId,
+                shard -> shard.getDocumentDAO().findDocumentsByProject(projectId));
+    }
+
+    @Override
+    public void deleteDocumentsByProject(int projectId) {
+        projectDAO.withProjectShard(projectId, shard -> {
+            shard.getDocumentDAO().deleteDocumentsByProject(projectId);
+            return null;
+        });
+    }
+
+    @Override
+    public long streamDocumentsByProject(int projectId, int fetchSize, Consumer<Document> consumer) {
+        return projectDAO.withProjectShard(projectId,
+                shard -> shard.getDocumentDAO().streamDocumentsByProject(projectId, fetchSize, consumer));
+    }
+}
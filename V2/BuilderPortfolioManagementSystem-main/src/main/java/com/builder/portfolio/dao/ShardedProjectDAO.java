@@ -0,0 +1,431 @@
+package com.builder.portfolio.dao;
+
+import com.builder.portfolio.model.Document;
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectField;
+import com.builder.portfolio.util.ConsistentHashRing;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Spreads projects over several shards by builder id, so every builder's projects (and their documents) live on
+ * one shard. Queries keyed by builder hit a single shard; everything else is scattered to all shards and merged.
+ * Shards can be added or removed while the application runs: builders move one at a time and only the builder
+ * being moved is paused.
+ */
+public class ShardedProjectDAO implements ProjectDAO, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(ShardedProjectDAO.class.getName());
+    private static final int VIRTUAL_NODES = 128;
+
+    private final Map<String, Shard> shards = new ConcurrentHashMap<>();
+    private volatile ConsistentHashRing<String> ring;
+    // Builders whose projects have not moved to their new ring owner yet keep routing to the shard holding them.
+    private final Map<Integer, String> builderPins = new ConcurrentHashMap<>();
+    // Project id -> shard, learned from writes and reads; a miss falls back to asking every shard.
+    private final Map<Integer, String> projectDirectory = new ConcurrentHashMap<>();
+    private final Map<Integer, ReentrantReadWriteLock> builderLocks = new ConcurrentHashMap<>();
+    // Taken for write only while a rebalance pins the builders that move and swaps the ring.
+    private final ReentrantReadWriteLock topologyLock = new ReentrantReadWriteLock();
+    // Builders routed while a rebalance scans the shards without the topology lock; null outside that scan.
+    private volatile Set<Integer> routedDuringRebalance;
+    private final ExecutorService scatterPool;
+
+    public ShardedProjectDAO(Collection<Shard> initialShards) {
+        if (initialShards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (Shard shard : initialShards) {
+            if (shards.putIfAbsent(shard.getName(), shard) != null) {
+                throw new IllegalArgumentException("Duplicate shard name " + shard.getName());
+            }
+            names.add(shard.getName());
+        }
+        this.ring = ConsistentHashRing.of(names, VIRTUAL_NODES);
+        AtomicInteger threadIds = new AtomicInteger();
+        this.scatterPool = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "bpms-shard-scatter-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void addProject(Project project) {
+        withBuilderShard(project.getBuilderId(), shard -> {
+            shard.getProjectDAO().addProject(project);
+            projectDirectory.put(project.getId(), shard.getName());
+            return null;
+        });
+    }
+
+    @Override
+    public void importProject(Project project) {
+        withBuilderShard(project.getBuilderId(), shard -> {
+            shard.getProjectDAO().importProject(project);
+            projectDirectory.put(project.getId(), shard.getName());
+            return null;
+        });
+    }
+
+    @Override
+    public void updateProject(Project project) {
+        withBuilderShard(project.getBuilderId(), shard -> {
+            shard.getProjectDAO().updateProject(project);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean conditionalUpdateProject(Project project, long expectedVersion) {
+        return withBuilderShard(project.getBuilderId(),
+                shard -> shard.getProjectDAO().conditionalUpdateProject(project, expectedVersion));
+    }
+
+    @Override
+    public boolean patchProject(Project project, Set<ProjectField> changedFields, long expectedVersion) {
+        return withBuilderShard(project.getBuilderId(),
+                shard -> shard.getProjectDAO().patchProject(project, changedFields, expectedVersion));
+    }
+
+    @Override
+    public boolean conditionalUpdateProjects(List<Project> projects, Map<Integer, Long> expectedVersions) {
+        Set<String> owners = new LinkedHashSet<>();
+        topologyLock.readLock().lock();
+        try {
+            for (Project project : projects) {
+                owners.add(shardForBuilder(project.getBuilderId()).getName());
+            }
+            if (owners.size() == 1) {
+                return shards.get(owners.iterator().next()).getProjectDAO()
+                        .conditionalUpdateProjects(projects, expectedVersions);
+            }
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+        // No distributed transaction across shards: fall back to the check-then-write path that relies on the
+        // caller holding every project's write lock.
+        LOGGER.log(Level.FINE, "Multi-project update spans shards {0}", owners);
+        return ProjectDAO.super.conditionalUpdateProjects(projects, expectedVersions);
+    }
+
+    @Override
+    public boolean deleteProject(int projectId, int builderId) {
+        return withBuilderShard(builderId, shard -> {
+            if (!shard.getProjectDAO().deleteProject(projectId, builderId)) {
+                return false;
+            }
+            projectDirectory.remove(projectId);
+            return true;
+        });
+    }
+
+    @Override
+    public List<Project> findProjectsByBuilder(int builderId) {
+        return withBuilderShard(builderId,
+                shard -> remember(shard, shard.getProjectDAO().findProjectsByBuilder(builderId)));
+    }
+
+    @Override
+    public List<Project> findProjectsByClient(int clientId) {
+        return scatterSorted(shard -> shard.getProjectDAO().findProjectsByClient(clientId));
+    }
+
+    @Override
+    public List<Project> findAllProjects() {
+        return scatterSorted(shard -> shard.getProjectDAO().findAllProjects());
+    }
+
+    /**
+     * Each shard is read from its own snapshot; there is no snapshot spanning shards.
+     */
+    @Override
+    public List<Project> findAllProjectsConsistent(int parallelism) {
+        return scatterSorted(shard -> shard.getProjectDAO().findAllProjectsConsistent(parallelism));
+    }
+
+    @Override
+    public List<Project> findAllProjectsParallel(int parallelism) {
+        return scatterSorted(shard -> shard.getProjectDAO().findAllProjectsParallel(parallelism));
+    }
+
+    @Override
+    public void scanProjectsParallel(int parallelism, Consumer<Project> consumer) {
+        scatter(shard -> {
+            shard.getProjectDAO().scanProjectsParallel(parallelism, consumer);
+            return List.of();
+        });
+    }
+
+    @Override
+    public long streamAllProjects(int fetchSize, Consumer<Project> consumer) {
+        // Shards are streamed one after another because the consumer does not have to be thread-safe.
+        topologyLock.readLock().lock();
+        try {
+            long streamed = 0;
+            for (Shard shard : shards.values()) {
+                streamed += shard.getProjectDAO().streamAllProjects(fetchSize, consumer);
+            }
+            return streamed;
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Project findById(int projectId) {
+        return locate(projectId, shard -> shard.getProjectDAO().findById(projectId));
+    }
+
+    @Override
+    public Project findByIdForUpdate(long projectId) {
+        return locate(Math.toIntExact(projectId), shard -> shard.getProjectDAO().findByIdForUpdate(projectId));
+    }
+
+    /**
+     * Runs {@code action} against the shard holding {@code projectId}, while that project's builder cannot be moved.
+     *
+     * @throws IllegalArgumentException if no shard has the project.
+     */
+    public <T> T withProjectShard(int projectId, Function<Shard, T> action) {
+        Project project = findById(projectId);
+        if (project == null) {
+            throw new IllegalArgumentException("Project " + projectId + " is not stored on any shard");
+        }
+        return withBuilderShard(project.getBuilderId(), action);
+    }
+
+    public Set<String> getShardNames() {
+        return ring.getNodes();
+    }
+
+    /**
+     * Adds {@code shard} to the ring and moves the builders that now hash to it.
+     */
+    public void addShard(Shard shard) {
+        topologyLock.writeLock().lock();
+        try {
+            if (shards.putIfAbsent(shard.getName(), shard) != null) {
+                throw new IllegalArgumentException("Duplicate shard name " + shard.getName());
+            }
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+        rebalance(ring.withNode(shard.getName()));
+    }
+
+    /**
+     * Moves every builder off the named shard, then drops it.
+     */
+    public void removeShard(String name) {
+        if (!shards.containsKey(name)) {
+            throw new IllegalArgumentException("Unknown shard " + name);
+        }
+        if (ring.getNodes().size() == 1) {
+            throw new IllegalStateException("Cannot remove the last shard");
+        }
+        rebalance(ring.withoutNode(name));
+        shards.remove(name);
+    }
+
+    @Override
+    public void close() {
+        scatterPool.shutdownNow();
+    }
+
+    private synchronized void rebalance(ConsistentHashRing<String> nextRing) {
+        // Installed under the write lock so every call that routed before it has finished and shows up in the scan.
+        Set<Integer> routed = ConcurrentHashMap.newKeySet();
+        topologyLock.writeLock().lock();
+        try {
+            routedDuringRebalance = routed;
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+        // The scan runs without the topology lock, so routed calls keep flowing; builders first written meanwhile
+        // are caught by routedDuringRebalance.
+        Set<Integer> builderIds = new HashSet<>();
+        try {
+            for (Shard shard : shards.values()) {
+                builderIds.addAll(shard.getProjectDAO().findBuilderIds());
+            }
+        } catch (RuntimeException ex) {
+            routedDuringRebalance = null;
+            throw ex;
+        }
+        Map<Integer, String> moves = new LinkedHashMap<>();
+        topologyLock.writeLock().lock();
+        try {
+            routedDuringRebalance = null;
+            builderIds.addAll(routed);
+            // Pin every builder whose owner changes to where its data is now, then swap the ring. Builders that
+            // stay put never notice the swap; pinned ones keep working against the old shard until migrated.
+            for (int builderId : builderIds) {
+                String current = shardForBuilder(builderId).getName();
+                String target = nextRing.nodeFor(builderId);
+                if (!target.equals(current)) {
+                    builderPins.putIfAbsent(builderId, current);
+                    moves.put(builderId, target);
+                }
+            }
+            ring = nextRing;
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+        LOGGER.log(Level.INFO, "Rebalancing {0} builders onto shards {1}",
+                new Object[] {moves.size(), nextRing.getNodes()});
+        moves.forEach(this::migrateBuilder);
+    }
+
+    private void migrateBuilder(int builderId, String targetName) {
+        ReentrantReadWriteLock lock = builderLock(builderId);
+        lock.writeLock().lock();
+        try {
+            String sourceName = builderPins.get(builderId);
+            if (sourceName == null || sourceName.equals(targetName)) {
+                builderPins.remove(builderId);
+                return;
+            }
+            Shard source = shards.get(sourceName);
+            Shard target = shards.get(targetName);
+            // Copy first and delete afterwards, so a failure part way leaves the builder readable on the source.
+            List<Project> projects = source.getProjectDAO().findProjectsByBuilder(builderId);
+            for (Project project : projects) {
+                List<Document> documents = source.getDocumentDAO().findDocumentsByProject(project.getId());
+                target.getProjectDAO().importProject(project);
+                documents.forEach(target.getDocumentDAO()::importDocument);
+            }
+            for (Project project : projects) {
+                projectDirectory.put(project.getId(), targetName);
+            }
+            builderPins.remove(builderId);
+            for (Project project : projects) {
+                source.getDocumentDAO().deleteDocumentsByProject(project.getId());
+                source.getProjectDAO().deleteProject(project.getId(), builderId);
+            }
+            LOGGER.log(Level.FINE, "Moved builder {0} ({1} projects) from {2} to {3}",
+                    new Object[] {builderId, projects.size(), sourceName, targetName});
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.SEVERE, "Failed to move builder " + builderId + " to shard " + targetName, ex);
+            throw ex;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T withBuilderShard(int builderId, Function<Shard, T> action) {
+        topologyLock.readLock().lock();
+        try {
+            Set<Integer> routed = routedDuringRebalance;
+            if (routed != null) {
+                routed.add(builderId);
+            }
+            ReentrantReadWriteLock lock = builderLock(builderId);
+            lock.readLock().lock();
+            try {
+                return action.apply(shardForBuilder(builderId));
+            } finally {
+                lock.readLock().unlock();
+            }
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+
+    private Shard shardForBuilder(int builderId) {
+        String pinned = builderPins.get(builderId);
+        return shards.get(pinned != null ? pinned : ring.nodeFor(builderId));
+    }
+
+    private ReentrantReadWriteLock builderLock(int builderId) {
+        return builderLocks.computeIfAbsent(builderId, id -> new ReentrantReadWriteLock());
+    }
+
+    private Project locate(int projectId, Function<Shard, Project> lookup) {
+        String known = projectDirectory.get(projectId);
+        Shard shard = known != null ? shards.get(known) : null;
+        if (shard != null) {
+            Project project = lookup.apply(shard);
+            if (project != null) {
+                return project;
+            }
+        }
+        // Unknown id (e.g. created before this process started) or a stale entry: ask every shard.
+        List<Project> found = scatter(candidate -> {
+            Project project = lookup.apply(candidate);
+            return project != null ? remember(candidate, List.of(project)) : List.of();
+        });
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private List<Project> remember(Shard shard, List<Project> projects) {
+        for (Project project : projects) {
+            projectDirectory.put(project.getId(), shard.getName());
+        }
+        return projects;
+    }
+
+    private List<Project> scatterSorted(Function<Shard, List<Project>> query) {
+        List<Project> merged = scatter(shard -> remember(shard, query.apply(shard)));
+        merged.sort(Comparator.comparingInt(Project::getId));
+        return merged;
+    }
+
+    private List<Project> scatter(Function<Shard, List<Project>> query) {
+        topologyLock.readLock().lock();
+        try {
+            List<Future<List<Project>>> futures = new ArrayList<>();
+            for (Shard shard : shards.values()) {
+                futures.add(scatterPool.submit(() -> query.apply(shard)));
+            }
+            List<Project> merged = new ArrayList<>();
+            Map<Integer, Project> seen = new HashMap<>();
+            for (Future<List<Project>> future : futures) {
+                for (Project project : await(future)) {
+                    // A builder being moved is briefly on both shards; keep one copy.
+                    if (seen.putIfAbsent(project.getId(), project) == null) {
+                        merged.add(project);
+                    }
+                }
+            }
+            return merged;
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+
+    private static List<Project> await(Future<List<Project>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying shards", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+}
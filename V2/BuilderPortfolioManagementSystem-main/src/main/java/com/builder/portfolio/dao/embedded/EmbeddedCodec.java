@@ -0,0 +1,144 @@
+package com.builder.portfolio.dao.embedded;
+
+import com.builder.portfolio.model.Document;
+import com.builder.portfolio.model.Project;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary layout of projects and documents in the write-ahead log and snapshots. Everything is big-endian so the
+ * same bytes can be written with {@link DataOutputStream} and read back from a mapped {@link ByteBuffer}.
+ */
+final class EmbeddedCodec {
+    private EmbeddedCodec() {
+    }
+
+    static byte[] encodeProject(Project project) {
+        return encode(out -> writeProject(out, project));
+    }
+
+    static byte[] encodeProjects(List<Project> projects) {
+        return encode(out -> {
+            out.writeInt(projects.size());
+            for (Project project : projects) {
+                writeProject(out, project);
+            }
+        });
+    }
+
+    static byte[] encodeDocument(Document document) {
+        return encode(out -> writeDocument(out, document));
+    }
+
+    static List<Project> decodeProjects(ByteBuffer in) {
+        int count = in.getInt();
+        List<Project> projects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            projects.add(readProject(in));
+        }
+        return projects;
+    }
+
+    static void writeProject(DataOutputStream out, Project project) throws IOException {
+        out.writeInt(project.getId());
+        writeString(out, project.getName());
+        writeString(out, project.getDescription());
+        writeString(out, project.getStatus());
+        out.writeInt(project.getBuilderId());
+        out.writeInt(project.getClientId());
+        out.writeDouble(project.getBudgetPlanned());
+        out.writeDouble(project.getBudgetUsed());
+        writeDate(out, project.getStartDate());
+        writeDate(out, project.getEndDate());
+        out.writeLong(project.getVersion());
+    }
+
+    static Project readProject(ByteBuffer in) {
+        Project project = new Project();
+        project.setId(in.getInt());
+        project.setName(readString(in));
+        project.setDescription(readString(in));
+        project.setStatus(readString(in));
+        project.setBuilderId(in.getInt());
+        project.setClientId(in.getInt());
+        project.setBudgetPlanned(in.getDouble());
+        project.setBudgetUsed(in.getDouble());
+        project.setStartDate(readDate(in));
+        project.setEndDate(readDate(in));
+        project.setVersion(in.getLong());
+        project.clearDirtyFields();
+        return project;
+    }
+
+    static void writeDocument(DataOutputStream out, Document document) throws IOException {
+        out.writeInt(document.getId());
+        out.writeInt(document.getProjectId());
+        writeString(out, document.getDocumentName());
+        writeString(out, document.getDocumentType());
+        out.writeInt(document.getUploadedBy());
+        writeDate(out, document.getUploadDate());
+    }
+
+    static Document readDocument(ByteBuffer in) {
+        Document document = new Document();
+        document.setId(in.getInt());
+        document.setProjectId(in.getInt());
+        document.setDocumentName(readString(in));
+        document.setDocumentType(readString(in));
+        document.setUploadedBy(in.getInt());
+        document.setUploadDate(readDate(in));
+        return document;
+    }
+
+    static byte[] encode(Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException ex) {
+            // Only an in-memory stream is involved, so this cannot happen in practice.
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate date) throws IOException {
+        out.writeLong(date != null ? date.toEpochDay() : Long.MIN_VALUE);
+    }
+
+    private static LocalDate readDate(ByteBuffer in) {
+        long epochDay = in.getLong();
+        return epochDay != Long.MIN_VALUE ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    @FunctionalInterface
+    interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,121 @@
+package com.builder.portfolio.dao.embedded;
+
+import com.builder.portfolio.dao.DocumentDAO;
+import com.builder.portfolio.model.Document;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process document store indexed by project, the companion of {@link EmbeddedProjectDAO}.
+ */
+public class EmbeddedDocumentDAO implements DocumentDAO {
+    private final Map<Integer, Map<Integer, Document>> documentsByProject = new ConcurrentHashMap<>();
+    private final AtomicInteger idSequence = new AtomicInteger();
+    private final Journal journal;
+
+    public EmbeddedDocumentDAO() {
+        this(Journal.NONE);
+    }
+
+    EmbeddedDocumentDAO(Journal journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public void addDocument(Document document) {
+        if (document.getId() <= 0) {
+            document.setId(idSequence.incrementAndGet());
+        }
+        importDocument(document);
+    }
+
+    @Override
+    public void importDocument(Document document) {
+        idSequence.accumulateAndGet(document.getId(), Math::max);
+        Document stored = copy(document);
+        long[] lsn = new long[1];
+        // Journal inside compute so records for one project are queued in the order they were applied.
+        documentsByProject.compute(document.getProjectId(), (projectId, documents) -> {
+            Map<Integer, Document> target = documents != null ? documents : new ConcurrentHashMap<>();
+            target.put(stored.getId(), stored);
+            lsn[0] = journal.documentPut(stored);
+            return target;
+        });
+        journal.awaitDurable(lsn[0]);
+    }
+
+    @Override
+    public List<Document> findDocumentsByProject(int projectId) {
+        Map<Integer, Document> documents = documentsByProject.get(projectId);
+        if (documents == null) {
+            return List.of();
+        }
+        return documents.values().stream()
+                .sorted(Comparator.comparingInt(Document::getId))
+                .map(EmbeddedDocumentDAO::copy)
+                .toList();
+    }
+
+    @Override
+    public void deleteDocumentsByProject(int projectId) {
+        long[] lsn = new long[1];
+        documentsByProject.computeIfPresent(projectId, (id, documents) -> {
+            lsn[0] = journal.documentsDelete(projectId);
+            return null;
+        });
+        journal.awaitDurable(lsn[0]);
+    }
+
+    /**
+     * Drops a project's documents without journaling; the project delete record that triggers it covers both.
+     */
+    void dropProject(int projectId) {
+        documentsByProject.remove(projectId);
+    }
+
+    /**
+     * Recovery hook: sets a project's documents without journaling, dropping the old ones first if {@code replace}.
+     */
+    void restore(int projectId, boolean replace, Collection<Document> documents) {
+        documentsByProject.compute(projectId, (id, existing) -> {
+            Map<Integer, Document> target = existing != null && !replace ? existing : new ConcurrentHashMap<>();
+            for (Document document : documents) {
+                idSequence.accumulateAndGet(document.getId(), Math::max);
+                target.put(document.getId(), copy(document));
+            }
+            return target.isEmpty() ? null : target;
+        });
+    }
+
+    List<Document> allDocuments() {
+        List<Document> documents = new ArrayList<>();
+        documentsByProject.values().forEach(byId -> byId.values().forEach(document -> documents.add(copy(document))));
+        return documents;
+    }
+
+    int idHighWater() {
+        return idSequence.get();
+    }
+
+    void restoreIdHighWater(int idHighWater) {
+        idSequence.accumulateAndGet(idHighWater, Math::max);
+    }
+
+    private static Document copy(Document original) {
+        Document copy = new Document();
+        copy.setId(original.getId());
+        copy.setProjectId(original.getProjectId());
+        copy.setDocumentName(original.getDocumentName());
+        copy.setDocumentType(original.getDocumentType());
+        copy.setUploadedBy(original.getUploadedBy());
+        LocalDate uploadDate = original.getUploadDate();
+        copy.setUploadDate(uploadDate != null ? LocalDate.from(uploadDate) : null);
+        return copy;
+    }
+}
@@ -0,0 +1,609 @@
+package com.builder.portfolio.dao.embedded;
+
+import com.builder.portfolio.dao.ProjectDAO;
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectChange;
+import com.builder.portfolio.util.BackgroundTaskManager;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-process project store for edge sites and load rigs that run without PostgreSQL.
+ *
+ * <p>Every row keeps a chain of committed versions stamped with a global commit sequence. Writers commit one at a
+ * time under a short lock; readers never lock and see the newest version at or below their snapshot's sequence, so
+ * scans and multi-row reads are consistent even while writes continue. Builder, client and status lookups go
+ * through secondary indexes. {@link #vacuum()} drops versions no open snapshot can see.</p>
+ */
+public class EmbeddedProjectDAO implements ProjectDAO {
+    private static final Logger LOGGER = Logger.getLogger(EmbeddedProjectDAO.class.getName());
+    private static final int CHANGE_RETENTION = 100_000;
+
+    private final Map<Integer, VersionChain> rows = new ConcurrentHashMap<>();
+    private final SecondaryIndex<Integer> byBuilder = new SecondaryIndex<>(Project::getBuilderId);
+    private final SecondaryIndex<Integer> byClient = new SecondaryIndex<>(Project::getClientId);
+    private final SecondaryIndex<String> byStatus = new SecondaryIndex<>(Project::getStatus);
+    private final AtomicInteger idSequence = new AtomicInteger();
+    private final ReentrantLock commitLock = new ReentrantLock();
+    // Snapshot sequence -> number of readers holding it.
+    private final ConcurrentSkipListMap<Long, Integer> openSnapshots = new ConcurrentSkipListMap<>();
+    private final AtomicBoolean vacuumStarted = new AtomicBoolean();
+    // Change feed of the newest CHANGE_RETENTION commits, appended under the commit lock with consecutive keys.
+    private final ConcurrentSkipListMap<Long, ProjectChange> changes = new ConcurrentSkipListMap<>();
+    private final Journal journal;
+    // Companion document store, if any; a project's documents are dropped in the commit that deletes it.
+    private final EmbeddedDocumentDAO documents;
+    private volatile long lastCommitted;
+    private volatile long lastChange;
+    private volatile long vacuumHorizon;
+
+    public EmbeddedProjectDAO() {
+        this(Journal.NONE, null);
+    }
+
+    public EmbeddedProjectDAO(EmbeddedDocumentDAO documents) {
+        this(Journal.NONE, Objects.requireNonNull(documents, "documents"));
+    }
+
+    EmbeddedProjectDAO(Journal journal, EmbeddedDocumentDAO documents) {
+        this.journal = journal;
+        this.documents = documents;
+    }
+
+    @Override
+    public void addProject(Project project) {
+        insert(project, project.getId() > 0 ? project.getId() : idSequence.incrementAndGet());
+    }
+
+    @Override
+    public void importProject(Project project) {
+        if (project.getId() <= 0) {
+            throw new IllegalArgumentException("Imported projects need an id");
+        }
+        insert(project, project.getId());
+    }
+
+    @Override
+    public void updateProject(Project project) {
+        long lsn;
+        commitLock.lock();
+        try {
+            Project current = latest(project.getId());
+            if (current == null) {
+                LOGGER.log(Level.FINE, "Ignoring update of missing project {0}", project.getId());
+                return;
+            }
+            lsn = commit(project, ProjectChange.Type.UPDATE);
+        } finally {
+            commitLock.unlock();
+        }
+        journal.awaitDurable(lsn);
+    }
+
+    @Override
+    public boolean conditionalUpdateProject(Project project, long expectedVersion) {
+        long lsn;
+        commitLock.lock();
+        try {
+            Project current = latest(project.getId());
+            if (current == null || current.getVersion() != expectedVersion) {
+                return false;
+            }
+            project.setVersion(expectedVersion + 1);
+            lsn = commit(project, ProjectChange.Type.UPDATE);
+        } finally {
+            commitLock.unlock();
+        }
+        journal.awaitDurable(lsn);
+        return true;
+    }
+
+    /**
+     * All projects become visible in one commit, so a snapshot sees either every change or none.
+     */
+    @Override
+    public boolean conditionalUpdateProjects(List<Project> projects, Map<Integer, Long> expectedVersions) {
+        long lsn;
+        commitLock.lock();
+        try {
+            for (Project project : projects) {
+                Project current = latest(project.getId());
+                if (current == null || current.getVersion() != expectedVersions.get(project.getId())) {
+                    return false;
+                }
+            }
+            long sequence = lastCommitted + 1;
+            List<Project> frozen = new ArrayList<>(projects.size());
+            for (Project project : projects) {
+                project.setVersion(expectedVersions.get(project.getId()) + 1);
+                frozen.add(copy(project));
+                install(project.getId(), frozen.get(frozen.size() - 1), sequence);
+                recordChange(project, ProjectChange.Type.UPDATE);
+                project.clearDirtyFields();
+            }
+            lastCommitted = sequence;
+            // One journal record, so recovery also applies the group all or nothing.
+            lsn = journal.projectsPut(frozen);
+        } finally {
+            commitLock.unlock();
+        }
+        journal.awaitDurable(lsn);
+        return true;
+    }
+
+    @Override
+    public boolean deleteProject(int projectId, int builderId) {
+        long lsn;
+        commitLock.lock();
+        try {
+            Project current = latest(projectId);
+            if (current == null || current.getBuilderId() != builderId) {
+                return false;
+            }
+            long sequence = lastCommitted + 1;
+            install(projectId, null, sequence);
+            if (documents != null) {
+                documents.dropProject(projectId);
+            }
+            recordChange(current, ProjectChange.Type.DELETE);
+            lastCommitted = sequence;
+            // One record for both: replaying a project delete also drops its documents.
+            lsn = journal.projectDelete(projectId);
+        } finally {
+            commitLock.unlock();
+        }
+        journal.awaitDurable(lsn);
+        return true;
+    }
+
+    @Override
+    public List<Project> findProjectsByBuilder(int builderId) {
+        try (Snapshot snapshot = openSnapshot()) {
+            return snapshot.findProjectsByBuilder(builderId);
+        }
+    }
+
+    @Override
+    public List<Project> findProjectsByClient(int clientId) {
+        try (Snapshot snapshot = openSnapshot()) {
+            return snapshot.findProjectsByClient(clientId);
+        }
+    }
+
+    public List<Project> findProjectsByStatus(String status) {
+        try (Snapshot snapshot = openSnapshot()) {
+            return snapshot.findProjectsByStatus(status);
+        }
+    }
+
+    @Override
+    public List<Project> findAllProjects() {
+        try (Snapshot snapshot = openSnapshot()) {
+            return snapshot.findAllProjects();
+        }
+    }
+
+    /**
+     * Every scan already reads one snapshot, so the parallel and consistent variants need nothing extra.
+     */
+    @Override
+    public List<Project> findAllProjectsConsistent(int parallelism) {
+        return findAllProjects();
+    }
+
+    @Override
+    public List<Project> findAllProjectsParallel(int parallelism) {
+        return findAllProjects();
+    }
+
+    @Override
+    public long streamAllProjects(int fetchSize, Consumer<Project> consumer) {
+        try (Snapshot snapshot = openSnapshot()) {
+            List<Project> projects = snapshot.findAllProjects();
+            projects.forEach(consumer);
+            return projects.size();
+        }
+    }
+
+    @Override
+    public Project findById(int projectId) {
+        VersionChain chain = rows.get(projectId);
+        if (chain == null) {
+            return null;
+        }
+        // Fast path: the head is committed, so no snapshot has to be registered to read it.
+        long sequence = lastCommitted;
+        Version head = chain.head;
+        if (head.sequence <= sequence) {
+            return thaw(head.project);
+        }
+        try (Snapshot snapshot = openSnapshot()) {
+            return snapshot.findById(projectId);
+        }
+    }
+
+    @Override
+    public Project findByIdForUpdate(long projectId) {
+        return findById(Math.toIntExact(projectId));
+    }
+
+    /**
+     * Pins the current commit; reads through the snapshot ignore every later write until it is closed.
+     */
+    public Snapshot openSnapshot() {
+        while (true) {
+            long sequence = lastCommitted;
+            openSnapshots.merge(sequence, 1, Integer::sum);
+            // Pairs with vacuum(): it raises the horizon before looking for open snapshots, so either it sees this
+            // registration or we see its horizon and retry on a newer sequence.
+            if (vacuumHorizon <= sequence) {
+                return new Snapshot(sequence);
+            }
+            release(sequence);
+        }
+    }
+
+    /**
+     * Drops row versions older than the oldest open snapshot, along with index entries only they needed.
+     *
+     * @return number of versions reclaimed.
+     */
+    public int vacuum() {
+        long candidate = lastCommitted;
+        vacuumHorizon = candidate;
+        Map.Entry<Long, Integer> oldest = openSnapshots.firstEntry();
+        long horizon = oldest != null ? Math.min(candidate, oldest.getKey()) : candidate;
+        int reclaimed = 0;
+        for (Map.Entry<Integer, VersionChain> entry : rows.entrySet()) {
+            commitLock.lock();
+            try {
+                reclaimed += prune(entry.getKey(), entry.getValue(), horizon);
+            } finally {
+                commitLock.unlock();
+            }
+        }
+        if (reclaimed > 0) {
+            LOGGER.log(Level.FINE, "Vacuum reclaimed {0} project versions up to commit {1}",
+                    new Object[] {reclaimed, horizon});
+        }
+        return reclaimed;
+    }
+
+    /**
+     * Runs {@link #vacuum()} periodically on the shared scheduler; later calls are ignored.
+     */
+    public EmbeddedProjectDAO startVacuum(Duration interval) {
+        if (vacuumStarted.compareAndSet(false, true)) {
+            BackgroundTaskManager.getInstance().scheduleWithFixedDelay(this::vacuum, interval, interval);
+        }
+        return this;
+    }
+
+    @Override
+    public boolean supportsChangeFeed() {
+        return true;
+    }
+
+    /**
+     * Serves the feed from memory; it starts empty on every open and keeps the newest 100,000 changes.
+     */
+    @Override
+    public List<ProjectChange> changesSince(long sequence, int limit) {
+        // Everything up to lastChange was put before it was published, so the bounded view has no holes.
+        long upTo = lastChange;
+        if (sequence >= upTo) {
+            return new ArrayList<>();
+        }
+        return changes.subMap(sequence, false, upTo, true).values().stream().limit(limit).toList();
+    }
+
+    public long getLastCommitted() {
+        return lastCommitted;
+    }
+
+    /**
+     * Replaces rows wholesale during recovery, in a single commit and without journaling; a null value deletes.
+     */
+    void restore(Map<Integer, Project> restored, int idHighWater) {
+        commitLock.lock();
+        try {
+            long sequence = lastCommitted + 1;
+            restored.forEach((id, project) -> {
+                if (project != null) {
+                    install(id, copy(project), sequence);
+                } else if (latest(id) != null) {
+                    install(id, null, sequence);
+                }
+                idSequence.accumulateAndGet(id, Math::max);
+            });
+            idSequence.accumulateAndGet(idHighWater, Math::max);
+            lastCommitted = sequence;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    int idHighWater() {
+        return idSequence.get();
+    }
+
+    private void insert(Project project, int id) {
+        long lsn;
+        commitLock.lock();
+        try {
+            if (latest(id) != null) {
+                throw new IllegalStateException("Project " + id + " already exists");
+            }
+            idSequence.accumulateAndGet(id, Math::max);
+            project.setId(id);
+            project.setVersion(Math.max(0, project.getVersion()));
+            lsn = commit(project, ProjectChange.Type.INSERT);
+        } finally {
+            commitLock.unlock();
+        }
+        journal.awaitDurable(lsn);
+    }
+
+    /**
+     * Publishes the new version and then queues its journal record, both under the commit lock, so every record
+     * in the journal describes a commit that snapshots can already see.
+     *
+     * @return journal sequence number to wait on once the lock is released.
+     */
+    private long commit(Project project, ProjectChange.Type type) {
+        long sequence = lastCommitted + 1;
+        Project frozen = copy(project);
+        install(project.getId(), frozen, sequence);
+        recordChange(project, type);
+        project.clearDirtyFields();
+        lastCommitted = sequence;
+        return journal.projectPut(frozen);
+    }
+
+    /**
+     * Appends to the change feed under the commit lock and drops the entry that fell out of the retention window.
+     */
+    private void recordChange(Project project, ProjectChange.Type type) {
+        long change = lastChange + 1;
+        changes.put(change, ProjectChange.builder()
+                .sequence(change)
+                .projectId(project.getId())
+                .builderId(project.getBuilderId())
+                .type(type)
+                .changedFields(type == ProjectChange.Type.UPDATE ? project.getDirtyFields() : Set.of())
+                .build());
+        changes.remove(change - CHANGE_RETENTION);
+        lastChange = change;
+    }
+
+    /**
+     * Links a new version under the commit lock. Index entries are added before the sequence is published and are
+     * only removed by vacuum, so a reader's index probe never misses a row visible to it.
+     */
+    private void install(int id, Project frozen, long sequence) {
+        VersionChain chain = rows.get(id);
+        if (chain == null) {
+            rows.put(id, new VersionChain(new Version(sequence, frozen, null)));
+        } else {
+            chain.head = new Version(sequence, frozen, chain.head);
+        }
+        if (frozen != null) {
+            byBuilder.add(frozen, id);
+            byClient.add(frozen, id);
+            byStatus.add(frozen, id);
+        }
+    }
+
+    private Project latest(int id) {
+        VersionChain chain = rows.get(id);
+        return chain != null ? chain.head.project : null;
+    }
+
+    private int prune(int id, VersionChain chain, long horizon) {
+        Version visible = chain.head;
+        while (visible != null && visible.sequence > horizon) {
+            visible = visible.previous;
+        }
+        if (visible == null || (visible.previous == null && visible.project != null)) {
+            return 0;
+        }
+        List<Project> retained = new ArrayList<>();
+        for (Version version = chain.head; version != visible.previous; version = version.previous) {
+            if (version.project != null) {
+                retained.add(version.project);
+            }
+        }
+        int reclaimed = 0;
+        for (Version dropped = visible.previous; dropped != null; dropped = dropped.previous) {
+            if (dropped.project != null) {
+                byBuilder.removeIfUnused(dropped.project, id, retained);
+                byClient.removeIfUnused(dropped.project, id, retained);
+                byStatus.removeIfUnused(dropped.project, id, retained);
+            }
+            reclaimed++;
+        }
+        // Readers at or above the horizon stop at `visible`, so cutting the tail behind it is safe.
+        visible.previous = null;
+        if (visible == chain.head && visible.project == null) {
+            rows.remove(id, chain);
+            reclaimed++;
+        }
+        return reclaimed;
+    }
+
+    private void release(long sequence) {
+        openSnapshots.computeIfPresent(sequence, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    private static Project thaw(Project stored) {
+        return stored != null ? copy(stored) : null;
+    }
+
+    private static Project copy(Project original) {
+        Project copy = new Project();
+        copy.setId(original.getId());
+        copy.setName(original.getName());
+        copy.setDescription(original.getDescription());
+        copy.setStatus(original.getStatus());
+        copy.setBuilderId(original.getBuilderId());
+        copy.setClientId(original.getClientId());
+        copy.setBudgetPlanned(original.getBudgetPlanned());
+        copy.setBudgetUsed(original.getBudgetUsed());
+        copy.setStartDate(original.getStartDate() != null ? LocalDate.from(original.getStartDate()) : null);
+        copy.setEndDate(original.getEndDate() != null ? LocalDate.from(original.getEndDate()) : null);
+        copy.setVersion(original.getVersion());
+        copy.clearDirtyFields();
+        return copy;
+    }
+
+    /**
+     * Read view pinned at one commit. Close it promptly: vacuum keeps every version it might still see.
+     */
+    public final class Snapshot implements AutoCloseable {
+        private final long sequence;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Snapshot(long sequence) {
+            this.sequence = sequence;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public Project findById(int projectId) {
+            VersionChain chain = rows.get(projectId);
+            return chain != null ? thaw(chain.visibleAt(sequence)) : null;
+        }
+
+        public List<Project> findAllProjects() {
+            List<Project> projects = new ArrayList<>();
+            for (VersionChain chain : rows.values()) {
+                Project project = chain.visibleAt(sequence);
+                if (project != null) {
+                    projects.add(thaw(project));
+                }
+            }
+            projects.sort(Comparator.comparingInt(Project::getId));
+            return projects;
+        }
+
+        public List<Project> findProjectsByBuilder(int builderId) {
+            return lookup(byBuilder, builderId);
+        }
+
+        public List<Project> findProjectsByClient(int clientId) {
+            return lookup(byClient, clientId);
+        }
+
+        public List<Project> findProjectsByStatus(String status) {
+            return lookup(byStatus, status);
+        }
+
+        private <K> List<Project> lookup(SecondaryIndex<K> index, K key) {
+            // Index entries may outlive the version that created them, so re-check the key on the visible row.
+            List<Project> projects = new ArrayList<>();
+            for (Integer id : index.candidates(key)) {
+                VersionChain chain = rows.get(id);
+                Project project = chain != null ? chain.visibleAt(sequence) : null;
+                if (project != null && Objects.equals(index.keyOf(project), key)) {
+                    projects.add(thaw(project));
+                }
+            }
+            projects.sort(Comparator.comparingInt(Project::getId));
+            return projects;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(sequence);
+            }
+        }
+    }
+
+    private static final class VersionChain {
+        private volatile Version head;
+
+        private VersionChain(Version head) {
+            this.head = head;
+        }
+
+        private Project visibleAt(long sequence) {
+            for (Version version = head; version != null; version = version.previous) {
+                if (version.sequence <= sequence) {
+                    return version.project;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Version {
+        private final long sequence;
+        // Null marks a delete.
+        private final Project project;
+        private volatile Version previous;
+
+        private Version(long sequence, Project project, Version previous) {
+            this.sequence = sequence;
+            this.project = project;
+            this.previous = previous;
+        }
+    }
+
+    private static final class SecondaryIndex<K> {
+        private final Map<K, Set<Integer>> entries = new ConcurrentHashMap<>();
+        private final Function<Project, K> keyExtractor;
+
+        private SecondaryIndex(Function<Project, K> keyExtractor) {
+            this.keyExtractor = keyExtractor;
+        }
+
+        private K keyOf(Project project) {
+            return keyExtractor.apply(project);
+        }
+
+        private void add(Project project, int id) {
+            K key = keyOf(project);
+            if (key != null) {
+                entries.computeIfAbsent(key, ignored -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+
+        private Set<Integer> candidates(K key) {
+            Set<Integer> ids = key != null ? entries.get(key) : null;
+            return ids != null ? ids : Set.of();
+        }
+
+        private void removeIfUnused(Project dropped, int id, List<Project> retained) {
+            K key = keyOf(dropped);
+            if (key == null) {
+                return;
+            }
+            Predicate<Project> sameKey = project -> key.equals(keyOf(project));
+            if (retained.stream().noneMatch(sameKey)) {
+                entries.computeIfPresent(key, (ignored, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+}
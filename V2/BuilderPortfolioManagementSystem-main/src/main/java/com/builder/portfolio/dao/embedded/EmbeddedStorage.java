@@ -0,0 +1,433 @@
+package com.builder.portfolio.dao.embedded;
+
+import com.builder.portfolio.model.Document;
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.util.BackgroundTaskManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Durable home of the embedded DAOs: every mutation goes through a {@link WriteAheadLog}, and periodic
+ * memory-mapped snapshots let the log be truncated. Opening a directory recovers the newest snapshot and replays
+ * the log after it, split by project across several threads.
+ */
+public final class EmbeddedStorage implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(EmbeddedStorage.class.getName());
+    private static final int SNAPSHOT_MAGIC = 0x42504D53;
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final Path directory;
+    private final EmbeddedProjectDAO projectDAO;
+    private final EmbeddedDocumentDAO documentDAO;
+    private final WriteAheadLog wal;
+    private final ScheduledFuture<?> snapshotTask;
+    private final Object snapshotMonitor = new Object();
+
+    private EmbeddedStorage(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        Files.createDirectories(directory);
+        Journal journal = new WalJournal();
+        this.documentDAO = new EmbeddedDocumentDAO(journal);
+        this.projectDAO = new EmbeddedProjectDAO(journal, documentDAO);
+        long recoveredLsn = recover(builder.recoveryThreads);
+        this.wal = new WriteAheadLog(directory, builder.fsyncPolicy, builder.fsyncInterval, recoveredLsn + 1);
+        if (builder.snapshotInterval != null) {
+            long millis = builder.snapshotInterval.toMillis();
+            this.snapshotTask = BackgroundTaskManager.getInstance().getScheduledPool()
+                    .scheduleWithFixedDelay(this::snapshotQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        } else {
+            this.snapshotTask = null;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public EmbeddedProjectDAO getProjectDAO() {
+        return projectDAO;
+    }
+
+    public EmbeddedDocumentDAO getDocumentDAO() {
+        return documentDAO;
+    }
+
+    public WriteAheadLog.Stats getWalStats() {
+        return wal.getStats();
+    }
+
+    /**
+     * Writes a snapshot of everything committed so far and drops the log segments it makes redundant.
+     *
+     * @return log sequence number the snapshot covers.
+     */
+    public long snapshot() throws IOException {
+        synchronized (snapshotMonitor) {
+            // Read the position first: every record at or below it was applied before it was appended, so the
+            // snapshot taken afterwards contains it. Records after it may also be in the snapshot, and replaying
+            // them again is harmless because each one carries the full row.
+            long lsn = wal.lastAppendedLsn();
+            List<Project> projects;
+            try (EmbeddedProjectDAO.Snapshot view = projectDAO.openSnapshot()) {
+                projects = view.findAllProjects();
+            }
+            List<Document> documents = documentDAO.allDocuments();
+            byte[] body = EmbeddedCodec.encode(out -> {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_FORMAT);
+                out.writeLong(lsn);
+                out.writeInt(projectDAO.idHighWater());
+                out.writeInt(documentDAO.idHighWater());
+                out.writeInt(projects.size());
+                for (Project project : projects) {
+                    EmbeddedCodec.writeProject(out, project);
+                }
+                out.writeInt(documents.size());
+                for (Document document : documents) {
+                    EmbeddedCodec.writeDocument(out, document);
+                }
+            });
+            writeSnapshotFile(lsn, body);
+            wal.rollover();
+            wal.deleteSegmentsThrough(lsn);
+            LOGGER.log(Level.INFO, "Snapshot at lsn {0}: {1} projects, {2} documents; WAL {3}",
+                    new Object[] {lsn, projects.size(), documents.size(), wal.getStats()});
+            return lsn;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (snapshotTask != null) {
+            snapshotTask.cancel(false);
+        }
+        wal.close();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.log(Level.SEVERE, "Periodic snapshot failed; the write-ahead log keeps growing until one succeeds",
+                    ex);
+        }
+    }
+
+    private void writeSnapshotFile(long lsn, byte[] body) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        Path temp = directory.resolve(SNAPSHOT_PREFIX + "tmp" + SNAPSHOT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, body.length + Integer.BYTES);
+            mapped.put(body).putInt((int) crc.getValue());
+            mapped.force();
+        }
+        Path target = directory.resolve(snapshotName(lsn));
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        for (Path older : listSnapshots()) {
+            if (!older.equals(target)) {
+                Files.deleteIfExists(older);
+            }
+        }
+    }
+
+    /**
+     * @return highest log sequence number now reflected in memory.
+     */
+    private long recover(int threads) throws IOException {
+        long started = System.nanoTime();
+        long snapshotLsn = loadSnapshot();
+        List<WriteAheadLog.Entry> entries = WriteAheadLog.readAll(directory);
+        List<List<ReplayOp>> partitions = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        long lastLsn = snapshotLsn;
+        int replayed = 0;
+        for (WriteAheadLog.Entry entry : entries) {
+            if (entry.getLsn() <= snapshotLsn) {
+                continue;
+            }
+            lastLsn = Math.max(lastLsn, entry.getLsn());
+            replayed++;
+            if (entry.getType() == WriteAheadLog.PROJECTS_PUT) {
+                // A group commit can touch several partitions, so split it here, in log order.
+                for (Project project : EmbeddedCodec.decodeProjects(entry.getPayload())) {
+                    partitions.get(Math.floorMod(project.getId(), threads))
+                            .add(new ReplayOp(WriteAheadLog.PROJECT_PUT, project.getId(), null, project));
+                }
+            } else {
+                partitions.get(Math.floorMod(entry.getProjectId(), threads))
+                        .add(new ReplayOp(entry.getType(), entry.getProjectId(), entry.getPayload(), null));
+            }
+        }
+        List<PartitionState> states = replay(partitions);
+        Map<Integer, Project> projects = new HashMap<>();
+        for (PartitionState state : states) {
+            projects.putAll(state.projects);
+            state.documents.forEach((projectId, changes) ->
+                    documentDAO.restore(projectId, changes.cleared, changes.puts.values()));
+        }
+        projectDAO.restore(projects, 0);
+        LOGGER.log(Level.INFO, "Recovered {0} from snapshot lsn {1} plus {2} log records in {3} ms",
+                new Object[] {directory, snapshotLsn, replayed,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)});
+        return lastLsn;
+    }
+
+    private List<PartitionState> replay(List<List<ReplayOp>> partitions) {
+        ExecutorService pool = Executors.newFixedThreadPool(partitions.size(), task -> {
+            Thread thread = new Thread(task, "bpms-wal-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Callable<PartitionState>> tasks = new ArrayList<>();
+            for (List<ReplayOp> partition : partitions) {
+                tasks.add(() -> fold(partition));
+            }
+            List<PartitionState> states = new ArrayList<>();
+            for (Future<PartitionState> future : pool.invokeAll(tasks)) {
+                states.add(future.get());
+            }
+            return states;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying the write-ahead log", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Write-ahead log replay failed", ex.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Collapses one partition's records, in log order, into the final state of each project it covers.
+     */
+    private static PartitionState fold(List<ReplayOp> ops) {
+        PartitionState state = new PartitionState();
+        for (ReplayOp op : ops) {
+            switch (op.type) {
+                case WriteAheadLog.PROJECT_PUT -> state.projects.put(op.projectId,
+                        op.project != null ? op.project : EmbeddedCodec.readProject(op.payload));
+                case WriteAheadLog.PROJECT_DELETE -> {
+                    state.projects.put(op.projectId, null);
+                    // Deleting a project deletes its documents; the one record stands for both.
+                    state.clearDocuments(op.projectId);
+                }
+                case WriteAheadLog.DOCUMENT_PUT -> {
+                    Document document = EmbeddedCodec.readDocument(op.payload);
+                    state.documents.computeIfAbsent(op.projectId, id -> new DocumentChanges())
+                            .puts.put(document.getId(), document);
+                }
+                case WriteAheadLog.DOCUMENTS_DELETE -> state.clearDocuments(op.projectId);
+                default -> throw new IllegalStateException("Unknown write-ahead log record type " + op.type);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * @return log sequence number covered by the loaded snapshot, or 0 without one.
+     */
+    private long loadSnapshot() throws IOException {
+        List<Path> snapshots = listSnapshots();
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        Path newest = snapshots.get(snapshots.size() - 1);
+        try (FileChannel channel = FileChannel.open(newest, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int bodyLength = mapped.limit() - Integer.BYTES;
+            CRC32 crc = new CRC32();
+            if (bodyLength > 0) {
+                crc.update(mapped.slice(0, bodyLength));
+            }
+            if (bodyLength <= 0 || (int) crc.getValue() != mapped.getInt(bodyLength)
+                    || mapped.getInt() != SNAPSHOT_MAGIC || mapped.getInt() != SNAPSHOT_FORMAT) {
+                throw new IllegalStateException("Snapshot " + newest + " is corrupt");
+            }
+            long lsn = mapped.getLong();
+            int projectIdHighWater = mapped.getInt();
+            int documentIdHighWater = mapped.getInt();
+            Map<Integer, Project> projects = new LinkedHashMap<>();
+            for (int i = mapped.getInt(); i > 0; i--) {
+                Project project = EmbeddedCodec.readProject(mapped);
+                projects.put(project.getId(), project);
+            }
+            Map<Integer, List<Document>> documents = new HashMap<>();
+            for (int i = mapped.getInt(); i > 0; i--) {
+                Document document = EmbeddedCodec.readDocument(mapped);
+                documents.computeIfAbsent(document.getProjectId(), id -> new ArrayList<>()).add(document);
+            }
+            projectDAO.restore(projects, projectIdHighWater);
+            documents.forEach((projectId, list) -> documentDAO.restore(projectId, true, list));
+            documentDAO.restoreIdHighWater(documentIdHighWater);
+            return lsn;
+        }
+    }
+
+    private List<Path> listSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)
+                        && !name.equals(SNAPSHOT_PREFIX + "tmp" + SNAPSHOT_SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    private static String snapshotName(long lsn) {
+        return String.format("%s%020d%s", SNAPSHOT_PREFIX, lsn, SNAPSHOT_SUFFIX);
+    }
+
+    /**
+     * Journal bound to this storage's log; the log itself is created after recovery, before any DAO write.
+     */
+    private final class WalJournal implements Journal {
+        @Override
+        public long projectPut(Project project) {
+            return wal.append(WriteAheadLog.PROJECT_PUT, project.getId(), EmbeddedCodec.encodeProject(project));
+        }
+
+        @Override
+        public long projectsPut(List<Project> projects) {
+            return wal.append(WriteAheadLog.PROJECTS_PUT, projects.get(0).getId(),
+                    EmbeddedCodec.encodeProjects(projects));
+        }
+
+        @Override
+        public long projectDelete(int projectId) {
+            return wal.append(WriteAheadLog.PROJECT_DELETE, projectId, new byte[0]);
+        }
+
+        @Override
+        public long documentPut(Document document) {
+            return wal.append(WriteAheadLog.DOCUMENT_PUT, document.getProjectId(),
+                    EmbeddedCodec.encodeDocument(document));
+        }
+
+        @Override
+        public long documentsDelete(int projectId) {
+            return wal.append(WriteAheadLog.DOCUMENTS_DELETE, projectId, new byte[0]);
+        }
+
+        @Override
+        public void awaitDurable(long lsn) {
+            wal.awaitDurable(lsn);
+        }
+    }
+
+    private static final class ReplayOp {
+        private final byte type;
+        private final int projectId;
+        private final ByteBuffer payload;
+        private final Project project;
+
+        private ReplayOp(byte type, int projectId, ByteBuffer payload, Project project) {
+            this.type = type;
+            this.projectId = projectId;
+            this.payload = payload;
+            this.project = project;
+        }
+    }
+
+    private static final class PartitionState {
+        // A null value records a delete.
+        private final Map<Integer, Project> projects = new HashMap<>();
+        private final Map<Integer, DocumentChanges> documents = new HashMap<>();
+
+        private void clearDocuments(int projectId) {
+            DocumentChanges changes = documents.computeIfAbsent(projectId, id -> new DocumentChanges());
+            changes.cleared = true;
+            changes.puts.clear();
+        }
+    }
+
+    private static final class DocumentChanges {
+        private boolean cleared;
+        private final Map<Integer, Document> puts = new LinkedHashMap<>();
+    }
+
+    public static final class Builder {
+        private Path directory;
+        private WriteAheadLog.FsyncPolicy fsyncPolicy = WriteAheadLog.FsyncPolicy.GROUP;
+        private Duration fsyncInterval = Duration.ofMillis(100);
+        private Duration snapshotInterval = Duration.ofMinutes(5);
+        private int recoveryThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+        private Builder() {
+        }
+
+        public Builder directory(Path directory) {
+            this.directory = Objects.requireNonNull(directory, "directory");
+            return this;
+        }
+
+        public Builder fsyncPolicy(WriteAheadLog.FsyncPolicy fsyncPolicy) {
+            this.fsyncPolicy = Objects.requireNonNull(fsyncPolicy, "fsyncPolicy");
+            return this;
+        }
+
+        /**
+         * Longest a commit may sit unsynced under {@link WriteAheadLog.FsyncPolicy#INTERVAL}.
+         */
+        public Builder fsyncInterval(Duration fsyncInterval) {
+            this.fsyncInterval = Objects.requireNonNull(fsyncInterval, "fsyncInterval");
+            return this;
+        }
+
+        /**
+         * @param snapshotInterval time between automatic snapshots, or null to snapshot only on demand.
+         */
+        public Builder snapshotInterval(Duration snapshotInterval) {
+            this.snapshotInterval = snapshotInterval;
+            return this;
+        }
+
+        public Builder recoveryThreads(int recoveryThreads) {
+            if (recoveryThreads <= 0) {
+                throw new IllegalArgumentException("recoveryThreads must be positive");
+            }
+            this.recoveryThreads = recoveryThreads;
+            return this;
+        }
+
+        public EmbeddedStorage open() {
+            Objects.requireNonNull(directory, "directory");
+            try {
+                return new EmbeddedStorage(this);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot open embedded storage in " + directory, ex);
+            }
+        }
+    }
+}
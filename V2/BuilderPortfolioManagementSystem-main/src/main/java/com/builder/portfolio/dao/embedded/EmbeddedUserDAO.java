@@ -0,0 +1,68 @@
+package com.builder.portfolio.dao.embedded;
+
+import com.builder.portfolio.dao.UserDAO;
+import com.builder.portfolio.model.User;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process user store so the console app can run entirely on the embedded backend.
+ */
+public class EmbeddedUserDAO implements UserDAO {
+    private final Map<Integer, User> users = new ConcurrentHashMap<>();
+    private final Map<String, Integer> idsByEmail = new ConcurrentHashMap<>();
+    private final AtomicInteger idSequence = new AtomicInteger();
+
+    @Override
+    public void addUser(User user) {
+        int id = idSequence.incrementAndGet();
+        if (idsByEmail.putIfAbsent(user.getEmail(), id) != null) {
+            throw new IllegalStateException("A user with email " + user.getEmail() + " already exists");
+        }
+        user.setId(id);
+        users.put(id, copy(user));
+    }
+
+    @Override
+    public User findByEmailAndPassword(String email, String password) {
+        Integer id = email != null ? idsByEmail.get(email) : null;
+        User user = id != null ? users.get(id) : null;
+        return user != null && Objects.equals(user.getPassword(), password) ? copy(user) : null;
+    }
+
+    @Override
+    public List<User> findAll() {
+        return users.values().stream()
+                .sorted(Comparator.comparingInt(User::getId))
+                .map(EmbeddedUserDAO::copy)
+                .toList();
+    }
+
+    @Override
+    public void deleteUser(int userId) {
+        User removed = users.remove(userId);
+        if (removed != null) {
+            idsByEmail.remove(removed.getEmail(), userId);
+        }
+    }
+
+    @Override
+    public User findById(int userId) {
+        User user = users.get(userId);
+        return user != null ? copy(user) : null;
+    }
+
+    private static User copy(User original) {
+        User copy = new User();
+        copy.setId(original.getId());
+        copy.setName(original.getName());
+        copy.setEmail(original.getEmail());
+        copy.setPassword(original.getPassword());
+        copy.setRole(original.getRole());
+        return copy;
+    }
+}
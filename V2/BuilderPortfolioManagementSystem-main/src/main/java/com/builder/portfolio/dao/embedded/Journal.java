@@ -0,0 +1,57 @@
+package com.builder.portfolio.dao.embedded;
+
+import com.builder.portfolio.model.Document;
+import com.builder.portfolio.model.Project;
+import java.util.List;
+
+/**
+ * Receives every mutation of the embedded DAOs right after it is applied in memory, in apply order.
+ * Appends only queue the record; callers wait for {@link #awaitDurable(long)} once their locks are released.
+ */
+interface Journal {
+    Journal NONE = new Journal() {
+        @Override
+        public long projectPut(Project project) {
+            return 0;
+        }
+
+        @Override
+        public long projectsPut(List<Project> projects) {
+            return 0;
+        }
+
+        @Override
+        public long projectDelete(int projectId) {
+            return 0;
+        }
+
+        @Override
+        public long documentPut(Document document) {
+            return 0;
+        }
+
+        @Override
+        public long documentsDelete(int projectId) {
+            return 0;
+        }
+
+        @Override
+        public void awaitDurable(long lsn) {
+        }
+    };
+
+    /**
+     * @return log sequence number of the queued record.
+     */
+    long projectPut(Project project);
+
+    long projectsPut(List<Project> projects);
+
+    long projectDelete(int projectId);
+
+    long documentPut(Document document);
+
+    long documentsDelete(int projectId);
+
+    void awaitDurable(long lsn);
+}
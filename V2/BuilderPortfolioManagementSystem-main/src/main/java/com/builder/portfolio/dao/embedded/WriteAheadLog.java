@@ -0,0 +1,458 @@
+package com.builder.portfolio.dao.embedded;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of embedded-store mutations, split into segment files named after their first sequence number.
+ *
+ * <p>Each record is {@code [payload length][crc32][lsn][type][project id][payload]}; the checksum covers everything
+ * after itself, so a torn tail is detected and cut off on recovery. Appends only queue the framed record. A single
+ * flusher thread drains the queue, writes it with one gathering write and syncs it according to the
+ * {@link FsyncPolicy}, which is what lets concurrent commits share one {@code fsync}.</p>
+ */
+public final class WriteAheadLog implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(WriteAheadLog.class.getName());
+
+    static final byte PROJECT_PUT = 1;
+    static final byte PROJECTS_PUT = 2;
+    static final byte PROJECT_DELETE = 3;
+    static final byte DOCUMENT_PUT = 4;
+    static final byte DOCUMENTS_DELETE = 5;
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES + 1 + Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /**
+     * When a commit counts as durable.
+     */
+    public enum FsyncPolicy {
+        /** Every record is written and forced on its own before its commit returns. */
+        PER_COMMIT,
+        /** Records queued while the previous sync ran are written and forced together. */
+        GROUP,
+        /** Commits return once written to the OS; the file is forced at most once per interval. */
+        INTERVAL
+    }
+
+    private final Path directory;
+    private final FsyncPolicy policy;
+    private final long fsyncIntervalNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pendingAdded = lock.newCondition();
+    private final Condition durableAdvanced = lock.newCondition();
+    private final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+    private long nextLsn;
+    private long durableLsn;
+    private IOException failure;
+    private boolean closed;
+
+    // The flusher owns the channel; rollover swaps it under channelLock.
+    private final ReentrantLock channelLock = new ReentrantLock();
+    private FileChannel channel;
+    private long writtenLsn;
+    private volatile boolean unforced;
+    private long lastForceNanos;
+
+    private final LongAdder records = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final long openedNanos = System.nanoTime();
+    private final Thread flusher;
+
+    /**
+     * @param firstLsn sequence number of the next record; everything below it is already on disk.
+     */
+    WriteAheadLog(Path directory, FsyncPolicy policy, Duration fsyncInterval, long firstLsn) throws IOException {
+        this.directory = directory;
+        this.policy = policy;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+        this.nextLsn = firstLsn;
+        this.durableLsn = firstLsn - 1;
+        this.writtenLsn = firstLsn - 1;
+        Files.createDirectories(directory);
+        this.channel = openSegment(firstLsn);
+        this.lastForceNanos = System.nanoTime();
+        this.flusher = new Thread(this::flushLoop, "bpms-wal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Queues a record; it is not durable until {@link #awaitDurable(long)} returns for its sequence number.
+     */
+    long append(byte type, int projectId, byte[] payload) {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        frame.putInt(payload.length).putInt(0).putLong(0).put(type).putInt(projectId).put(payload).flip();
+        lock.lock();
+        try {
+            ensureWritable();
+            long lsn = nextLsn++;
+            frame.putLong(Integer.BYTES * 2, lsn);
+            CRC32 crc = new CRC32();
+            crc.update(frame.array(), Integer.BYTES * 2, frame.limit() - Integer.BYTES * 2);
+            frame.putInt(Integer.BYTES, (int) crc.getValue());
+            pending.add(frame);
+            pendingAdded.signal();
+            return lsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void awaitDurable(long lsn) {
+        lock.lock();
+        try {
+            while (durableLsn < lsn) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Write-ahead log is unavailable", failure);
+                }
+                durableAdvanced.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long lastAppendedLsn() {
+        lock.lock();
+        try {
+            return nextLsn - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts a new segment so the records before it can be dropped once a snapshot covers them.
+     */
+    void rollover() throws IOException {
+        channelLock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+            channel = openSegment(writtenLsn + 1);
+            unforced = false;
+        } finally {
+            channelLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes every closed segment whose records all have sequence numbers at or below {@code lsn}.
+     */
+    void deleteSegmentsThrough(long lsn) throws IOException {
+        List<Path> segments = listSegments(directory);
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstLsn(segments.get(i + 1)) - 1 <= lsn) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        }
+    }
+
+    public FsyncPolicy getPolicy() {
+        return policy;
+    }
+
+    public Stats getStats() {
+        return new Stats(records.sum(), batches.sum(), syncs.sum(), bytes.sum(), System.nanoTime() - openedNanos);
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pendingAdded.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        channelLock.lock();
+        try {
+            if (channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+        } finally {
+            channelLock.unlock();
+        }
+        LOGGER.log(Level.INFO, "Write-ahead log closed: {0}", getStats());
+    }
+
+    /**
+     * Reads every intact record in sequence order. A torn or corrupt tail on the newest segment is truncated, as it
+     * can only come from a crash mid-write; damage anywhere else fails recovery.
+     */
+    static List<Entry> readAll(Path directory) throws IOException {
+        List<Entry> result = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return result;
+        }
+        List<Path> segments = listSegments(directory);
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = segments.get(i);
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segment));
+            int intact = readSegment(data, result);
+            if (intact < data.capacity()) {
+                if (i + 1 < segments.size()) {
+                    throw new IllegalStateException(
+                            "Corrupt write-ahead log segment " + segment + " at byte " + intact);
+                }
+                LOGGER.log(Level.WARNING, "Truncating torn write-ahead log tail of {0} at byte {1}",
+                        new Object[] {segment, intact});
+                try (FileChannel truncate = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                    truncate.truncate(intact);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int readSegment(ByteBuffer data, List<Entry> into) {
+        CRC32 crc = new CRC32();
+        while (data.remaining() >= HEADER_BYTES) {
+            int start = data.position();
+            int length = data.getInt();
+            int checksum = data.getInt();
+            if (length < 0 || data.remaining() < HEADER_BYTES - Integer.BYTES * 2 + length) {
+                return start;
+            }
+            crc.reset();
+            crc.update(data.array(), data.position(), HEADER_BYTES - Integer.BYTES * 2 + length);
+            if ((int) crc.getValue() != checksum) {
+                return start;
+            }
+            long lsn = data.getLong();
+            byte type = data.get();
+            int projectId = data.getInt();
+            ByteBuffer payload = data.slice(data.position(), length);
+            data.position(data.position() + length);
+            into.add(new Entry(lsn, type, projectId, payload));
+        }
+        return data.position();
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<ByteBuffer> batch = new ArrayList<>();
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !closed) {
+                    if (unforced) {
+                        // INTERVAL only: sync the last writes once the interval is up, even if no new ones arrive.
+                        long remaining = fsyncIntervalNanos - (System.nanoTime() - lastForceNanos);
+                        if (remaining <= 0) {
+                            break;
+                        }
+                        pendingAdded.awaitNanos(remaining);
+                    } else {
+                        pendingAdded.awaitUninterruptibly();
+                    }
+                }
+                if (pending.isEmpty() && closed) {
+                    return;
+                }
+                while (!pending.isEmpty() && (batch.isEmpty() || policy != FsyncPolicy.PER_COMMIT)) {
+                    batch.add(pending.poll());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            long lastLsn;
+            try {
+                lastLsn = write(batch);
+            } catch (IOException ex) {
+                fail(ex);
+                return;
+            }
+            lock.lock();
+            try {
+                durableLsn = lastLsn;
+                durableAdvanced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private long write(List<ByteBuffer> batch) throws IOException {
+        channelLock.lock();
+        try {
+            if (!batch.isEmpty()) {
+                ByteBuffer[] buffers = batch.toArray(ByteBuffer[]::new);
+                long size = 0;
+                for (ByteBuffer buffer : buffers) {
+                    size += buffer.remaining();
+                }
+                long written = 0;
+                while (written < size) {
+                    written += channel.write(buffers);
+                }
+                writtenLsn = batch.get(batch.size() - 1).getLong(Integer.BYTES * 2);
+                unforced = true;
+                records.add(batch.size());
+                batches.increment();
+                bytes.add(size);
+            }
+            if (unforced && (policy != FsyncPolicy.INTERVAL
+                    || System.nanoTime() - lastForceNanos >= fsyncIntervalNanos)) {
+                channel.force(false);
+                syncs.increment();
+                unforced = false;
+                lastForceNanos = System.nanoTime();
+            }
+            return writtenLsn;
+        } finally {
+            channelLock.unlock();
+        }
+    }
+
+    private void fail(IOException ex) {
+        LOGGER.log(Level.SEVERE, "Write-ahead log write failed; rejecting further commits", ex);
+        lock.lock();
+        try {
+            failure = ex;
+            durableAdvanced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ensureWritable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Write-ahead log is unavailable", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+    }
+
+    private FileChannel openSegment(long firstLsn) throws IOException {
+        Path segment = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX));
+        return FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    private static long firstLsn(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * One decoded log record; the payload is a read-only view into the segment bytes.
+     */
+    static final class Entry {
+        private final long lsn;
+        private final byte type;
+        private final int projectId;
+        private final ByteBuffer payload;
+
+        private Entry(long lsn, byte type, int projectId, ByteBuffer payload) {
+            this.lsn = lsn;
+            this.type = type;
+            this.projectId = projectId;
+            this.payload = payload;
+        }
+
+        long getLsn() {
+            return lsn;
+        }
+
+        byte getType() {
+            return type;
+        }
+
+        int getProjectId() {
+            return projectId;
+        }
+
+        ByteBuffer getPayload() {
+            return payload.duplicate();
+        }
+    }
+
+    /**
+     * Commit throughput since the log was opened.
+     */
+    public static final class Stats {
+        private final long records;
+        private final long batches;
+        private final long syncs;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        private Stats(long records, long batches, long syncs, long bytes, long elapsedNanos) {
+            this.records = records;
+            this.batches = batches;
+            this.syncs = syncs;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRecords() {
+            return records;
+        }
+
+        public long getSyncs() {
+            return syncs;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public double getRecordsPerSecond() {
+            return elapsedNanos > 0 ? records * 1e9 / elapsedNanos : 0;
+        }
+
+        public double getAverageBatchSize() {
+            return batches > 0 ? (double) records / batches : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d records (%.0f/s), %d syncs, %.1f records per write, %d bytes",
+                    records, getRecordsPerSecond(), syncs, getAverageBatchSize(), bytes);
+        }
+    }
+}
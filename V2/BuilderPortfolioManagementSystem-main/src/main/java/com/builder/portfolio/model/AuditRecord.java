@@ -0,0 +1,151 @@
+package com.builder.portfolio.model;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable entry of the audit trail: who changed which project, between which versions, and how long the write
+ * took.
+ */
+public final class AuditRecord {
+    /** Version recorded when the write did not check one, e.g. creates and deletes. */
+    public static final long UNKNOWN_VERSION = -1;
+
+    private final String actor;
+    private final long projectId;
+    private final int builderId;
+    private final ProjectEvent.Type type;
+    private final long previousVersion;
+    private final long newVersion;
+    private final Set<ProjectField> changedFields;
+    private final Instant occurredAt;
+    private final long elapsedNanos;
+
+    private AuditRecord(Builder builder) {
+        this.actor = Objects.requireNonNull(builder.actor, "actor");
+        this.projectId = builder.projectId;
+        this.builderId = builder.builderId;
+        this.type = Objects.requireNonNull(builder.type, "type");
+        this.previousVersion = builder.previousVersion;
+        this.newVersion = builder.newVersion;
+        this.changedFields = Collections.unmodifiableSet(builder.changedFields);
+        this.occurredAt = builder.occurredAt;
+        this.elapsedNanos = builder.elapsedNanos;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public long getProjectId() {
+        return projectId;
+    }
+
+    public int getBuilderId() {
+        return builderId;
+    }
+
+    public ProjectEvent.Type getType() {
+        return type;
+    }
+
+    public long getPreviousVersion() {
+        return previousVersion;
+    }
+
+    public long getNewVersion() {
+        return newVersion;
+    }
+
+    public Set<ProjectField> getChangedFields() {
+        return changedFields;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    /**
+     * @return how long the service spent on the write, from reading the project to the store accepting it.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return occurredAt + " " + actor + " " + type + " project " + projectId + " v" + previousVersion + "->v"
+                + newVersion + " " + changedFields;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private String actor;
+        private long projectId;
+        private int builderId;
+        private ProjectEvent.Type type;
+        private long previousVersion = UNKNOWN_VERSION;
+        private long newVersion = UNKNOWN_VERSION;
+        private final EnumSet<ProjectField> changedFields = EnumSet.noneOf(ProjectField.class);
+        private Instant occurredAt = Instant.now();
+        private long elapsedNanos;
+
+        private Builder() {
+        }
+
+        public Builder actor(String actor) {
+            this.actor = actor;
+            return this;
+        }
+
+        public Builder projectId(long projectId) {
+            this.projectId = projectId;
+            return this;
+        }
+
+        public Builder builderId(int builderId) {
+            this.builderId = builderId;
+            return this;
+        }
+
+        public Builder type(ProjectEvent.Type type) {
+            this.type = type;
+            return this;
+        }
+
+        public Builder previousVersion(long previousVersion) {
+            this.previousVersion = previousVersion;
+            return this;
+        }
+
+        public Builder newVersion(long newVersion) {
+            this.newVersion = newVersion;
+            return this;
+        }
+
+        public Builder changedFields(Set<ProjectField> changedFields) {
+            this.changedFields.addAll(changedFields);
+            return this;
+        }
+
+        public Builder occurredAt(Instant occurredAt) {
+            this.occurredAt = Objects.requireNonNull(occurredAt, "occurredAt");
+            return this;
+        }
+
+        public Builder elapsedNanos(long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+            return this;
+        }
+
+        public AuditRecord build() {
+            return new AuditRecord(this);
+        }
+    }
+}
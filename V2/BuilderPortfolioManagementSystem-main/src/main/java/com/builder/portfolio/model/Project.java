@@ -1,6 +1,10 @@
 package com.builder.portfolio.model;
 
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 
 public class Project {
     private int id;
@@ -14,6 +18,9 @@ public class Project {
     private LocalDate startDate;
     private LocalDate endDate;
     private long version;
+    // Tracks columns changed since the row was loaded so the DAO can write only those.
+    private final EnumSet<ProjectField> dirtyFields = EnumSet.noneOf(ProjectField.class);
+    private boolean tracking;
 
     public int getId() {
         return id;
@@ -28,6 +35,9 @@ public class Project {
     }
 
     public void setName(String name) {
+        if (!Objects.equals(this.name, name)) {
+            dirtyFields.add(ProjectField.NAME);
+        }
         this.name = name;
     }
 
@@ -36,6 +46,9 @@ public class Project {
     }
 
     public void setDescription(String description) {
+        if (!Objects.equals(this.description, description)) {
+            dirtyFields.add(ProjectField.DESCRIPTION);
+        }
         this.description = description;
     }
 
@@ -44,6 +57,9 @@ public class Project {
     }
 
     public void setStatus(String status) {
+        if (!Objects.equals(this.status, status)) {
+            dirtyFields.add(ProjectField.STATUS);
+        }
         this.status = status;
     }
 
@@ -60,6 +76,9 @@ public class Project {
     }
 
     public void setClientId(int clientId) {
+        if (this.clientId != clientId) {
+            dirtyFields.add(ProjectField.CLIENT_ID);
+        }
         this.clientId = clientId;
     }
 
@@ -68,6 +87,9 @@ public class Project {
     }
 
     public void setBudgetPlanned(double budgetPlanned) {
+        if (Double.compare(this.budgetPlanned, budgetPlanned) != 0) {
+            dirtyFields.add(ProjectField.BUDGET_PLANNED);
+        }
         this.budgetPlanned = budgetPlanned;
     }
 
@@ -76,6 +98,9 @@ public class Project {
     }
 
     public void setBudgetUsed(double budgetUsed) {
+        if (Double.compare(this.budgetUsed, budgetUsed) != 0) {
+            dirtyFields.add(ProjectField.BUDGET_USED);
+        }
         this.budgetUsed = budgetUsed;
     }
 
@@ -84,6 +109,9 @@ public class Project {
     }
 
     public void setStartDate(LocalDate startDate) {
+        if (!Objects.equals(this.startDate, startDate)) {
+            dirtyFields.add(ProjectField.START_DATE);
+        }
         this.startDate = startDate;
     }
 
@@ -92,6 +120,9 @@ public class Project {
     }
 
     public void setEndDate(LocalDate endDate) {
+        if (!Objects.equals(this.endDate, endDate)) {
+            dirtyFields.add(ProjectField.END_DATE);
+        }
         this.endDate = endDate;
     }
 
@@ -102,4 +133,40 @@ public class Project {
     public void setVersion(long version) {
         this.version = version;
     }
+
+    /**
+     * @return the fields changed since the last {@link #clearDirtyFields()}; every field for untracked instances.
+     */
+    public Set<ProjectField> getDirtyFields() {
+        if (!tracking) {
+            return Collections.unmodifiableSet(EnumSet.allOf(ProjectField.class));
+        }
+        return Collections.unmodifiableSet(EnumSet.copyOf(dirtyFields));
+    }
+
+    /**
+     * Same as {@link #getDirtyFields()} as a {@link ProjectField#bit()} mask, without copying the set.
+     */
+    public int getDirtyFieldBits() {
+        if (!tracking) {
+            return ProjectField.allBits();
+        }
+        int bits = 0;
+        for (ProjectField field : dirtyFields) {
+            bits |= field.bit();
+        }
+        return bits;
+    }
+
+    public boolean isDirty() {
+        return !tracking || !dirtyFields.isEmpty();
+    }
+
+    /**
+     * Marks the current state as persisted and starts tracking changes from here.
+     */
+    public void clearDirtyFields() {
+        dirtyFields.clear();
+        tracking = true;
+    }
 }
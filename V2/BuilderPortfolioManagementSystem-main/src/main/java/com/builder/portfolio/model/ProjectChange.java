@@ -0,0 +1,112 @@
+package com.builder.portfolio.model;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable entry of the project change feed. Sequences only grow, so a sync job can remember the last one it
+ * applied and ask for everything after it.
+ */
+public final class ProjectChange {
+    public enum Type {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    private final long sequence;
+    private final int projectId;
+    private final int builderId;
+    private final Type type;
+    private final Set<ProjectField> changedFields;
+    private final Instant changedAt;
+
+    private ProjectChange(Builder builder) {
+        this.sequence = builder.sequence;
+        this.projectId = builder.projectId;
+        this.builderId = builder.builderId;
+        this.type = Objects.requireNonNull(builder.type, "type");
+        this.changedFields = Collections.unmodifiableSet(builder.changedFields);
+        this.changedAt = builder.changedAt;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getProjectId() {
+        return projectId;
+    }
+
+    public int getBuilderId() {
+        return builderId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the columns an update changed; empty for inserts and deletes.
+     */
+    public Set<ProjectField> getChangedFields() {
+        return changedFields;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private long sequence;
+        private int projectId;
+        private int builderId;
+        private Type type;
+        private final EnumSet<ProjectField> changedFields = EnumSet.noneOf(ProjectField.class);
+        private Instant changedAt = Instant.now();
+
+        private Builder() {
+        }
+
+        public Builder sequence(long sequence) {
+            this.sequence = sequence;
+            return this;
+        }
+
+        public Builder projectId(int projectId) {
+            this.projectId = projectId;
+            return this;
+        }
+
+        public Builder builderId(int builderId) {
+            this.builderId = builderId;
+            return this;
+        }
+
+        public Builder type(Type type) {
+            this.type = type;
+            return this;
+        }
+
+        public Builder changedFields(Set<ProjectField> changedFields) {
+            this.changedFields.addAll(changedFields);
+            return this;
+        }
+
+        public Builder changedAt(Instant changedAt) {
+            this.changedAt = Objects.requireNonNull(changedAt, "changedAt");
+            return this;
+        }
+
+        public ProjectChange build() {
+            return new ProjectChange(this);
+        }
+    }
+}
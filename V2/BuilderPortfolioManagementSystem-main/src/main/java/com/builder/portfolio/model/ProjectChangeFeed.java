@@ -0,0 +1,39 @@
+package com.builder.portfolio.model;
+
+import java.util.List;
+
+/**
+ * Result of a change feed read: either the next page of changes, or "unsupported" when the store behind the service
+ * keeps no single ordered feed (a sharded store, for one). Callers that see it fall back to a full listing.
+ */
+public final class ProjectChangeFeed {
+    private static final ProjectChangeFeed UNSUPPORTED = new ProjectChangeFeed(null);
+
+    private final List<ProjectChange> changes;
+
+    private ProjectChangeFeed(List<ProjectChange> changes) {
+        this.changes = changes;
+    }
+
+    public static ProjectChangeFeed of(List<ProjectChange> changes) {
+        return new ProjectChangeFeed(List.copyOf(changes));
+    }
+
+    public static ProjectChangeFeed unsupported() {
+        return UNSUPPORTED;
+    }
+
+    public boolean isSupported() {
+        return changes != null;
+    }
+
+    /**
+     * @throws IllegalStateException when the store keeps no change feed; resync from a full listing instead.
+     */
+    public List<ProjectChange> getChanges() {
+        if (changes == null) {
+            throw new IllegalStateException("Change feed is not supported by this store");
+        }
+        return changes;
+    }
+}
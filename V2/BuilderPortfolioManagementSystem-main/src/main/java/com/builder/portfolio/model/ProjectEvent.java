@@ -0,0 +1,129 @@
+package com.builder.portfolio.model;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Immutable notification that the project service changed a project. Carries the owners for filtering and a
+ * summary of the new state, which is null for deletes.
+ */
+public final class ProjectEvent {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        BUDGET_CHANGED,
+        DELETED,
+        DOCUMENT_ADDED
+    }
+
+    private final Type type;
+    private final long projectId;
+    private final int builderId;
+    private final int clientId;
+    private final ProjectSummary summary;
+    private final String documentName;
+    private final Instant occurredAt;
+
+    private ProjectEvent(Builder builder) {
+        this.type = Objects.requireNonNull(builder.type, "type");
+        this.projectId = builder.projectId;
+        this.builderId = builder.builderId;
+        this.clientId = builder.clientId;
+        this.summary = builder.summary;
+        this.documentName = builder.documentName;
+        this.occurredAt = builder.occurredAt;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getProjectId() {
+        return projectId;
+    }
+
+    public int getBuilderId() {
+        return builderId;
+    }
+
+    public int getClientId() {
+        return clientId;
+    }
+
+    public ProjectSummary getSummary() {
+        return summary;
+    }
+
+    /**
+     * @return the uploaded document's name for {@link Type#DOCUMENT_ADDED}, otherwise null.
+     */
+    public String getDocumentName() {
+        return documentName;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return type + " project " + projectId + " (builder " + builderId + ", client " + clientId + ")";
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private Type type;
+        private long projectId;
+        private int builderId;
+        private int clientId;
+        private ProjectSummary summary;
+        private String documentName;
+        private Instant occurredAt = Instant.now();
+
+        private Builder() {
+        }
+
+        public Builder type(Type type) {
+            this.type = type;
+            return this;
+        }
+
+        public Builder projectId(long projectId) {
+            this.projectId = projectId;
+            return this;
+        }
+
+        public Builder builderId(int builderId) {
+            this.builderId = builderId;
+            return this;
+        }
+
+        public Builder clientId(int clientId) {
+            this.clientId = clientId;
+            return this;
+        }
+
+        public Builder summary(ProjectSummary summary) {
+            this.summary = summary;
+            return this;
+        }
+
+        public Builder documentName(String documentName) {
+            this.documentName = documentName;
+            return this;
+        }
+
+        public Builder occurredAt(Instant occurredAt) {
+            this.occurredAt = Objects.requireNonNull(occurredAt, "occurredAt");
+            return this;
+        }
+
+        public ProjectEvent build() {
+            return new ProjectEvent(this);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.builder.portfolio.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Mutable project columns, used to describe partial updates down to the DAO.
+ */
+public enum ProjectField {
+    NAME("name"),
+    DESCRIPTION("description"),
+    STATUS("status"),
+    CLIENT_ID("client_id"),
+    BUDGET_PLANNED("budget_planned"),
+    BUDGET_USED("budget_used"),
+    START_DATE("start_date"),
+    END_DATE("end_date");
+
+    private final String column;
+
+    ProjectField(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * @return this field's bit in a compact field mask, as carried by mutation slots and audit records.
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public static int allBits() {
+        return (1 << values().length) - 1;
+    }
+
+    public static Set<ProjectField> fromBits(int bits) {
+        EnumSet<ProjectField> fields = EnumSet.noneOf(ProjectField.class);
+        for (ProjectField field : values()) {
+            if ((bits & field.bit()) != 0) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * @throws IllegalArgumentException if no field maps to {@code column}.
+     */
+    public static ProjectField fromColumn(String column) {
+        for (ProjectField field : values()) {
+            if (field.column.equals(column)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown project column " + column);
+    }
+}
@@ -0,0 +1,46 @@
+package com.builder.portfolio.model;
+
+import java.util.List;
+
+/**
+ * Result of a conditional listing: either the projects with their portfolio stamp, or "not modified" when the
+ * caller's stamp is still current.
+ */
+public final class ProjectListing {
+    private final long stamp;
+    private final List<Project> projects;
+
+    private ProjectListing(long stamp, List<Project> projects) {
+        this.stamp = stamp;
+        this.projects = projects;
+    }
+
+    public static ProjectListing modified(long stamp, List<Project> projects) {
+        return new ProjectListing(stamp, List.copyOf(projects));
+    }
+
+    public static ProjectListing notModified(long stamp) {
+        return new ProjectListing(stamp, null);
+    }
+
+    /**
+     * @return the stamp to send with the next request.
+     */
+    public long getStamp() {
+        return stamp;
+    }
+
+    public boolean isModified() {
+        return projects != null;
+    }
+
+    /**
+     * @throws IllegalStateException when the listing was not modified; keep using the copy already held.
+     */
+    public List<Project> getProjects() {
+        if (projects == null) {
+            throw new IllegalStateException("Listing not modified since stamp " + stamp);
+        }
+        return projects;
+    }
+}
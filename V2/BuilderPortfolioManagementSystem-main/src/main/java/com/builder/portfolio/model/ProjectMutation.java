@@ -0,0 +1,187 @@
+package com.builder.portfolio.model;
+
+import java.time.LocalDate;
+
+/**
+ * Reusable ring buffer slot describing one committed project mutation. Slots are allocated once and overwritten
+ * in place, so consumers must copy anything they keep beyond their {@code onEvent} call.
+ */
+public final class ProjectMutation {
+    private ProjectEvent.Type type;
+    private long projectId;
+    private int builderId;
+    private int clientId;
+    private String name;
+    private String description;
+    private String status;
+    private double budgetPlanned;
+    private double budgetUsed;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private long version;
+    private String documentName;
+    private boolean lastInGroup;
+    private long occurredAtMillis;
+    private String actor;
+    private long previousVersion;
+    private int changedFieldBits;
+    private long elapsedNanos;
+
+    /**
+     * Copies the project's current state into this slot.
+     *
+     * @param lastInGroup false for all but the last project of a multi-project write.
+     */
+    public void set(ProjectEvent.Type type, Project project, boolean lastInGroup) {
+        this.type = type;
+        this.projectId = project.getId();
+        this.builderId = project.getBuilderId();
+        this.clientId = project.getClientId();
+        this.name = project.getName();
+        this.description = project.getDescription();
+        this.status = project.getStatus();
+        this.budgetPlanned = project.getBudgetPlanned();
+        this.budgetUsed = project.getBudgetUsed();
+        this.startDate = project.getStartDate();
+        this.endDate = project.getEndDate();
+        this.version = project.getVersion();
+        this.documentName = null;
+        this.lastInGroup = lastInGroup;
+        this.occurredAtMillis = System.currentTimeMillis();
+        this.actor = null;
+        this.previousVersion = AuditRecord.UNKNOWN_VERSION;
+        this.changedFieldBits = 0;
+        this.elapsedNanos = 0;
+    }
+
+    public void setDeleted(long projectId, int builderId, int clientId) {
+        this.type = ProjectEvent.Type.DELETED;
+        this.projectId = projectId;
+        this.builderId = builderId;
+        this.clientId = clientId;
+        this.name = null;
+        this.description = null;
+        this.status = null;
+        this.budgetPlanned = 0;
+        this.budgetUsed = 0;
+        this.startDate = null;
+        this.endDate = null;
+        this.version = 0;
+        this.documentName = null;
+        this.lastInGroup = true;
+        this.occurredAtMillis = System.currentTimeMillis();
+        this.actor = null;
+        this.previousVersion = AuditRecord.UNKNOWN_VERSION;
+        this.changedFieldBits = 0;
+        this.elapsedNanos = 0;
+    }
+
+    public void setDocumentName(String documentName) {
+        this.documentName = documentName;
+    }
+
+    /**
+     * Adds what the audit trail needs beyond the project state.
+     *
+     * @param changedFieldBits {@link ProjectField#bit()} mask of the fields the write changed.
+     */
+    public void setAudit(String actor, long previousVersion, int changedFieldBits, long elapsedNanos) {
+        this.actor = actor;
+        this.previousVersion = previousVersion;
+        this.changedFieldBits = changedFieldBits;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public ProjectEvent.Type getType() {
+        return type;
+    }
+
+    public long getProjectId() {
+        return projectId;
+    }
+
+    public int getBuilderId() {
+        return builderId;
+    }
+
+    public int getClientId() {
+        return clientId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public double getBudgetPlanned() {
+        return budgetPlanned;
+    }
+
+    public double getBudgetUsed() {
+        return budgetUsed;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getDocumentName() {
+        return documentName;
+    }
+
+    public boolean isLastInGroup() {
+        return lastInGroup;
+    }
+
+    public long getOccurredAtMillis() {
+        return occurredAtMillis;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public long getPreviousVersion() {
+        return previousVersion;
+    }
+
+    public int getChangedFieldBits() {
+        return changedFieldBits;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return a summary of the project state carried by this slot; null for deletes.
+     */
+    public ProjectSummary toSummary() {
+        if (type == ProjectEvent.Type.DELETED) {
+            return null;
+        }
+        return ProjectSummary.builder()
+                .projectId(projectId)
+                .name(name)
+                .status(status)
+                .plannedBudget(budgetPlanned)
+                .usedBudget(budgetUsed)
+                .version(version)
+                .build();
+    }
+}
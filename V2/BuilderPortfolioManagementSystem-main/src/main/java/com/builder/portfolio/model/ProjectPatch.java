@@ -0,0 +1,143 @@
+package com.builder.portfolio.model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable set of field changes applied to a project in one versioned write.
+ * Budget used may be given as a delta, which keeps the patch valid when it is replayed on a newer version.
+ */
+public final class ProjectPatch {
+    private final Map<ProjectField, Object> values;
+    private final Double budgetUsedDelta;
+
+    private ProjectPatch(Builder builder) {
+        this.values = Collections.unmodifiableMap(new EnumMap<>(builder.values));
+        this.budgetUsedDelta = builder.budgetUsedDelta;
+    }
+
+    public Set<ProjectField> getFields() {
+        return values.keySet();
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * @return the fields this patch writes whose value differs between {@code base}, the version the patch was
+     *         made from, and {@code current}. Empty means applying the patch to {@code current} overwrites nothing
+     *         another writer changed in between.
+     */
+    public Set<ProjectField> changedBetween(Project base, Project current) {
+        EnumSet<ProjectField> changed = EnumSet.noneOf(ProjectField.class);
+        for (ProjectField field : values.keySet()) {
+            if (!Objects.equals(valueOf(field, base), valueOf(field, current))) {
+                changed.add(field);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Copies the changed fields onto {@code project} and returns it.
+     */
+    public Project applyTo(Project project) {
+        values.forEach((field, value) -> {
+            switch (field) {
+                case NAME -> project.setName((String) value);
+                case DESCRIPTION -> project.setDescription((String) value);
+                case STATUS -> project.setStatus((String) value);
+                case CLIENT_ID -> project.setClientId((Integer) value);
+                case BUDGET_PLANNED -> project.setBudgetPlanned((Double) value);
+                case BUDGET_USED -> project.setBudgetUsed(budgetUsedDelta != null
+                        ? project.getBudgetUsed() + budgetUsedDelta
+                        : (Double) value);
+                case START_DATE -> project.setStartDate((LocalDate) value);
+                case END_DATE -> project.setEndDate((LocalDate) value);
+            }
+        });
+        return project;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static Object valueOf(ProjectField field, Project project) {
+        return switch (field) {
+            case NAME -> project.getName();
+            case DESCRIPTION -> project.getDescription();
+            case STATUS -> project.getStatus();
+            case CLIENT_ID -> project.getClientId();
+            case BUDGET_PLANNED -> project.getBudgetPlanned();
+            case BUDGET_USED -> project.getBudgetUsed();
+            case START_DATE -> project.getStartDate();
+            case END_DATE -> project.getEndDate();
+        };
+    }
+
+    public static final class Builder {
+        private final EnumMap<ProjectField, Object> values = new EnumMap<>(ProjectField.class);
+        private Double budgetUsedDelta;
+
+        private Builder() {
+        }
+
+        public Builder name(String name) {
+            values.put(ProjectField.NAME, name);
+            return this;
+        }
+
+        public Builder description(String description) {
+            values.put(ProjectField.DESCRIPTION, description);
+            return this;
+        }
+
+        public Builder status(String status) {
+            values.put(ProjectField.STATUS, status);
+            return this;
+        }
+
+        public Builder clientId(int clientId) {
+            values.put(ProjectField.CLIENT_ID, clientId);
+            return this;
+        }
+
+        public Builder budgetPlanned(double budgetPlanned) {
+            values.put(ProjectField.BUDGET_PLANNED, budgetPlanned);
+            return this;
+        }
+
+        public Builder budgetUsed(double budgetUsed) {
+            values.put(ProjectField.BUDGET_USED, budgetUsed);
+            budgetUsedDelta = null;
+            return this;
+        }
+
+        public Builder budgetUsedDelta(double delta) {
+            values.put(ProjectField.BUDGET_USED, delta);
+            budgetUsedDelta = delta;
+            return this;
+        }
+
+        public Builder startDate(LocalDate startDate) {
+            values.put(ProjectField.START_DATE, startDate);
+            return this;
+        }
+
+        public Builder endDate(LocalDate endDate) {
+            values.put(ProjectField.END_DATE, endDate);
+            return this;
+        }
+
+        public ProjectPatch build() {
+            return new ProjectPatch(this);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.builder.portfolio.service;
+
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectSummary;
+import com.builder.portfolio.util.BackgroundTaskManager;
+import java.time.Duration;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Folds concurrent budget deltas for the same project into one versioned write per window.
+ * Deltas are accumulated as fixed-point cents so combining never drifts the way repeated double additions do.
+ */
+public final class BudgetDeltaCombiner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BudgetDeltaCombiner.class);
+    private static final int CLOSED = Integer.MIN_VALUE;
+    private static final int MAX_FLUSH_ATTEMPTS = 10;
+
+    private final ProjectService projectService;
+    private final BackgroundTaskManager taskManager;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final ConcurrentHashMap<Long, Batch> openBatches = new ConcurrentHashMap<>();
+    private final LongAdder deltasCombined = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+
+    public BudgetDeltaCombiner(ProjectService projectService, Duration window, int maxBatchSize) {
+        this(projectService, BackgroundTaskManager.getInstance(), window, maxBatchSize);
+    }
+
+    public BudgetDeltaCombiner(ProjectService projectService, BackgroundTaskManager taskManager,
+            Duration window, int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.projectService = Objects.requireNonNull(projectService, "projectService");
+        this.taskManager = Objects.requireNonNull(taskManager, "taskManager");
+        this.windowMillis = Objects.requireNonNull(window, "window").toMillis();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Queues a delta; the future completes with the project state produced by the write that absorbed it.
+     */
+    public CompletableFuture<ProjectSummary> submit(long projectId, double delta) {
+        long cents = Math.round(delta * 100);
+        CompletableFuture<ProjectSummary> result = new CompletableFuture<>();
+        while (true) {
+            Batch batch = openBatches.computeIfAbsent(projectId, Batch::new);
+            if (!batch.enter()) {
+                // The batch is already flushing; make way for a fresh one.
+                openBatches.remove(projectId, batch);
+                continue;
+            }
+            int size;
+            try {
+                batch.cents.add(cents);
+                batch.waiters.add(result);
+                size = batch.size.incrementAndGet();
+            } finally {
+                batch.exit();
+            }
+            deltasCombined.increment();
+            if (size == 1) {
+                taskManager.getScheduledPool().schedule(() -> taskManager.runAsync(() -> flush(batch)),
+                        windowMillis, TimeUnit.MILLISECONDS);
+            } else if (size == maxBatchSize) {
+                taskManager.runAsync(() -> flush(batch));
+            }
+            return result;
+        }
+    }
+
+    public long getDeltasCombined() {
+        return deltasCombined.sum();
+    }
+
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    private void flush(Batch batch) {
+        if (!batch.close()) {
+            return;
+        }
+        openBatches.remove(batch.projectId, batch);
+        List<CompletableFuture<ProjectSummary>> waiters = List.copyOf(batch.waiters);
+        try {
+            ProjectSummary summary = applyDelta(batch.projectId, batch.cents.sum() / 100.0);
+            flushes.increment();
+            LOGGER.debug("Combined {} budget deltas for project {} into version {}",
+                    waiters.size(), batch.projectId, summary.getVersion());
+            waiters.forEach(waiter -> waiter.complete(summary));
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Combined budget flush for project {} failed", batch.projectId, ex);
+            waiters.forEach(waiter -> waiter.completeExceptionally(ex));
+        }
+    }
+
+    private ProjectSummary applyDelta(long projectId, double delta) {
+        ConcurrentModificationException lastConflict = null;
+        for (int attempt = 0; attempt < MAX_FLUSH_ATTEMPTS; attempt++) {
+            Project current = projectService.getProject((int) projectId);
+            if (current == null) {
+                throw new IllegalArgumentException("Project " + projectId + " not found");
+            }
+            try {
+                Project updated = projectService.updateProjectBudget(projectId, delta, current.getVersion());
+                return ProjectSummary.builder()
+                        .projectId(updated.getId())
+                        .name(updated.getName())
+                        .status(updated.getStatus())
+                        .plannedBudget(updated.getBudgetPlanned())
+                        .usedBudget(updated.getBudgetUsed())
+                        .version(updated.getVersion())
+                        .build();
+            } catch (ConcurrentModificationException ex) {
+                // Only writers outside the combiner can race us here, so a fresh read normally wins.
+                lastConflict = ex;
+            }
+        }
+        throw lastConflict;
+    }
+
+    private static final class Batch {
+        private final long projectId;
+        private final LongAdder cents = new LongAdder();
+        private final ConcurrentLinkedQueue<CompletableFuture<ProjectSummary>> waiters = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        // Low bits count submitters inside the batch; the sign bit marks it closed for flushing.
+        private final AtomicInteger state = new AtomicInteger();
+
+        private Batch(long projectId) {
+            this.projectId = projectId;
+        }
+
+        private boolean enter() {
+            while (true) {
+                int current = state.get();
+                if (current < 0) {
+                    return false;
+                }
+                if (state.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void exit() {
+            state.decrementAndGet();
+        }
+
+        private boolean close() {
+            while (true) {
+                int current = state.get();
+                if (current < 0) {
+                    return false;
+                }
+                if (state.compareAndSet(current, current | CLOSED)) {
+                    break;
+                }
+            }
+            while (state.get() != CLOSED) {
+                Thread.onSpinWait();
+            }
+            return true;
+        }
+    }
+}
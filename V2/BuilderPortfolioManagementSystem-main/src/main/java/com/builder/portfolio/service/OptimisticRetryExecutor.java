@@ -0,0 +1,158 @@
+package com.builder.portfolio.service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Re-runs optimistic updates that lose the version race, with bounded jittered backoff,
+ * and keeps conflict counters so contention hotspots are visible.
+ */
+public final class OptimisticRetryExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OptimisticRetryExecutor.class);
+
+    private final RetryPolicy policy;
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final ConcurrentHashMap<Long, LongAdder> conflictsByProject = new ConcurrentHashMap<>();
+
+    public OptimisticRetryExecutor(RetryPolicy policy) {
+        this.policy = Objects.requireNonNull(policy, "policy");
+    }
+
+    /**
+     * Runs {@code attempt} until it completes without a version conflict or the policy gives up,
+     * in which case the last {@link ConcurrentModificationException} is rethrown.
+     */
+    public <T> T execute(long projectId, Supplier<T> attempt) {
+        Objects.requireNonNull(attempt, "attempt");
+        long deadline = System.nanoTime() + policy.getMaxDuration().toNanos();
+        long backoffCeiling = policy.getInitialBackoff().toNanos();
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            attempts.increment();
+            try {
+                T result = attempt.get();
+                successes.increment();
+                return result;
+            } catch (ConcurrentModificationException ex) {
+                conflicts.increment();
+                conflictsByProject.computeIfAbsent(projectId, id -> new LongAdder()).increment();
+                long remaining = deadline - System.nanoTime();
+                if (attemptNumber >= policy.getMaxAttempts() || remaining <= 0) {
+                    exhausted.increment();
+                    LOGGER.info("Giving up on project {} after {} conflicting attempts", projectId, attemptNumber);
+                    throw ex;
+                }
+                // Full jitter keeps colliding writers from waking in lock step.
+                long pause = Math.min(remaining, ThreadLocalRandom.current().nextLong(backoffCeiling + 1));
+                LOGGER.debug("Version conflict on project {} (attempt {}), retrying in {} µs",
+                        projectId, attemptNumber, TimeUnit.NANOSECONDS.toMicros(pause));
+                sleep(pause);
+                backoffCeiling = Math.min(backoffCeiling * 2, policy.getMaxBackoff().toNanos());
+            }
+        }
+    }
+
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    public long getConflicts() {
+        return conflicts.sum();
+    }
+
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    public long getExhausted() {
+        return exhausted.sum();
+    }
+
+    /**
+     * @return share of attempts that hit a version conflict.
+     */
+    public double getConflictRate() {
+        long total = attempts.sum();
+        return total == 0 ? 0.0 : (double) conflicts.sum() / total;
+    }
+
+    public double getRetriesPerSuccess() {
+        long succeeded = successes.sum();
+        return succeeded == 0 ? 0.0 : (double) (conflicts.sum() - exhausted.sum()) / succeeded;
+    }
+
+    /**
+     * @return the projects with the most conflicts, highest first.
+     */
+    public Map<Long, Long> getConflictHotspots(int limit) {
+        Map<Long, Long> hotspots = new LinkedHashMap<>();
+        conflictsByProject.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<Long, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(limit)
+                .forEach(entry -> hotspots.put(entry.getKey(), entry.getValue().sum()));
+        return hotspots;
+    }
+
+    private void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentModificationException("Interrupted while backing off from a version conflict");
+        }
+    }
+
+    /**
+     * Bounds for the retry loop: attempts, total time, and the exponential backoff range.
+     */
+    public static final class RetryPolicy {
+        private final int maxAttempts;
+        private final Duration maxDuration;
+        private final Duration initialBackoff;
+        private final Duration maxBackoff;
+
+        public RetryPolicy(int maxAttempts, Duration maxDuration, Duration initialBackoff, Duration maxBackoff) {
+            if (maxAttempts <= 0) {
+                throw new IllegalArgumentException("maxAttempts must be positive");
+            }
+            this.maxAttempts = maxAttempts;
+            this.maxDuration = Objects.requireNonNull(maxDuration, "maxDuration");
+            this.initialBackoff = Objects.requireNonNull(initialBackoff, "initialBackoff");
+            this.maxBackoff = Objects.requireNonNull(maxBackoff, "maxBackoff");
+        }
+
+        public static RetryPolicy defaults() {
+            return new RetryPolicy(8, Duration.ofSeconds(2), Duration.ofMillis(2), Duration.ofMillis(100));
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public Duration getMaxDuration() {
+            return maxDuration;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+    }
+}
@@ -1,33 +1,186 @@
 package com.builder.portfolio.service;
 
+import com.builder.portfolio.model.AuditRecord;
 import com.builder.portfolio.model.BudgetReport;
 import com.builder.portfolio.model.Document;
 import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectChangeFeed;
+import com.builder.portfolio.model.ProjectListing;
+import com.builder.portfolio.model.ProjectPatch;
 import com.builder.portfolio.model.ProjectSummary;
+import com.builder.portfolio.util.ProjectEventBus;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
-public interface ProjectService {
+public interface ProjectService extends AutoCloseable {
     void addProject(Project project);
 
     void updateProject(Project project);
 
-    void deleteProject(int projectId, int builderId);
+    /**
+     * @return true if the project existed, belonged to {@code builderId} and was deleted.
+     */
+    boolean deleteProject(int projectId, int builderId);
 
     List<Project> listProjectsByBuilder(int builderId);
 
     List<Project> listProjectsByClient(int clientId);
 
+    /**
+     * Conditional listing for pollers: answers "not modified" without a query while {@code knownStamp} is still
+     * the builder's current stamp. Pass 0 on the first call. A returned list reflects every write that moved the
+     * stamp, including the caller's own.
+     */
+    ProjectListing listProjectsByBuilder(int builderId, long knownStamp);
+
+    /**
+     * Client counterpart of {@link #listProjectsByBuilder(int, long)}.
+     */
+    ProjectListing listProjectsByClient(int clientId, long knownStamp);
+
     List<Project> listAllProjects();
 
     Project getProject(int projectId);
 
+    /**
+     * Streams every project to {@code consumer} from one server-side cursor, keeping heap use flat for exports.
+     *
+     * @return number of projects streamed.
+     */
+    long streamAllProjects(Consumer<Project> consumer);
+
+    /**
+     * Feeds every project to {@code consumer} from {@code parallelism} concurrent range scans, for exports that
+     * should not hold the whole table in memory. The consumer must be thread safe.
+     */
+    void scanAllProjects(int parallelism, Consumer<Project> consumer);
+
+    /**
+     * Reads every project as of a single database snapshot, for reports that must not mix points in time.
+     */
+    List<Project> listAllProjectsConsistent(int parallelism);
+
     BudgetReport buildBudgetReport(Project project);
 
     Project updateProjectStatus(long projectId, String newStatus, long expectedVersion);
 
     Project updateProjectBudget(long projectId, double delta, long expectedVersion);
 
+    /**
+     * Combining mode for hot projects: concurrent deltas are folded into one versioned write per window.
+     */
+    CompletableFuture<ProjectSummary> submitBudgetDelta(long projectId, double delta);
+
+    /**
+     * Reloads the project, applies {@code mutation} and writes it with a version guard, retrying on conflicts.
+     * The mutation may run several times, so it must only derive the new state from the project it is given.
+     */
+    Project updateProjectWithRetry(long projectId, UnaryOperator<Project> mutation);
+
+    /**
+     * Applies several field changes under one write lock as a single version guarded write. On PostgreSQL the
+     * version is tracked in process, not in the row, so the guard only sees writers in this JVM.
+     *
+     * @return the project's new version.
+     * @throws java.util.ConcurrentModificationException if the project is no longer at {@code expectedVersion}.
+     */
+    long patchProject(long projectId, ProjectPatch patch, long expectedVersion);
+
+    /**
+     * Loads every project under write locks taken in id order, lets {@code mutation} change them,
+     * and writes them all in one transaction. Either every project gets a new version or none does.
+     */
+    List<Project> updateProjectsAtomically(Collection<Long> projectIds, Consumer<Map<Long, Project>> mutation);
+
+    /**
+     * Moves planned budget from one project to another in a single atomic write.
+     */
+    List<Project> transferBudget(long fromProjectId, long toProjectId, double amount);
+
+    /**
+     * Moves a group of projects to {@code newStatus} together, e.g. at a phase change.
+     */
+    List<Project> updateProjectStatuses(Collection<Long> projectIds, String newStatus);
+
     void uploadDocument(long projectId, Document document);
 
     ProjectSummary getProjectSummary(long projectId);
+
+    /**
+     * Waits briefly until the writes this service already accepted have reached the shared project cache, so a
+     * snapshot of it taken afterwards reflects them.
+     *
+     * @return false if the cache was still behind when the wait gave up.
+     */
+    boolean awaitCachedSummaries();
+
+    /**
+     * Authorization check served from the ownership index; only unseen projects cost a DAO lookup.
+     */
+    boolean isOwnedByBuilder(long projectId, int builderId);
+
+    Set<Long> listProjectIdsByBuilder(int builderId);
+
+    Set<Long> listProjectIdsByClient(int clientId);
+
+    /**
+     * Incremental sync: returns up to {@code limit} changes after {@code sequence}, oldest first. Pass the last
+     * returned sequence on the next call; 0 starts from the beginning of the feed. Stores without a single ordered
+     * feed, such as a sharded one, answer {@link ProjectChangeFeed#unsupported()}.
+     */
+    ProjectChangeFeed changesSince(long sequence, int limit);
+
+    /**
+     * Live events for every change made through this service, published after the write. Subscribe with
+     * {@link ProjectEventBus.Options} to filter by builder, client or project and to pick an overflow policy.
+     */
+    ProjectEventBus getEventBus();
+
+    /**
+     * Seeds the existence filter from the store now and rebuilds it every {@code interval}, so unknown ids are
+     * rejected without a DAO lookup and creations by other processes are picked up. Stopped by {@link #close()}.
+     */
+    void startExistenceFilterRefresh(Duration interval);
+
+    /**
+     * Stops the service's background threads once the writes it already accepted have been applied, and completes
+     * event subscribers. The DAOs it was given stay open.
+     */
+    @Override
+    void close();
+
+    /**
+     * @return who changed the project and how, oldest first.
+     * @throws IllegalStateException if no audit trail is configured.
+     */
+    List<AuditRecord> getAuditTrail(long projectId);
+
+    /**
+     * @return audit records of mutations made in {@code [from, to)} across all projects.
+     * @throws IllegalStateException if no audit trail is configured.
+     */
+    List<AuditRecord> getAuditTrail(Instant from, Instant to);
+
+    /**
+     * Point-in-time read from the version history.
+     *
+     * @return the project as of the latest version at or below {@code version} handed out since the history was
+     *         opened; null if there is none. Versions from earlier runs are reached through
+     *         {@link #getProjectAsOf(long, Instant)}.
+     * @throws IllegalStateException if no version history is configured.
+     */
+    Project getProjectAsOf(long projectId, long version);
+
+    /**
+     * @return the project as it was at {@code instant}; null if it did not exist or was deleted by then.
+     * @throws IllegalStateException if no version history is configured.
+     */
+    Project getProjectAsOf(long projectId, Instant instant);
 }
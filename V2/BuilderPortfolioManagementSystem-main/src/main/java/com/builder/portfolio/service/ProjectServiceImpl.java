@@ -1,22 +1,57 @@
 package com.builder.portfolio.service;
 
+import com.builder.portfolio.dao.AuditDAO;
 import com.builder.portfolio.dao.DocumentDAO;
 import com.builder.portfolio.dao.DocumentDAOImpl;
 import com.builder.portfolio.dao.ProjectDAO;
 import com.builder.portfolio.dao.ProjectDAOImpl;
+import com.builder.portfolio.dao.ProjectVersionHistory;
+import com.builder.portfolio.model.AuditRecord;
 import com.builder.portfolio.model.BudgetReport;
 import com.builder.portfolio.model.Document;
 import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectChange;
+import com.builder.portfolio.model.ProjectChangeFeed;
+import com.builder.portfolio.model.ProjectEvent;
+import com.builder.portfolio.model.ProjectField;
+import com.builder.portfolio.model.ProjectListing;
+import com.builder.portfolio.model.ProjectMutation;
+import com.builder.portfolio.model.ProjectPatch;
 import com.builder.portfolio.model.ProjectSummary;
+import com.builder.portfolio.util.AuditContext;
 import com.builder.portfolio.util.BackgroundTaskManager;
 import com.builder.portfolio.util.BudgetUtil;
 import com.builder.portfolio.util.LockRegistry;
+import com.builder.portfolio.util.MutationRingBuffer;
+import com.builder.portfolio.util.PartitionedMutationExecutor;
+import com.builder.portfolio.util.PortfolioAggregates;
+import com.builder.portfolio.util.PortfolioVersionStamps;
 import com.builder.portfolio.util.ProjectCache;
+import com.builder.portfolio.util.ProjectEventBus;
+import com.builder.portfolio.util.ProjectExistenceFilter;
+import com.builder.portfolio.util.ProjectOwnershipIndex;
 import com.builder.portfolio.util.StatusConstants;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,11 +60,47 @@ import org.slf4j.LoggerFactory;
 
 public class ProjectServiceImpl implements ProjectService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProjectServiceImpl.class);
+    private static final Duration BUDGET_COMBINE_WINDOW = Duration.ofMillis(20);
+    private static final int BUDGET_COMBINE_MAX_BATCH = 512;
+    // Lock-wait budgets per call site: past these a caller gets a LockTimeoutException instead of queueing
+    // behind a stalled writer and pinning a pool thread.
+    private static final Duration WRITE_LOCK_BUDGET = Duration.ofSeconds(2);
+    private static final Duration MULTI_PROJECT_LOCK_BUDGET = Duration.ofSeconds(3);
+    // -Dbpms.scan.parallelism=N reads full listings as N concurrent id-range scans.
+    private static final int SCAN_PARALLELISM = Integer.getInteger("bpms.scan.parallelism", 1);
+    // -Dbpms.mutation.ringSize=N sizes the mutation ring; it must be a power of two.
+    private static final int MUTATION_RING_SIZE = Integer.getInteger("bpms.mutation.ringSize", 4096);
+    // How long a summary read waits for the cache stage to apply earlier writes before it reads the store instead.
+    private static final Duration CACHE_CATCH_UP_BUDGET = Duration.ofMillis(200);
+    // Upper bound on audit records appended in one write when the audit stage has a long backlog.
+    private static final int AUDIT_MAX_BATCH = 512;
+    // How long close() lets the ring stages apply accepted writes before it stops them anyway.
+    private static final Duration CLOSE_DRAIN_BUDGET = Duration.ofSeconds(5);
 
     private final ProjectDAO projectDAO;
     private final DocumentDAO documentDAO;
+    private final AuditDAO auditDAO;
+    private final ProjectVersionHistory versionHistory;
     private final LockRegistry lockRegistry;
     private final ProjectCache projectCache;
+    private final PartitionedMutationExecutor mutationExecutor;
+    private final BudgetDeltaCombiner budgetCombiner;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final ProjectOwnershipIndex ownershipIndex = new ProjectOwnershipIndex();
+    private final ProjectExistenceFilter existenceFilter = new ProjectExistenceFilter();
+    private final PortfolioVersionStamps portfolioStamps = new PortfolioVersionStamps();
+    private final ProjectEventBus eventBus = new ProjectEventBus();
+    private final PortfolioAggregates aggregates = new PortfolioAggregates();
+    // Summaries of a multi-project write, held by the cache stage until the group's last slot arrives.
+    private final List<ProjectSummary> pendingSummaries = new ArrayList<>();
+    // Records collected by the audit stage until the end of its batch.
+    private final List<AuditRecord> auditBatch = new ArrayList<>();
+    private final MutationRingBuffer mutationRing;
+    private final MutationRingBuffer.Stage cacheStage;
+    private final MutationRingBuffer.Stage auditStage;
+    private final MutationRingBuffer.Stage historyStage;
+    private ScheduledFuture<?> existenceRefresh;
+    private boolean closed;
 
     public ProjectServiceImpl() {
         this(new ProjectDAOImpl(), new DocumentDAOImpl());
@@ -40,10 +111,49 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     public ProjectServiceImpl(ProjectDAO projectDAO, DocumentDAO documentDAO) {
+        this(projectDAO, documentDAO, null);
+    }
+
+    /**
+     * @param mutationExecutor when non-null, versioned mutations run on single-writer partitions instead of
+     *                         taking the per-project write lock.
+     */
+    public ProjectServiceImpl(ProjectDAO projectDAO, DocumentDAO documentDAO,
+            PartitionedMutationExecutor mutationExecutor) {
+        this(projectDAO, documentDAO, mutationExecutor, null, null);
+    }
+
+    /**
+     * @param auditDAO       when non-null, receives an audit record for every committed mutation; without it each
+     *                       mutation is logged at info level instead and the trail cannot be queried.
+     * @param versionHistory when non-null, records every project version for point-in-time reads.
+     */
+    public ProjectServiceImpl(ProjectDAO projectDAO, DocumentDAO documentDAO,
+            PartitionedMutationExecutor mutationExecutor, AuditDAO auditDAO, ProjectVersionHistory versionHistory) {
         this.projectDAO = Objects.requireNonNull(projectDAO, "projectDAO");
         this.documentDAO = Objects.requireNonNull(documentDAO, "documentDAO");
+        this.mutationExecutor = mutationExecutor;
+        this.auditDAO = auditDAO;
+        this.versionHistory = versionHistory;
         this.lockRegistry = LockRegistry.getInstance();
         this.projectCache = ProjectCache.getInstance();
+        this.budgetCombiner = new BudgetDeltaCombiner(this, BUDGET_COMBINE_WINDOW, BUDGET_COMBINE_MAX_BATCH);
+        this.retryExecutor = new OptimisticRetryExecutor(OptimisticRetryExecutor.RetryPolicy.defaults());
+        // Writers only fill a ring slot; the cache, aggregates, audit and subscribers catch up on their own threads.
+        MutationRingBuffer.Builder ring = MutationRingBuffer.builder()
+                .capacity(MUTATION_RING_SIZE)
+                .stage("cache", this::applyToCache)
+                .stage("aggregates", (mutation, sequence, endOfBatch) -> aggregates.apply(mutation))
+                .stage("audit", this::audit)
+                // Subscribers read summaries back through the cache, so they hear of a change once it is cached.
+                .stage("notifications", this::notifySubscribers, "cache");
+        if (versionHistory != null) {
+            ring.stage("history", this::recordVersion);
+        }
+        this.mutationRing = ring.build();
+        this.cacheStage = mutationRing.getStage("cache");
+        this.auditStage = mutationRing.getStage("audit");
+        this.historyStage = versionHistory != null ? mutationRing.getStage("history") : null;
         // Keep the shared pools warmed so async report jobs and demos do not spin up threads on demand.
         BackgroundTaskManager.getInstance(); // ensure pools are initialised for downstream async operations
     }
@@ -55,44 +165,175 @@ public class ProjectServiceImpl implements ProjectService {
             project.setStatus(StatusConstants.STATUS_UPCOMING);
         }
         project.setVersion(Math.max(0, project.getVersion()));
-        LOGGER.info("Creating project {}", project.getName());
+        LOGGER.debug("Creating project {}", project.getName());
+        long start = System.nanoTime();
         projectDAO.addProject(project);
-        projectCache.update(project);
+        ownershipIndex.put(project);
+        portfolioStamps.touch(project.getBuilderId(), project.getClientId());
+        existenceFilter.recordCreated(project.getId());
+        publishMutation(ProjectEvent.Type.CREATED, project, null, AuditRecord.UNKNOWN_VERSION,
+                ProjectField.allBits(), start);
     }
 
     @Override
     public void updateProject(Project project) {
         Objects.requireNonNull(project, "project");
-        LOGGER.info("Updating project id {} without optimistic guard", project.getId());
+        LOGGER.debug("Updating project id {} without optimistic guard", project.getId());
+        long start = System.nanoTime();
+        long previousVersion = project.getVersion();
+        int changedFields = project.getDirtyFieldBits();
         projectDAO.updateProject(project);
-        projectCache.update(project);
+        trackWrite(project, ProjectEvent.Type.UPDATED, previousVersion, changedFields, start);
     }
 
     @Override
-    public void deleteProject(int projectId, int builderId) {
-        LOGGER.info("Deleting project id {} for builder {}", projectId, builderId);
-        projectDAO.deleteProject(projectId, builderId);
-        projectCache.evict(projectId);
+    public boolean deleteProject(int projectId, int builderId) {
+        LOGGER.debug("Deleting project id {} for builder {}", projectId, builderId);
+        long start = System.nanoTime();
+        ProjectOwnershipIndex.Ownership ownership = ownershipIndex.lookup(projectId);
+        int clientId;
+        if (ownership != null) {
+            if (ownership.getBuilderId() != builderId) {
+                // The DAO delete is builder scoped, so a foreign project survives and keeps its index entry.
+                return false;
+            }
+            clientId = ownership.getClientId();
+        } else {
+            // The event and audit record name the client, so read it while the row still exists.
+            Project existing = projectDAO.findById(projectId);
+            if (existing == null || existing.getBuilderId() != builderId) {
+                return false;
+            }
+            clientId = existing.getClientId();
+        }
+        if (!projectDAO.deleteProject(projectId, builderId)) {
+            // Deleted or moved by someone else in the meantime: nothing to publish.
+            LOGGER.debug("Project id {} was not deleted for builder {}", projectId, builderId);
+            return false;
+        }
+        ownershipIndex.remove(projectId);
+        existenceFilter.recordDeleted(projectId);
+        if (ownership != null) {
+            portfolioStamps.touch(ownership.getBuilderId(), ownership.getClientId());
+        } else {
+            // The client read above may have changed before the delete, so no stamp can be trusted any more.
+            portfolioStamps.touchAll();
+        }
+        long sequence = mutationRing.next();
+        try {
+            ProjectMutation slot = mutationRing.get(sequence);
+            slot.setDeleted(projectId, builderId, clientId);
+            slot.setAudit(AuditContext.currentActor(), AuditRecord.UNKNOWN_VERSION, 0, System.nanoTime() - start);
+        } finally {
+            mutationRing.publish(sequence);
+        }
+        return true;
     }
 
     @Override
     public List<Project> listProjectsByBuilder(int builderId) {
-        return projectDAO.findProjectsByBuilder(builderId);
+        List<Project> projects = projectDAO.findProjectsByBuilder(builderId);
+        ownershipIndex.recordBuilderListing(builderId, projects);
+        return projects;
     }
 
     @Override
     public List<Project> listProjectsByClient(int clientId) {
-        return projectDAO.findProjectsByClient(clientId);
+        List<Project> projects = projectDAO.findProjectsByClient(clientId);
+        ownershipIndex.recordClientListing(clientId, projects);
+        return projects;
+    }
+
+    @Override
+    public ProjectListing listProjectsByBuilder(int builderId, long knownStamp) {
+        // Read the stamp before the query: a write landing in between leaves the caller with an older stamp, so
+        // the next poll fetches again instead of missing it. This only holds because the DAO reads a listing it
+        // changed recently from the primary; a lagging replica would pin a stale list to a current stamp.
+        long stamp = portfolioStamps.builderStamp(builderId);
+        if (stamp == knownStamp) {
+            return ProjectListing.notModified(stamp);
+        }
+        return ProjectListing.modified(stamp, listProjectsByBuilder(builderId));
+    }
+
+    @Override
+    public ProjectListing listProjectsByClient(int clientId, long knownStamp) {
+        long stamp = portfolioStamps.clientStamp(clientId);
+        if (stamp == knownStamp) {
+            return ProjectListing.notModified(stamp);
+        }
+        return ProjectListing.modified(stamp, listProjectsByClient(clientId));
     }
 
     @Override
     public List<Project> listAllProjects() {
-        return projectDAO.findAllProjects();
+        boolean rebuilding = existenceFilter.beginRebuild();
+        boolean primed = false;
+        try {
+            List<Project> projects = SCAN_PARALLELISM > 1
+                    ? projectDAO.findAllProjectsParallel(SCAN_PARALLELISM)
+                    : projectDAO.findAllProjects();
+            ownershipIndex.recordFullListing(projects);
+            if (rebuilding) {
+                // A full listing already holds every live id, so use it to rebuild the filter early.
+                existenceFilter.completeRebuild(projects.stream().map(project -> (long) project.getId()).toList());
+                primed = true;
+            }
+            return projects;
+        } finally {
+            if (rebuilding && !primed) {
+                existenceFilter.abortRebuild();
+            }
+        }
+    }
+
+    @Override
+    public long streamAllProjects(Consumer<Project> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        long start = System.nanoTime();
+        long streamed = projectDAO.streamAllProjects(consumer);
+        LOGGER.info("Streamed {} projects in {} ms", streamed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return streamed;
+    }
+
+    @Override
+    public void scanAllProjects(int parallelism, Consumer<Project> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        long start = System.nanoTime();
+        LongAdder scanned = new LongAdder();
+        projectDAO.scanProjectsParallel(parallelism, project -> {
+            scanned.increment();
+            consumer.accept(project);
+        });
+        LOGGER.info("Parallel scan streamed {} projects on {} workers in {} ms", scanned.sum(), parallelism,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Override
+    public List<Project> listAllProjectsConsistent(int parallelism) {
+        long start = System.nanoTime();
+        List<Project> projects = projectDAO.findAllProjectsConsistent(parallelism);
+        ownershipIndex.recordFullListing(projects);
+        LOGGER.info("Snapshot scan of {} projects on {} workers took {} ms", projects.size(), parallelism,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return projects;
     }
 
     @Override
     public Project getProject(int projectId) {
-        return lockRegistry.withProjectRead(projectId, () -> projectDAO.findById(projectId));
+        if (existenceFilter.isDefinitelyAbsent(projectId)) {
+            return null;
+        }
+        // A row read is already atomic in the store, so no project lock is taken; ProjectReadLockPerfTest measures
+        // even the optimistic stamp check as a net cost here.
+        Project project = projectDAO.findById(projectId);
+        if (project != null) {
+            ownershipIndex.record(project);
+        } else {
+            existenceFilter.recordMissing(projectId);
+        }
+        return project;
     }
 
     @Override
@@ -109,16 +350,18 @@ public class ProjectServiceImpl implements ProjectService {
     @Override
     public Project updateProjectStatus(long projectId, String newStatus, long expectedVersion) {
         Objects.requireNonNull(newStatus, "newStatus");
-        return lockRegistry.withProjectWrite(projectId, () -> {
+        requireKnownProject(projectId);
+        return mutate(projectId, () -> {
             long start = System.nanoTime();
             Project project = requireProjectForUpdate(projectId);
             verifyVersion(project, expectedVersion);
             project.setStatus(newStatus);
+            int changedFields = project.getDirtyFieldBits();
             if (!projectDAO.conditionalUpdateProject(project, expectedVersion)) {
                 throw new ConcurrentModificationException("Project version mismatch for status update");
             }
-            projectCache.update(project);
-            LOGGER.info("Status update for project {} completed in {} ms (version {})",
+            trackWrite(project, ProjectEvent.Type.STATUS_CHANGED, expectedVersion, changedFields, start);
+            LOGGER.debug("Status update for project {} completed in {} ms (version {})",
                     projectId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), project.getVersion());
             return project;
         });
@@ -126,50 +369,545 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     public Project updateProjectBudget(long projectId, double delta, long expectedVersion) {
-        return lockRegistry.withProjectWrite(projectId, () -> {
+        requireKnownProject(projectId);
+        return mutate(projectId, () -> {
             long start = System.nanoTime();
             Project project = requireProjectForUpdate(projectId);
             verifyVersion(project, expectedVersion);
             double newBudget = project.getBudgetUsed() + delta;
             project.setBudgetUsed(newBudget);
+            int changedFields = project.getDirtyFieldBits();
             if (!projectDAO.conditionalUpdateProject(project, expectedVersion)) {
                 throw new ConcurrentModificationException("Project version mismatch for budget update");
             }
-            projectCache.update(project);
-            LOGGER.info("Budget update for project {} delta {} new total {} in {} ms (version {})",
+            trackWrite(project, ProjectEvent.Type.BUDGET_CHANGED, expectedVersion, changedFields, start);
+            LOGGER.debug("Budget update for project {} delta {} new total {} in {} ms (version {})",
                     projectId, delta, newBudget,
                     TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), project.getVersion());
             return project;
         });
     }
 
+    @Override
+    public CompletableFuture<ProjectSummary> submitBudgetDelta(long projectId, double delta) {
+        requireKnownProject(projectId);
+        return budgetCombiner.submit(projectId, delta);
+    }
+
+    @Override
+    public Project updateProjectWithRetry(long projectId, UnaryOperator<Project> mutation) {
+        Objects.requireNonNull(mutation, "mutation");
+        requireKnownProject(projectId);
+        return retryExecutor.execute(projectId, () -> mutate(projectId, () -> {
+            long start = System.nanoTime();
+            Project current = requireProjectForUpdate(projectId);
+            long expectedVersion = current.getVersion();
+            int builderId = current.getBuilderId();
+            Project project = Objects.requireNonNull(mutation.apply(current), "mutation result");
+            // Identity and ownership are not the mutation's to change.
+            project.setId((int) projectId);
+            project.setBuilderId(builderId);
+            int changedFields = project.getDirtyFieldBits();
+            if (!projectDAO.conditionalUpdateProject(project, expectedVersion)) {
+                throw new ConcurrentModificationException("Project version mismatch for retried update");
+            }
+            trackWrite(project, ProjectEvent.Type.UPDATED, expectedVersion, changedFields, start);
+            LOGGER.debug("Retried update for project {} completed in {} ms (version {})",
+                    projectId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), project.getVersion());
+            return project;
+        }));
+    }
+
+    @Override
+    public long patchProject(long projectId, ProjectPatch patch, long expectedVersion) {
+        Objects.requireNonNull(patch, "patch");
+        requireKnownProject(projectId);
+        return mutate(projectId, () -> {
+            long start = System.nanoTime();
+            Project project = requireProjectForUpdate(projectId);
+            verifyVersion(project, expectedVersion);
+            if (patch.isEmpty()) {
+                return expectedVersion;
+            }
+            patch.applyTo(project);
+            int changedFields = project.getDirtyFieldBits();
+            if (!projectDAO.patchProject(project, patch.getFields(), expectedVersion)) {
+                throw new ConcurrentModificationException("Project version mismatch for patch");
+            }
+            trackWrite(project, ProjectEvent.Type.UPDATED, expectedVersion, changedFields, start);
+            LOGGER.debug("Patched {} on project {} in {} ms (version {})", patch.getFields(), projectId,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), project.getVersion());
+            return project.getVersion();
+        });
+    }
+
+    @Override
+    public List<Project> updateProjectsAtomically(Collection<Long> projectIds,
+            Consumer<Map<Long, Project>> mutation) {
+        return updateAtomically(projectIds, mutation, ProjectEvent.Type.UPDATED);
+    }
+
+    private List<Project> updateAtomically(Collection<Long> projectIds, Consumer<Map<Long, Project>> mutation,
+            ProjectEvent.Type eventType) {
+        Objects.requireNonNull(projectIds, "projectIds");
+        Objects.requireNonNull(mutation, "mutation");
+        projectIds.forEach(this::requireKnownProject);
+        // Partition threads do not take these locks; the all-or-nothing version check in the DAO still catches them.
+        return lockRegistry.withProjectsWrite(projectIds, MULTI_PROJECT_LOCK_BUDGET, () -> {
+            long start = System.nanoTime();
+            Map<Long, Project> projects = new LinkedHashMap<>();
+            Map<Integer, Long> expectedVersions = new HashMap<>();
+            Map<Long, Integer> builders = new HashMap<>();
+            for (long projectId : projectIds) {
+                Project project = requireProjectForUpdate(projectId);
+                projects.put(projectId, project);
+                expectedVersions.put(project.getId(), project.getVersion());
+                builders.put(projectId, project.getBuilderId());
+            }
+            mutation.accept(Collections.unmodifiableMap(projects));
+            List<Project> updated = new ArrayList<>(projects.values());
+            int[] changedFields = new int[updated.size()];
+            for (int i = 0; i < updated.size(); i++) {
+                Project project = updated.get(i);
+                // Identity and ownership are not the mutation's to change.
+                project.setBuilderId(builders.get((long) project.getId()));
+                changedFields[i] = project.getDirtyFieldBits();
+            }
+            if (!projectDAO.conditionalUpdateProjects(updated, expectedVersions)) {
+                throw new ConcurrentModificationException("Project version mismatch for multi-project update");
+            }
+            updated.forEach(this::trackOwnership);
+            publishMutations(eventType, updated, expectedVersions, changedFields, start);
+            LOGGER.debug("Updated projects {} in one transaction in {} ms", projects.keySet(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return updated;
+        });
+    }
+
+    @Override
+    public List<Project> transferBudget(long fromProjectId, long toProjectId, double amount) {
+        if (fromProjectId == toProjectId) {
+            throw new IllegalArgumentException("Cannot transfer budget within the same project");
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+        return updateAtomically(List.of(fromProjectId, toProjectId), projects -> {
+            Project from = projects.get(fromProjectId);
+            Project to = projects.get(toProjectId);
+            if (from.getBudgetPlanned() < amount) {
+                throw new IllegalArgumentException("Project " + fromProjectId + " has only "
+                        + from.getBudgetPlanned() + " planned budget to transfer");
+            }
+            from.setBudgetPlanned(from.getBudgetPlanned() - amount);
+            to.setBudgetPlanned(to.getBudgetPlanned() + amount);
+        }, ProjectEvent.Type.BUDGET_CHANGED);
+    }
+
+    @Override
+    public List<Project> updateProjectStatuses(Collection<Long> projectIds, String newStatus) {
+        Objects.requireNonNull(newStatus, "newStatus");
+        return updateAtomically(projectIds,
+                projects -> projects.values().forEach(project -> project.setStatus(newStatus)),
+                ProjectEvent.Type.STATUS_CHANGED);
+    }
+
     @Override
     public void uploadDocument(long projectId, Document document) {
         Objects.requireNonNull(document, "document");
-        lockRegistry.withProjectWrite(projectId, () -> requireProjectForUpdate(projectId));
+        requireKnownProject(projectId);
+        Project project = mutate(projectId, () -> requireProjectForUpdate(projectId));
         document.setProjectId((int) projectId);
         long start = System.nanoTime();
         documentDAO.addDocument(document);
-        LOGGER.info("Document {} uploaded for project {} by user {} in {} ms",
+        LOGGER.debug("Document {} uploaded for project {} by user {} in {} ms",
                 document.getDocumentName(), projectId, document.getUploadedBy(),
                 TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        publishMutation(ProjectEvent.Type.DOCUMENT_ADDED, project, document.getDocumentName(), project.getVersion(),
+                0, start);
     }
 
     @Override
     public ProjectSummary getProjectSummary(long projectId) {
-        return projectCache.getOrCompute(projectId, id -> lockRegistry.withProjectRead(id,
-                () -> {
-                    Project project = projectDAO.findById((int) id.longValue());
-                    if (project == null) {
-                        throw new IllegalArgumentException("Project " + id + " not found");
-                    }
-                    return toSummary(project);
-                }));
+        requireKnownProject(projectId);
+        if (!awaitCachedSummaries()) {
+            LOGGER.debug("Cache stage {} behind; reading project {} from the store", cacheStage.getLag(), projectId);
+            return loadSummary(projectId);
+        }
+        return projectCache.getOrCompute(projectId, this::loadSummary);
+    }
+
+    @Override
+    public boolean awaitCachedSummaries() {
+        // Writes reach the cache through the ring; wait for the ones already claimed so callers read their own.
+        return mutationRing.awaitStage(cacheStage, mutationRing.getCursor(), CACHE_CATCH_UP_BUDGET);
+    }
+
+    private ProjectSummary loadSummary(long projectId) {
+        Project project = projectDAO.findById((int) projectId);
+        if (project == null) {
+            existenceFilter.recordMissing(projectId);
+            throw new IllegalArgumentException("Project " + projectId + " not found");
+        }
+        return toSummary(project);
+    }
+
+    @Override
+    public boolean isOwnedByBuilder(long projectId, int builderId) {
+        if (!ownershipIndex.isKnown(projectId)) {
+            if (existenceFilter.isDefinitelyAbsent(projectId)) {
+                return false;
+            }
+            Project project = projectDAO.findById((int) projectId);
+            if (project == null) {
+                existenceFilter.recordMissing(projectId);
+                return false;
+            }
+            ownershipIndex.record(project);
+        }
+        ProjectOwnershipIndex.Ownership ownership = ownershipIndex.lookup(projectId);
+        return ownership != null && ownership.getBuilderId() == builderId;
+    }
+
+    @Override
+    public Set<Long> listProjectIdsByBuilder(int builderId) {
+        Set<Long> indexed = ownershipIndex.projectIdsForBuilder(builderId);
+        if (indexed != null) {
+            return indexed;
+        }
+        return listProjectsByBuilder(builderId).stream()
+                .map(project -> (long) project.getId())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public Set<Long> listProjectIdsByClient(int clientId) {
+        Set<Long> indexed = ownershipIndex.projectIdsForClient(clientId);
+        if (indexed != null) {
+            return indexed;
+        }
+        return listProjectsByClient(clientId).stream()
+                .map(project -> (long) project.getId())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public ProjectChangeFeed changesSince(long sequence, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Change batch limit must be positive");
+        }
+        if (!projectDAO.supportsChangeFeed()) {
+            LOGGER.debug("Change feed requested from {}, which keeps none", projectDAO.getClass().getSimpleName());
+            return ProjectChangeFeed.unsupported();
+        }
+        List<ProjectChange> changes = projectDAO.changesSince(Math.max(0, sequence), limit);
+        LOGGER.debug("Read {} project changes after sequence {}", changes.size(), sequence);
+        return ProjectChangeFeed.of(changes);
+    }
+
+    @Override
+    public List<AuditRecord> getAuditTrail(long projectId) {
+        return requireAuditDAO().findByProject(projectId);
+    }
+
+    @Override
+    public List<AuditRecord> getAuditTrail(Instant from, Instant to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Audit range starts after it ends");
+        }
+        return requireAuditDAO().findBetween(from, to);
+    }
+
+    /**
+     * Waits for the audit stage to write the mutations already published, so callers see their own writes.
+     */
+    private AuditDAO requireAuditDAO() {
+        if (auditDAO == null) {
+            throw new IllegalStateException("No audit trail is configured");
+        }
+        if (!mutationRing.awaitStage(auditStage, mutationRing.getCursor(), CACHE_CATCH_UP_BUDGET)) {
+            LOGGER.debug("Audit stage {} behind; the trail may miss the latest mutations", auditStage.getLag());
+        }
+        return auditDAO;
+    }
+
+    @Override
+    public Project getProjectAsOf(long projectId, long version) {
+        return requireVersionHistory().asOfVersion(projectId, version);
+    }
+
+    @Override
+    public Project getProjectAsOf(long projectId, Instant instant) {
+        Objects.requireNonNull(instant, "instant");
+        return requireVersionHistory().asOf(projectId, instant);
+    }
+
+    private ProjectVersionHistory requireVersionHistory() {
+        if (versionHistory == null) {
+            throw new IllegalStateException("No version history is configured");
+        }
+        if (!mutationRing.awaitStage(historyStage, mutationRing.getCursor(), CACHE_CATCH_UP_BUDGET)) {
+            LOGGER.debug("History stage {} behind; the latest versions may be missing", historyStage.getLag());
+        }
+        return versionHistory;
+    }
+
+    public BudgetDeltaCombiner getBudgetCombiner() {
+        return budgetCombiner;
+    }
+
+    public OptimisticRetryExecutor getRetryExecutor() {
+        return retryExecutor;
+    }
+
+    @Override
+    public ProjectEventBus getEventBus() {
+        return eventBus;
+    }
+
+    public ProjectExistenceFilter getExistenceFilter() {
+        return existenceFilter;
+    }
+
+    public MutationRingBuffer getMutationRing() {
+        return mutationRing;
+    }
+
+    /**
+     * @return per ring stage (cache, aggregates, audit, notifications), how many mutations it has yet to process.
+     */
+    public Map<String, Long> getConsumerLag() {
+        return mutationRing.getConsumerLag();
+    }
+
+    public PortfolioAggregates getAggregates() {
+        return aggregates;
+    }
+
+    @Override
+    public synchronized void startExistenceFilterRefresh(Duration interval) {
+        Objects.requireNonNull(interval, "interval");
+        if (closed || existenceRefresh != null) {
+            return;
+        }
+        existenceRefresh = BackgroundTaskManager.getInstance()
+                .scheduleWithFixedDelay(this::refreshExistenceFilter, Duration.ZERO, interval);
+    }
+
+    void refreshExistenceFilter() {
+        if (!existenceFilter.beginRebuild()) {
+            return;
+        }
+        boolean rebuilt = false;
+        try {
+            existenceFilter.completeRebuild(projectDAO.findProjectIds());
+            rebuilt = true;
+        } catch (RuntimeException ex) {
+            // Keep the previous filter; the next run retries.
+            LOGGER.warn("Existence filter rebuild failed", ex);
+        } finally {
+            if (!rebuilt) {
+                existenceFilter.abortRebuild();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (existenceRefresh != null) {
+            existenceRefresh.cancel(false);
+        }
+        if (!mutationRing.awaitDrained(CLOSE_DRAIN_BUDGET)) {
+            LOGGER.warn("Closing with mutations still pending, lag {}", mutationRing.getConsumerLag());
+        }
+        mutationRing.close();
+        eventBus.close();
+    }
+
+    /**
+     * Runs a versioned mutation either under the project write lock or on the project's partition thread.
+     */
+    private <T> T mutate(long projectId, Supplier<T> mutation) {
+        if (mutationExecutor == null) {
+            return lockRegistry.withProjectWrite(projectId, WRITE_LOCK_BUDGET, mutation);
+        }
+        if (mutationExecutor.isOwningPartitionThread(projectId)) {
+            return mutation.get();
+        }
+        try {
+            return mutationExecutor.submit(projectId, mutation).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Indexes ownership after an update and publishes the mutation to the ring.
+     */
+    private void trackWrite(Project project, ProjectEvent.Type eventType, long previousVersion, int changedFields,
+            long startNanos) {
+        trackOwnership(project);
+        publishMutation(eventType, project, null, previousVersion, changedFields, startNanos);
+    }
+
+    /**
+     * Indexes ownership and moves the portfolio stamps of the owners, including the client the project was moved
+     * away from; if that client is not known, every stamp moves.
+     */
+    private void trackOwnership(Project project) {
+        ProjectOwnershipIndex.Ownership previous = ownershipIndex.lookup(project.getId());
+        ownershipIndex.put(project);
+        portfolioStamps.touch(project.getBuilderId(), project.getClientId());
+        if (previous == null) {
+            portfolioStamps.touchAll();
+        } else if (previous.getClientId() != project.getClientId()) {
+            portfolioStamps.touchClient(previous.getClientId());
+        }
+    }
+
+    /**
+     * Copies the project into the next ring slot. Publishing sits in a finally block: a claimed slot that is never
+     * published would stall every stage behind it.
+     */
+    private void publishMutation(ProjectEvent.Type type, Project project, String documentName,
+            long previousVersion, int changedFields, long startNanos) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long sequence = mutationRing.next();
+        try {
+            ProjectMutation slot = mutationRing.get(sequence);
+            slot.set(type, project, true);
+            slot.setDocumentName(documentName);
+            slot.setAudit(AuditContext.currentActor(), previousVersion, changedFields, elapsedNanos);
+        } finally {
+            mutationRing.publish(sequence);
+        }
+    }
+
+    /**
+     * Publishes a multi-project write into consecutive slots; only the last is marked as the end of the group, so
+     * the cache stage applies the whole group as one portfolio root.
+     */
+    private void publishMutations(ProjectEvent.Type type, List<Project> projects, Map<Integer, Long> previousVersions,
+            int[] changedFields, long startNanos) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        String actor = AuditContext.currentActor();
+        int published = 0;
+        while (published < projects.size()) {
+            int count = Math.min(projects.size() - published, mutationRing.getCapacity());
+            long high = mutationRing.next(count);
+            long low = high - count + 1;
+            try {
+                for (int i = 0; i < count; i++) {
+                    int index = published + i;
+                    Project project = projects.get(index);
+                    ProjectMutation slot = mutationRing.get(low + i);
+                    slot.set(type, project, index == projects.size() - 1);
+                    slot.setAudit(actor, previousVersions.get(project.getId()), changedFields[index], elapsedNanos);
+                }
+            } finally {
+                mutationRing.publish(low, high);
+            }
+            published += count;
+        }
+    }
+
+    private void applyToCache(ProjectMutation mutation, long sequence, boolean endOfBatch) {
+        switch (mutation.getType()) {
+            case DELETED -> projectCache.evict(mutation.getProjectId());
+            case DOCUMENT_ADDED -> {
+                // Documents do not change the summary.
+            }
+            // A new project replaces whatever an earlier project with the same id left behind.
+            case CREATED -> projectCache.put(mutation.toSummary());
+            default -> {
+                pendingSummaries.add(mutation.toSummary());
+                if (!mutation.isLastInGroup()) {
+                    return;
+                }
+                if (pendingSummaries.size() == 1) {
+                    projectCache.putIfNewer(pendingSummaries.get(0));
+                } else {
+                    projectCache.updateSummaries(pendingSummaries);
+                }
+                pendingSummaries.clear();
+            }
+        }
+    }
+
+    private void audit(ProjectMutation mutation, long sequence, boolean endOfBatch) {
+        if (auditDAO == null) {
+            // Without an audit file the log is the only record of who changed what, so it stays at info.
+            LOGGER.info("Mutation {}: {} project {} by {} version {} fields {}", sequence, mutation.getType(),
+                    mutation.getProjectId(),
+                    mutation.getActor() != null ? mutation.getActor() : AuditContext.SYSTEM_ACTOR,
+                    mutation.getVersion(), ProjectField.fromBits(mutation.getChangedFieldBits()));
+            return;
+        }
+        auditBatch.add(AuditRecord.builder()
+                .actor(mutation.getActor() != null ? mutation.getActor() : AuditContext.SYSTEM_ACTOR)
+                .projectId(mutation.getProjectId())
+                .builderId(mutation.getBuilderId())
+                .type(mutation.getType())
+                .previousVersion(mutation.getPreviousVersion())
+                .newVersion(mutation.getType() == ProjectEvent.Type.DELETED
+                        ? AuditRecord.UNKNOWN_VERSION : mutation.getVersion())
+                .changedFields(ProjectField.fromBits(mutation.getChangedFieldBits()))
+                .occurredAt(Instant.ofEpochMilli(mutation.getOccurredAtMillis()))
+                .elapsedNanos(mutation.getElapsedNanos())
+                .build());
+        if (endOfBatch || auditBatch.size() >= AUDIT_MAX_BATCH) {
+            try {
+                auditDAO.append(auditBatch);
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Dropping {} audit records that could not be written", auditBatch.size(), ex);
+            } finally {
+                auditBatch.clear();
+            }
+        }
+    }
+
+    private void recordVersion(ProjectMutation mutation, long sequence, boolean endOfBatch) {
+        switch (mutation.getType()) {
+            case DELETED -> versionHistory.recordDeleted(mutation.getProjectId(), mutation.getOccurredAtMillis());
+            case DOCUMENT_ADDED -> {
+                // Documents do not create a project version.
+            }
+            default -> versionHistory.record(mutation);
+        }
+        if (endOfBatch) {
+            versionHistory.flush();
+        }
+    }
+
+    private void notifySubscribers(ProjectMutation mutation, long sequence, boolean endOfBatch) {
+        eventBus.publish(ProjectEvent.builder()
+                .type(mutation.getType())
+                .projectId(mutation.getProjectId())
+                .builderId(mutation.getBuilderId())
+                .clientId(mutation.getClientId())
+                .summary(mutation.toSummary())
+                .documentName(mutation.getDocumentName())
+                .occurredAt(Instant.ofEpochMilli(mutation.getOccurredAtMillis()))
+                .build());
+    }
+
+    private void requireKnownProject(long projectId) {
+        if (existenceFilter.isDefinitelyAbsent(projectId)) {
+            throw new IllegalArgumentException("Project " + projectId + " not found");
+        }
     }
 
     private Project requireProjectForUpdate(long projectId) {
         Project project = projectDAO.findByIdForUpdate(projectId);
         if (project == null) {
+            existenceFilter.recordMissing(projectId);
             throw new IllegalArgumentException("Project " + projectId + " not found");
         }
         return project;
@@ -8,6 +8,18 @@ public interface ReportService extends AutoCloseable {
 
     PortfolioReport generatePortfolioReportSequential(List<Long> projectIds);
 
+    /**
+     * Builds the report from one immutable portfolio root, so every summary comes from the same moment
+     * and no project lock is taken once the summaries are cached.
+     */
+    PortfolioReport generatePortfolioReportFromSnapshot(List<Long> projectIds);
+
+    /**
+     * Builds a report over every project straight from one database snapshot, scanned in parallel.
+     * Meant for sign-off figures where all projects must reflect the same point in time.
+     */
+    PortfolioReport generateConsistentPortfolioReport();
+
     @Override
     void close();
 }
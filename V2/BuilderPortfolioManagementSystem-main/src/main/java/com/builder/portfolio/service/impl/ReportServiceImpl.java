@@ -1,11 +1,14 @@
 package com.builder.portfolio.service.impl;
 
 import com.builder.portfolio.model.PortfolioReport;
+import com.builder.portfolio.model.ProjectEvent;
 import com.builder.portfolio.model.ProjectSummary;
 import com.builder.portfolio.service.ProjectService;
 import com.builder.portfolio.service.ReportService;
 import com.builder.portfolio.util.BackgroundTaskManager;
+import com.builder.portfolio.util.PersistentLongMap;
 import com.builder.portfolio.util.ProjectCache;
+import com.builder.portfolio.util.ProjectEventBus;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -13,7 +16,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -21,12 +27,17 @@ import org.slf4j.LoggerFactory;
 
 public class ReportServiceImpl implements ReportService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ReportServiceImpl.class);
+    private static final int SNAPSHOT_SCAN_WORKERS = 4;
+    // Bursts of project events within this window cost one report rebuild.
+    private static final Duration EVENT_REFRESH_DELAY = Duration.ofMillis(250);
 
     private final ProjectService projectService;
     private final BackgroundTaskManager taskManager;
     private final ProjectCache projectCache;
     private final AtomicReference<PortfolioReport> cachedReport = new AtomicReference<>();
     private final ScheduledFuture<?> refresher;
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final Flow.Subscription eventSubscription;
 
     public ReportServiceImpl(ProjectService projectService) {
         this(projectService, ProjectCache.getInstance(), BackgroundTaskManager.getInstance());
@@ -37,18 +48,15 @@ public class ReportServiceImpl implements ReportService {
         this.projectService = Objects.requireNonNull(projectService, "projectService");
         this.projectCache = Objects.requireNonNull(projectCache, "projectCache");
         this.taskManager = Objects.requireNonNull(taskManager, "taskManager");
-        // Run a lightweight timer so dashboards and demos always have a warm report ready to display.
-        this.refresher = this.taskManager.getScheduledPool().scheduleAtFixedRate(() -> {
-            try {
-                List<Long> projectIds = new ArrayList<>(this.projectCache.snapshot().keySet());
-                if (!projectIds.isEmpty()) {
-                    cachedReport.set(generatePortfolioReportParallel(projectIds));
-                    LOGGER.debug("Refreshed cached report for {} projects", projectIds.size());
-                }
-            } catch (Exception ex) {
-                LOGGER.warn("Scheduled portfolio refresh failed", ex);
-            }
-        }, Duration.ofMinutes(1).toMillis(), Duration.ofMinutes(1).toMillis(), java.util.concurrent.TimeUnit.MILLISECONDS);
+        // Project events refresh the cached report within milliseconds of a change; the timer is only a backstop
+        // for summaries cached by reads, which publish no event.
+        this.refresher = this.taskManager.getScheduledPool().scheduleAtFixedRate(this::refreshCachedReport,
+                Duration.ofMinutes(1).toMillis(), Duration.ofMinutes(1).toMillis(), TimeUnit.MILLISECONDS);
+        this.eventSubscription = projectService.getEventBus().subscribe(new RefreshTrigger(),
+                ProjectEventBus.Options.builder()
+                        .bufferSize(64)
+                        .overflow(ProjectEventBus.Overflow.LATEST_PER_PROJECT)
+                        .build());
     }
 
     @Override
@@ -87,10 +95,85 @@ public class ReportServiceImpl implements ReportService {
         return report;
     }
 
+    @Override
+    public PortfolioReport generatePortfolioReportFromSnapshot(List<Long> projectIds) {
+        Objects.requireNonNull(projectIds, "projectIds");
+        if (!projectService.awaitCachedSummaries()) {
+            // A root taken now could predate writes the caller already made; read each summary from the store.
+            LOGGER.debug("Project cache behind; building the report from individual summaries");
+            return generatePortfolioReportSequential(projectIds);
+        }
+        long start = System.nanoTime();
+        PersistentLongMap<ProjectSummary> root = projectCache.portfolioSnapshot();
+        List<Long> missing = projectIds.stream().filter(id -> !root.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            // Warm the cache once; the report itself is read from the root captured afterwards.
+            missing.forEach(this::warmSummary);
+        }
+        PersistentLongMap<ProjectSummary> consistentRoot = missing.isEmpty() ? root : projectCache.portfolioSnapshot();
+        List<ProjectSummary> summaries = projectIds.stream()
+                .map(consistentRoot::get)
+                .filter(Objects::nonNull)
+                .toList();
+        PortfolioReport report = buildReport(summaries);
+        LOGGER.info("Snapshot report for {} projects generated in {} ms", summaries.size(),
+                (System.nanoTime() - start) / 1_000_000); // NOSONAR
+        cachedReport.set(report);
+        return report;
+    }
+
+    @Override
+    public PortfolioReport generateConsistentPortfolioReport() {
+        long start = System.nanoTime();
+        List<ProjectSummary> summaries = projectService.listAllProjectsConsistent(SNAPSHOT_SCAN_WORKERS).stream()
+                .map(project -> ProjectSummary.builder()
+                        .projectId(project.getId())
+                        .name(project.getName())
+                        .status(project.getStatus())
+                        .plannedBudget(project.getBudgetPlanned())
+                        .usedBudget(project.getBudgetUsed())
+                        .version(project.getVersion())
+                        .build())
+                .toList();
+        PortfolioReport report = buildReport(summaries);
+        LOGGER.info("Consistent report for {} projects generated in {} ms", summaries.size(),
+                (System.nanoTime() - start) / 1_000_000); // NOSONAR
+        return report;
+    }
+
     public PortfolioReport getCachedReport() {
         return cachedReport.get();
     }
 
+    private void refreshSoon() {
+        if (refreshQueued.compareAndSet(false, true)) {
+            taskManager.getScheduledPool().schedule(() -> {
+                refreshQueued.set(false);
+                refreshCachedReport();
+            }, EVENT_REFRESH_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void refreshCachedReport() {
+        try {
+            PersistentLongMap<ProjectSummary> root = projectCache.portfolioSnapshot();
+            if (!root.isEmpty()) {
+                cachedReport.set(buildReport(root.values()));
+                LOGGER.debug("Refreshed cached report for {} projects", root.size());
+            }
+        } catch (Exception ex) {
+            LOGGER.warn("Scheduled portfolio refresh failed", ex);
+        }
+    }
+
+    private void warmSummary(long projectId) {
+        try {
+            projectService.getProjectSummary(projectId);
+        } catch (IllegalArgumentException ex) {
+            LOGGER.debug("Skipping project {} missing from snapshot report", projectId);
+        }
+    }
+
     private PortfolioReport buildReport(List<ProjectSummary> summaries) {
         double totalPlanned = summaries.stream().mapToDouble(ProjectSummary::getPlannedBudget).sum();
         double totalUsed = summaries.stream().mapToDouble(ProjectSummary::getUsedBudget).sum();
@@ -100,5 +183,28 @@ public class ReportServiceImpl implements ReportService {
     @Override
     public void close() {
         refresher.cancel(true);
+        eventSubscription.cancel();
+    }
+
+    private final class RefreshTrigger implements Flow.Subscriber<ProjectEvent> {
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(ProjectEvent event) {
+            refreshSoon();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            LOGGER.warn("Project event feed failed; falling back to the refresh timer", throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            LOGGER.debug("Project event feed closed");
+        }
     }
 }
@@ -0,0 +1,64 @@
+package com.builder.portfolio.util;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Names the actor behind the mutations made on the current thread, so the audit trail can record who changed a
+ * project without every service method taking a user parameter.
+ */
+public final class AuditContext {
+    public static final String SYSTEM_ACTOR = "system";
+
+    private static final ThreadLocal<String> ACTOR = new ThreadLocal<>();
+
+    private AuditContext() {
+    }
+
+    /**
+     * @return the actor set for this thread, or {@link #SYSTEM_ACTOR} outside any {@link #runAs} block.
+     */
+    public static String currentActor() {
+        String actor = ACTOR.get();
+        return actor != null ? actor : SYSTEM_ACTOR;
+    }
+
+    public static void runAs(String actor, Runnable action) {
+        Objects.requireNonNull(actor, "actor");
+        String previous = ACTOR.get();
+        ACTOR.set(actor);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Wraps {@code command} so it runs as the actor current at the time of wrapping, e.g. when a mutation is handed
+     * to another thread.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> command) {
+        String actor = ACTOR.get();
+        if (actor == null) {
+            return command;
+        }
+        return () -> {
+            String previous = ACTOR.get();
+            ACTOR.set(actor);
+            try {
+                return command.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(String previous) {
+        if (previous == null) {
+            ACTOR.remove();
+        } else {
+            ACTOR.set(previous);
+        }
+    }
+}
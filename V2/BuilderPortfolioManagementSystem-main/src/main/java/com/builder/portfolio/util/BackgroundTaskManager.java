@@ -6,6 +6,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -70,9 +71,9 @@ public final class BackgroundTaskManager {
         }
     }
 
-    public void scheduleWithFixedDelay(Runnable runnable, Duration initialDelay, Duration delay) {
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable runnable, Duration initialDelay, Duration delay) {
         Objects.requireNonNull(runnable, "runnable");
-        scheduledPool.scheduleWithFixedDelay(runnable,
+        return scheduledPool.scheduleWithFixedDelay(runnable,
                 initialDelay.toMillis(), delay.toMillis(), TimeUnit.MILLISECONDS);
     }
 
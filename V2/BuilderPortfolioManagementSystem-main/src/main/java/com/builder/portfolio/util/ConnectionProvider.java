@@ -0,0 +1,52 @@
+package com.builder.portfolio.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Source of JDBC connections, split by whether the caller may write.
+ */
+public interface ConnectionProvider {
+    /**
+     * Marks "no known write" for {@link #getReadConnection(long)}.
+     */
+    long NO_WRITE = Long.MIN_VALUE;
+
+    /**
+     * @return a connection to the primary, for reads that must see the latest committed state. Opening one does not
+     *         count as a write; use {@link #getWriteConnection()} for that.
+     */
+    Connection getConnection() throws SQLException;
+
+    /**
+     * @return a connection to the primary for a write by the current session.
+     */
+    default Connection getWriteConnection() throws SQLException {
+        recordWrite();
+        return getConnection();
+    }
+
+    /**
+     * Notes that the current session (its {@link AuditContext} actor) has just written, so providers that route reads
+     * keep that session's reads on the primary for a while. Writes whose connection is opened on another thread,
+     * such as a group-commit flusher, call this on the submitting thread.
+     */
+    default void recordWrite() {
+    }
+
+    /**
+     * @return a connection suitable for read-only queries; may point at a replica.
+     */
+    default Connection getReadConnection() throws SQLException {
+        return getConnection();
+    }
+
+    /**
+     * @param lastWriteNanos {@link System#nanoTime()} of this process's last write to the rows about to be read, or
+     *                       {@link #NO_WRITE}; a replica that may not have replayed that write is not used.
+     * @return a connection suitable for read-only queries; may point at a replica.
+     */
+    default Connection getReadConnection(long lastWriteNanos) throws SQLException {
+        return getReadConnection();
+    }
+}
@@ -0,0 +1,78 @@
+package com.builder.portfolio.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent-hash ring. Each node is placed at {@code virtualNodes} points so keys spread evenly and
+ * adding or removing a node only moves the keys adjacent to its points.
+ */
+public final class ConsistentHashRing<T> {
+    private final TreeMap<Long, T> points;
+    private final Set<T> nodes;
+    private final int virtualNodes;
+
+    private ConsistentHashRing(Set<T> nodes, int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.nodes = Collections.unmodifiableSet(new LinkedHashSet<>(nodes));
+        this.virtualNodes = virtualNodes;
+        this.points = new TreeMap<>();
+        for (T node : this.nodes) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                points.put(hash(node + "#" + replica), node);
+            }
+        }
+    }
+
+    public static <T> ConsistentHashRing<T> of(Set<T> nodes, int virtualNodes) {
+        return new ConsistentHashRing<>(nodes, virtualNodes);
+    }
+
+    public T nodeFor(long key) {
+        if (points.isEmpty()) {
+            throw new IllegalStateException("Hash ring has no nodes");
+        }
+        Map.Entry<Long, T> owner = points.ceilingEntry(mix(key));
+        return owner != null ? owner.getValue() : points.firstEntry().getValue();
+    }
+
+    public ConsistentHashRing<T> withNode(T node) {
+        Set<T> next = new LinkedHashSet<>(nodes);
+        next.add(Objects.requireNonNull(node, "node"));
+        return new ConsistentHashRing<>(next, virtualNodes);
+    }
+
+    public ConsistentHashRing<T> withoutNode(T node) {
+        Set<T> next = new LinkedHashSet<>(nodes);
+        next.remove(node);
+        return new ConsistentHashRing<>(next, virtualNodes);
+    }
+
+    public Set<T> getNodes() {
+        return nodes;
+    }
+
+    private static long hash(String value) {
+        // FNV-1a keeps point placement stable across JVMs, unlike String.hashCode-based schemes with 32-bit spread.
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long key) {
+        long z = key;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
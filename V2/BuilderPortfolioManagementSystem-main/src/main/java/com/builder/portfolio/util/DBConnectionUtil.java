@@ -1,8 +1,11 @@
 package com.builder.portfolio.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -13,6 +16,10 @@ public final class DBConnectionUtil {
     private static final String URL = "jdbc:postgresql://localhost:5432/builder_portfolio_db";
     private static final String USERNAME = "postgres";
     private static final String PASSWORD = "faique";
+    // -Dbpms.jdbc.fetchSize=N sets how many rows a streaming cursor pulls per round trip.
+    private static final int FETCH_SIZE = Integer.getInteger("bpms.jdbc.fetchSize", 500);
+
+    private static volatile ConnectionProvider provider = createDefaultProvider();
 
     private DBConnectionUtil() {
     }
@@ -22,10 +29,102 @@ public final class DBConnectionUtil {
         // Try to establish DB Connection
         try {
             LOGGER.fine("Opening database connection");
-            return DriverManager.getConnection(URL, USERNAME, PASSWORD);
+            return provider.getConnection();
         } catch (SQLException ex) {
             LOGGER.log(Level.SEVERE, "Unable to obtain database connection", ex);
             throw ex;
         }
     }
+
+    /**
+     * Connection for read-only queries; goes to a replica when replicas are configured.
+     */
+    public static Connection getReadConnection() throws SQLException {
+        return getReadConnection(ConnectionProvider.NO_WRITE);
+    }
+
+    /**
+     * Like {@link #getReadConnection()}, but stays off replicas that may not have replayed a write made at
+     * {@code lastWriteNanos}.
+     */
+    public static Connection getReadConnection(long lastWriteNanos) throws SQLException {
+        try {
+            LOGGER.fine("Opening read connection");
+            return provider.getReadConnection(lastWriteNanos);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Unable to obtain read connection", ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Prepares a connection for cursor streaming. The PostgreSQL driver only honours a fetch size with autocommit off;
+     * otherwise it buffers the entire result set. Callers commit or simply close when done.
+     */
+    public static Connection forStreaming(Connection connection) throws SQLException {
+        try {
+            connection.setAutoCommit(false);
+            return connection;
+        } catch (SQLException ex) {
+            connection.close();
+            throw ex;
+        }
+    }
+
+    public static int getFetchSize() {
+        return FETCH_SIZE;
+    }
+
+    /**
+     * @return a provider that always goes through this class, so it follows {@link #setConnectionProvider}.
+     */
+    public static ConnectionProvider defaultProvider() {
+        return new ConnectionProvider() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return DBConnectionUtil.getConnection();
+            }
+
+            @Override
+            public void recordWrite() {
+                provider.recordWrite();
+            }
+
+            @Override
+            public Connection getReadConnection() throws SQLException {
+                return DBConnectionUtil.getReadConnection();
+            }
+
+            @Override
+            public Connection getReadConnection(long lastWriteNanos) throws SQLException {
+                return DBConnectionUtil.getReadConnection(lastWriteNanos);
+            }
+        };
+    }
+
+    /**
+     * @return a provider for another database (e.g. a shard) using the same credentials as the default one.
+     */
+    public static ConnectionProvider providerFor(String url) {
+        return RoutingConnectionProvider.builder().primary(url, USERNAME, PASSWORD).build();
+    }
+
+    public static void setConnectionProvider(ConnectionProvider connectionProvider) {
+        provider = Objects.requireNonNull(connectionProvider, "connectionProvider");
+    }
+
+    private static ConnectionProvider createDefaultProvider() {
+        // -Dbpms.db.replicas=url1,url2 routes read-only DAO queries to those replicas.
+        RoutingConnectionProvider.Builder builder = RoutingConnectionProvider.builder()
+                .primary(URL, USERNAME, PASSWORD)
+                .balancing(RoutingConnectionProvider.Balancing.valueOf(System.getProperty(
+                        "bpms.db.balancing", "round_robin").toUpperCase(Locale.ROOT)))
+                .readYourWritesWindow(Duration.ofMillis(Long.getLong("bpms.db.readYourWritesMillis", 2_000)))
+                .maxReplicaLag(Duration.ofMillis(Long.getLong("bpms.db.maxReplicaLagMillis", 5_000)));
+        Arrays.stream(System.getProperty("bpms.db.replicas", "").split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .forEach(builder::replica);
+        return builder.build().startLagMonitor(Duration.ofSeconds(5));
+    }
 }
@@ -1,22 +1,44 @@
 package com.builder.portfolio.util;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Provides fine grained read/write locks per project id.
+ * Writers also hold a per-project {@link StampedLock} so readers can try a lock-free optimistic read first.
+ * While the watchdog runs, every hold is tracked so it can report locks that stay held for too long; otherwise
+ * acquiring a lock records nothing.
  */
 public final class LockRegistry {
     private static final Logger LOGGER = LoggerFactory.getLogger(LockRegistry.class);
     private static final LockRegistry INSTANCE = new LockRegistry();
 
     private final ConcurrentHashMap<Long, ReentrantReadWriteLock> projectLocks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, StampedLock> writeStamps = new ConcurrentHashMap<>();
+    private final LongAdder optimisticReads = new LongAdder();
+    private final LongAdder optimisticFallbacks = new LongAdder();
+    private final Set<Hold> activeHolds = ConcurrentHashMap.newKeySet();
+    private final LongAdder lockTimeouts = new LongAdder();
+    private volatile boolean trackingHolds;
+    private ScheduledFuture<?> watchdog;
 
     private LockRegistry() {
     }
@@ -32,7 +54,56 @@ public final class LockRegistry {
     public <T> T withProjectRead(long projectId, Supplier<T> supplier) {
         Objects.requireNonNull(supplier, "supplier");
         ReentrantReadWriteLock lock = getProjectLock(projectId);
-        return withLock(lock.readLock(), projectId, "read", supplier);
+        return withLock(lock.readLock(), projectId, "read", null, supplier);
+    }
+
+    /**
+     * @throws LockTimeoutException if the read lock is not acquired within {@code timeout}.
+     */
+    public <T> T withProjectRead(long projectId, Duration timeout, Supplier<T> supplier) {
+        Objects.requireNonNull(timeout, "timeout");
+        Objects.requireNonNull(supplier, "supplier");
+        ReentrantReadWriteLock lock = getProjectLock(projectId);
+        return withLock(lock.readLock(), projectId, "read", timeout, supplier);
+    }
+
+    /**
+     * Runs {@code supplier} without taking any lock and keeps the result if no writer touched the project meanwhile;
+     * otherwise reruns it under the read lock. The supplier may run twice, so it must be a side-effect free read.
+     */
+    public <T> T withProjectOptimisticRead(long projectId, Supplier<T> supplier) {
+        return withProjectOptimisticRead(projectId, null, supplier);
+    }
+
+    /**
+     * Optimistic read whose read-lock fallback waits at most {@code timeout}; {@code null} waits indefinitely.
+     */
+    public <T> T withProjectOptimisticRead(long projectId, Duration timeout, Supplier<T> supplier) {
+        Objects.requireNonNull(supplier, "supplier");
+        StampedLock stampedLock = getWriteStamp(projectId);
+        long stamp = stampedLock.tryOptimisticRead();
+        if (stamp != 0L) {
+            T result = supplier.get();
+            if (stampedLock.validate(stamp)) {
+                optimisticReads.increment();
+                return result;
+            }
+        }
+        optimisticFallbacks.increment();
+        LOGGER.debug("Optimistic read for project {} overlapped a writer, retrying under read lock", projectId);
+        return withLock(getProjectLock(projectId).readLock(), projectId, "read", timeout, supplier);
+    }
+
+    public long getOptimisticReadCount() {
+        return optimisticReads.sum();
+    }
+
+    public long getOptimisticFallbackCount() {
+        return optimisticFallbacks.sum();
+    }
+
+    public long getLockTimeoutCount() {
+        return lockTimeouts.sum();
     }
 
     public void withProjectRead(long projectId, Runnable runnable) {
@@ -44,9 +115,27 @@ public final class LockRegistry {
     }
 
     public <T> T withProjectWrite(long projectId, Supplier<T> supplier) {
-        Objects.requireNonNull(supplier, "supplier");
+        return writeWithStamp(projectId, null, Objects.requireNonNull(supplier, "supplier"));
+    }
+
+    /**
+     * @throws LockTimeoutException if the write lock is not acquired within {@code timeout}.
+     */
+    public <T> T withProjectWrite(long projectId, Duration timeout, Supplier<T> supplier) {
+        Objects.requireNonNull(timeout, "timeout");
+        return writeWithStamp(projectId, timeout, Objects.requireNonNull(supplier, "supplier"));
+    }
+
+    private <T> T writeWithStamp(long projectId, Duration timeout, Supplier<T> supplier) {
         ReentrantReadWriteLock lock = getProjectLock(projectId);
-        return withLock(lock.writeLock(), projectId, "write", supplier);
+        return withLock(lock.writeLock(), projectId, "write", timeout, () -> {
+            long stamp = stampWrite(projectId, lock);
+            try {
+                return supplier.get();
+            } finally {
+                releaseStamp(projectId, stamp);
+            }
+        });
     }
 
     public void withProjectWrite(long projectId, Runnable runnable) {
@@ -57,19 +146,211 @@ public final class LockRegistry {
         });
     }
 
-    private <T> T withLock(Lock lock, long projectId, String mode, Supplier<T> supplier) {
+    /**
+     * Takes write locks on every id in ascending order, so overlapping multi-project operations cannot deadlock.
+     * Each acquisition is a timed {@code tryLock}; if the shared budget runs out, locks taken so far are released.
+     *
+     * @throws LockTimeoutException if any lock is not acquired within {@code timeout}.
+     */
+    public <T> T withProjectsWrite(Collection<Long> projectIds, Duration timeout, Supplier<T> supplier) {
+        Objects.requireNonNull(projectIds, "projectIds");
+        Objects.requireNonNull(supplier, "supplier");
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Deque<Runnable> held = new ArrayDeque<>();
+        try {
+            for (long projectId : projectIds.stream().distinct().sorted().toList()) {
+                ReentrantReadWriteLock lock = getProjectLock(projectId);
+                if (!lock.writeLock().tryLock(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    throw timedOut(projectId, "write", timeout);
+                }
+                held.push(lock.writeLock()::unlock);
+                Hold hold = track(projectId, "write");
+                if (hold != null) {
+                    held.push(() -> activeHolds.remove(hold));
+                }
+                long stamp = stampWrite(projectId, lock);
+                held.push(() -> releaseStamp(projectId, stamp));
+            }
+            LOGGER.debug("Thread {} holds write locks for projects {}", Thread.currentThread().getName(), projectIds);
+            return supplier.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new LockTimeoutException(-1, "Interrupted while acquiring project write locks");
+        } finally {
+            while (!held.isEmpty()) {
+                held.pop().run();
+            }
+        }
+    }
+
+    /**
+     * @return every tracked lock hold older than {@code threshold}, longest first, with the holder's current stack.
+     *         Holds are only tracked while the watchdog runs.
+     */
+    public List<HeldLock> findLocksHeldLongerThan(Duration threshold) {
+        long now = System.nanoTime();
+        return activeHolds.stream()
+                .filter(hold -> now - hold.acquiredNanos >= threshold.toNanos())
+                .sorted(Comparator.comparingLong(hold -> hold.acquiredNanos))
+                .map(hold -> new HeldLock(hold.projectId, hold.mode, hold.thread.getName(),
+                        Duration.ofNanos(now - hold.acquiredNanos), hold.thread.getStackTrace()))
+                .toList();
+    }
+
+    /**
+     * Starts tracking lock holds and a background check that logs every lock held longer than {@code threshold}.
+     * Holds taken before the watchdog started are not seen. Only the first call starts a watchdog.
+     */
+    public synchronized void startWatchdog(Duration threshold, Duration interval) {
+        Objects.requireNonNull(threshold, "threshold");
+        if (watchdog != null) {
+            return;
+        }
+        trackingHolds = true;
+        watchdog = BackgroundTaskManager.getInstance().scheduleWithFixedDelay(() -> {
+            for (HeldLock held : findLocksHeldLongerThan(threshold)) {
+                LOGGER.warn("Project {} {} lock held for {} ms by thread {}\n\tat {}", held.getProjectId(),
+                        held.getMode(), held.getHeldFor().toMillis(), held.getThreadName(),
+                        Arrays.stream(held.getStackTrace()).map(String::valueOf)
+                                .collect(Collectors.joining("\n\tat ")));
+            }
+        }, interval, interval);
+        LOGGER.info("Lock watchdog reporting holds longer than {} ms", threshold.toMillis());
+    }
+
+    /**
+     * Stops the watchdog and hold tracking, so lock acquisition goes back to recording nothing.
+     */
+    public synchronized void stopWatchdog() {
+        if (watchdog == null) {
+            return;
+        }
+        watchdog.cancel(false);
+        watchdog = null;
+        trackingHolds = false;
+        activeHolds.clear();
+    }
+
+    private LockTimeoutException timedOut(long projectId, String mode, Duration timeout) {
+        lockTimeouts.increment();
+        LOGGER.warn("Thread {} gave up on {} lock for project {} after {} ms",
+                Thread.currentThread().getName(), mode, projectId, timeout.toMillis());
+        return new LockTimeoutException(projectId, "Timed out after " + timeout.toMillis()
+                + " ms waiting for " + mode + " lock on project " + projectId);
+    }
+
+    private StampedLock getWriteStamp(long projectId) {
+        return writeStamps.computeIfAbsent(projectId, id -> new StampedLock());
+    }
+
+    /**
+     * Marks the project as being written for optimistic readers. Only the outermost write lock hold takes the
+     * stamp, because StampedLock is not reentrant. Returns 0 for nested holds.
+     */
+    private long stampWrite(long projectId, ReentrantReadWriteLock lock) {
+        return lock.getWriteHoldCount() == 1 ? getWriteStamp(projectId).writeLock() : 0L;
+    }
+
+    private void releaseStamp(long projectId, long stamp) {
+        if (stamp != 0L) {
+            getWriteStamp(projectId).unlockWrite(stamp);
+        }
+    }
+
+    private <T> T withLock(Lock lock, long projectId, String mode, Duration timeout, Supplier<T> supplier) {
         long start = System.nanoTime();
         String threadName = Thread.currentThread().getName();
         // These debug traces make it painless to spot contention while running the console demo.
         LOGGER.debug("Thread {} attempting {} lock for project {}", threadName, mode, projectId);
-        lock.lock();
+        if (timeout == null) {
+            lock.lock();
+        } else {
+            try {
+                if (!lock.tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                    throw timedOut(projectId, mode, timeout);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new LockTimeoutException(projectId, "Interrupted while waiting for " + mode
+                        + " lock on project " + projectId);
+            }
+        }
+        Hold hold = track(projectId, mode);
         try {
             LOGGER.debug("Thread {} acquired {} lock for project {} in {} µs", threadName, mode,
                     projectId, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
             return supplier.get();
         } finally {
+            if (hold != null) {
+                activeHolds.remove(hold);
+            }
             lock.unlock();
             LOGGER.debug("Thread {} released {} lock for project {}", threadName, mode, projectId);
         }
     }
+
+    /**
+     * @return the tracked hold, or null while the watchdog is off so the lock path allocates nothing.
+     */
+    private Hold track(long projectId, String mode) {
+        if (!trackingHolds) {
+            return null;
+        }
+        Hold hold = new Hold(projectId, mode);
+        activeHolds.add(hold);
+        return hold;
+    }
+
+    // Identity-based on purpose: the same thread may hold the same lock more than once.
+    private static final class Hold {
+        private final long projectId;
+        private final String mode;
+        private final Thread thread = Thread.currentThread();
+        private final long acquiredNanos = System.nanoTime();
+
+        private Hold(long projectId, String mode) {
+            this.projectId = projectId;
+            this.mode = mode;
+        }
+    }
+
+    /**
+     * Point-in-time view of a lock hold, as reported by the watchdog.
+     */
+    public static final class HeldLock {
+        private final long projectId;
+        private final String mode;
+        private final String threadName;
+        private final Duration heldFor;
+        private final StackTraceElement[] stackTrace;
+
+        private HeldLock(long projectId, String mode, String threadName, Duration heldFor,
+                StackTraceElement[] stackTrace) {
+            this.projectId = projectId;
+            this.mode = mode;
+            this.threadName = threadName;
+            this.heldFor = heldFor;
+            this.stackTrace = stackTrace;
+        }
+
+        public long getProjectId() {
+            return projectId;
+        }
+
+        public String getMode() {
+            return mode;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public Duration getHeldFor() {
+            return heldFor;
+        }
+
+        public StackTraceElement[] getStackTrace() {
+            return stackTrace.clone();
+        }
+    }
 }
@@ -0,0 +1,19 @@
+package com.builder.portfolio.util;
+
+/**
+ * Raised when a project lock cannot be acquired within its wait budget.
+ */
+public class LockTimeoutException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final long projectId;
+
+    public LockTimeoutException(long projectId, String message) {
+        super(message);
+        this.projectId = projectId;
+    }
+
+    public long getProjectId() {
+        return projectId;
+    }
+}
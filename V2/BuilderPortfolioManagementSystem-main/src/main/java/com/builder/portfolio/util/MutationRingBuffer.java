@@ -0,0 +1,372 @@
+package com.builder.portfolio.util;
+
+import com.builder.portfolio.model.ProjectMutation;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pre-allocated, lock-free ring of {@link ProjectMutation} slots in the style of the LMAX Disruptor.
+ *
+ * <p>Writers claim a sequence, fill the slot in place and publish it, so the write path allocates nothing and
+ * never waits on a consumer unless the ring is full. Each consumer stage runs on its own thread and follows a
+ * sequence barrier: it may process a slot once the slot is published and every stage it depends on has moved
+ * past it. Stages drain whatever is available as one batch and report how far they lag behind the writers.</p>
+ */
+public final class MutationRingBuffer implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MutationRingBuffer.class);
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    // Parked stages are woken on publish; the timeout only bounds a missed wake-up.
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final ProjectMutation[] slots;
+    // Round (sequence / capacity) last published into each slot; -1 until the first lap.
+    private final int[] published;
+    private final int mask;
+    private final int indexShift;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final List<Stage> stages = new ArrayList<>();
+    private volatile long gatingSequence = -1;
+    private volatile boolean running = true;
+
+    private MutationRingBuffer(Builder builder) {
+        int capacity = builder.capacity;
+        this.slots = new ProjectMutation[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new ProjectMutation();
+        }
+        this.published = new int[capacity];
+        Arrays.fill(published, -1);
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        Map<String, Stage> byName = new LinkedHashMap<>();
+        for (StageSpec spec : builder.stages) {
+            Stage[] dependencies = new Stage[spec.dependsOn.length];
+            for (int i = 0; i < dependencies.length; i++) {
+                dependencies[i] = Objects.requireNonNull(byName.get(spec.dependsOn[i]),
+                        () -> "Stage " + spec.name + " depends on unknown stage");
+            }
+            Stage stage = new Stage(spec.name, spec.handler, dependencies);
+            byName.put(spec.name, stage);
+            stages.add(stage);
+        }
+        stages.forEach(Stage::start);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Claims the next slot, waiting only while the slowest stage is a full lap behind.
+     */
+    public long next() {
+        return next(1);
+    }
+
+    /**
+     * Claims {@code n} consecutive slots, e.g. for a multi-project write.
+     *
+     * @return the highest claimed sequence; the first is {@code sequence - n + 1}.
+     */
+    public long next(int n) {
+        if (n < 1 || n > slots.length) {
+            throw new IllegalArgumentException("Can claim between 1 and " + slots.length + " slots");
+        }
+        long last = claimed.addAndGet(n);
+        long wrapPoint = last - slots.length;
+        if (wrapPoint > gatingSequence) {
+            int idle = 0;
+            long slowest;
+            while (wrapPoint > (slowest = slowestStage(last - n))) {
+                if (!running) {
+                    throw new IllegalStateException("Mutation ring is closed");
+                }
+                backOff(idle++);
+            }
+            gatingSequence = slowest;
+        }
+        return last;
+    }
+
+    public ProjectMutation get(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    public void publish(long sequence) {
+        PUBLISHED.setRelease(published, (int) sequence & mask, (int) (sequence >>> indexShift));
+        wakeParkedStages();
+    }
+
+    public void publish(long low, long high) {
+        for (long sequence = low; sequence <= high; sequence++) {
+            PUBLISHED.setRelease(published, (int) sequence & mask, (int) (sequence >>> indexShift));
+        }
+        wakeParkedStages();
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * @return the highest sequence claimed by any writer so far.
+     */
+    public long getCursor() {
+        return claimed.get();
+    }
+
+    public Stage getStage(String name) {
+        for (Stage stage : stages) {
+            if (stage.name.equals(name)) {
+                return stage;
+            }
+        }
+        throw new IllegalArgumentException("Unknown stage " + name);
+    }
+
+    /**
+     * @return per stage, how many claimed slots it has not processed yet.
+     */
+    public Map<String, Long> getConsumerLag() {
+        Map<String, Long> lag = new LinkedHashMap<>();
+        stages.forEach(stage -> lag.put(stage.name, stage.getLag()));
+        return lag;
+    }
+
+    /**
+     * Waits until {@code stage} has processed {@code sequence}, e.g. so a reader sees its own writes in a cache
+     * that a stage maintains.
+     *
+     * @return false if the stage was still behind when the timeout expired.
+     */
+    public boolean awaitStage(Stage stage, long sequence, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int idle = 0;
+        while (stage.sequence.get() < sequence) {
+            if (!running || System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            if (idle < SPIN_TRIES + YIELD_TRIES) {
+                backOff(idle++);
+            } else {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Waits until every stage has processed every slot claimed so far, e.g. before closing the ring.
+     *
+     * @return false if some stage was still behind when the timeout expired.
+     */
+    public boolean awaitDrained(Duration timeout) {
+        long cursor = claimed.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Stage stage : stages) {
+            if (!awaitStage(stage, cursor, Duration.ofNanos(Math.max(0, deadline - System.nanoTime())))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        for (Stage stage : stages) {
+            LockSupport.unpark(stage.thread);
+        }
+    }
+
+    private long slowestStage(long fallback) {
+        long slowest = fallback;
+        for (Stage stage : stages) {
+            slowest = Math.min(slowest, stage.sequence.get());
+        }
+        return slowest;
+    }
+
+    private boolean isPublished(long sequence) {
+        return (int) PUBLISHED.getAcquire(published, (int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    private void wakeParkedStages() {
+        for (Stage stage : stages) {
+            if (stage.parked) {
+                LockSupport.unpark(stage.thread);
+            }
+        }
+    }
+
+    private static void backOff(int idle) {
+        if (idle < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+    }
+
+    /**
+     * Processes one slot. {@code endOfBatch} marks the last slot currently available, the natural point to flush
+     * anything staged across the batch.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        void onEvent(ProjectMutation mutation, long sequence, boolean endOfBatch);
+    }
+
+    /**
+     * One consumer thread with its own sequence.
+     */
+    public final class Stage {
+        private final String name;
+        private final Handler handler;
+        private final Stage[] dependencies;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final Thread thread;
+        private volatile boolean parked;
+
+        private Stage(String name, Handler handler, Stage[] dependencies) {
+            this.name = name;
+            this.handler = handler;
+            this.dependencies = dependencies;
+            this.thread = new Thread(this::run, "bpms-ring-" + name);
+            thread.setDaemon(true);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getSequence() {
+            return sequence.get();
+        }
+
+        public long getLag() {
+            return Math.max(0, claimed.get() - sequence.get());
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        private void run() {
+            long next = sequence.get() + 1;
+            int idle = 0;
+            while (running) {
+                long available = availableFrom(next);
+                if (available < next) {
+                    idle = waitForWork(next, idle);
+                    continue;
+                }
+                idle = 0;
+                for (long current = next; current <= available; current++) {
+                    try {
+                        handler.onEvent(get(current), current, current == available);
+                    } catch (RuntimeException ex) {
+                        // A failing consumer must not stall the ring for every stage behind it.
+                        LOGGER.warn("Ring stage {} failed on sequence {}", name, current, ex);
+                    }
+                }
+                sequence.set(available);
+                next = available + 1;
+                wakeParkedStages();
+            }
+        }
+
+        /**
+         * The sequence barrier: the highest slot at or after {@code next} that is published and already processed
+         * by every dependency, or {@code next - 1} if there is none.
+         */
+        private long availableFrom(long next) {
+            long limit = claimed.get();
+            for (Stage dependency : dependencies) {
+                limit = Math.min(limit, dependency.sequence.get());
+            }
+            long highest = next - 1;
+            while (highest < limit && isPublished(highest + 1)) {
+                highest++;
+            }
+            return highest;
+        }
+
+        private int waitForWork(long next, int idle) {
+            if (idle < SPIN_TRIES + YIELD_TRIES) {
+                backOff(idle);
+                return idle + 1;
+            }
+            parked = true;
+            // Re-check after announcing the park so a publish in between is not missed.
+            if (availableFrom(next) < next) {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+            parked = false;
+            return idle;
+        }
+    }
+
+    public static final class Builder {
+        private int capacity = 4096;
+        private final List<StageSpec> stages = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * @param capacity number of slots; must be a power of two.
+         */
+        public Builder capacity(int capacity) {
+            if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+                throw new IllegalArgumentException("capacity must be a positive power of two");
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Adds a consumer stage that only sees a slot after every stage named in {@code dependsOn} has processed
+         * it; those stages must be added first.
+         */
+        public Builder stage(String name, Handler handler, String... dependsOn) {
+            stages.add(new StageSpec(Objects.requireNonNull(name, "name"), Objects.requireNonNull(handler, "handler"),
+                    dependsOn));
+            return this;
+        }
+
+        /**
+         * Builds the ring and starts one thread per stage.
+         */
+        public MutationRingBuffer build() {
+            return new MutationRingBuffer(this);
+        }
+    }
+
+    private static final class StageSpec {
+        private final String name;
+        private final Handler handler;
+        private final String[] dependsOn;
+
+        private StageSpec(String name, Handler handler, String[] dependsOn) {
+            this.name = name;
+            this.handler = handler;
+            this.dependsOn = dependsOn;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.builder.portfolio.util;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single-writer mutation engine: every project id hashes to one single-threaded partition,
+ * so commands for the same project apply strictly in submission order without any locks.
+ */
+public final class PartitionedMutationExecutor implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedMutationExecutor.class);
+    private static final String THREAD_PREFIX = "bpms-partition-";
+
+    private final ExecutorService[] partitions;
+    private final LongAdder[] submitted;
+    // Index of the partition the current thread runs, unset on every other thread.
+    private final ThreadLocal<Integer> currentPartition = new ThreadLocal<>();
+
+    public PartitionedMutationExecutor(int partitionCount) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("partitionCount must be positive");
+        }
+        this.partitions = new ExecutorService[partitionCount];
+        this.submitted = new LongAdder[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            String threadName = THREAD_PREFIX + i;
+            int partition = i;
+            partitions[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(() -> {
+                    currentPartition.set(partition);
+                    runnable.run();
+                }, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+            submitted[i] = new LongAdder();
+        }
+        LOGGER.info("Started {} mutation partitions", partitionCount);
+    }
+
+    public <T> CompletableFuture<T> submit(long projectId, Supplier<T> command) {
+        Objects.requireNonNull(command, "command");
+        int partition = partitionFor(projectId);
+        submitted[partition].increment();
+        return CompletableFuture.supplyAsync(AuditContext.propagate(command), partitions[partition]);
+    }
+
+    public int partitionFor(long projectId) {
+        // Spread sequential ids before reducing so neighbouring projects do not pile onto one partition.
+        long hash = projectId * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(hash ^ (hash >>> 32), (long) partitions.length);
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    public long getSubmittedCount(int partition) {
+        return submitted[partition].sum();
+    }
+
+    /**
+     * @return true when called from the partition that owns {@code projectId}, where a nested command must run inline
+     *         because waiting on the partition's own queue would stall it. Commands for projects owned by other
+     *         partitions still have to be submitted there.
+     */
+    public boolean isOwningPartitionThread(long projectId) {
+        Integer partition = currentPartition.get();
+        return partition != null && partition == partitionFor(projectId);
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService partition : partitions) {
+            partition.shutdown();
+        }
+        try {
+            for (ExecutorService partition : partitions) {
+                if (!partition.awaitTermination(5, TimeUnit.SECONDS)) {
+                    partition.shutdownNow();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            for (ExecutorService partition : partitions) {
+                partition.shutdownNow();
+            }
+        }
+    }
+}
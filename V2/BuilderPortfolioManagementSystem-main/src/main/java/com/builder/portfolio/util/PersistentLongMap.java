@@ -0,0 +1,241 @@
+package com.builder.portfolio.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Immutable hash array mapped trie keyed by {@code long}. Every update returns a new map that shares all
+ * untouched nodes with the old one, so readers holding an old root keep a consistent view without locking.
+ */
+public final class PersistentLongMap<V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentLongMap<?> EMPTY = new PersistentLongMap<>(new Node(0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentLongMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentLongMap<V> empty() {
+        return (PersistentLongMap<V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        long hash = mix(key);
+        Node node = root;
+        for (int shift = 0; ; shift += BITS) {
+            int bit = bit(hash, shift);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object child = node.children[node.index(bit)];
+            if (child instanceof Leaf leaf) {
+                return leaf.key == key ? (V) leaf.value : null;
+            }
+            node = (Node) child;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return a map with {@code key} bound to {@code value}; this map is unchanged.
+     */
+    public PersistentLongMap<V> plus(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        boolean[] added = new boolean[1];
+        Node newRoot = put(root, new Leaf(key, mix(key), value), 0, added);
+        return new PersistentLongMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * @return a map with every entry of {@code other} added, overriding entries for the same key.
+     */
+    public PersistentLongMap<V> plusAll(PersistentLongMap<V> other) {
+        PersistentLongMap<V> result = this;
+        for (Leaf leaf : other.leaves()) {
+            boolean[] added = new boolean[1];
+            Node newRoot = put(result.root, leaf, 0, added);
+            result = new PersistentLongMap<>(newRoot, added[0] ? result.size + 1 : result.size);
+        }
+        return result;
+    }
+
+    /**
+     * @return a map without {@code key}; this map is unchanged.
+     */
+    public PersistentLongMap<V> minus(long key) {
+        Node newRoot = remove(root, key, mix(key), 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentLongMap<>(newRoot == null ? empty().root : newRoot, size - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<Long, V> action) {
+        walk(root, leaf -> action.accept(leaf.key, (V) leaf.value));
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        walk(root, leaf -> values.add((V) leaf.value));
+        return values;
+    }
+
+    private List<Leaf> leaves() {
+        List<Leaf> leaves = new ArrayList<>(size);
+        walk(root, leaves::add);
+        return leaves;
+    }
+
+    private static Node put(Node node, Leaf leaf, int shift, boolean[] added) {
+        int bit = bit(leaf.hash, shift);
+        int index = node.index(bit);
+        if ((node.bitmap & bit) == 0) {
+            added[0] = true;
+            Object[] children = new Object[node.children.length + 1];
+            System.arraycopy(node.children, 0, children, 0, index);
+            children[index] = leaf;
+            System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+            return new Node(node.bitmap | bit, children);
+        }
+        Object child = node.children[index];
+        Object replacement;
+        if (child instanceof Leaf existing) {
+            if (existing.key == leaf.key) {
+                replacement = leaf;
+            } else {
+                added[0] = true;
+                replacement = split(existing, leaf, shift + BITS);
+            }
+        } else {
+            replacement = put((Node) child, leaf, shift + BITS, added);
+        }
+        Object[] children = node.children.clone();
+        children[index] = replacement;
+        return new Node(node.bitmap, children);
+    }
+
+    private static Node split(Leaf first, Leaf second, int shift) {
+        // The mixer is a bijection, so two distinct keys always diverge before the hash bits run out.
+        int firstBit = bit(first.hash, shift);
+        int secondBit = bit(second.hash, shift);
+        if (firstBit == secondBit) {
+            return new Node(firstBit, new Object[] {split(first, second, shift + BITS)});
+        }
+        Object[] children = Integer.compareUnsigned(firstBit, secondBit) < 0
+                ? new Object[] {first, second}
+                : new Object[] {second, first};
+        return new Node(firstBit | secondBit, children);
+    }
+
+    /**
+     * @return the same node if the key is absent, null if the node became empty, otherwise a rebuilt node.
+     */
+    private static Node remove(Node node, long key, long hash, int shift) {
+        int bit = bit(hash, shift);
+        if ((node.bitmap & bit) == 0) {
+            return node;
+        }
+        int index = node.index(bit);
+        Object child = node.children[index];
+        Object replacement;
+        if (child instanceof Leaf leaf) {
+            if (leaf.key != key) {
+                return node;
+            }
+            replacement = null;
+        } else {
+            Node updated = remove((Node) child, key, hash, shift + BITS);
+            if (updated == child) {
+                return node;
+            }
+            // Pull a lone leaf up so lookups do not walk through single-child chains.
+            replacement = updated != null && updated.children.length == 1 && updated.children[0] instanceof Leaf
+                    ? updated.children[0]
+                    : updated;
+        }
+        if (replacement != null) {
+            Object[] children = node.children.clone();
+            children[index] = replacement;
+            return new Node(node.bitmap, children);
+        }
+        if (node.children.length == 1) {
+            return null;
+        }
+        Object[] children = new Object[node.children.length - 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        return new Node(node.bitmap & ~bit, children);
+    }
+
+    private static void walk(Node node, Consumer<Leaf> visitor) {
+        for (Object child : node.children) {
+            if (child instanceof Leaf leaf) {
+                visitor.accept(leaf);
+            } else {
+                walk((Node) child, visitor);
+            }
+        }
+    }
+
+    private static int bit(long hash, int shift) {
+        return 1 << (int) ((hash >>> shift) & MASK);
+    }
+
+    private static long mix(long key) {
+        // SplitMix64 finalizer: spreads sequential ids across the trie and is invertible.
+        long z = key;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Node {
+        private final int bitmap;
+        private final Object[] children;
+
+        private Node(int bitmap, Object[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+    }
+
+    private static final class Leaf {
+        private final long key;
+        private final long hash;
+        private final Object value;
+
+        private Leaf(long key, long hash, Object value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.builder.portfolio.util;
+
+import com.builder.portfolio.model.ProjectEvent;
+import com.builder.portfolio.model.ProjectMutation;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running per-builder budget totals and per-status project counts, kept current by the aggregates stage of the
+ * mutation ring. Only projects written since start-up are counted; each mutation is applied as a delta against
+ * the last state seen for its project.
+ *
+ * <p>{@link #apply(ProjectMutation)} must only be called from one thread; the getters may be called from any.</p>
+ */
+public final class PortfolioAggregates {
+    // Owned by the applying thread.
+    private final Map<Long, Seen> lastSeen = new HashMap<>();
+    private final ConcurrentHashMap<Integer, BudgetTotals> builderTotals = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+    public void apply(ProjectMutation mutation) {
+        Seen previous = mutation.getType() == ProjectEvent.Type.DELETED
+                ? lastSeen.remove(mutation.getProjectId())
+                : lastSeen.put(mutation.getProjectId(), new Seen(mutation));
+        if (previous != null) {
+            totalsFor(previous.builderId).add(-previous.planned, -previous.used);
+            statusCounts.get(previous.status).decrement();
+        }
+        if (mutation.getType() != ProjectEvent.Type.DELETED) {
+            totalsFor(mutation.getBuilderId()).add(mutation.getBudgetPlanned(), mutation.getBudgetUsed());
+            statusCounts.computeIfAbsent(String.valueOf(mutation.getStatus()), status -> new LongAdder())
+                    .increment();
+        }
+    }
+
+    public double getPlannedBudget(int builderId) {
+        BudgetTotals totals = builderTotals.get(builderId);
+        return totals == null ? 0 : totals.planned.sum();
+    }
+
+    public double getUsedBudget(int builderId) {
+        BudgetTotals totals = builderTotals.get(builderId);
+        return totals == null ? 0 : totals.used.sum();
+    }
+
+    public long countByStatus(String status) {
+        LongAdder count = statusCounts.get(status);
+        return count == null ? 0 : count.sum();
+    }
+
+    public Map<String, Long> getStatusCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    private BudgetTotals totalsFor(int builderId) {
+        return builderTotals.computeIfAbsent(builderId, id -> new BudgetTotals());
+    }
+
+    private static final class Seen {
+        private final int builderId;
+        private final String status;
+        private final double planned;
+        private final double used;
+
+        private Seen(ProjectMutation mutation) {
+            this.builderId = mutation.getBuilderId();
+            this.status = String.valueOf(mutation.getStatus());
+            this.planned = mutation.getBudgetPlanned();
+            this.used = mutation.getBudgetUsed();
+        }
+    }
+
+    private static final class BudgetTotals {
+        private final DoubleAdder planned = new DoubleAdder();
+        private final DoubleAdder used = new DoubleAdder();
+
+        private void add(double plannedDelta, double usedDelta) {
+            planned.add(plannedDelta);
+            used.add(usedDelta);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.builder.portfolio.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version stamp per builder and per client portfolio, moved forward on every mutation of one of their projects.
+ * A caller holding the current stamp already has the current listing, which is an O(1) check.
+ *
+ * <p>Stamps come from one clock seeded with the start time, so a stamp handed out by an earlier process never
+ * matches one from this process. Only writes made through this process move the stamps.</p>
+ */
+public final class PortfolioVersionStamps {
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis() * 1_000);
+    private final long epoch = clock.get();
+    private final ConcurrentHashMap<Integer, Long> builders = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Long> clients = new ConcurrentHashMap<>();
+    // Raised when a write's owners are unknown; every stamp is at least this.
+    private volatile long floor = epoch;
+
+    public long builderStamp(int builderId) {
+        return Math.max(builders.getOrDefault(builderId, epoch), floor);
+    }
+
+    public long clientStamp(int clientId) {
+        return Math.max(clients.getOrDefault(clientId, epoch), floor);
+    }
+
+    /**
+     * Call after the write is durable, so a reader that sees the new stamp also sees the write.
+     */
+    public void touch(int builderId, int clientId) {
+        builders.put(builderId, clock.incrementAndGet());
+        clients.put(clientId, clock.incrementAndGet());
+    }
+
+    public void touchClient(int clientId) {
+        clients.put(clientId, clock.incrementAndGet());
+    }
+
+    /**
+     * Invalidates every portfolio at once, for writes whose builder or client is not known.
+     */
+    public void touchAll() {
+        floor = clock.incrementAndGet();
+    }
+}
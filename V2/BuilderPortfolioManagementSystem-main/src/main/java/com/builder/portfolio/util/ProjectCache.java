@@ -3,18 +3,23 @@ package com.builder.portfolio.util;
 import com.builder.portfolio.model.Project;
 import com.builder.portfolio.model.ProjectSummary;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 /**
  * Thread safe cache of lightweight project summaries.
+ * Alongside the map it publishes an immutable portfolio root that reports can read without any locks.
  */
 public final class ProjectCache {
     private static final ProjectCache INSTANCE = new ProjectCache();
 
     private final ConcurrentHashMap<Long, ProjectSummary> summaryCache = new ConcurrentHashMap<>();
+    private final AtomicReference<PersistentLongMap<ProjectSummary>> portfolioRoot =
+            new AtomicReference<>(PersistentLongMap.empty());
 
     private ProjectCache() {
     }
@@ -28,28 +33,92 @@ public final class ProjectCache {
     }
 
     public ProjectSummary getOrCompute(long projectId, Function<Long, ProjectSummary> computer) {
-        return summaryCache.computeIfAbsent(projectId, computer);
+        return summaryCache.computeIfAbsent(projectId, id -> {
+            ProjectSummary summary = computer.apply(id);
+            if (summary != null) {
+                portfolioRoot.updateAndGet(root -> root.plus(id, summary));
+            }
+            return summary;
+        });
     }
 
     public void evict(long projectId) {
-        summaryCache.remove(projectId);
+        // Publishing inside the map's per-key compute keeps the root in the same order as the map for that id.
+        summaryCache.computeIfPresent(projectId, (id, current) -> {
+            portfolioRoot.updateAndGet(root -> root.minus(id));
+            return null;
+        });
     }
 
     public void update(Project project) {
         // Capture a fresh summary whenever the service mutates a project so parallel reports stay fresh.
-        summaryCache.compute((long) project.getId(), (id, current) ->
-                ProjectSummary.builder()
-                        .projectId(id)
-                        .name(project.getName())
-                        .status(project.getStatus())
-                        .plannedBudget(project.getBudgetPlanned())
-                        .usedBudget(project.getBudgetUsed())
-                        .version(project.getVersion())
-                        .capturedAt(Instant.now())
-                        .build());
+        put(toSummary(project));
+    }
+
+    public void put(ProjectSummary summary) {
+        summaryCache.compute(summary.getProjectId(), (id, current) -> {
+            portfolioRoot.updateAndGet(root -> root.plus(id, summary));
+            return summary;
+        });
+    }
+
+    /**
+     * Stores the summary unless the cache already holds a newer version of the project, so a summary that arrives
+     * late (e.g. from the mutation ring behind a fresh read) never rolls the cache back.
+     */
+    public void putIfNewer(ProjectSummary summary) {
+        summaryCache.compute(summary.getProjectId(), (id, current) -> {
+            if (current != null && current.getVersion() > summary.getVersion()) {
+                return current;
+            }
+            portfolioRoot.updateAndGet(root -> root.plus(id, summary));
+            return summary;
+        });
+    }
+
+    /**
+     * Publishes all summaries in one new root, so a snapshot never shows half of a multi-project update.
+     */
+    public void updateAll(Collection<Project> projects) {
+        updateSummaries(projects.stream().map(this::toSummary).toList());
+    }
+
+    /**
+     * Like {@link #updateAll(Collection)} for captured summaries, skipping any older than the cached version.
+     */
+    public void updateSummaries(Collection<ProjectSummary> summaries) {
+        PersistentLongMap<ProjectSummary> staged = PersistentLongMap.empty();
+        for (ProjectSummary summary : summaries) {
+            ProjectSummary stored = summaryCache.merge(summary.getProjectId(), summary,
+                    (current, candidate) -> current.getVersion() > candidate.getVersion() ? current : candidate);
+            if (stored == summary) {
+                staged = staged.plus(summary.getProjectId(), summary);
+            }
+        }
+        PersistentLongMap<ProjectSummary> changes = staged;
+        portfolioRoot.updateAndGet(root -> root.plusAll(changes));
+    }
+
+    /**
+     * @return the current immutable portfolio root; it never changes, however long the caller keeps it.
+     */
+    public PersistentLongMap<ProjectSummary> portfolioSnapshot() {
+        return portfolioRoot.get();
     }
 
     public Map<Long, ProjectSummary> snapshot() {
         return Collections.unmodifiableMap(new ConcurrentHashMap<>(summaryCache));
     }
+
+    private ProjectSummary toSummary(Project project) {
+        return ProjectSummary.builder()
+                .projectId(project.getId())
+                .name(project.getName())
+                .status(project.getStatus())
+                .plannedBudget(project.getBudgetPlanned())
+                .usedBudget(project.getBudgetUsed())
+                .version(project.getVersion())
+                .capturedAt(Instant.now())
+                .build();
+    }
 }
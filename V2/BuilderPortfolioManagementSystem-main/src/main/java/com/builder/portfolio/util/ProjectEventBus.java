@@ -0,0 +1,295 @@
+package com.builder.portfolio.util;
+
+import com.builder.portfolio.model.ProjectEvent;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process {@link Flow.Publisher} of project change events. Each subscriber gets its own bounded buffer and is
+ * drained on the executor at its own pace, so a slow dashboard never holds up the writer that published. When a
+ * buffer is full, its {@link Overflow} policy decides what to drop.
+ */
+public final class ProjectEventBus implements Flow.Publisher<ProjectEvent>, AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProjectEventBus.class);
+
+    /**
+     * What a full subscriber buffer does with the next event.
+     */
+    public enum Overflow {
+        /** Discard the incoming event. */
+        DROP_NEWEST,
+        /** Discard the oldest buffered event to make room. */
+        DROP_OLDEST,
+        /** Keep only the newest event per project; a full buffer discards the oldest project's event. */
+        LATEST_PER_PROJECT
+    }
+
+    private final Executor executor;
+    private final CopyOnWriteArrayList<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed;
+
+    public ProjectEventBus() {
+        this(BackgroundTaskManager.getInstance().getUserOpsPool());
+    }
+
+    public ProjectEventBus(Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ProjectEvent> subscriber) {
+        subscribe(subscriber, Options.builder().build());
+    }
+
+    public Flow.Subscription subscribe(Flow.Subscriber<? super ProjectEvent> subscriber, Options options) {
+        EventSubscription subscription = new EventSubscription(Objects.requireNonNull(subscriber, "subscriber"),
+                Objects.requireNonNull(options, "options"));
+        subscriber.onSubscribe(subscription);
+        subscriptions.add(subscription);
+        if (closed) {
+            subscription.complete();
+        }
+        return subscription;
+    }
+
+    /**
+     * Hands the event to every matching subscriber's buffer; never blocks on a subscriber.
+     */
+    public void publish(ProjectEvent event) {
+        if (closed) {
+            return;
+        }
+        for (EventSubscription subscription : subscriptions) {
+            if (subscription.options.filter.test(event)) {
+                subscription.offer(event);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * @return events dropped or conflated across all subscribers because their buffers were full.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Completes every subscriber once its buffer is drained.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        subscriptions.forEach(EventSubscription::complete);
+    }
+
+    public static final class Options {
+        private final int bufferSize;
+        private final Overflow overflow;
+        private final Predicate<ProjectEvent> filter;
+
+        private Options(Builder builder) {
+            this.bufferSize = builder.bufferSize;
+            this.overflow = builder.overflow;
+            this.filter = builder.filter;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        public static final class Builder {
+            private int bufferSize = 256;
+            private Overflow overflow = Overflow.DROP_OLDEST;
+            private Predicate<ProjectEvent> filter = event -> true;
+
+            private Builder() {
+            }
+
+            public Builder bufferSize(int bufferSize) {
+                if (bufferSize <= 0) {
+                    throw new IllegalArgumentException("bufferSize must be positive");
+                }
+                this.bufferSize = bufferSize;
+                return this;
+            }
+
+            public Builder overflow(Overflow overflow) {
+                this.overflow = Objects.requireNonNull(overflow, "overflow");
+                return this;
+            }
+
+            public Builder builderId(int builderId) {
+                filter = filter.and(event -> event.getBuilderId() == builderId);
+                return this;
+            }
+
+            public Builder clientId(int clientId) {
+                filter = filter.and(event -> event.getClientId() == clientId);
+                return this;
+            }
+
+            public Builder projectId(long projectId) {
+                filter = filter.and(event -> event.getProjectId() == projectId);
+                return this;
+            }
+
+            public Options build() {
+                return new Options(this);
+            }
+        }
+    }
+
+    /**
+     * Buffer plus demand for one subscriber. Signals are delivered by at most one drain task at a time, which keeps
+     * onNext, onError and onComplete serial as {@link Flow} requires.
+     */
+    private final class EventSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ProjectEvent> subscriber;
+        private final Options options;
+        // Keyed by project under LATEST_PER_PROJECT so a newer event replaces the buffered one in place.
+        private final LinkedHashMap<Object, ProjectEvent> buffer = new LinkedHashMap<>();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingSignals = new AtomicInteger();
+        private long nextKey;
+        private volatile boolean cancelled;
+        private volatile boolean completing;
+        private volatile Throwable error;
+        // Only touched by the drain task.
+        private boolean terminated;
+
+        private EventSubscription(Flow.Subscriber<? super ProjectEvent> subscriber, Options options) {
+            this.subscriber = subscriber;
+            this.options = options;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Subscribers must request a positive number of events");
+                subscriptions.remove(this);
+            } else {
+                demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            synchronized (buffer) {
+                buffer.clear();
+            }
+        }
+
+        private void offer(ProjectEvent event) {
+            synchronized (buffer) {
+                if (cancelled) {
+                    return;
+                }
+                Object key = options.overflow == Overflow.LATEST_PER_PROJECT ? event.getProjectId() : nextKey++;
+                if (buffer.containsKey(key)) {
+                    dropped.increment();
+                } else if (buffer.size() >= options.bufferSize) {
+                    dropped.increment();
+                    if (options.overflow == Overflow.DROP_NEWEST) {
+                        return;
+                    }
+                    Iterator<Object> eldest = buffer.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+                buffer.put(key, event);
+            }
+            signal();
+        }
+
+        private void complete() {
+            completing = true;
+            signal();
+        }
+
+        private ProjectEvent poll() {
+            synchronized (buffer) {
+                Iterator<ProjectEvent> events = buffer.values().iterator();
+                if (!events.hasNext()) {
+                    return null;
+                }
+                ProjectEvent next = events.next();
+                events.remove();
+                return next;
+            }
+        }
+
+        private boolean isDrained() {
+            synchronized (buffer) {
+                return buffer.isEmpty();
+            }
+        }
+
+        private void signal() {
+            if (pendingSignals.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    pendingSignals.set(0);
+                    LOGGER.debug("Event delivery executor is shut down; dropping signals for {}", subscriber);
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!terminated && !cancelled) {
+                    deliver();
+                }
+                missed = pendingSignals.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void deliver() {
+            Throwable failure = error;
+            if (failure != null) {
+                terminated = true;
+                subscriber.onError(failure);
+                return;
+            }
+            while (!cancelled && demand.get() > 0) {
+                ProjectEvent next = poll();
+                if (next == null) {
+                    break;
+                }
+                demand.decrementAndGet();
+                try {
+                    subscriber.onNext(next);
+                } catch (RuntimeException ex) {
+                    LOGGER.warn("Subscriber {} failed on {}; cancelling it", subscriber, next, ex);
+                    cancel();
+                    return;
+                }
+            }
+            if (completing && !cancelled && isDrained()) {
+                terminated = true;
+                subscriptions.remove(this);
+                subscriber.onComplete();
+            }
+        }
+    }
+}
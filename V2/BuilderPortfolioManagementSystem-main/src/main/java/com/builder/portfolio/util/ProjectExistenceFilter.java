@@ -0,0 +1,168 @@
+package com.builder.portfolio.util;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Negative lookup layer for project ids: a Bloom filter of known ids plus a short lived cache of confirmed misses.
+ * The filter is seeded from the store once at startup and kept current by {@link #recordCreated}; until it is
+ * seeded the negative cache alone applies. It cannot see ids created by other processes, so the owner rebuilds it
+ * periodically, which also drops deleted ids.
+ */
+public final class ProjectExistenceFilter {
+    private static final int DEFAULT_INITIAL_CAPACITY = 1_024;
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+    private static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(30);
+    private static final int NEGATIVE_CACHE_LIMIT = 10_000;
+
+    private final int initialCapacity;
+    private final double falsePositiveRate;
+    private final long negativeTtlNanos;
+    private final AtomicReference<ScalableBloomFilter> knownIds = new AtomicReference<>();
+    private final AtomicReference<Set<Long>> createdDuringRebuild = new AtomicReference<>();
+    private final ConcurrentHashMap<Long, Long> negativeCache = new ConcurrentHashMap<>();
+
+    private final LongAdder bloomRejections = new LongAdder();
+    private final LongAdder negativeCacheHits = new LongAdder();
+    private final LongAdder bloomPasses = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public ProjectExistenceFilter() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_FALSE_POSITIVE_RATE, DEFAULT_NEGATIVE_TTL);
+    }
+
+    public ProjectExistenceFilter(int initialCapacity, double falsePositiveRate, Duration negativeTtl) {
+        this.initialCapacity = initialCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.negativeTtlNanos = Objects.requireNonNull(negativeTtl, "negativeTtl").toNanos();
+    }
+
+    /**
+     * @return true when the id is known not to exist, so callers can skip locks and connections entirely.
+     */
+    public boolean isDefinitelyAbsent(long projectId) {
+        Long expiresAt = negativeCache.get(projectId);
+        if (expiresAt != null) {
+            if (expiresAt - System.nanoTime() > 0) {
+                negativeCacheHits.increment();
+                return true;
+            }
+            negativeCache.remove(projectId, expiresAt);
+        }
+        ScalableBloomFilter filter = knownIds.get();
+        if (filter == null) {
+            return false;
+        }
+        if (!filter.mightContain(projectId)) {
+            bloomRejections.increment();
+            return true;
+        }
+        bloomPasses.increment();
+        return false;
+    }
+
+    /**
+     * Called once a lookup that passed the filter came back empty from the DAO.
+     */
+    public void recordMissing(long projectId) {
+        ScalableBloomFilter filter = knownIds.get();
+        if (filter != null && filter.mightContain(projectId)) {
+            falsePositives.increment();
+        }
+        cacheMiss(projectId);
+    }
+
+    public void recordCreated(long projectId) {
+        negativeCache.remove(projectId);
+        Set<Long> pending = createdDuringRebuild.get();
+        if (pending != null) {
+            pending.add(projectId);
+        }
+        ScalableBloomFilter filter = knownIds.get();
+        if (filter != null) {
+            filter.add(projectId);
+        }
+    }
+
+    public void recordDeleted(long projectId) {
+        // Bloom filters cannot forget; the negative cache covers the id until the next rebuild drops it.
+        cacheMiss(projectId);
+    }
+
+    /**
+     * Starts tracking creations so ids added while the id listing is in flight survive the swap.
+     *
+     * @return false if another rebuild is already running.
+     */
+    public boolean beginRebuild() {
+        return createdDuringRebuild.compareAndSet(null, ConcurrentHashMap.newKeySet());
+    }
+
+    public void completeRebuild(Collection<Long> projectIds) {
+        Set<Long> pending = createdDuringRebuild.get();
+        ScalableBloomFilter rebuilt = new ScalableBloomFilter(
+                Math.max(initialCapacity, projectIds.size() * 2), falsePositiveRate);
+        projectIds.forEach(rebuilt::add);
+        if (pending == null) {
+            knownIds.set(rebuilt);
+            return;
+        }
+        // Fold creations in before publishing so none is reported absent. recordCreated adds to the pending set
+        // before it reads knownIds, so a second pass after the swap catches any that still saw the old filter.
+        pending.forEach(rebuilt::add);
+        knownIds.set(rebuilt);
+        pending.forEach(rebuilt::add);
+        createdDuringRebuild.set(null);
+    }
+
+    /**
+     * Ends a rebuild whose listing failed, leaving the current filter in place so a later listing can try again.
+     */
+    public void abortRebuild() {
+        createdDuringRebuild.set(null);
+    }
+
+    public boolean isPrimed() {
+        return knownIds.get() != null;
+    }
+
+    public long getBloomRejections() {
+        return bloomRejections.sum();
+    }
+
+    public long getNegativeCacheHits() {
+        return negativeCacheHits.sum();
+    }
+
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    /**
+     * @return share of ids that passed the Bloom filter but were then not found in the store.
+     */
+    public double getObservedFalsePositiveRate() {
+        long passes = bloomPasses.sum();
+        return passes == 0 ? 0.0 : (double) falsePositives.sum() / passes;
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        ScalableBloomFilter filter = knownIds.get();
+        return filter == null ? 0.0 : filter.expectedFalsePositiveRate();
+    }
+
+    private void cacheMiss(long projectId) {
+        long now = System.nanoTime();
+        if (negativeCache.size() >= NEGATIVE_CACHE_LIMIT) {
+            negativeCache.values().removeIf(expiresAt -> expiresAt - now <= 0);
+        }
+        if (negativeCache.size() < NEGATIVE_CACHE_LIMIT) {
+            negativeCache.put(projectId, now + negativeTtlNanos);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.builder.portfolio.util;
+
+import com.builder.portfolio.model.Project;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of which builder and client own each project.
+ * Entries carry the project version they were captured at so stale reads never overwrite newer mutations.
+ */
+public final class ProjectOwnershipIndex {
+    private static final long DELETED_VERSION = Long.MAX_VALUE;
+
+    private final ConcurrentHashMap<Long, Ownership> byProject = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Set<Long>> byBuilder = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Set<Long>> byClient = new ConcurrentHashMap<>();
+    private final Set<Integer> completeBuilders = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> completeClients = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Records ownership observed on a read; ignored when the index already holds a newer version.
+     */
+    public void record(Project project) {
+        apply(project, false);
+    }
+
+    /**
+     * Records ownership after a service mutation, replacing any tombstone left by an earlier delete.
+     */
+    public void put(Project project) {
+        apply(project, true);
+    }
+
+    public void remove(long projectId) {
+        // Keep a tombstone so an in-flight listing cannot resurrect a project deleted under it.
+        byProject.compute(projectId, (id, current) -> {
+            if (current != null && !current.isDeleted()) {
+                unlink(id, current);
+            }
+            return new Ownership(0, 0, DELETED_VERSION);
+        });
+    }
+
+    /**
+     * @return the indexed ownership, or {@code null} when the project has not been seen or was deleted.
+     */
+    public Ownership lookup(long projectId) {
+        Ownership ownership = byProject.get(projectId);
+        return ownership == null || ownership.isDeleted() ? null : ownership;
+    }
+
+    /**
+     * @return true when the index can answer for this project without a DAO round trip.
+     */
+    public boolean isKnown(long projectId) {
+        return byProject.containsKey(projectId);
+    }
+
+    public void recordBuilderListing(int builderId, Collection<Project> projects) {
+        projects.forEach(this::record);
+        completeBuilders.add(builderId);
+    }
+
+    public void recordClientListing(int clientId, Collection<Project> projects) {
+        projects.forEach(this::record);
+        completeClients.add(clientId);
+    }
+
+    public void recordFullListing(Collection<Project> projects) {
+        projects.forEach(project -> {
+            record(project);
+            completeBuilders.add(project.getBuilderId());
+            completeClients.add(project.getClientId());
+        });
+    }
+
+    /**
+     * @return the builder's project ids, or {@code null} when the builder has never been fully listed.
+     */
+    public Set<Long> projectIdsForBuilder(int builderId) {
+        return completeBuilders.contains(builderId) ? view(byBuilder, builderId) : null;
+    }
+
+    /**
+     * @return the client's project ids, or {@code null} when the client has never been fully listed.
+     */
+    public Set<Long> projectIdsForClient(int clientId) {
+        return completeClients.contains(clientId) ? view(byClient, clientId) : null;
+    }
+
+    public void clear() {
+        byProject.clear();
+        byBuilder.clear();
+        byClient.clear();
+        completeBuilders.clear();
+        completeClients.clear();
+    }
+
+    private void apply(Project project, boolean authoritative) {
+        long projectId = project.getId();
+        byProject.compute(projectId, (id, current) -> {
+            if (current != null && !authoritative && current.getVersion() > project.getVersion()) {
+                return current;
+            }
+            if (current != null && !current.isDeleted()) {
+                if (current.getBuilderId() == project.getBuilderId()
+                        && current.getClientId() == project.getClientId()) {
+                    return new Ownership(current.getBuilderId(), current.getClientId(), project.getVersion());
+                }
+                unlink(id, current);
+            }
+            byBuilder.computeIfAbsent(project.getBuilderId(), key -> ConcurrentHashMap.newKeySet()).add(id);
+            byClient.computeIfAbsent(project.getClientId(), key -> ConcurrentHashMap.newKeySet()).add(id);
+            return new Ownership(project.getBuilderId(), project.getClientId(), project.getVersion());
+        });
+    }
+
+    private void unlink(long projectId, Ownership ownership) {
+        Set<Long> builderProjects = byBuilder.get(ownership.getBuilderId());
+        if (builderProjects != null) {
+            builderProjects.remove(projectId);
+        }
+        Set<Long> clientProjects = byClient.get(ownership.getClientId());
+        if (clientProjects != null) {
+            clientProjects.remove(projectId);
+        }
+    }
+
+    private Set<Long> view(ConcurrentHashMap<Integer, Set<Long>> index, int key) {
+        Set<Long> ids = index.get(key);
+        return ids == null ? Collections.emptySet() : Collections.unmodifiableSet(ids);
+    }
+
+    /**
+     * Immutable ownership entry for a single project.
+     */
+    public static final class Ownership {
+        private final int builderId;
+        private final int clientId;
+        private final long version;
+
+        private Ownership(int builderId, int clientId, long version) {
+            this.builderId = builderId;
+            this.clientId = clientId;
+            this.version = version;
+        }
+
+        public int getBuilderId() {
+            return builderId;
+        }
+
+        public int getClientId() {
+            return clientId;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        private boolean isDeleted() {
+            return version == DELETED_VERSION;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.builder.portfolio.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends writes to the primary and spreads reads over replicas.
+ * After a session (an {@link AuditContext} actor, on whichever thread) writes, its reads stay on the primary for the
+ * read-your-writes window. Reads of rows this process wrote more recently than replicas are allowed to lag also go to
+ * the primary, and replicas lagging beyond {@code maxReplicaLag} are skipped until they catch up.
+ */
+public final class RoutingConnectionProvider implements ConnectionProvider {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoutingConnectionProvider.class);
+    // The replay timestamp is that of the last replayed commit, so on an idle primary now() minus it keeps growing
+    // although the replica is current; a replica that has replayed all the WAL it received counts as lag-free.
+    private static final String LAG_SQL = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+            + "THEN 0 ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final String primaryUrl;
+    private final ConnectionFactory connectionFactory;
+    private final List<Replica> replicas;
+    private final Balancing balancing;
+    private final long readYourWritesNanos;
+    private final long recentRowNanos;
+    private final Duration maxReplicaLag;
+    private final LagProbe lagProbe;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    // Keyed by actor rather than thread: a session's writes may run on partition or group-commit threads.
+    private final ConcurrentHashMap<String, Long> lastWriteBySession = new ConcurrentHashMap<>();
+
+    private RoutingConnectionProvider(Builder builder) {
+        this.primaryUrl = Objects.requireNonNull(builder.primaryUrl, "primaryUrl");
+        this.connectionFactory = builder.connectionFactory;
+        this.replicas = builder.replicaUrls.stream().map(Replica::new).toList();
+        this.balancing = builder.balancing;
+        this.readYourWritesNanos = builder.readYourWritesWindow.toNanos();
+        this.maxReplicaLag = builder.maxReplicaLag;
+        // A replica still in rotation may be up to maxReplicaLag behind, so rows written within that span (or the
+        // read-your-writes window, if longer) are read from the primary.
+        this.recentRowNanos = Math.max(readYourWritesNanos, maxReplicaLag.toNanos());
+        this.lagProbe = builder.lagProbe;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connectionFactory.open(primaryUrl);
+    }
+
+    @Override
+    public void recordWrite() {
+        lastWriteBySession.put(AuditContext.currentActor(), System.nanoTime());
+    }
+
+    @Override
+    public Connection getReadConnection() throws SQLException {
+        return getReadConnection(NO_WRITE);
+    }
+
+    @Override
+    public Connection getReadConnection(long lastWriteNanos) throws SQLException {
+        long now = System.nanoTime();
+        if ((lastWriteNanos != NO_WRITE && now - lastWriteNanos < recentRowNanos) || sessionWroteRecently(now)) {
+            return connectionFactory.open(primaryUrl);
+        }
+        Replica replica = pickReplica();
+        if (replica == null) {
+            return connectionFactory.open(primaryUrl);
+        }
+        try {
+            return replica.track(connectionFactory.open(replica.url));
+        } catch (SQLException ex) {
+            replica.healthy = false;
+            LOGGER.warn("Replica {} unreachable, reading from primary until the next lag check", replica.url, ex);
+            return connectionFactory.open(primaryUrl);
+        }
+    }
+
+    /**
+     * Re-measures every replica's replay lag and marks replicas behind {@code maxReplicaLag} (or unreachable)
+     * as unavailable for reads.
+     */
+    public void refreshReplicaLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = connectionFactory.open(replica.url)) {
+                Duration lag = lagProbe.measure(connection);
+                replica.lagMillis = lag.toMillis();
+                boolean healthy = lag.compareTo(maxReplicaLag) <= 0;
+                if (healthy != replica.healthy) {
+                    LOGGER.info("Replica {} {} (lag {} ms)", replica.url, healthy ? "back in rotation" : "lagging",
+                            replica.lagMillis);
+                }
+                replica.healthy = healthy;
+            } catch (SQLException ex) {
+                replica.healthy = false;
+                LOGGER.warn("Lag check failed for replica {}", replica.url, ex);
+            }
+        }
+    }
+
+    /**
+     * Schedules {@link #refreshReplicaLag()} on the shared scheduled pool; a no-op without replicas.
+     */
+    public RoutingConnectionProvider startLagMonitor(Duration interval) {
+        if (!replicas.isEmpty()) {
+            BackgroundTaskManager.getInstance().scheduleWithFixedDelay(this::refreshReplicaLag, Duration.ZERO, interval);
+        }
+        return this;
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    private boolean sessionWroteRecently(long now) {
+        String session = AuditContext.currentActor();
+        Long lastWrite = lastWriteBySession.get(session);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (now - lastWrite < readYourWritesNanos) {
+            return true;
+        }
+        // Expired; drop it unless the session wrote again meanwhile, so the map only holds recent writers.
+        lastWriteBySession.remove(session, lastWrite);
+        return false;
+    }
+
+    private Replica pickReplica() {
+        List<Replica> candidates = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                candidates.add(replica);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        if (balancing == Balancing.LEAST_LOADED) {
+            return candidates.stream().min(Comparator.comparingInt(replica -> replica.active.get())).orElseThrow();
+        }
+        return candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+    }
+
+    private static Duration queryReplayLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+            resultSet.next();
+            return Duration.ofMillis(Math.round(resultSet.getDouble(1) * 1000));
+        }
+    }
+
+    public enum Balancing {
+        ROUND_ROBIN,
+        LEAST_LOADED
+    }
+
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open(String url) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface LagProbe {
+        Duration measure(Connection replicaConnection) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final String url;
+        private final AtomicInteger active = new AtomicInteger();
+        private volatile boolean healthy = true;
+        private volatile long lagMillis;
+
+        private Replica(String url) {
+            this.url = url;
+        }
+
+        /**
+         * Wraps the connection so closing it releases this replica's load count exactly once.
+         */
+        private Connection track(Connection connection) {
+            active.incrementAndGet();
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                            active.decrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                    });
+        }
+    }
+
+    public static final class Builder {
+        private String primaryUrl;
+        private ConnectionFactory connectionFactory;
+        private final List<String> replicaUrls = new ArrayList<>();
+        private Balancing balancing = Balancing.ROUND_ROBIN;
+        private Duration readYourWritesWindow = Duration.ofSeconds(2);
+        private Duration maxReplicaLag = Duration.ofSeconds(5);
+        private LagProbe lagProbe = RoutingConnectionProvider::queryReplayLag;
+
+        private Builder() {
+        }
+
+        public Builder primary(String url, ConnectionFactory connectionFactory) {
+            this.primaryUrl = url;
+            this.connectionFactory = connectionFactory;
+            return this;
+        }
+
+        public Builder primary(String url, String username, String password) {
+            return primary(url, target -> DriverManager.getConnection(target, username, password));
+        }
+
+        public Builder replica(String url) {
+            this.replicaUrls.add(Objects.requireNonNull(url, "url"));
+            return this;
+        }
+
+        public Builder balancing(Balancing balancing) {
+            this.balancing = Objects.requireNonNull(balancing, "balancing");
+            return this;
+        }
+
+        public Builder readYourWritesWindow(Duration readYourWritesWindow) {
+            this.readYourWritesWindow = Objects.requireNonNull(readYourWritesWindow, "readYourWritesWindow");
+            return this;
+        }
+
+        public Builder maxReplicaLag(Duration maxReplicaLag) {
+            this.maxReplicaLag = Objects.requireNonNull(maxReplicaLag, "maxReplicaLag");
+            return this;
+        }
+
+        public Builder lagProbe(LagProbe lagProbe) {
+            this.lagProbe = Objects.requireNonNull(lagProbe, "lagProbe");
+            return this;
+        }
+
+        public RoutingConnectionProvider build() {
+            return new RoutingConnectionProvider(this);
+        }
+    }
+}
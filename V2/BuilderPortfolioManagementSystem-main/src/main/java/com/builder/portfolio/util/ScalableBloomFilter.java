@@ -0,0 +1,157 @@
+package com.builder.portfolio.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread safe Bloom filter over long keys that grows by appending larger, tighter stages
+ * once the current stage reaches its capacity, keeping the compound false positive rate bounded.
+ */
+public final class ScalableBloomFilter {
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final double targetFalsePositiveRate;
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+    public ScalableBloomFilter(int initialCapacity, double targetFalsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be positive");
+        }
+        if (targetFalsePositiveRate <= 0 || targetFalsePositiveRate >= 1) {
+            throw new IllegalArgumentException("targetFalsePositiveRate must be between 0 and 1");
+        }
+        this.targetFalsePositiveRate = targetFalsePositiveRate;
+        // The first stage takes half the error budget; the tightened stages after it sum to the other half.
+        stages.add(new Stage(initialCapacity, targetFalsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    public void add(long key) {
+        long hash = mix(key);
+        for (Stage stage : stages) {
+            if (stage.contains(hash)) {
+                return;
+            }
+        }
+        Stage current = stages.get(stages.size() - 1);
+        if (current.isFull()) {
+            current = grow(current);
+        }
+        current.add(hash);
+    }
+
+    public boolean mightContain(long key) {
+        long hash = mix(key);
+        for (Stage stage : stages) {
+            if (stage.contains(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the theoretical false positive rate for the keys added so far.
+     */
+    public double expectedFalsePositiveRate() {
+        double missProbability = 1.0;
+        for (Stage stage : stages) {
+            missProbability *= 1.0 - stage.expectedFalsePositiveRate();
+        }
+        return 1.0 - missProbability;
+    }
+
+    public int stageCount() {
+        return stages.size();
+    }
+
+    public long approximateSize() {
+        long size = 0;
+        for (Stage stage : stages) {
+            size += stage.count.get();
+        }
+        return size;
+    }
+
+    public double getTargetFalsePositiveRate() {
+        return targetFalsePositiveRate;
+    }
+
+    private synchronized Stage grow(Stage full) {
+        Stage last = stages.get(stages.size() - 1);
+        if (last != full) {
+            return last;
+        }
+        Stage next = new Stage(full.capacity * GROWTH_FACTOR, full.falsePositiveRate * TIGHTENING_RATIO);
+        stages.add(next);
+        return next;
+    }
+
+    private static long mix(long key) {
+        // SplitMix64 finalizer: sequential project ids need thorough bit mixing before double hashing.
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Stage {
+        private final int capacity;
+        private final double falsePositiveRate;
+        private final int hashCount;
+        private final long bitCount;
+        private final AtomicLongArray words;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Stage(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            double ln2 = Math.log(2);
+            long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.bitCount = Math.max(64, bits);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+            this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        }
+
+        private boolean isFull() {
+            return count.get() >= capacity;
+        }
+
+        private void add(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word;
+                do {
+                    word = words.get(index);
+                    if ((word & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(index, word, word | mask));
+            }
+            count.incrementAndGet();
+        }
+
+        private boolean contains(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private double expectedFalsePositiveRate() {
+            double fillRatio = 1.0 - Math.exp(-(double) hashCount * count.get() / bitCount);
+            return Math.pow(fillRatio, hashCount);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.builder.portfolio.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectSummary;
+import com.builder.portfolio.service.ProjectServiceImpl;
+import com.builder.portfolio.support.InMemoryDocumentDAO;
+import com.builder.portfolio.support.InMemoryProjectDAO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BudgetDeltaCombinerTest {
+    private static final long PROJECT_ID = 21L;
+    private static final int CREWS = 16;
+    private static final int POSTS_PER_CREW = 25;
+
+    private final InMemoryProjectDAO projectDAO = new InMemoryProjectDAO();
+    private ProjectServiceImpl projectService;
+
+    @BeforeEach
+    void setUp() {
+        projectService = new ProjectServiceImpl(projectDAO, new InMemoryDocumentDAO());
+        Project project = new Project();
+        project.setId((int) PROJECT_ID);
+        project.setName("Civic Library");
+        project.setStatus("IN_PROGRESS");
+        project.setBuilderId(5);
+        project.setClientId(6);
+        project.setBudgetPlanned(750_000);
+        project.setVersion(0);
+        projectDAO.addProject(project);
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectService.close();
+    }
+
+    @Test
+    void concurrentDeltasCollapseIntoFewVersionedWrites() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CREWS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<CompletableFuture<ProjectSummary>> results = new ArrayList<>();
+        List<CompletableFuture<Void>> submitters = new ArrayList<>();
+
+        for (int crew = 0; crew < CREWS; crew++) {
+            submitters.add(CompletableFuture.runAsync(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int post = 0; post < POSTS_PER_CREW; post++) {
+                    CompletableFuture<ProjectSummary> result = projectService.submitBudgetDelta(PROJECT_ID, 12.34);
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                }
+            }, executor));
+        }
+
+        startLatch.countDown();
+        CompletableFuture.allOf(submitters.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        int deltas = CREWS * POSTS_PER_CREW;
+        Project result = projectService.getProject((int) PROJECT_ID);
+        assertEquals(deltas * 12.34, result.getBudgetUsed(), 0.001);
+        assertTrue(result.getVersion() < deltas / 4,
+                "expected heavy combining but saw " + result.getVersion() + " writes for " + deltas + " deltas");
+        assertEquals(result.getVersion(), projectService.getBudgetCombiner().getFlushCount());
+        long maxVersionSeen = results.stream().mapToLong(future -> future.join().getVersion()).max().orElse(0);
+        assertEquals(result.getVersion(), maxVersionSeen);
+    }
+}
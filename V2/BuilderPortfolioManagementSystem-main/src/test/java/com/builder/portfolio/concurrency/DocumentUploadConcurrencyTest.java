@@ -46,6 +46,7 @@ class DocumentUploadConcurrencyTest {
 
     @AfterEach
     void tearDown() {
+        projectService.close();
         projectDAO.deleteProject((int) PROJECT_ID, BUILDER_ID);
     }
 
@@ -0,0 +1,121 @@
+package com.builder.portfolio.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.service.ProjectService;
+import com.builder.portfolio.service.ProjectServiceImpl;
+import com.builder.portfolio.support.InMemoryDocumentDAO;
+import com.builder.portfolio.support.InMemoryProjectDAO;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class MultiProjectTransactionTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiProjectTransactionTest.class);
+    private static final long FIRST_PROJECT_ID = 301L;
+    private static final int PROJECT_COUNT = 6;
+    private static final double INITIAL_BUDGET = 10_000;
+    private static final int PARTICIPANTS = 8;
+    private static final int TRANSFERS_PER_PARTICIPANT = 200;
+
+    private final InMemoryProjectDAO projectDAO = new InMemoryProjectDAO();
+    private ProjectService projectService;
+
+    @BeforeEach
+    void setUp() {
+        projectService = new ProjectServiceImpl(projectDAO, new InMemoryDocumentDAO());
+        for (int i = 0; i < PROJECT_COUNT; i++) {
+            Project project = new Project();
+            project.setId((int) (FIRST_PROJECT_ID + i));
+            project.setName("Terrace Block " + i);
+            project.setStatus("PLANNED");
+            project.setBuilderId(31);
+            project.setClientId(32);
+            project.setBudgetPlanned(INITIAL_BUDGET);
+            project.setVersion(0);
+            projectDAO.addProject(project);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectService.close();
+    }
+
+    @Test
+    void crossingTransfersNeitherDeadlockNorLoseBudget() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(PARTICIPANTS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(PARTICIPANTS);
+        AtomicInteger completed = new AtomicInteger();
+
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int transfer = 0; transfer < TRANSFERS_PER_PARTICIPANT; transfer++) {
+                        // Random pairs in both directions, so naive lock ordering would deadlock quickly.
+                        long from = FIRST_PROJECT_ID + random.nextInt(PROJECT_COUNT);
+                        long to = FIRST_PROJECT_ID + (from - FIRST_PROJECT_ID + 1 + random.nextInt(PROJECT_COUNT - 1))
+                                % PROJECT_COUNT;
+                        projectService.transferBudget(from, to, 5);
+                        completed.incrementAndGet();
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        startLatch.countDown();
+        assertTrue(doneLatch.await(30, TimeUnit.SECONDS), "all transfers finished without deadlock");
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS), "executor shutdown");
+        LOGGER.info("{} transfers across {} projects in {} ms ({} transfers/s)", completed.get(), PROJECT_COUNT,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), completed.get() * 1_000_000_000L / elapsedNanos);
+
+        assertEquals(PARTICIPANTS * TRANSFERS_PER_PARTICIPANT, completed.get());
+        double total = 0;
+        long versions = 0;
+        for (int i = 0; i < PROJECT_COUNT; i++) {
+            Project project = projectService.getProject((int) (FIRST_PROJECT_ID + i));
+            total += project.getBudgetPlanned();
+            versions += project.getVersion();
+        }
+        assertEquals(PROJECT_COUNT * INITIAL_BUDGET, total, 0.001);
+        assertEquals(2L * PARTICIPANTS * TRANSFERS_PER_PARTICIPANT, versions);
+    }
+
+    @Test
+    void rejectedTransferLeavesEveryProjectUntouched() {
+        assertThrows(IllegalArgumentException.class,
+                () -> projectService.transferBudget(FIRST_PROJECT_ID, FIRST_PROJECT_ID + 1, INITIAL_BUDGET * 2));
+        List<Project> updated = projectService.updateProjectStatuses(
+                List.of(FIRST_PROJECT_ID + 2, FIRST_PROJECT_ID, FIRST_PROJECT_ID + 1), "IN_PROGRESS");
+
+        assertEquals(3, updated.size());
+        for (int i = 0; i < 3; i++) {
+            Project project = projectService.getProject((int) (FIRST_PROJECT_ID + i));
+            assertEquals(INITIAL_BUDGET, project.getBudgetPlanned(), 0.001);
+            assertEquals("IN_PROGRESS", project.getStatus());
+            assertEquals(1, project.getVersion());
+        }
+    }
+}
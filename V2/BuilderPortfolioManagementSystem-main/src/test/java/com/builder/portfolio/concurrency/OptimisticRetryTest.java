@@ -0,0 +1,84 @@
+package com.builder.portfolio.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.service.OptimisticRetryExecutor;
+import com.builder.portfolio.service.ProjectServiceImpl;
+import com.builder.portfolio.support.InMemoryDocumentDAO;
+import com.builder.portfolio.support.InMemoryProjectDAO;
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OptimisticRetryTest {
+    private static final long PROJECT_ID = 31L;
+
+    private final AtomicInteger conflictsToInject = new AtomicInteger();
+    private final InMemoryProjectDAO projectDAO = new InMemoryProjectDAO() {
+        @Override
+        public boolean conditionalUpdateProject(Project project, long expectedVersion) {
+            if (conflictsToInject.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                // Simulate a writer that slipped in between the reload and the guarded write.
+                Project interloper = findById(project.getId());
+                interloper.setBudgetUsed(interloper.getBudgetUsed() + 1);
+                super.conditionalUpdateProject(interloper, expectedVersion);
+                return false;
+            }
+            return super.conditionalUpdateProject(project, expectedVersion);
+        }
+    };
+    private ProjectServiceImpl projectService;
+
+    @BeforeEach
+    void setUp() {
+        projectService = new ProjectServiceImpl(projectDAO, new InMemoryDocumentDAO());
+        Project project = new Project();
+        project.setId((int) PROJECT_ID);
+        project.setName("Riverside Clinic");
+        project.setStatus("PLANNED");
+        project.setBuilderId(3);
+        project.setClientId(4);
+        project.setBudgetPlanned(40_000);
+        project.setVersion(0);
+        projectDAO.addProject(project);
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectService.close();
+    }
+
+    @Test
+    void reappliesMutationOnTopOfTheWinningWrite() {
+        conflictsToInject.set(2);
+
+        Project updated = projectService.updateProjectWithRetry(PROJECT_ID, project -> {
+            project.setBudgetUsed(project.getBudgetUsed() + 100);
+            project.setStatus("IN_PROGRESS");
+            return project;
+        });
+
+        assertEquals(102, updated.getBudgetUsed(), 0.001, "both interloper writes and ours survive");
+        assertEquals("IN_PROGRESS", updated.getStatus());
+        assertEquals(3, updated.getVersion());
+        OptimisticRetryExecutor retries = projectService.getRetryExecutor();
+        assertEquals(2, retries.getConflicts());
+        assertEquals(2.0, retries.getRetriesPerSuccess(), 0.001);
+        assertEquals(2L, retries.getConflictHotspots(1).get(PROJECT_ID));
+    }
+
+    @Test
+    void givesUpOnceAttemptsAreExhausted() {
+        conflictsToInject.set(Integer.MAX_VALUE);
+
+        assertThrows(ConcurrentModificationException.class,
+                () -> projectService.updateProjectWithRetry(PROJECT_ID, project -> project));
+        assertEquals(1, projectService.getRetryExecutor().getExhausted());
+        assertEquals(OptimisticRetryExecutor.RetryPolicy.defaults().getMaxAttempts(),
+                projectService.getRetryExecutor().getAttempts());
+    }
+}
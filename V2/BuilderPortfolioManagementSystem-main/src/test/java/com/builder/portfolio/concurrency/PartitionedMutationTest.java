@@ -0,0 +1,134 @@
+package com.builder.portfolio.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.service.ProjectService;
+import com.builder.portfolio.service.ProjectServiceImpl;
+import com.builder.portfolio.support.InMemoryDocumentDAO;
+import com.builder.portfolio.support.InMemoryProjectDAO;
+import com.builder.portfolio.util.PartitionedMutationExecutor;
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PartitionedMutationTest {
+    private static final long PROJECT_ID = 7L;
+    private static final int PARTICIPANTS = 8;
+    private static final int UPDATES_PER_PARTICIPANT = 25;
+
+    private final InMemoryProjectDAO projectDAO = new InMemoryProjectDAO();
+    private PartitionedMutationExecutor mutationExecutor;
+    private ProjectService projectService;
+
+    @BeforeEach
+    void setUp() {
+        mutationExecutor = new PartitionedMutationExecutor(4);
+        projectService = new ProjectServiceImpl(projectDAO, new InMemoryDocumentDAO(), mutationExecutor);
+        Project project = new Project();
+        project.setId((int) PROJECT_ID);
+        project.setName("Dockside Lofts");
+        project.setStatus("PLANNED");
+        project.setBuilderId(11);
+        project.setClientId(12);
+        project.setBudgetPlanned(90_000);
+        project.setVersion(0);
+        projectDAO.addProject(project);
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectService.close();
+        mutationExecutor.close();
+    }
+
+    @Test
+    void hotProjectUpdatesApplyInOrderWithoutLostWrites() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(PARTICIPANTS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(PARTICIPANTS);
+
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    for (int update = 0; update < UPDATES_PER_PARTICIPANT; update++) {
+                        boolean applied = false;
+                        while (!applied) {
+                            Project current = projectService.getProject((int) PROJECT_ID);
+                            try {
+                                projectService.updateProjectBudget(PROJECT_ID, 10, current.getVersion());
+                                applied = true;
+                            } catch (ConcurrentModificationException ignored) {
+                                // stale read; the partition rejected it without blocking anyone else
+                            }
+                        }
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        startLatch.countDown();
+        assertTrue(doneLatch.await(20, TimeUnit.SECONDS), "all partition writers finished");
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS), "executor shutdown");
+
+        Project result = projectService.getProject((int) PROJECT_ID);
+        assertEquals(PARTICIPANTS * UPDATES_PER_PARTICIPANT * 10, result.getBudgetUsed(), 0.001);
+        assertEquals(PARTICIPANTS * UPDATES_PER_PARTICIPANT, result.getVersion());
+        int partition = mutationExecutor.partitionFor(PROJECT_ID);
+        assertTrue(mutationExecutor.getSubmittedCount(partition) >= PARTICIPANTS * UPDATES_PER_PARTICIPANT);
+    }
+
+    @Test
+    void failuresSurfaceWithTheirOriginalType() {
+        assertThrows(ConcurrentModificationException.class,
+                () -> projectService.updateProjectStatus(PROJECT_ID, "IN_PROGRESS", 99));
+        assertThrows(IllegalArgumentException.class,
+                () -> projectService.updateProjectStatus(404L, "IN_PROGRESS", 0));
+        assertNotEquals("IN_PROGRESS", projectService.getProject((int) PROJECT_ID).getStatus());
+    }
+
+    @Test
+    void nestedMutationsOfOtherProjectsRunOnTheirOwnPartition() {
+        long otherId = PROJECT_ID + 1;
+        while (mutationExecutor.partitionFor(otherId) == mutationExecutor.partitionFor(PROJECT_ID)) {
+            otherId++;
+        }
+        Project other = new Project();
+        other.setId((int) otherId);
+        other.setName("Harbour View");
+        other.setStatus("PLANNED");
+        other.setBuilderId(11);
+        other.setClientId(12);
+        projectDAO.addProject(other);
+        long otherProjectId = otherId;
+        int otherPartition = mutationExecutor.partitionFor(otherProjectId);
+        long submittedBefore = mutationExecutor.getSubmittedCount(otherPartition);
+
+        boolean[] inline = mutationExecutor.submit(PROJECT_ID, () -> {
+            projectService.updateProjectBudget(otherProjectId, 10, 0);
+            return new boolean[] {mutationExecutor.isOwningPartitionThread(PROJECT_ID),
+                    mutationExecutor.isOwningPartitionThread(otherProjectId)};
+        }).join();
+
+        assertTrue(inline[0]);
+        assertFalse(inline[1]);
+        assertFalse(mutationExecutor.isOwningPartitionThread(PROJECT_ID));
+        assertEquals(submittedBefore + 1, mutationExecutor.getSubmittedCount(otherPartition));
+        assertEquals(10, projectService.getProject((int) otherProjectId).getBudgetUsed(), 0.001);
+    }
+}
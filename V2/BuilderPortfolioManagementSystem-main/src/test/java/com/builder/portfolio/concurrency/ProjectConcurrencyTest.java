@@ -60,6 +60,7 @@ class ProjectConcurrencyTest {
 
     @AfterEach
     void tearDown() {
+        projectService.close();
         projectDAO.deleteProject((int) PROJECT_ID, 42);
         projectDAO.deleteProject((int) (PROJECT_ID + 1), 42);
     }
@@ -0,0 +1,85 @@
+package com.builder.portfolio.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.model.AuditRecord;
+import com.builder.portfolio.model.ProjectEvent;
+import com.builder.portfolio.model.ProjectField;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileAuditDAOTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopeningCutsATornTailAndKeepsCompleteBatches() throws Exception {
+        Path file = directory.resolve("audit.log");
+        Instant start = Instant.parse("2024-05-01T10:00:00Z");
+        try (FileAuditDAO auditDAO = new FileAuditDAO(file)) {
+            auditDAO.append(List.of(record(1, start), record(2, start.plusSeconds(10))));
+            auditDAO.append(List.of(record(1, start.plusSeconds(20))));
+        }
+        // A crash mid-append leaves a partial frame behind.
+        Files.write(file, new byte[] {0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        try (FileAuditDAO reopened = new FileAuditDAO(file)) {
+            List<AuditRecord> projectOne = reopened.findByProject(1);
+            assertEquals(2, projectOne.size());
+            assertEquals(Set.of(ProjectField.BUDGET_USED), projectOne.get(1).getChangedFields());
+            assertEquals(start.plusSeconds(20), projectOne.get(1).getOccurredAt());
+            assertEquals(2, reopened.findBetween(start, start.plusSeconds(20)).size());
+
+            reopened.append(List.of(record(2, start.plusSeconds(30))));
+            assertEquals(2, reopened.findByProject(2).size());
+            assertEquals(reopened.getSizeBytes(), Files.size(file));
+        }
+    }
+
+    @Test
+    void perProjectQueriesFollowTheIndexAcrossReopens() {
+        Path file = directory.resolve("indexed.log");
+        Instant start = Instant.parse("2024-05-01T10:00:00Z");
+        try (FileAuditDAO auditDAO = new FileAuditDAO(file)) {
+            for (int batch = 0; batch < 20; batch++) {
+                auditDAO.append(List.of(record(batch % 4, start.plusSeconds(batch)),
+                        record(100 + batch, start.plusSeconds(batch))));
+            }
+        }
+
+        try (FileAuditDAO reopened = new FileAuditDAO(file)) {
+            List<AuditRecord> projectThree = reopened.findByProject(3);
+            assertEquals(5, projectThree.size());
+            for (int i = 0; i < projectThree.size(); i++) {
+                assertEquals(3, projectThree.get(i).getProjectId());
+                assertEquals(start.plusSeconds(3 + 4L * i), projectThree.get(i).getOccurredAt());
+            }
+            assertEquals(1, reopened.findByProject(119).size());
+            assertTrue(reopened.findByProject(999).isEmpty());
+
+            reopened.append(List.of(record(3, start.plusSeconds(60))));
+            assertEquals(6, reopened.findByProject(3).size());
+        }
+    }
+
+    private static AuditRecord record(long projectId, Instant occurredAt) {
+        return AuditRecord.builder()
+                .actor("BUILDER:7")
+                .projectId(projectId)
+                .builderId(7)
+                .type(ProjectEvent.Type.BUDGET_CHANGED)
+                .previousVersion(3)
+                .newVersion(4)
+                .changedFields(Set.of(ProjectField.BUDGET_USED))
+                .occurredAt(occurredAt)
+                .elapsedNanos(1_500)
+                .build();
+    }
+}
@@ -0,0 +1,195 @@
+package com.builder.portfolio.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.model.Project;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class GroupCommitWriterTest {
+    private static final int MISSING_ID = 79_999;
+
+    private final Set<Integer> missingIds = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger commits = new AtomicInteger();
+    private final AtomicInteger nextKey = new AtomicInteger(70_000);
+    private final List<String> boundStrings = new CopyOnWriteArrayList<>();
+    private final CountDownLatch batchStarted = new CountDownLatch(1);
+    private volatile CountDownLatch batchGate;
+
+    @Test
+    void concurrentAddsShareOneCommit() {
+        ProjectDAOImpl dao = new ProjectDAOImpl(this::openConnection, Duration.ofMillis(200), 64);
+        List<Project> projects = new ArrayList<>();
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Project project = project(0, "Tower " + i);
+            projects.add(project);
+            results.add(dao.addProjectAsync(project));
+        }
+
+        results.forEach(result -> assertTrue(result.join()));
+        Set<Integer> ids = new HashSet<>();
+        projects.forEach(project -> ids.add(project.getId()));
+
+        assertEquals(20, ids.size());
+        assertFalse(ids.contains(0));
+        assertEquals(1, commits.get());
+        assertEquals(1, connections.get());
+    }
+
+    @Test
+    void eachCallerGetsItsOwnConflictResult() {
+        ProjectDAOImpl dao = new ProjectDAOImpl(this::openConnection, Duration.ofMillis(200), 64);
+        missingIds.add(MISSING_ID);
+        Project winner = loaded(70_501);
+        Project stale = loaded(70_502);
+        Project missing = loaded(MISSING_ID);
+        winner.setStatus("DONE");
+        stale.setStatus("DONE");
+        missing.setStatus("DONE");
+
+        CompletableFuture<Boolean> won = dao.conditionalUpdateProjectAsync(winner, 0);
+        CompletableFuture<Boolean> conflicted = dao.conditionalUpdateProjectAsync(stale, 5);
+        CompletableFuture<Boolean> notFound = dao.conditionalUpdateProjectAsync(missing, 0);
+
+        assertTrue(conflicted.isDone());
+        assertFalse(conflicted.join());
+        assertTrue(won.join());
+        assertFalse(notFound.join());
+        assertEquals(1, winner.getVersion());
+        assertTrue(winner.getDirtyFields().isEmpty());
+        assertEquals(0, missing.getVersion());
+        assertEquals(1, commits.get());
+
+        // The rejected claim was released, so once the row exists a retry at the original version succeeds.
+        missingIds.clear();
+        assertTrue(dao.conditionalUpdateProject(missing, 0));
+        assertEquals(1, missing.getVersion());
+    }
+
+    @Test
+    void boundValuesAreTheOnesSubmittedNotLaterEdits() {
+        ProjectDAOImpl dao = new ProjectDAOImpl(this::openConnection, Duration.ofMillis(200), 64);
+        Project project = loaded(70_601);
+        project.setStatus("DONE");
+
+        CompletableFuture<Boolean> result = dao.updateProjectAsync(project);
+        project.setStatus("EDITED_AFTER_SUBMIT");
+
+        assertTrue(result.join());
+        assertEquals(List.of("DONE"), boundStrings);
+    }
+
+    @Test
+    void closeFinishesTheRunningBatchAndFailsTheRest() throws Exception {
+        batchGate = new CountDownLatch(1);
+        GroupCommitWriter writer = new GroupCommitWriter(this::openConnection, Duration.ZERO, 1);
+        CompletableFuture<Boolean> running = writer.submit("UPDATE a", false, statement -> { }, null, null);
+        assertTrue(batchStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = writer.submit("UPDATE b", false, statement -> { }, null, null);
+
+        Thread closer = new Thread(writer::close);
+        closer.start();
+        Thread.sleep(50);
+        assertFalse(running.isDone(), "close must not abandon the batch being committed");
+        batchGate.countDown();
+        closer.join(5_000);
+
+        assertTrue(running.join());
+        assertThrows(CompletionException.class, queued::join);
+        CompletableFuture<Boolean> late = writer.submit("UPDATE c", false, statement -> { }, null, null);
+        assertTrue(late.isCompletedExceptionally(), "writes after close fail at once instead of hanging");
+    }
+
+    private static Project loaded(int id) {
+        Project project = project(id, "Project " + id);
+        project.clearDirtyFields();
+        return project;
+    }
+
+    private static Project project(int id, String name) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName(name);
+        project.setStatus("PLANNED");
+        project.setBuilderId(1);
+        project.setClientId(2);
+        return project;
+    }
+
+    private Connection openConnection() {
+        connections.incrementAndGet();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "prepareStatement" -> openStatement();
+                    case "commit" -> {
+                        commits.incrementAndGet();
+                        yield null;
+                    }
+                    default -> null;
+                });
+    }
+
+    private PreparedStatement openStatement() {
+        List<Integer> rowIds = new ArrayList<>();
+        int[] lastId = new int[1];
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "setInt" -> {
+                        // Project ids in these tests dwarf the builder and client ids bound alongside them.
+                        lastId[0] = Math.max(lastId[0], (Integer) args[1]);
+                        yield null;
+                    }
+                    case "addBatch" -> {
+                        rowIds.add(lastId[0]);
+                        lastId[0] = 0;
+                        yield null;
+                    }
+                    case "setString" -> {
+                        boundStrings.add((String) args[1]);
+                        yield null;
+                    }
+                    case "executeBatch" -> executeBatch(rowIds);
+                    case "getGeneratedKeys" -> keys(rowIds.size());
+                    default -> null;
+                });
+    }
+
+    private int[] executeBatch(List<Integer> rowIds) throws InterruptedException {
+        batchStarted.countDown();
+        CountDownLatch gate = batchGate;
+        if (gate != null) {
+            gate.await();
+        }
+        return rowIds.stream().mapToInt(id -> missingIds.contains(id) ? 0 : 1).toArray();
+    }
+
+    private ResultSet keys(int count) {
+        int[] remaining = {count};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> remaining[0]-- > 0;
+                    case "getInt" -> nextKey.incrementAndGet();
+                    default -> null;
+                });
+    }
+}
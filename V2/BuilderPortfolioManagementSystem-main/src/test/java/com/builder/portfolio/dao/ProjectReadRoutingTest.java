@@ -0,0 +1,141 @@
+package com.builder.portfolio.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.util.AuditContext;
+import com.builder.portfolio.util.RoutingConnectionProvider;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+
+class ProjectReadRoutingTest {
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    // Records which side each query was sent to; the fake connections answer every query with no rows.
+    private final List<String> opened = new CopyOnWriteArrayList<>();
+    private final RoutingConnectionProvider provider = RoutingConnectionProvider.builder()
+            .primary(PRIMARY, this::open)
+            .replica(REPLICA)
+            .readYourWritesWindow(Duration.ofMinutes(1))
+            .maxReplicaLag(Duration.ofMinutes(1))
+            .lagProbe(connection -> Duration.ZERO)
+            .build();
+
+    @Test
+    void listingAndReportReadsUseReplicasWhileNothingWasWritten() {
+        ProjectDAOImpl projectDAO = new ProjectDAOImpl(provider);
+
+        projectDAO.findById(1);
+        projectDAO.findProjectsByBuilder(7);
+        projectDAO.findProjectsByClient(30);
+        projectDAO.findAllProjects();
+        projectDAO.findAllProjectsParallel(4);
+        projectDAO.findByIdForUpdate(1);
+
+        assertEquals(List.of(REPLICA, REPLICA, REPLICA, REPLICA, REPLICA, PRIMARY), opened);
+    }
+
+    @Test
+    void rowsWrittenRecentlyAreReadFromThePrimaryByEverySession() {
+        ProjectDAOImpl projectDAO = new ProjectDAOImpl(provider);
+        AuditContext.runAs("BUILDER:7", () -> projectDAO.updateProject(changed(project(1, 7, 30))));
+        opened.clear();
+
+        AuditContext.runAs("CLIENT:40", () -> {
+            projectDAO.findById(1);
+            projectDAO.findProjectsByBuilder(7);
+            projectDAO.findProjectsByClient(30);
+            projectDAO.findAllProjects();
+        });
+        assertEquals(List.of(PRIMARY, PRIMARY, PRIMARY, PRIMARY), opened);
+
+        opened.clear();
+        AuditContext.runAs("CLIENT:40", () -> {
+            projectDAO.findById(2);
+            projectDAO.findProjectsByBuilder(8);
+            projectDAO.findProjectsByClient(31);
+            projectDAO.streamAllProjects(project -> { });
+        });
+        assertEquals(List.of(REPLICA, REPLICA, REPLICA, REPLICA), opened);
+    }
+
+    @Test
+    void movingAProjectKeepsEveryClientListingOnThePrimary() {
+        ProjectDAOImpl projectDAO = new ProjectDAOImpl(provider);
+        Project project = project(1, 7, 30);
+        project.setClientId(31);
+        AuditContext.runAs("BUILDER:7", () -> projectDAO.updateProject(project));
+        opened.clear();
+
+        // The previous client is not known here, and its listing changed too.
+        AuditContext.runAs("CLIENT:40", () -> projectDAO.findProjectsByClient(30));
+
+        assertEquals(List.of(PRIMARY), opened);
+    }
+
+    @Test
+    void aSessionReadsItsGroupCommittedWritesFromThePrimary() {
+        ProjectDAOImpl projectDAO = new ProjectDAOImpl(provider, Duration.ofMillis(1), 8);
+        // The flusher thread opens the write's connection; the window still belongs to the submitting session.
+        AuditContext.runAs("BUILDER:7", () -> projectDAO.updateProject(changed(project(1, 7, 30))));
+        opened.clear();
+
+        AuditContext.runAs("BUILDER:7", () -> projectDAO.findById(2));
+        AuditContext.runAs("CLIENT:40", () -> projectDAO.findById(2));
+
+        assertEquals(List.of(PRIMARY, REPLICA), opened);
+    }
+
+    private static Project changed(Project project) {
+        project.setStatus("IN_PROGRESS");
+        return project;
+    }
+
+    private static Project project(int id, int builderId, int clientId) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName("Project " + id);
+        project.setStatus("PLANNED");
+        project.setBuilderId(builderId);
+        project.setClientId(clientId);
+        project.clearDirtyFields();
+        return project;
+    }
+
+    private Connection open(String url) {
+        opened.add(url);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "prepareStatement" -> statement();
+                    default -> null;
+                });
+    }
+
+    private static PreparedStatement statement() {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "executeQuery" -> emptyResult();
+                    case "executeUpdate" -> 1;
+                    case "executeBatch" -> new int[0];
+                    default -> null;
+                });
+    }
+
+    private static ResultSet emptyResult() {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> false;
+                    // Aggregates over no rows are NULL, e.g. the scan bounds of an empty table.
+                    case "wasNull" -> true;
+                    case "getLong" -> 0L;
+                    default -> null;
+                });
+    }
+}
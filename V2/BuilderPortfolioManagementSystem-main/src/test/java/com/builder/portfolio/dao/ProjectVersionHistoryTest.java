@@ -0,0 +1,140 @@
+package com.builder.portfolio.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectEvent;
+import com.builder.portfolio.model.ProjectMutation;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProjectVersionHistoryTest {
+    private final ProjectMutation slot = new ProjectMutation();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyVersionIsRebuiltAcrossCheckpointsAndAfterReopening() {
+        Path file = directory.resolve("history.log");
+        Project project = project();
+        int firstEpoch;
+        try (ProjectVersionHistory history = ProjectVersionHistory.open(file, 4)) {
+            firstEpoch = history.getEpoch();
+            for (int version = 0; version < 10; version++) {
+                project.setVersion(version);
+                project.setBudgetUsed(version * 100.0);
+                if (version == 6) {
+                    project.setStatus("IN_PROGRESS");
+                    project.setEndDate(null);
+                }
+                slot.set(version == 0 ? ProjectEvent.Type.CREATED : ProjectEvent.Type.UPDATED, project, true);
+                history.record(slot);
+            }
+            history.flush();
+            assertEquals(3, history.getStats().getCheckpoints());
+            // Flushed entries are read back from the journal.
+            assertEquals(300.0, history.asOfVersion(41, 3).getBudgetUsed(), 0.001);
+        }
+
+        try (ProjectVersionHistory reopened = ProjectVersionHistory.open(file, 4)) {
+            assertEquals(firstEpoch + 1, reopened.getEpoch());
+            for (int version = 0; version < 10; version++) {
+                Project asOf = reopened.asOfVersion(41, firstEpoch, version);
+                assertEquals(version, asOf.getVersion());
+                assertEquals(version * 100.0, asOf.getBudgetUsed(), 0.001);
+                assertEquals(version < 6 ? "UPCOMING" : "IN_PROGRESS", asOf.getStatus());
+                assertEquals(version < 6 ? LocalDate.of(2025, 6, 30) : null, asOf.getEndDate());
+                assertEquals("Harbour view", asOf.getName());
+                assertEquals(7, asOf.getBuilderId());
+            }
+            assertNull(reopened.asOfVersion(41, firstEpoch, -1));
+            assertEquals(9, reopened.asOfVersion(41, firstEpoch, 50).getVersion());
+        }
+    }
+
+    @Test
+    void versionsRestartedByTheStoreDoNotReachIntoEarlierEpochs() {
+        Path file = directory.resolve("restarts.log");
+        Project project = project();
+        try (ProjectVersionHistory history = ProjectVersionHistory.open(file, 4)) {
+            for (int version = 0; version < 6; version++) {
+                project.setVersion(version);
+                project.setBudgetUsed(version * 100.0);
+                slot.set(version == 0 ? ProjectEvent.Type.CREATED : ProjectEvent.Type.UPDATED, project, true);
+                history.record(slot);
+            }
+        }
+
+        int secondEpoch;
+        try (ProjectVersionHistory reopened = ProjectVersionHistory.open(file, 4)) {
+            secondEpoch = reopened.getEpoch();
+            // Untouched since the restart: the project is still as it entered the epoch.
+            assertEquals(500.0, reopened.asOfVersion(41, 0).getBudgetUsed(), 0.001);
+
+            // The store's counter restarted, so the next write is version 1 again.
+            project.setVersion(1);
+            project.setBudgetUsed(7_000);
+            slot.set(ProjectEvent.Type.UPDATED, project, true);
+            reopened.record(slot);
+            reopened.flush();
+
+            assertEquals(7_000, reopened.asOfVersion(41, 1).getBudgetUsed(), 0.001);
+            assertEquals(7_000, reopened.asOfVersion(41, 3).getBudgetUsed(), 0.001);
+            assertEquals(500.0, reopened.asOfVersion(41, 0).getBudgetUsed(), 0.001);
+            assertEquals(300.0, reopened.asOfVersion(41, secondEpoch - 1, 3).getBudgetUsed(), 0.001);
+        }
+
+        try (ProjectVersionHistory third = ProjectVersionHistory.open(file, 4)) {
+            assertEquals(secondEpoch + 1, third.getEpoch());
+            assertEquals(7_000, third.asOfVersion(41, secondEpoch, 1).getBudgetUsed(), 0.001);
+            assertEquals(100.0, third.asOfVersion(41, secondEpoch - 1, 1).getBudgetUsed(), 0.001);
+        }
+    }
+
+    @Test
+    void pointInTimeReadsSeeDeletesAndRecreatedProjects() throws Exception {
+        try (ProjectVersionHistory history = new ProjectVersionHistory(4)) {
+            Project project = project();
+            Instant beforeCreate = pause();
+            slot.set(ProjectEvent.Type.CREATED, project, true);
+            history.record(slot);
+            Instant afterCreate = pause();
+            history.recordDeleted(41, System.currentTimeMillis());
+            Instant afterDelete = pause();
+            project.setName("Harbour view II");
+            slot.set(ProjectEvent.Type.CREATED, project, true);
+            history.record(slot);
+
+            assertNull(history.asOf(41, beforeCreate));
+            assertEquals("Harbour view", history.asOf(41, afterCreate).getName());
+            assertNull(history.asOf(41, afterDelete));
+            assertEquals("Harbour view II", history.asOf(41, Instant.now()).getName());
+        }
+    }
+
+    private static Instant pause() throws InterruptedException {
+        Thread.sleep(5);
+        Instant now = Instant.now();
+        Thread.sleep(5);
+        return now;
+    }
+
+    private static Project project() {
+        Project project = new Project();
+        project.setId(41);
+        project.setName("Harbour view");
+        project.setDescription("Twelve storey residential block");
+        project.setStatus("UPCOMING");
+        project.setBuilderId(7);
+        project.setClientId(30);
+        project.setBudgetPlanned(2_500_000);
+        project.setStartDate(LocalDate.of(2024, 1, 15));
+        project.setEndDate(LocalDate.of(2025, 6, 30));
+        return project;
+    }
+}
@@ -0,0 +1,45 @@
+package com.builder.portfolio.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ScanBoundsTest {
+
+    @Test
+    void rangesCoverEveryIdExactlyOnceInAscendingOrder() {
+        long[][] cases = {{1, 1, 4}, {1, 10, 4}, {1, 3, 8}, {5, 1_000_003, 16}, {100, 100_099, 7}};
+        for (long[] scan : cases) {
+            ProjectDAOImpl.ScanBounds bounds = new ProjectDAOImpl.ScanBounds(scan[0], scan[1],
+                    ProjectDAOImpl.ScanBounds.UNKNOWN_ROWS);
+            int rangeCount = (int) scan[2];
+            long span = bounds.span(rangeCount);
+            int used = bounds.usedRanges(rangeCount);
+            assertTrue(used >= 1 && used <= rangeCount, "used ranges " + used);
+
+            long next = scan[0];
+            for (int range = 0; range < used; range++) {
+                assertEquals(next, bounds.lowerId(range, span), "range " + range + " starts where the last ended");
+                assertTrue(bounds.upperId(range, span) >= bounds.lowerId(range, span), "range " + range + " empty");
+                next = bounds.upperId(range, span) + 1;
+            }
+            assertEquals(scan[1] + 1, next, "ranges end at the max id");
+        }
+    }
+
+    @Test
+    void unanalyzedTablesAreSizedFromTheIdSpan() {
+        // pg_class.reltuples is -1 until the table is first analyzed.
+        assertEquals(32, new ProjectDAOImpl.ScanBounds(1, 1_000_000, -1).rangeCount(8));
+        assertEquals(1, new ProjectDAOImpl.ScanBounds(1, 500, -1).rangeCount(8));
+        assertEquals(5, new ProjectDAOImpl.ScanBounds(1, 1_000_000, 5_000).rangeCount(8));
+    }
+
+    @Test
+    void aZeroRowEstimateFallsBackToTheIdSpan() {
+        // reltuples can read 0 for a table analyzed while empty and filled since.
+        assertEquals(32, new ProjectDAOImpl.ScanBounds(1, 1_000_000, 0).rangeCount(8));
+        assertEquals(1, new ProjectDAOImpl.ScanBounds(1, 500, 0).rangeCount(8));
+    }
+}
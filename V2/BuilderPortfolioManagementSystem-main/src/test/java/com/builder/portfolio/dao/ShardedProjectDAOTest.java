@@ -0,0 +1,156 @@
+package com.builder.portfolio.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.model.Document;
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.support.InMemoryDocumentDAO;
+import com.builder.portfolio.support.InMemoryProjectDAO;
+import com.builder.portfolio.util.ConsistentHashRing;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShardedProjectDAOTest {
+    private Map<String, Shard> shards;
+    private ShardedProjectDAO projectDAO;
+    private ShardedDocumentDAO documentDAO;
+
+    @BeforeEach
+    void setUp() {
+        shards = Map.of("a", shard("a"), "b", shard("b"));
+        projectDAO = new ShardedProjectDAO(List.of(shards.get("a"), shards.get("b")));
+        documentDAO = new ShardedDocumentDAO(projectDAO);
+        for (int i = 1; i <= 40; i++) {
+            projectDAO.addProject(project(i, 100 + i % 10));
+            documentDAO.addDocument(document(i));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectDAO.close();
+    }
+
+    @Test
+    void keepsEachBuilderOnOneShard() {
+        for (int builderId = 100; builderId < 110; builderId++) {
+            int holders = 0;
+            for (Shard shard : shards.values()) {
+                if (!shard.getProjectDAO().findProjectsByBuilder(builderId).isEmpty()) {
+                    holders++;
+                }
+            }
+            assertEquals(1, holders, "builder " + builderId);
+            assertEquals(4, projectDAO.findProjectsByBuilder(builderId).size());
+        }
+    }
+
+    @Test
+    void scatterGatherReturnsEveryProjectInIdOrder() {
+        List<Integer> ids = projectDAO.findAllProjects().stream().map(Project::getId).collect(Collectors.toList());
+
+        assertEquals(40, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i + 1, ids.get(i));
+        }
+        assertEquals(1, projectDAO.findProjectsByClient(207).size());
+        assertNotNull(projectDAO.findById(17));
+    }
+
+    @Test
+    void addingAndRemovingShardsMovesProjectsWithTheirDocuments() {
+        Shard added = shard("c");
+        projectDAO.addShard(added);
+        assertFalse(added.getProjectDAO().findAllProjects().isEmpty());
+        assertEquals(40, projectDAO.findAllProjects().size());
+
+        projectDAO.removeShard("a");
+
+        assertFalse(projectDAO.getShardNames().contains("a"));
+        assertTrue(shards.get("a").getProjectDAO().findAllProjects().isEmpty());
+        assertEquals(40, projectDAO.findAllProjects().size());
+        for (int i = 1; i <= 40; i++) {
+            List<Document> documents = documentDAO.findDocumentsByProject(i);
+            assertEquals(1, documents.size(), "documents of project " + i);
+        }
+    }
+
+    @Test
+    void routedCallsKeepFlowingWhileARebalanceScansTheShards() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Shard slow = new Shard("c", new InMemoryProjectDAO() {
+            @Override
+            public Set<Integer> findBuilderIds() {
+                scanning.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.findBuilderIds();
+            }
+        }, new InMemoryDocumentDAO());
+        // A builder first written during the scan, and owned by the new shard once the ring is swapped.
+        ConsistentHashRing<String> nextRing = ConsistentHashRing.of(Set.of("a", "b", "c"), 128);
+        int newBuilder = 150;
+        while (!nextRing.nodeFor(newBuilder).equals("c")) {
+            newBuilder++;
+        }
+
+        CompletableFuture<Void> rebalance = CompletableFuture.runAsync(() -> projectDAO.addShard(slow));
+        try {
+            assertTrue(scanning.await(5, TimeUnit.SECONDS), "rebalance is scanning");
+            int builderId = newBuilder;
+            CompletableFuture.runAsync(() -> {
+                assertEquals(4, projectDAO.findProjectsByBuilder(100).size());
+                projectDAO.addProject(project(41, builderId));
+            }).get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+        rebalance.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, slow.getProjectDAO().findProjectsByBuilder(newBuilder).size());
+        assertEquals(1, projectDAO.findProjectsByBuilder(newBuilder).size());
+        assertEquals(41, projectDAO.findAllProjects().size());
+    }
+
+    private static Shard shard(String name) {
+        return new Shard(name, new InMemoryProjectDAO(), new InMemoryDocumentDAO());
+    }
+
+    private static Project project(int id, int builderId) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName("Project-" + id);
+        project.setStatus("IN_PROGRESS");
+        project.setBuilderId(builderId);
+        project.setClientId(200 + id);
+        project.setBudgetPlanned(10_000);
+        return project;
+    }
+
+    private static Document document(int projectId) {
+        Document document = new Document();
+        document.setId(projectId);
+        document.setProjectId(projectId);
+        document.setDocumentName("plan-" + projectId + ".pdf");
+        document.setDocumentType("PLAN");
+        document.setUploadedBy(100);
+        document.setUploadDate(LocalDate.of(2024, 1, 1));
+        return document;
+    }
+}
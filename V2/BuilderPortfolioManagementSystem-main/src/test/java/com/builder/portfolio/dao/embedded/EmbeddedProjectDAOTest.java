@@ -0,0 +1,111 @@
+package com.builder.portfolio.dao.embedded;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectChange;
+import com.builder.portfolio.model.ProjectField;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EmbeddedProjectDAOTest {
+    private EmbeddedProjectDAO projectDAO;
+
+    @BeforeEach
+    void setUp() {
+        projectDAO = new EmbeddedProjectDAO();
+        for (int i = 0; i < 10; i++) {
+            projectDAO.addProject(project(100 + i % 2, "UPCOMING"));
+        }
+    }
+
+    @Test
+    void conditionalUpdatesRejectStaleVersions() {
+        Project first = projectDAO.findById(1);
+        Project second = projectDAO.findById(1);
+
+        first.setStatus("IN_PROGRESS");
+        assertTrue(projectDAO.conditionalUpdateProject(first, first.getVersion()));
+        second.setStatus("COMPLETED");
+        assertFalse(projectDAO.conditionalUpdateProject(second, second.getVersion()));
+
+        assertEquals(1, projectDAO.findById(1).getVersion());
+        assertEquals(List.of(1), ids(projectDAO.findProjectsByStatus("IN_PROGRESS")));
+        assertEquals(9, projectDAO.findProjectsByStatus("UPCOMING").size());
+        assertEquals(5, projectDAO.findProjectsByBuilder(101).size());
+    }
+
+    @Test
+    void unconditionalUpdatesStoreTheCallersVersion() {
+        Project project = projectDAO.findById(2);
+        project.setStatus("IN_PROGRESS");
+        project.setVersion(7);
+        projectDAO.updateProject(project);
+
+        assertEquals(7, projectDAO.findById(2).getVersion());
+        assertTrue(projectDAO.conditionalUpdateProject(projectDAO.findById(2), 7));
+        assertEquals(8, projectDAO.findById(2).getVersion());
+    }
+
+    @Test
+    void snapshotIgnoresLaterCommitsUntilClosed() {
+        try (EmbeddedProjectDAO.Snapshot snapshot = projectDAO.openSnapshot()) {
+            Project one = projectDAO.findById(1);
+            Project two = projectDAO.findById(2);
+            one.setBudgetPlanned(1_000);
+            two.setBudgetPlanned(1_000);
+            assertTrue(projectDAO.conditionalUpdateProjects(List.of(one, two), Map.of(1, 0L, 2, 0L)));
+            projectDAO.deleteProject(3, 100);
+            projectDAO.vacuum();
+
+            assertEquals(10_000, snapshot.findById(1).getBudgetPlanned(), 0.001);
+            assertEquals(10, snapshot.findAllProjects().size());
+            assertEquals(5, snapshot.findProjectsByBuilder(100).size());
+        }
+
+        assertEquals(1_000, projectDAO.findById(2).getBudgetPlanned(), 0.001);
+        assertNull(projectDAO.findById(3));
+        assertTrue(projectDAO.vacuum() > 0);
+        assertEquals(4, projectDAO.findProjectsByBuilder(100).size());
+    }
+
+    @Test
+    void changeFeedResumesAfterTheLastSequenceRead() {
+        Project one = projectDAO.findById(1);
+        one.setStatus("IN_PROGRESS");
+        assertTrue(projectDAO.conditionalUpdateProject(one, one.getVersion()));
+        projectDAO.deleteProject(3, 100);
+
+        List<ProjectChange> page = projectDAO.changesSince(9, 2);
+        assertEquals(List.of(10L, 11L), page.stream().map(ProjectChange::getSequence).toList());
+        assertEquals(ProjectChange.Type.INSERT, page.get(0).getType());
+        assertEquals(ProjectChange.Type.UPDATE, page.get(1).getType());
+        assertEquals(Set.of(ProjectField.STATUS), page.get(1).getChangedFields());
+
+        List<ProjectChange> rest = projectDAO.changesSince(page.get(1).getSequence(), 10);
+        assertEquals(1, rest.size());
+        assertEquals(ProjectChange.Type.DELETE, rest.get(0).getType());
+        assertEquals(3, rest.get(0).getProjectId());
+        assertTrue(projectDAO.changesSince(rest.get(0).getSequence(), 10).isEmpty());
+    }
+
+    private static List<Integer> ids(List<Project> projects) {
+        return projects.stream().map(Project::getId).toList();
+    }
+
+    private static Project project(int builderId, String status) {
+        Project project = new Project();
+        project.setName("Project for " + builderId);
+        project.setStatus(status);
+        project.setBuilderId(builderId);
+        project.setClientId(200);
+        project.setBudgetPlanned(10_000);
+        return project;
+    }
+}
@@ -0,0 +1,142 @@
+package com.builder.portfolio.dao.embedded;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.model.Document;
+import com.builder.portfolio.model.Project;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmbeddedStorageTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversSnapshotPlusLogAfterRestart() throws Exception {
+        try (EmbeddedStorage storage = open(WriteAheadLog.FsyncPolicy.PER_COMMIT)) {
+            EmbeddedProjectDAO projects = storage.getProjectDAO();
+            for (int i = 1; i <= 20; i++) {
+                projects.addProject(project(100 + i % 3));
+                storage.getDocumentDAO().addDocument(document(i));
+            }
+            storage.snapshot();
+
+            Project first = projects.findById(1);
+            Project second = projects.findById(2);
+            first.setBudgetUsed(500);
+            second.setBudgetUsed(700);
+            assertTrue(projects.conditionalUpdateProjects(List.of(first, second),
+                    Map.of(1, first.getVersion(), 2, second.getVersion())));
+            projects.deleteProject(3, projects.findById(3).getBuilderId());
+            assertTrue(storage.getDocumentDAO().findDocumentsByProject(3).isEmpty(),
+                    "deleting a project deletes its documents");
+            storage.getDocumentDAO().deleteDocumentsByProject(4);
+        }
+
+        try (EmbeddedStorage storage = open(WriteAheadLog.FsyncPolicy.GROUP)) {
+            EmbeddedProjectDAO projects = storage.getProjectDAO();
+            assertEquals(19, projects.findAllProjects().size());
+            assertEquals(700, projects.findById(2).getBudgetUsed(), 0.001);
+            assertEquals(1, projects.findById(1).getVersion());
+            assertNull(projects.findById(3));
+            assertTrue(storage.getDocumentDAO().findDocumentsByProject(3).isEmpty());
+            assertTrue(storage.getDocumentDAO().findDocumentsByProject(4).isEmpty());
+            assertEquals(1, storage.getDocumentDAO().findDocumentsByProject(5).size());
+
+            Project added = project(100);
+            projects.addProject(added);
+            assertEquals(21, added.getId());
+        }
+    }
+
+    @Test
+    void dropsTornTailOnRecovery() throws Exception {
+        try (EmbeddedStorage storage = open(WriteAheadLog.FsyncPolicy.GROUP)) {
+            storage.getProjectDAO().addProject(project(100));
+            storage.getProjectDAO().addProject(project(101));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(path -> path.getFileName().toString().startsWith("wal-")).sorted()
+                    .reduce((first, second) -> second).orElseThrow();
+        }
+        Files.write(segment, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (EmbeddedStorage storage = open(WriteAheadLog.FsyncPolicy.GROUP)) {
+            assertEquals(2, storage.getProjectDAO().findAllProjects().size());
+            storage.getProjectDAO().addProject(project(102));
+        }
+        try (EmbeddedStorage storage = open(WriteAheadLog.FsyncPolicy.GROUP)) {
+            assertEquals(3, storage.getProjectDAO().findAllProjects().size());
+        }
+    }
+
+    @Test
+    void groupCommitSharesSyncsAcrossWriters() throws Exception {
+        int writers = 8;
+        int perWriter = 200;
+        try (EmbeddedStorage storage = open(WriteAheadLog.FsyncPolicy.GROUP)) {
+            ExecutorService pool = Executors.newFixedThreadPool(writers);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int w = 0; w < writers; w++) {
+                    int builderId = 100 + w;
+                    futures.add(pool.submit(() -> {
+                        for (int i = 0; i < perWriter; i++) {
+                            storage.getProjectDAO().addProject(project(builderId));
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+            WriteAheadLog.Stats stats = storage.getWalStats();
+            System.out.println("Group commit: " + stats);
+            assertEquals(writers * perWriter, stats.getRecords());
+            assertTrue(stats.getSyncs() <= stats.getRecords());
+        }
+    }
+
+    private EmbeddedStorage open(WriteAheadLog.FsyncPolicy policy) {
+        return EmbeddedStorage.builder()
+                .directory(directory)
+                .fsyncPolicy(policy)
+                .snapshotInterval(null)
+                .recoveryThreads(4)
+                .open();
+    }
+
+    private static Project project(int builderId) {
+        Project project = new Project();
+        project.setName("Durable project");
+        project.setStatus("UPCOMING");
+        project.setBuilderId(builderId);
+        project.setClientId(200);
+        project.setBudgetPlanned(10_000);
+        return project;
+    }
+
+    private static Document document(int projectId) {
+        Document document = new Document();
+        document.setProjectId(projectId);
+        document.setDocumentName("plan.pdf");
+        document.setDocumentType("PLAN");
+        document.setUploadedBy(100);
+        return document;
+    }
+}
@@ -0,0 +1,37 @@
+package com.builder.portfolio.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumSet;
+import org.junit.jupiter.api.Test;
+
+class ProjectDirtyTrackingTest {
+
+    @Test
+    void untrackedProjectsReportEveryField() {
+        Project project = new Project();
+        project.setName("Fresh");
+
+        assertTrue(project.isDirty());
+        assertEquals(EnumSet.allOf(ProjectField.class), project.getDirtyFields());
+    }
+
+    @Test
+    void onlyChangedValuesAreMarkedAfterLoad() {
+        Project project = new Project();
+        project.setName("Loaded");
+        project.setStatus("PLANNED");
+        project.setBudgetUsed(10);
+        project.clearDirtyFields();
+
+        project.setName("Loaded");
+        project.setBudgetUsed(10);
+        assertFalse(project.isDirty(), "rewriting identical values is not a change");
+
+        project.setStatus("IN_PROGRESS");
+        project.setBudgetUsed(12.5);
+        assertEquals(EnumSet.of(ProjectField.STATUS, ProjectField.BUDGET_USED), project.getDirtyFields());
+    }
+}
@@ -46,6 +46,7 @@ class ParallelReportPerfTest {
 
     @AfterEach
     void tearDown() throws Exception {
+        projectService.close();
         reportService.close();
     }
 
@@ -73,4 +74,32 @@ class ParallelReportPerfTest {
                 String.format("Parallel duration %d vs sequential %d (diff %d ns)",
                         parallelDuration, sequentialDuration, diff));
     }
+
+    @Test
+    void consistentReportCoversEveryProject() {
+        List<Long> projectIds = new ArrayList<>();
+        projectDAO.findAllProjects().forEach(project -> projectIds.add((long) project.getId()));
+
+        PortfolioReport sequential = reportService.generatePortfolioReportSequential(projectIds);
+        PortfolioReport consistent = reportService.generateConsistentPortfolioReport();
+
+        assertEquals(projectIds.size(), consistent.getSummaries().size());
+        assertEquals(sequential.getTotalPlanned(), consistent.getTotalPlanned(), 0.001);
+        assertEquals(sequential.getTotalUsed(), consistent.getTotalUsed(), 0.001);
+    }
+
+    @Test
+    void snapshotReportReflectsTheCallersLatestWrites() {
+        List<Long> projectIds = List.of(1L, 2L);
+        reportService.generatePortfolioReportFromSnapshot(projectIds);
+
+        for (int round = 1; round <= 20; round++) {
+            projectService.updateProjectWithRetry(1, project -> {
+                project.setBudgetUsed(project.getBudgetUsed() + 1_000);
+                return project;
+            });
+            PortfolioReport report = reportService.generatePortfolioReportFromSnapshot(projectIds);
+            assertEquals(50_000 + 50_500 + round * 1_000, report.getTotalUsed(), 0.001, "round " + round);
+        }
+    }
 }
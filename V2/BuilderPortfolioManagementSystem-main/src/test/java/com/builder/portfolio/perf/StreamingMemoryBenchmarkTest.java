@@ -0,0 +1,133 @@
+package com.builder.portfolio.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.builder.portfolio.dao.ProjectDAO;
+import com.builder.portfolio.dao.ProjectDAOImpl;
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.util.DBConnectionUtil;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the heap retained while reading the projects table buffered versus through a streaming cursor, at two
+ * result sizes. Needs the development database and is skipped without it.
+ */
+class StreamingMemoryBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingMemoryBenchmarkTest.class);
+    private static final String SEED_PREFIX = "stream-benchmark-";
+    private static final int SMALL_ROWS = 5_000;
+    private static final int LARGE_ROWS = 50_000;
+    private static final int SAMPLES_PER_STREAM = 10;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ProjectDAO projectDAO = new ProjectDAOImpl();
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (databaseAvailable()) {
+            try (Connection connection = DBConnectionUtil.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "DELETE FROM projects WHERE name LIKE ?")) {
+                statement.setString(1, SEED_PREFIX + "%");
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    @Test
+    void streamingKeepsHeapFlatRegardlessOfRowCount() throws SQLException {
+        assumeTrue(databaseAvailable(), "development database not reachable");
+
+        seed(SMALL_ROWS);
+        Measurement small = measure();
+        seed(LARGE_ROWS - SMALL_ROWS);
+        Measurement large = measure();
+
+        long bufferedGrowth = large.bufferedBytes - small.bufferedBytes;
+        long streamedGrowth = large.streamedPeakBytes - small.streamedPeakBytes;
+        assertTrue(bufferedGrowth > 0, "buffered read should retain more heap for more rows");
+        // Ten times the rows must not move the streaming peak by more than a fraction of what buffering costs.
+        assertTrue(streamedGrowth < bufferedGrowth / 4,
+                "streaming peak grew by " + streamedGrowth / 1024 + " KB against " + bufferedGrowth / 1024
+                        + " KB for the buffered read");
+    }
+
+    private Measurement measure() {
+        long baseline = settledHeap();
+        List<Project> buffered = projectDAO.findAllProjects();
+        long bufferedBytes = settledHeap() - baseline;
+        int bufferedRows = buffered.size();
+
+        AtomicLong streamedPeak = new AtomicLong();
+        AtomicLong rows = new AtomicLong();
+        int sampleEvery = Math.max(1, bufferedRows / SAMPLES_PER_STREAM);
+        long streamBaseline = settledHeap();
+        long streamed = projectDAO.streamAllProjects(project -> {
+            if (rows.incrementAndGet() % sampleEvery == 0) {
+                // Collect first so the sample counts what the cursor retains, not garbage awaiting collection.
+                streamedPeak.accumulateAndGet(settledHeap() - streamBaseline, Math::max);
+            }
+        });
+
+        LOGGER.info("{} rows: buffered read retained {} KB, streaming peak {} KB (fetch size {})",
+                bufferedRows, bufferedBytes / 1024, streamedPeak.get() / 1024, DBConnectionUtil.getFetchSize());
+        assertEquals(bufferedRows, streamed);
+        return new Measurement(bufferedBytes, streamedPeak.get());
+    }
+
+    private static void seed(int count) throws SQLException {
+        try (Connection connection = DBConnectionUtil.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO projects (name, description, status, budget_planned, budget_used) "
+                             + "VALUES (?, ?, 'UPCOMING', 0, 0)")) {
+            for (int i = 0; i < count; i++) {
+                statement.setString(1, SEED_PREFIX + i);
+                statement.setString(2, "Seeded row to size the streaming benchmark");
+                statement.addBatch();
+                if ((i + 1) % 1_000 == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private long settledHeap() {
+        System.gc();
+        return usedHeap();
+    }
+
+    private long usedHeap() {
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static boolean databaseAvailable() {
+        try (Connection connection = DBConnectionUtil.getConnection()) {
+            return connection.isValid(1);
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private static final class Measurement {
+        private final long bufferedBytes;
+        private final long streamedPeakBytes;
+
+        private Measurement(long bufferedBytes, long streamedPeakBytes) {
+            this.bufferedBytes = bufferedBytes;
+            this.streamedPeakBytes = streamedPeakBytes;
+        }
+    }
+}
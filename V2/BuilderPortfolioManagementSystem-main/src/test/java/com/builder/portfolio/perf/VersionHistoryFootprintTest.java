@@ -0,0 +1,57 @@
+package com.builder.portfolio.perf;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.dao.ProjectVersionHistory;
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectEvent;
+import com.builder.portfolio.model.ProjectMutation;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures what the version history stores per update for a budget-heavy workload, against a full copy per version.
+ */
+class VersionHistoryFootprintTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VersionHistoryFootprintTest.class);
+    private static final int PROJECTS = 50;
+    private static final int UPDATES_PER_PROJECT = 200;
+
+    @Test
+    void deltasKeepUpdatesFarSmallerThanFullCopies() {
+        ProjectVersionHistory history = new ProjectVersionHistory(ProjectVersionHistory.DEFAULT_CHECKPOINT_INTERVAL);
+        ProjectMutation slot = new ProjectMutation();
+        for (int id = 1; id <= PROJECTS; id++) {
+            Project project = project(id);
+            for (int version = 0; version < UPDATES_PER_PROJECT; version++) {
+                project.setVersion(version);
+                project.setBudgetUsed(project.getBudgetUsed() + 1_250);
+                if (version % 50 == 49) {
+                    project.setStatus(version < 150 ? "IN_PROGRESS" : "COMPLETED");
+                }
+                slot.set(ProjectEvent.Type.UPDATED, project, true);
+                history.record(slot);
+            }
+        }
+
+        ProjectVersionHistory.Stats stats = history.getStats();
+        LOGGER.info("Version history for {} updates: {}", PROJECTS * UPDATES_PER_PROJECT, stats);
+        assertTrue(stats.getStoredBytes() * 2 < stats.getFullCopyBytes(), stats.toString());
+    }
+
+    private static Project project(int id) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName("Project " + id);
+        project.setDescription("Mixed-use development phase " + id + " with retail podium and parking");
+        project.setStatus("UPCOMING");
+        project.setBuilderId(100 + id % 5);
+        project.setClientId(200 + id);
+        project.setBudgetPlanned(1_000_000 + id * 10_000);
+        project.setStartDate(LocalDate.of(2024, 1, 1).plusDays(id));
+        project.setEndDate(LocalDate.of(2026, 1, 1).plusDays(id));
+        return project;
+    }
+}
@@ -0,0 +1,123 @@
+package com.builder.portfolio.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.dao.FileAuditDAO;
+import com.builder.portfolio.dao.ProjectVersionHistory;
+import com.builder.portfolio.model.AuditRecord;
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectEvent;
+import com.builder.portfolio.model.ProjectField;
+import com.builder.portfolio.support.InMemoryDocumentDAO;
+import com.builder.portfolio.support.InMemoryProjectDAO;
+import com.builder.portfolio.util.AuditContext;
+import com.builder.portfolio.util.PartitionedMutationExecutor;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AuditTrailTest {
+    @TempDir
+    Path directory;
+
+    private FileAuditDAO auditDAO;
+    private PartitionedMutationExecutor partitions;
+    private ProjectService projectService;
+
+    @BeforeEach
+    void setUp() {
+        auditDAO = new FileAuditDAO(directory.resolve("audit.log"));
+        partitions = new PartitionedMutationExecutor(2);
+        projectService = new ProjectServiceImpl(new InMemoryProjectDAO(), new InMemoryDocumentDAO(), partitions,
+                auditDAO, new ProjectVersionHistory(ProjectVersionHistory.DEFAULT_CHECKPOINT_INTERVAL));
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectService.close();
+        partitions.close();
+        auditDAO.close();
+    }
+
+    @Test
+    void recordsWhoChangedWhatEvenAcrossPartitionThreads() {
+        Instant before = Instant.now();
+        AuditContext.runAs("BUILDER:7", () -> {
+            projectService.addProject(project(61));
+            projectService.updateProjectStatus(61, "IN_PROGRESS", 0);
+        });
+        projectService.addProject(project(62));
+
+        List<AuditRecord> trail = projectService.getAuditTrail(61);
+
+        assertEquals(2, trail.size());
+        assertEquals(ProjectEvent.Type.CREATED, trail.get(0).getType());
+        AuditRecord statusChange = trail.get(1);
+        assertEquals("BUILDER:7", statusChange.getActor());
+        assertEquals(ProjectEvent.Type.STATUS_CHANGED, statusChange.getType());
+        assertEquals(0, statusChange.getPreviousVersion());
+        assertEquals(1, statusChange.getNewVersion());
+        assertEquals(Set.of(ProjectField.STATUS), statusChange.getChangedFields());
+        assertEquals(AuditContext.SYSTEM_ACTOR, projectService.getAuditTrail(62).get(0).getActor());
+
+        List<AuditRecord> all = projectService.getAuditTrail(before, Instant.now().plusSeconds(1));
+        assertEquals(3, all.size());
+        assertTrue(projectService.getAuditTrail(before.minusSeconds(60), before.minusSeconds(30)).isEmpty());
+    }
+
+    @Test
+    void earlierVersionsStayReadableAfterAnUpdate() {
+        projectService.addProject(project(63));
+        projectService.updateProjectBudget(63, 2_000, 0);
+
+        assertEquals(0, projectService.getProjectAsOf(63, 0).getBudgetUsed(), 0.001);
+        assertEquals(2_000, projectService.getProjectAsOf(63, 1).getBudgetUsed(), 0.001);
+        assertEquals(2_000, projectService.getProjectAsOf(63, Instant.now()).getBudgetUsed(), 0.001);
+    }
+
+    @Test
+    void closeLandsEveryAcceptedWriteBeforeStopping() {
+        Instant before = Instant.now();
+        for (int id = 100; id < 300; id++) {
+            projectService.addProject(project(id));
+        }
+
+        projectService.close();
+
+        assertEquals(200, auditDAO.findBetween(before, Instant.now().plusSeconds(1)).size());
+    }
+
+    @Test
+    void onlyConfirmedDeletesAreAuditedAndVersioned() {
+        projectService.addProject(project(64));
+
+        assertFalse(projectService.deleteProject(64, 8));
+        assertFalse(projectService.deleteProject(9_999, 7));
+        assertEquals(1, projectService.getAuditTrail(64).size());
+        assertTrue(projectService.getAuditTrail(9_999).isEmpty());
+        assertEquals("Project 64", projectService.getProjectAsOf(64, Instant.now()).getName());
+
+        assertTrue(projectService.deleteProject(64, 7));
+        List<AuditRecord> trail = projectService.getAuditTrail(64);
+        assertEquals(ProjectEvent.Type.DELETED, trail.get(1).getType());
+        assertNull(projectService.getProjectAsOf(64, Instant.now()));
+    }
+
+    private static Project project(int id) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName("Project " + id);
+        project.setStatus("UPCOMING");
+        project.setBuilderId(7);
+        project.setClientId(30);
+        return project;
+    }
+}
@@ -0,0 +1,67 @@
+package com.builder.portfolio.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.dao.Shard;
+import com.builder.portfolio.dao.ShardedDocumentDAO;
+import com.builder.portfolio.dao.ShardedProjectDAO;
+import com.builder.portfolio.dao.embedded.EmbeddedProjectDAO;
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectChange;
+import com.builder.portfolio.model.ProjectChangeFeed;
+import com.builder.portfolio.support.InMemoryDocumentDAO;
+import com.builder.portfolio.support.InMemoryProjectDAO;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ChangeFeedTest {
+
+    @Test
+    void shardedStoresAnswerUnsupportedInsteadOfThrowing() {
+        ShardedProjectDAO projectDAO = new ShardedProjectDAO(List.of(
+                new Shard("a", new InMemoryProjectDAO(), new InMemoryDocumentDAO()),
+                new Shard("b", new InMemoryProjectDAO(), new InMemoryDocumentDAO())));
+        try (ProjectServiceImpl projectService = new ProjectServiceImpl(projectDAO,
+                new ShardedDocumentDAO(projectDAO))) {
+            projectService.addProject(project(1));
+
+            ProjectChangeFeed feed = projectService.changesSince(0, 10);
+
+            assertFalse(feed.isSupported());
+            assertThrows(IllegalStateException.class, feed::getChanges);
+            assertTrue(projectDAO.changesSince(0, 10).isEmpty(), "stores without a feed must not throw");
+        } finally {
+            projectDAO.close();
+        }
+    }
+
+    @Test
+    void singleStoresPageThroughTheFeed() {
+        try (ProjectServiceImpl projectService = new ProjectServiceImpl(new EmbeddedProjectDAO(),
+                new InMemoryDocumentDAO())) {
+            projectService.addProject(project(0));
+            projectService.addProject(project(0));
+
+            ProjectChangeFeed feed = projectService.changesSince(0, 10);
+
+            assertTrue(feed.isSupported());
+            List<ProjectChange> changes = feed.getChanges();
+            assertEquals(2, changes.size());
+            assertEquals(ProjectChange.Type.INSERT, changes.get(0).getType());
+            assertTrue(projectService.changesSince(changes.get(1).getSequence(), 10).getChanges().isEmpty());
+        }
+    }
+
+    private static Project project(int id) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName("Feed project");
+        project.setStatus("PLANNED");
+        project.setBuilderId(7);
+        project.setClientId(30);
+        return project;
+    }
+}
@@ -0,0 +1,138 @@
+package com.builder.portfolio.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.dao.ProjectDAOImpl;
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectListing;
+import com.builder.portfolio.model.ProjectPatch;
+import com.builder.portfolio.support.InMemoryDocumentDAO;
+import com.builder.portfolio.support.InMemoryProjectDAO;
+import com.builder.portfolio.util.ConnectionProvider;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConditionalListingTest {
+    private final AtomicInteger clientQueries = new AtomicInteger();
+    private final InMemoryProjectDAO projectDAO = new InMemoryProjectDAO() {
+        @Override
+        public List<Project> findProjectsByClient(int clientId) {
+            clientQueries.incrementAndGet();
+            return super.findProjectsByClient(clientId);
+        }
+    };
+    private ProjectService projectService;
+
+    @BeforeEach
+    void setUp() {
+        projectService = new ProjectServiceImpl(projectDAO, new InMemoryDocumentDAO());
+        projectService.addProject(project(51, 7, 30));
+        projectService.addProject(project(52, 7, 31));
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectService.close();
+    }
+
+    @Test
+    void unchangedPortfolioAnswersWithoutQuerying() {
+        ProjectListing first = projectService.listProjectsByClient(30, 0);
+        assertTrue(first.isModified());
+        assertEquals(1, first.getProjects().size());
+
+        ProjectListing second = projectService.listProjectsByClient(30, first.getStamp());
+
+        assertFalse(second.isModified());
+        assertEquals(first.getStamp(), second.getStamp());
+        assertEquals(1, clientQueries.get());
+    }
+
+    @Test
+    void movingAProjectInvalidatesBothClientsOnly() {
+        long oldClient = projectService.listProjectsByClient(30, 0).getStamp();
+        long newClient = projectService.listProjectsByClient(32, 0).getStamp();
+        long bystander = projectService.listProjectsByClient(31, 0).getStamp();
+        long builder = projectService.listProjectsByBuilder(7, 0).getStamp();
+
+        projectService.patchProject(51, ProjectPatch.builder().clientId(32).build(), 0);
+
+        assertTrue(projectService.listProjectsByClient(30, oldClient).getProjects().isEmpty());
+        assertEquals(1, projectService.listProjectsByClient(32, newClient).getProjects().size());
+        assertFalse(projectService.listProjectsByClient(31, bystander).isModified());
+        assertTrue(projectService.listProjectsByBuilder(7, builder).isModified());
+    }
+
+    @Test
+    void stampedListingsUseReplicasUnlessTheirRowsWereJustWritten() {
+        List<String> requested = new ArrayList<>();
+        ConnectionProvider provider = new ConnectionProvider() {
+            @Override
+            public Connection getConnection() {
+                return fakeConnection();
+            }
+
+            @Override
+            public Connection getReadConnection(long lastWriteNanos) {
+                requested.add(lastWriteNanos == NO_WRITE ? "replica" : "primary");
+                return fakeConnection();
+            }
+        };
+        try (ProjectService replicated = new ProjectServiceImpl(new ProjectDAOImpl(provider),
+                new InMemoryDocumentDAO())) {
+            replicated.listProjectsByClient(30, 0);
+            replicated.listProjectsByBuilder(7, 0);
+            replicated.addProject(project(53, 7, 30));
+            requested.clear();
+
+            // The stamps already count the new project, so a replica missing it would pin a stale list to them.
+            replicated.listProjectsByClient(30, 0);
+            replicated.listProjectsByBuilder(7, 0);
+            replicated.listProjectsByClient(31, 0);
+            replicated.listProjectsByBuilder(8, 0);
+        }
+
+        assertEquals(List.of("primary", "primary", "replica", "replica"), requested);
+    }
+
+    // Accepts every write and answers every query with no rows.
+    private static Connection fakeConnection() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "prepareStatement" -> Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                            new Class<?>[] {PreparedStatement.class}, (statement, call, callArgs) ->
+                                    switch (call.getName()) {
+                                        case "executeQuery", "getGeneratedKeys" -> emptyResult();
+                                        case "executeUpdate" -> 1;
+                                        default -> null;
+                                    });
+                    default -> null;
+                });
+    }
+
+    private static ResultSet emptyResult() {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> "next".equals(method.getName()) ? false : null);
+    }
+
+    private static Project project(int id, int builderId, int clientId) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName("Project " + id);
+        project.setStatus("PLANNED");
+        project.setBuilderId(builderId);
+        project.setClientId(clientId);
+        return project;
+    }
+}
@@ -0,0 +1,100 @@
+package com.builder.portfolio.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.support.InMemoryDocumentDAO;
+import com.builder.portfolio.support.InMemoryProjectDAO;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExistenceShortCircuitTest {
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicBoolean failListing = new AtomicBoolean();
+    private final InMemoryProjectDAO projectDAO = new InMemoryProjectDAO() {
+        @Override
+        public Project findById(int projectId) {
+            lookups.incrementAndGet();
+            return super.findById(projectId);
+        }
+
+        @Override
+        public List<Project> findAllProjects() {
+            if (failListing.get()) {
+                throw new IllegalStateException("store unavailable");
+            }
+            return super.findAllProjects();
+        }
+    };
+    private ProjectServiceImpl projectService;
+
+    @BeforeEach
+    void setUp() {
+        projectService = new ProjectServiceImpl(projectDAO, new InMemoryDocumentDAO());
+        Project project = new Project();
+        project.setId(71);
+        project.setName("Project 71");
+        project.setStatus("PLANNED");
+        project.setBuilderId(7);
+        project.setClientId(30);
+        projectService.addProject(project);
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectService.close();
+    }
+
+    @Test
+    void unknownIdsSkipTheStoreOnceAListingPrimedTheFilter() {
+        projectService.listAllProjects();
+        lookups.set(0);
+
+        assertNull(projectService.getProject(9_999));
+        assertFalse(projectService.isOwnedByBuilder(9_999, 7));
+        assertThrows(IllegalArgumentException.class, () -> projectService.updateProjectStatus(9_999, "DONE", 0));
+        assertEquals(0, lookups.get());
+
+        assertEquals(71, projectService.getProject(71).getId());
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void refreshSeedsTheFilterWithoutAListingAndKeepsLaterCreations() {
+        projectService.refreshExistenceFilter();
+        assertTrue(projectService.getExistenceFilter().isPrimed());
+
+        Project project = new Project();
+        project.setId(72);
+        project.setName("Project 72");
+        project.setStatus("PLANNED");
+        project.setBuilderId(7);
+        project.setClientId(30);
+        projectService.addProject(project);
+        lookups.set(0);
+
+        assertNull(projectService.getProject(9_999));
+        assertEquals(0, lookups.get());
+        assertEquals(72, projectService.getProject(72).getId());
+    }
+
+    @Test
+    void aFailedListingDoesNotBlockTheNextRebuild() {
+        failListing.set(true);
+        assertThrows(IllegalStateException.class, projectService::listAllProjects);
+        assertFalse(projectService.getExistenceFilter().isPrimed());
+
+        failListing.set(false);
+        projectService.listAllProjects();
+
+        assertTrue(projectService.getExistenceFilter().isPrimed());
+    }
+}
@@ -0,0 +1,95 @@
+package com.builder.portfolio.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectField;
+import com.builder.portfolio.model.ProjectPatch;
+import com.builder.portfolio.support.InMemoryDocumentDAO;
+import com.builder.portfolio.support.InMemoryProjectDAO;
+import java.time.LocalDate;
+import java.util.ConcurrentModificationException;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProjectPatchTest {
+    private static final long PROJECT_ID = 41L;
+
+    private final InMemoryProjectDAO projectDAO = new InMemoryProjectDAO();
+    private ProjectService projectService;
+
+    @BeforeEach
+    void setUp() {
+        projectService = new ProjectServiceImpl(projectDAO, new InMemoryDocumentDAO());
+        Project project = new Project();
+        project.setId((int) PROJECT_ID);
+        project.setName("Hillside Villas");
+        project.setStatus("PLANNED");
+        project.setBuilderId(8);
+        project.setClientId(9);
+        project.setBudgetPlanned(300_000);
+        project.setBudgetUsed(1_000);
+        project.setVersion(0);
+        projectDAO.addProject(project);
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectService.close();
+    }
+
+    @Test
+    void multiFieldPatchBumpsVersionOnce() {
+        ProjectPatch patch = ProjectPatch.builder()
+                .status("IN_PROGRESS")
+                .budgetUsedDelta(250)
+                .endDate(LocalDate.of(2027, 3, 31))
+                .build();
+
+        long version = projectService.patchProject(PROJECT_ID, patch, 0);
+
+        Project result = projectService.getProject((int) PROJECT_ID);
+        assertEquals(1, version);
+        assertEquals(1, result.getVersion());
+        assertEquals("IN_PROGRESS", result.getStatus());
+        assertEquals(1_250, result.getBudgetUsed(), 0.001);
+        assertEquals(LocalDate.of(2027, 3, 31), result.getEndDate());
+        assertEquals("Hillside Villas", result.getName());
+    }
+
+    @Test
+    void stalePatchIsRejectedWithoutPartialWrites() {
+        projectService.patchProject(PROJECT_ID, ProjectPatch.builder().name("Hillside Villas II").build(), 0);
+
+        ProjectPatch stale = ProjectPatch.builder().status("COMPLETED").budgetUsed(9_999).build();
+        assertThrows(ConcurrentModificationException.class, () -> projectService.patchProject(PROJECT_ID, stale, 0));
+
+        Project result = projectService.getProject((int) PROJECT_ID);
+        assertEquals("PLANNED", result.getStatus());
+        assertEquals(1_000, result.getBudgetUsed(), 0.001);
+        assertEquals(1, result.getVersion());
+    }
+
+    @Test
+    void onlyPatchesDisjointFromTheOtherWritersChangesMerge() {
+        Project base = projectService.getProject((int) PROJECT_ID);
+        projectService.patchProject(PROJECT_ID, ProjectPatch.builder().name("Hillside Villas II").build(), 0);
+        Project current = projectService.getProject((int) PROJECT_ID);
+
+        ProjectPatch clashing = ProjectPatch.builder().name("Hillside Heights").status("IN_PROGRESS").build();
+        assertEquals(Set.of(ProjectField.NAME), clashing.changedBetween(base, current));
+
+        ProjectPatch disjoint = ProjectPatch.builder().status("IN_PROGRESS").budgetUsedDelta(50).build();
+        assertTrue(disjoint.changedBetween(base, current).isEmpty());
+        projectService.patchProject(PROJECT_ID, disjoint, current.getVersion());
+
+        Project merged = projectService.getProject((int) PROJECT_ID);
+        assertEquals("Hillside Villas II", merged.getName());
+        assertEquals("IN_PROGRESS", merged.getStatus());
+        assertEquals(1_050, merged.getBudgetUsed(), 0.001);
+    }
+}
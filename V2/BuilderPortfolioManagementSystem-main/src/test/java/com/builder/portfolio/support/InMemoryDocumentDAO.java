@@ -24,6 +24,11 @@ public class InMemoryDocumentDAO implements DocumentDAO {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public void deleteDocumentsByProject(int projectId) {
+        store.remove(projectId);
+    }
+
     private Document copy(Document original) {
         Document copy = new Document();
         copy.setId(original.getId());
@@ -33,11 +33,13 @@ public class InMemoryProjectDAO implements ProjectDAO {
     }
 
     @Override
-    public void deleteProject(int projectId, int builderId) {
-        Project removed = store.remove((long) projectId);
-        if (removed != null) {
-            versions.remove((long) projectId);
+    public boolean deleteProject(int projectId, int builderId) {
+        Project current = store.get((long) projectId);
+        if (current == null || current.getBuilderId() != builderId || !store.remove((long) projectId, current)) {
+            return false;
         }
+        versions.remove((long) projectId);
+        return true;
     }
 
     @Override
@@ -101,6 +103,7 @@ public class InMemoryProjectDAO implements ProjectDAO {
         copy.setStartDate(cloneDate(original.getStartDate()));
         copy.setEndDate(cloneDate(original.getEndDate()));
         copy.setVersion(original.getVersion());
+        copy.clearDirtyFields();
         return copy;
     }
 
@@ -0,0 +1,75 @@
+package com.builder.portfolio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LockRegistryTimeoutTest {
+    private static final long PROJECT_ID = 501L;
+
+    private final LockRegistry lockRegistry = LockRegistry.getInstance();
+    private final CountDownLatch acquired = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Thread stalledWriter;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        // Holds are only tracked while the watchdog runs; a long interval keeps it from logging during the test.
+        lockRegistry.startWatchdog(Duration.ofMinutes(1), Duration.ofMinutes(1));
+        // Simulates a writer stuck on a slow database call.
+        stalledWriter = new Thread(() -> lockRegistry.withProjectWrite(PROJECT_ID, () -> {
+            acquired.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }), "stalled-writer");
+        stalledWriter.start();
+        assertTrue(acquired.await(5, TimeUnit.SECONDS), "writer holds the lock");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        stalledWriter.join();
+        lockRegistry.stopWatchdog();
+    }
+
+    @Test
+    void timedReadsFailFastBehindAStalledWriter() {
+        long start = System.nanoTime();
+        LockTimeoutException ex = assertThrows(LockTimeoutException.class,
+                () -> lockRegistry.withProjectRead(PROJECT_ID, Duration.ofMillis(50), () -> "never"));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(PROJECT_ID, ex.getProjectId());
+        assertTrue(waitedMillis < 1_000, "gave up within budget, waited " + waitedMillis + " ms");
+        assertThrows(LockTimeoutException.class,
+                () -> lockRegistry.withProjectOptimisticRead(PROJECT_ID, Duration.ofMillis(20), () -> "never"));
+        assertTrue(lockRegistry.getLockTimeoutCount() >= 2);
+    }
+
+    @Test
+    void watchdogSeesTheHolderThreadAndStack() throws InterruptedException {
+        Thread.sleep(30);
+        List<LockRegistry.HeldLock> heldLocks = lockRegistry.findLocksHeldLongerThan(Duration.ofMillis(20));
+
+        LockRegistry.HeldLock held = heldLocks.stream()
+                .filter(lock -> lock.getProjectId() == PROJECT_ID)
+                .findFirst()
+                .orElseThrow();
+        assertEquals("write", held.getMode());
+        assertEquals("stalled-writer", held.getThreadName());
+        assertTrue(held.getHeldFor().toMillis() >= 20);
+        assertTrue(held.getStackTrace().length > 0, "holder stack captured");
+    }
+}
@@ -0,0 +1,94 @@
+package com.builder.portfolio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.model.Project;
+import com.builder.portfolio.model.ProjectEvent;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class MutationRingBufferTest {
+
+    @Test
+    void dependentStagesSeeEveryMutationInOrderAfterTheirDependencies() throws Exception {
+        List<Long> cached = new CopyOnWriteArrayList<>();
+        List<String> notified = new CopyOnWriteArrayList<>();
+        // A small ring makes the writers wrap around it many times.
+        try (MutationRingBuffer ring = MutationRingBuffer.builder()
+                .capacity(8)
+                .stage("cache", (mutation, sequence, endOfBatch) -> cached.add(sequence))
+                .stage("notifications", (mutation, sequence, endOfBatch) -> {
+                    // The barrier guarantees the cache stage is already past this slot.
+                    notified.add(cached.contains(sequence) + ":" + mutation.getProjectId());
+                }, "cache")
+                .build()) {
+            ExecutorService writers = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> done = new ArrayList<>();
+                for (int writer = 0; writer < 4; writer++) {
+                    done.add(writers.submit(() -> {
+                        for (int i = 0; i < 250; i++) {
+                            long sequence = ring.next();
+                            ring.get(sequence).set(ProjectEvent.Type.UPDATED, project(i), true);
+                            ring.publish(sequence);
+                        }
+                    }));
+                }
+                for (Future<?> future : done) {
+                    future.get();
+                }
+            } finally {
+                writers.shutdown();
+            }
+
+            MutationRingBuffer.Stage notifications = ring.getStage("notifications");
+            assertTrue(ring.awaitStage(notifications, ring.getCursor(), Duration.ofSeconds(5)));
+            assertEquals(1000, cached.size());
+            assertEquals(1000, notified.size());
+            assertTrue(notified.stream().allMatch(entry -> entry.startsWith("true:")));
+            for (int i = 0; i < cached.size(); i++) {
+                assertEquals(i, cached.get(i));
+            }
+            assertEquals(Map.of("cache", 0L, "notifications", 0L), ring.getConsumerLag());
+        }
+    }
+
+    @Test
+    void aFailingStageDoesNotStallTheRing() {
+        List<Long> seen = new CopyOnWriteArrayList<>();
+        try (MutationRingBuffer ring = MutationRingBuffer.builder()
+                .capacity(4)
+                .stage("audit", (mutation, sequence, endOfBatch) -> {
+                    if (sequence == 1) {
+                        throw new IllegalStateException("boom");
+                    }
+                    seen.add(sequence);
+                })
+                .build()) {
+            for (int i = 0; i < 10; i++) {
+                long sequence = ring.next();
+                ring.get(sequence).setDeleted(i, 7, 30);
+                ring.publish(sequence);
+            }
+            assertTrue(ring.awaitStage(ring.getStage("audit"), 9, Duration.ofSeconds(5)));
+            assertEquals(9, seen.size());
+        }
+    }
+
+    private static Project project(int id) {
+        Project project = new Project();
+        project.setId(id);
+        project.setBuilderId(7);
+        project.setClientId(30);
+        project.setStatus(StatusConstants.STATUS_UPCOMING);
+        return project;
+    }
+}
@@ -0,0 +1,60 @@
+package com.builder.portfolio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PersistentLongMapTest {
+
+    @Test
+    void matchesHashMapUnderRandomUpdates() {
+        Random random = new Random(42);
+        Map<Long, String> expected = new HashMap<>();
+        PersistentLongMap<String> map = PersistentLongMap.empty();
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(4_000) - 100L;
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                String value = "v" + i;
+                expected.put(key, value);
+                map = map.plus(key, value);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        Map<Long, String> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+        for (long key = -100; key < 3_900; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void oldRootsStayUnchangedAfterUpdates() {
+        PersistentLongMap<String> base = PersistentLongMap.empty();
+        for (long id = 1; id <= 1_000; id++) {
+            base = base.plus(id, "v1-" + id);
+        }
+        PersistentLongMap<String> updated = base.plus(7, "v2-7").minus(8).plus(1_001, "v1-1001");
+        PersistentLongMap<String> merged = base.plusAll(PersistentLongMap.<String>empty().plus(9, "v2-9"));
+
+        assertEquals("v1-7", base.get(7));
+        assertEquals("v1-8", base.get(8));
+        assertNull(base.get(1_001));
+        assertEquals(1_000, base.size());
+        assertEquals("v2-7", updated.get(7));
+        assertNull(updated.get(8));
+        assertEquals(1_000, updated.size());
+        assertEquals("v2-9", merged.get(9));
+        assertEquals(1_000, merged.size());
+        assertSame(base, base.minus(5_000));
+    }
+}
@@ -0,0 +1,94 @@
+package com.builder.portfolio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.model.ProjectEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import org.junit.jupiter.api.Test;
+
+class ProjectEventBusTest {
+    // Delivering on the publishing thread keeps the assertions deterministic.
+    private final ProjectEventBus bus = new ProjectEventBus(Runnable::run);
+
+    @Test
+    void subscribersOnlySeeMatchingEventsAsFastAsTheyRequest() {
+        RecordingSubscriber builderSeven = new RecordingSubscriber();
+        bus.subscribe(builderSeven, ProjectEventBus.Options.builder().builderId(7).build());
+
+        bus.publish(event(ProjectEvent.Type.CREATED, 1, 7));
+        bus.publish(event(ProjectEvent.Type.CREATED, 2, 8));
+        bus.publish(event(ProjectEvent.Type.STATUS_CHANGED, 1, 7));
+        assertTrue(builderSeven.received.isEmpty());
+
+        builderSeven.subscription.request(1);
+        assertEquals(List.of(ProjectEvent.Type.CREATED), builderSeven.types());
+        builderSeven.subscription.request(5);
+        assertEquals(List.of(ProjectEvent.Type.CREATED, ProjectEvent.Type.STATUS_CHANGED), builderSeven.types());
+
+        bus.close();
+        assertTrue(builderSeven.completed);
+        assertEquals(0, bus.getSubscriberCount());
+    }
+
+    @Test
+    void fullBuffersApplyTheirOverflowPolicy() {
+        RecordingSubscriber latest = new RecordingSubscriber();
+        RecordingSubscriber dropNewest = new RecordingSubscriber();
+        bus.subscribe(latest, ProjectEventBus.Options.builder()
+                .bufferSize(2)
+                .overflow(ProjectEventBus.Overflow.LATEST_PER_PROJECT)
+                .build());
+        bus.subscribe(dropNewest, ProjectEventBus.Options.builder()
+                .bufferSize(2)
+                .overflow(ProjectEventBus.Overflow.DROP_NEWEST)
+                .build());
+
+        bus.publish(event(ProjectEvent.Type.CREATED, 1, 7));
+        bus.publish(event(ProjectEvent.Type.BUDGET_CHANGED, 1, 7));
+        bus.publish(event(ProjectEvent.Type.CREATED, 2, 7));
+        bus.publish(event(ProjectEvent.Type.DELETED, 2, 7));
+        latest.subscription.request(10);
+        dropNewest.subscription.request(10);
+
+        assertEquals(List.of(ProjectEvent.Type.BUDGET_CHANGED, ProjectEvent.Type.DELETED), latest.types());
+        assertEquals(List.of(ProjectEvent.Type.CREATED, ProjectEvent.Type.BUDGET_CHANGED), dropNewest.types());
+        assertEquals(4, bus.getDroppedCount());
+    }
+
+    private static ProjectEvent event(ProjectEvent.Type type, long projectId, int builderId) {
+        return ProjectEvent.builder().type(type).projectId(projectId).builderId(builderId).clientId(30).build();
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<ProjectEvent> {
+        private final List<ProjectEvent> received = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ProjectEvent item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            throw new AssertionError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        private List<ProjectEvent.Type> types() {
+            return received.stream().map(ProjectEvent::getType).toList();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.builder.portfolio.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ProjectExistenceFilterTest {
+
+    @Test
+    void seededFilterRejectsUnknownIdsAndTracksCreations() {
+        ProjectExistenceFilter filter = new ProjectExistenceFilter(64, 0.01, Duration.ofSeconds(30));
+        assertFalse(filter.isDefinitelyAbsent(99), "an unseeded filter must not reject anything");
+
+        assertTrue(filter.beginRebuild());
+        filter.completeRebuild(List.of(1L, 2L, 3L));
+
+        assertTrue(filter.isDefinitelyAbsent(99));
+        assertFalse(filter.isDefinitelyAbsent(2));
+
+        filter.recordCreated(99);
+        assertFalse(filter.isDefinitelyAbsent(99), "creations after seeding must be visible at once");
+        assertTrue(filter.isPrimed());
+    }
+
+    @Test
+    void abortedRebuildCanBeRetriedAndCreationsSurviveTheSwap() {
+        ProjectExistenceFilter filter = new ProjectExistenceFilter();
+        assertTrue(filter.beginRebuild());
+        assertFalse(filter.beginRebuild(), "only one rebuild may run at a time");
+
+        filter.abortRebuild();
+        assertFalse(filter.isPrimed());
+
+        assertTrue(filter.beginRebuild());
+        filter.recordCreated(42);
+        filter.completeRebuild(List.of(1L));
+
+        assertTrue(filter.isPrimed());
+        assertFalse(filter.isDefinitelyAbsent(42), "ids created while listing must survive the swap");
+        assertTrue(filter.beginRebuild());
+    }
+}
@@ -0,0 +1,76 @@
+package com.builder.portfolio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.builder.portfolio.model.Project;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ProjectOwnershipIndexTest {
+    private final ProjectOwnershipIndex index = new ProjectOwnershipIndex();
+
+    @Test
+    void aStaleReadCannotResurrectADeletedProject() {
+        index.put(project(11, 7, 30, 2));
+        index.recordBuilderListing(7, List.of());
+
+        index.remove(11);
+        // A listing that started before the delete still carries the row.
+        index.record(project(11, 7, 30, 2));
+        index.recordBuilderListing(7, List.of(project(11, 7, 30, 2)));
+
+        assertNull(index.lookup(11));
+        assertTrue(index.isKnown(11));
+        assertEquals(Set.of(), index.projectIdsForBuilder(7));
+
+        // Only a service mutation, such as creating the id again, replaces the tombstone.
+        index.put(project(11, 8, 31, 0));
+        assertEquals(8, index.lookup(11).getBuilderId());
+        assertEquals(Set.of(), index.projectIdsForBuilder(7));
+    }
+
+    @Test
+    void reassignmentMovesTheIdBetweenBuilderAndClientSets() {
+        index.recordFullListing(List.of(project(21, 7, 30, 0), project(22, 7, 31, 0)));
+
+        index.put(project(21, 8, 32, 1));
+        // An older read of the same project does not move it back.
+        index.record(project(21, 7, 30, 0));
+
+        assertEquals(Set.of(22L), index.projectIdsForBuilder(7));
+        assertEquals(Set.of(), index.projectIdsForClient(30));
+        assertEquals(Set.of(22L), index.projectIdsForClient(31));
+        assertEquals(8, index.lookup(21).getBuilderId());
+        assertEquals(32, index.lookup(21).getClientId());
+        assertEquals(1, index.lookup(21).getVersion());
+        index.recordBuilderListing(8, List.of());
+        assertEquals(Set.of(21L), index.projectIdsForBuilder(8));
+    }
+
+    @Test
+    void builderAndClientIdsAreUnknownUntilAListingCompletes() {
+        index.put(project(31, 7, 30, 0));
+
+        assertNull(index.projectIdsForBuilder(7));
+        assertNull(index.projectIdsForClient(30));
+
+        index.recordBuilderListing(7, List.of(project(31, 7, 30, 0), project(32, 7, 33, 0)));
+
+        assertEquals(Set.of(31L, 32L), index.projectIdsForBuilder(7));
+        assertNull(index.projectIdsForClient(30));
+        index.recordClientListing(30, List.of(project(31, 7, 30, 0)));
+        assertEquals(Set.of(31L), index.projectIdsForClient(30));
+    }
+
+    private static Project project(int id, int builderId, int clientId, long version) {
+        Project project = new Project();
+        project.setId(id);
+        project.setBuilderId(builderId);
+        project.setClientId(clientId);
+        project.setVersion(version);
+        return project;
+    }
+}
@@ -0,0 +1,135 @@
+package com.builder.portfolio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+
+class RoutingConnectionProviderTest {
+    private static final String PRIMARY = "jdbc:postgresql://primary/bpms";
+    private static final String REPLICA_A = "jdbc:postgresql://replica-a/bpms";
+    private static final String REPLICA_B = "jdbc:postgresql://replica-b/bpms";
+
+    private final List<String> opened = new ArrayList<>();
+    private final Map<String, Duration> replicaLag = new ConcurrentHashMap<>();
+
+    @Test
+    void readsRotateAcrossReplicasAndWritesStayOnPrimary() throws SQLException {
+        RoutingConnectionProvider provider = provider(RoutingConnectionProvider.Balancing.ROUND_ROBIN, Duration.ZERO);
+
+        for (int i = 0; i < 4; i++) {
+            provider.getReadConnection().close();
+        }
+        provider.getConnection().close();
+
+        assertEquals(List.of(REPLICA_A, REPLICA_B, REPLICA_A, REPLICA_B, PRIMARY), opened);
+    }
+
+    @Test
+    void readsFollowTheSessionsOwnWriteToThePrimaryOnAnyThread() throws SQLException {
+        RoutingConnectionProvider provider = provider(RoutingConnectionProvider.Balancing.ROUND_ROBIN,
+                Duration.ofMinutes(1));
+
+        // The write runs on another thread, as partition and group-commit writes do, but for the same session.
+        Thread writer = new Thread(() -> AuditContext.runAs("BUILDER:7", () -> {
+            try {
+                provider.getWriteConnection().close();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }));
+        writer.start();
+        join(writer);
+        AuditContext.runAs("BUILDER:7", () -> read(provider));
+        AuditContext.runAs("CLIENT:30", () -> read(provider));
+
+        assertEquals(List.of(PRIMARY, PRIMARY, REPLICA_A), opened);
+    }
+
+    @Test
+    void primaryReadsDoNotOpenTheReadYourWritesWindow() throws SQLException {
+        RoutingConnectionProvider provider = provider(RoutingConnectionProvider.Balancing.ROUND_ROBIN,
+                Duration.ofMinutes(1));
+
+        provider.getConnection().close();
+        provider.getReadConnection().close();
+
+        assertEquals(List.of(PRIMARY, REPLICA_A), opened);
+    }
+
+    @Test
+    void rowsWrittenWithinTheReplicaLagBoundAreReadFromThePrimary() throws SQLException {
+        RoutingConnectionProvider provider = provider(RoutingConnectionProvider.Balancing.ROUND_ROBIN, Duration.ZERO);
+
+        provider.getReadConnection(System.nanoTime()).close();
+        provider.getReadConnection(System.nanoTime() - Duration.ofSeconds(2).toNanos()).close();
+        provider.getReadConnection(ConnectionProvider.NO_WRITE).close();
+
+        assertEquals(List.of(PRIMARY, REPLICA_A, REPLICA_B), opened);
+    }
+
+    @Test
+    void leastLoadedAvoidsBusyAndLaggingReplicas() throws SQLException {
+        RoutingConnectionProvider provider = provider(RoutingConnectionProvider.Balancing.LEAST_LOADED, Duration.ZERO);
+
+        Connection held = provider.getReadConnection();
+        provider.getReadConnection().close();
+        held.close();
+        assertEquals(List.of(REPLICA_A, REPLICA_B), opened);
+
+        replicaLag.put(REPLICA_A, Duration.ofMinutes(1));
+        provider.refreshReplicaLag();
+        opened.clear();
+        provider.getReadConnection().close();
+        assertEquals(List.of(REPLICA_B), opened);
+
+        replicaLag.put(REPLICA_B, Duration.ofMinutes(1));
+        provider.refreshReplicaLag();
+        opened.clear();
+        provider.getReadConnection().close();
+
+        assertEquals(List.of(PRIMARY), opened);
+    }
+
+    private RoutingConnectionProvider provider(RoutingConnectionProvider.Balancing balancing, Duration window) {
+        return RoutingConnectionProvider.builder()
+                .primary(PRIMARY, this::open)
+                .replica(REPLICA_A)
+                .replica(REPLICA_B)
+                .balancing(balancing)
+                .readYourWritesWindow(window)
+                .maxReplicaLag(Duration.ofSeconds(1))
+                .lagProbe(connection -> replicaLag.getOrDefault(connection.toString(), Duration.ZERO))
+                .build();
+    }
+
+    private Connection open(String url) {
+        opened.add(url);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> "toString".equals(method.getName()) ? url : null);
+    }
+
+    private static void read(ConnectionProvider provider) {
+        try {
+            provider.getReadConnection().close();
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.builder.portfolio.util;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void neverReportsFalseNegativesWhileGrowing() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(64, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.add(id);
+        }
+
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(filter.mightContain(id), "added id " + id + " must be reported");
+        }
+        assertTrue(filter.stageCount() > 1, "filter should have grown past its initial capacity");
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(256, 0.01);
+        for (long id = 1; id <= 5_000; id++) {
+            filter.add(id);
+        }
+
+        int probes = 50_000;
+        int falsePositives = 0;
+        for (long id = 1_000_000; id < 1_000_000 + probes; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / probes;
+        // Allow generous slack so the assertion tracks the design bound rather than hash luck.
+        assertTrue(observed < 0.03, "observed false positive rate " + observed);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.02,
+                "expected rate " + filter.expectedFalsePositiveRate());
+    }
+}